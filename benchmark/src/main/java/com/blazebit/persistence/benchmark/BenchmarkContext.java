@@ -0,0 +1,80 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.blazebit.persistence.benchmark;
+
+import com.blazebit.persistence.Criteria;
+import com.blazebit.persistence.CriteriaBuilderFactory;
+import com.blazebit.persistence.benchmark.model.Document;
+import com.blazebit.persistence.benchmark.model.Person;
+import com.blazebit.persistence.benchmark.view.DocumentUpdateView;
+import com.blazebit.persistence.benchmark.view.DocumentView;
+import com.blazebit.persistence.view.EntityViewManager;
+import com.blazebit.persistence.view.EntityViews;
+import com.blazebit.persistence.view.spi.EntityViewConfiguration;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+/**
+ * Boots the benchmark persistence unit against an in-memory H2 database along with a criteria builder factory
+ * and an entity view manager and inserts a few documents.
+ *
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+@State(Scope.Benchmark)
+public class BenchmarkContext {
+
+    public static final int DOCUMENT_COUNT = 100;
+
+    public EntityManagerFactory emf;
+    public EntityManager em;
+    public CriteriaBuilderFactory cbf;
+    public EntityViewManager evm;
+
+    @Setup
+    public void setup() {
+        emf = Persistence.createEntityManagerFactory("benchmark");
+        cbf = Criteria.getDefault().createCriteriaBuilderFactory(emf);
+        EntityViewConfiguration cfg = EntityViews.createDefaultConfiguration();
+        cfg.addEntityView(DocumentView.class);
+        cfg.addEntityView(DocumentUpdateView.class);
+        evm = cfg.createEntityViewManager(cbf);
+        em = emf.createEntityManager();
+
+        em.getTransaction().begin();
+        Person owner = new Person("Owner");
+        em.persist(owner);
+        for (int i = 0; i < DOCUMENT_COUNT; i++) {
+            em.persist(new Document("Document " + i, "Description " + i, owner));
+        }
+        em.getTransaction().commit();
+        em.clear();
+    }
+
+    @TearDown
+    public void tearDown() {
+        em.close();
+        emf.close();
+    }
+}
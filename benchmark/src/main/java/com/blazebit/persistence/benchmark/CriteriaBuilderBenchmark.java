@@ -0,0 +1,69 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.blazebit.persistence.benchmark;
+
+import com.blazebit.persistence.CriteriaBuilder;
+import com.blazebit.persistence.PaginatedCriteriaBuilder;
+import com.blazebit.persistence.benchmark.model.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures query builder construction and JPQL rendering without executing any query.
+ *
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class CriteriaBuilderBenchmark {
+
+    @Benchmark
+    public String criteriaBuilderQueryString(BenchmarkContext context) {
+        CriteriaBuilder<Document> cb = context.cbf.create(context.em, Document.class, "d")
+                .innerJoin("d.owner", "o")
+                .where("d.name").like().value("Document%").noEscape()
+                .where("o.name").eq("Owner")
+                .orderByAsc("d.name")
+                .orderByAsc("d.id");
+        return cb.getQueryString();
+    }
+
+    @Benchmark
+    public void paginatedCriteriaBuilderQueryStrings(BenchmarkContext context, Blackhole blackhole) {
+        PaginatedCriteriaBuilder<Document> cb = context.cbf.create(context.em, Document.class, "d")
+                .where("d.name").like().value("Document%").noEscape()
+                .orderByAsc("d.name")
+                .orderByAsc("d.id")
+                .page(0, 10);
+        blackhole.consume(cb.getPageIdQueryString());
+        blackhole.consume(cb.getPageCountQueryString());
+        blackhole.consume(cb.getQueryString());
+    }
+}
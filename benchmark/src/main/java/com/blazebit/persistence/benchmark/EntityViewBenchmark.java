@@ -0,0 +1,134 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.blazebit.persistence.benchmark;
+
+import com.blazebit.persistence.CriteriaBuilder;
+import com.blazebit.persistence.ObjectBuilder;
+import com.blazebit.persistence.PaginatedCriteriaBuilder;
+import com.blazebit.persistence.benchmark.model.Document;
+import com.blazebit.persistence.benchmark.view.DocumentUpdateView;
+import com.blazebit.persistence.benchmark.view.DocumentView;
+import com.blazebit.persistence.parser.expression.ExpressionFactory;
+import com.blazebit.persistence.view.EntityViewSetting;
+import com.blazebit.persistence.view.Sorters;
+import com.blazebit.persistence.view.impl.EntityViewConfiguration;
+import com.blazebit.persistence.view.impl.EntityViewManagerImpl;
+import com.blazebit.persistence.view.impl.macro.MutableEmbeddingViewJpqlMacro;
+import com.blazebit.persistence.view.impl.macro.MutableViewJpqlMacro;
+import com.blazebit.persistence.view.impl.metamodel.ManagedViewTypeImplementor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures applying entity view settings, materializing entity views from tuples and flushing updatable entity views.
+ *
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class EntityViewBenchmark {
+
+    private static final int TUPLE_COUNT = 1000;
+
+    /**
+     * The object builder for {@link DocumentView} along with synthetic tuples in the layout it expects.
+     */
+    @State(Scope.Benchmark)
+    public static class ObjectBuilderState {
+
+        ObjectBuilder<DocumentView> objectBuilder;
+        Object[][] tuples;
+
+        @Setup
+        @SuppressWarnings("unchecked")
+        public void setup(BenchmarkContext context) {
+            // Replicates what EntityViewSettingHelper does, but keeps the object builder instead of applying it
+            CriteriaBuilder<Document> cb = context.cbf.create(context.em, Document.class, "d");
+            ExpressionFactory ef = cb.getService(ExpressionFactory.class);
+            EntityViewManagerImpl evm = (EntityViewManagerImpl) context.evm;
+            ManagedViewTypeImplementor<?> viewType = (ManagedViewTypeImplementor<?>) evm.getMetamodel().managedView(DocumentView.class);
+            EntityViewConfiguration configuration = new EntityViewConfiguration(cb, ef, new MutableViewJpqlMacro(), new MutableEmbeddingViewJpqlMacro(),
+                    Collections.<String, Object>emptyMap(), Collections.<String, Object>emptyMap(), Collections.<String>emptySet(), viewType);
+            objectBuilder = (ObjectBuilder<DocumentView>) evm.createObjectBuilder(viewType, null, "d", null, cb, configuration, 0, 0, false);
+            tuples = new Object[TUPLE_COUNT][];
+            for (int i = 0; i < TUPLE_COUNT; i++) {
+                tuples[i] = new Object[]{ (long) i, "Document " + i, "Description " + i, "Owner" };
+            }
+        }
+    }
+
+    /**
+     * An updatable entity view that is flushed with alternating values so that every flush is dirty.
+     */
+    @State(Scope.Benchmark)
+    public static class UpdaterState {
+
+        DocumentUpdateView view;
+        int counter;
+
+        @Setup
+        public void setup(BenchmarkContext context) {
+            CriteriaBuilder<Document> cb = context.cbf.create(context.em, Document.class, "d")
+                    .orderByAsc("d.id")
+                    .setMaxResults(1);
+            view = context.evm.applySetting(EntityViewSetting.create(DocumentUpdateView.class), cb).getSingleResult();
+        }
+    }
+
+    @Benchmark
+    public String applySetting(BenchmarkContext context) {
+        EntityViewSetting<DocumentView, PaginatedCriteriaBuilder<DocumentView>> setting = EntityViewSetting.create(DocumentView.class, 0, 10);
+        setting.addAttributeSorter("name", Sorters.ascending());
+        return context.evm.applySetting(setting, context.cbf.create(context.em, Document.class, "d")).getQueryString();
+    }
+
+    @Benchmark
+    public void objectBuilderBuild(ObjectBuilderState state, Blackhole blackhole) {
+        ObjectBuilder<DocumentView> objectBuilder = state.objectBuilder;
+        Object[][] tuples = state.tuples;
+        for (int i = 0; i < tuples.length; i++) {
+            // The object builder may modify the tuple, so we build from a copy
+            blackhole.consume(objectBuilder.build(tuples[i].clone()));
+        }
+    }
+
+    @Benchmark
+    public void updaterFlush(BenchmarkContext context, UpdaterState state) {
+        state.view.setName("Document " + (state.counter++ & 1));
+        context.em.getTransaction().begin();
+        context.evm.save(context.em, state.view);
+        context.em.getTransaction().commit();
+        context.em.clear();
+    }
+}
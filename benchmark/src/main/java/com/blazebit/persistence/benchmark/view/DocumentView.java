@@ -0,0 +1,43 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.blazebit.persistence.benchmark.view;
+
+import com.blazebit.persistence.benchmark.model.Document;
+import com.blazebit.persistence.view.EntityView;
+import com.blazebit.persistence.view.IdMapping;
+import com.blazebit.persistence.view.Mapping;
+
+/**
+ * Apart from the id, all attributes are strings so that synthetic tuples don't depend on the attribute order.
+ *
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+@EntityView(Document.class)
+public interface DocumentView {
+
+    @IdMapping
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    @Mapping("owner.name")
+    String getOwnerName();
+}
@@ -108,6 +108,18 @@ public final class ConfigurationProperties {
      */
     public static final String EXPRESSION_CACHE_CLASS = "com.blazebit.persistence.expression.cache_class";
 
+    /**
+     * The maximum number of entries per cache name the expression cache may hold.
+     * The configured {@link #EXPRESSION_CACHE_CLASS} must have a constructor accepting an <code>int</code>,
+     * like <code>com.blazebit.persistence.parser.expression.BoundedExpressionCache</code>.
+     * If the default expression cache class is configured, setting this property switches to the bounded expression cache.
+     * Valid values for this property are positive integers.
+     * By default, the no-arg constructor of the expression cache class is used.
+     *
+     * @since 1.6.0
+     */
+    public static final String EXPRESSION_CACHE_MAXIMUM_SIZE = "com.blazebit.persistence.expression.cache_maximum_size";
+
     /**
      * If set to false, tuples of a VALUES clause with all null values won't be filtered out.
      * Valid values for this property are <code>true</code> or <code>false</code>.
@@ -192,6 +204,55 @@ public final class ConfigurationProperties {
      */
     public static final String QUERY_PLAN_CACHE_ENABLED = "com.blazebit.persistence.query_plan_cache_enabled";
 
+    /**
+     * The maximum number of query plans that are cached per persistence unit when {@link #QUERY_PLAN_CACHE_ENABLED} is active.
+     * Valid values for this property are positive integers.
+     * Default is <code>2048</code>.
+     * This configuration option currently only takes effect when Hibernate is used as JPA provider.
+     *
+     * The property can only be set on the factory level.
+     *
+     * @since 1.6.0
+     */
+    public static final String QUERY_PLAN_CACHE_MAX_SIZE = "com.blazebit.persistence.query_plan_cache_max_size";
+
+    /**
+     * The fully qualified class name of the {@link com.blazebit.persistence.spi.CountCache} implementation
+     * that is used for count queries of a {@link PaginatedCriteriaBuilder} with an enabled {@link PaginatedCriteriaBuilder#withCountCache(long, java.util.concurrent.TimeUnit)}.
+     * The class must have a public no-arg constructor or a constructor accepting an <code>int</code> when {@link #COUNT_CACHE_MAXIMUM_SIZE} is set.
+     * Default is <code>com.blazebit.persistence.impl.ConcurrentHashMapCountCache</code>.
+     *
+     * The property can only be set on the factory level.
+     *
+     * @since 1.6.0
+     */
+    public static final String COUNT_CACHE_CLASS = "com.blazebit.persistence.count_cache_class";
+
+    /**
+     * The maximum number of counts the count cache may hold.
+     * Valid values for this property are positive integers.
+     * Default is <code>1024</code>.
+     *
+     * The property can only be set on the factory level.
+     *
+     * @since 1.6.0
+     */
+    public static final String COUNT_CACHE_MAXIMUM_SIZE = "com.blazebit.persistence.count_cache_maximum_size";
+
+    /**
+     * If set to true, collection values bound to IN predicates are padded to the next power of two by repeating the last element
+     * and VALUES clauses created for a collection use the next power of two as value count.
+     * This reduces the number of distinct SQL strings and thus query plans for varying collection sizes.
+     * VALUES clauses are only padded if {@link #VALUES_CLAUSE_FILTER_NULLS} is enabled.
+     * Valid values for this property are <code>true</code> or <code>false</code>.
+     * Default is <code>false</code>
+     *
+     * The property can be changed for a criteria builder before constructing a query.
+     *
+     * @since 1.6.0
+     */
+    public static final String PARAMETER_LIST_PADDING = "com.blazebit.persistence.parameter_list_padding";
+
     private ConfigurationProperties() {
     }
 }
@@ -33,6 +33,7 @@ public class PagedArrayList<T> extends ArrayList<T> implements PagedList<T> {
 
     private final KeysetPage keyset;
     private final long totalSize;
+    private final boolean totalSizeCached;
     private final int page;
     private final int totalPages;
     private final int firstResult;
@@ -49,6 +50,7 @@ public class PagedArrayList<T> extends ArrayList<T> implements PagedList<T> {
     public PagedArrayList(KeysetPage keyset, long totalSize, int firstResult, int maxResults) {
         this.keyset = keyset;
         this.totalSize = totalSize;
+        this.totalSizeCached = false;
         this.page = (int) Math.floor((firstResult == -1 ? 0 : firstResult) * 1d / maxResults) + 1;
         this.totalPages = totalSize < 1 ? 0 : (int) Math.ceil(totalSize * 1d / maxResults);
         this.firstResult = firstResult;
@@ -65,9 +67,25 @@ public class PagedArrayList<T> extends ArrayList<T> implements PagedList<T> {
      * @param maxResults  The maximum result count for a page
      */
     public PagedArrayList(Collection<? extends T> collection, KeysetPage keyset, long totalSize, int firstResult, int maxResults) {
+        this(collection, keyset, totalSize, false, firstResult, maxResults);
+    }
+
+    /**
+     * Constructs a new paged array list from the given collection.
+     *
+     * @param collection      The collection of elements for this page
+     * @param keyset          The keyset page for this page
+     * @param totalSize       The total size of the result
+     * @param totalSizeCached Whether the total size was taken from the count cache
+     * @param firstResult     The first result index within the overall result
+     * @param maxResults      The maximum result count for a page
+     * @since 1.6.0
+     */
+    public PagedArrayList(Collection<? extends T> collection, KeysetPage keyset, long totalSize, boolean totalSizeCached, int firstResult, int maxResults) {
         super(collection);
         this.keyset = keyset;
         this.totalSize = totalSize;
+        this.totalSizeCached = totalSizeCached;
         this.page = (int) Math.floor((firstResult == -1 ? 0 : firstResult) * 1d / maxResults) + 1;
         this.totalPages = totalSize < 1 ? 0 : (int) Math.ceil(totalSize * 1d / maxResults);
         this.firstResult = firstResult;
@@ -84,6 +102,17 @@ public class PagedArrayList<T> extends ArrayList<T> implements PagedList<T> {
         return totalSize;
     }
 
+    /**
+     * Returns whether the total size was taken from the count cache rather than from executing the count query.
+     *
+     * @return True if the total size was cached, false otherwise
+     * @see PaginatedCriteriaBuilder#withCountCache(long, java.util.concurrent.TimeUnit)
+     * @since 1.6.0
+     */
+    public boolean isTotalSizeCached() {
+        return totalSizeCached;
+    }
+
     @Override
     public int getPage() {
         return page;
@@ -17,6 +17,8 @@
 package com.blazebit.persistence;
 
 import javax.persistence.TypedQuery;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A builder for paginated criteria queries.
@@ -135,6 +137,55 @@ public interface PaginatedCriteriaBuilder<T> extends FullQueryBuilder<T, Paginat
      */
     public long getBoundedCount();
 
+    /**
+     * Sets the executor on which the count query is executed concurrently to the id and object queries.
+     * The count query is executed with a separate entity manager created from the entity manager factory,
+     * so it runs on a separate connection and only sees committed data.
+     * Since that entity manager would not see the transaction, filters or tenant of the entity manager of this query,
+     * the count query is executed sequentially if the entity manager is joined to a transaction or has enabled filters or a tenant identifier.
+     * This means that concurrent counting only applies outside of transactions.
+     * With EclipseLink and with JTA entity managers of DataNucleus and OpenJPA, that state can't be determined, so the count query is always executed sequentially.
+     * Concurrent execution is only possible if the count query is not inlined, needs no CTEs, entity functions or bounded counting
+     * and no reference entity for navigation was given, otherwise the count query is executed sequentially.
+     *
+     * @param countQueryExecutor the executor for the count query or <code>null</code> to execute it sequentially
+     * @return The query builder for chaining calls
+     * @since 1.6.0
+     */
+    public PaginatedCriteriaBuilder<T> withCountQueryExecutor(Executor countQueryExecutor);
+
+    /**
+     * Returns the executor on which the count query is executed concurrently or <code>null</code>.
+     *
+     * @return the executor for the count query or <code>null</code>
+     * @since 1.6.0
+     */
+    public Executor getCountQueryExecutor();
+
+    /**
+     * Enables caching of the count query result for the given time to live.
+     * Counts are cached in the {@link com.blazebit.persistence.spi.CountCache} of the criteria builder factory,
+     * keyed by the count query string and the bound parameter values, so that subsequent pages can reuse the total size.
+     * Whether the total size of a result was taken from the cache can be determined via {@link PagedArrayList#isTotalSizeCached()}.
+     * Since a cached count can only be reused if the count query is executed separately, enabling the count cache disables the inline count query,
+     * which is then reported by {@link #isWithInlineCountQuery()}. Re-enabling the inline count query while the count cache is enabled is an error.
+     * Counts of queries that navigate to a reference entity are never cached.
+     *
+     * @param timeToLive the time to live of cached counts or <code>0</code> to disable the count cache
+     * @param timeUnit the unit of the time to live
+     * @return The query builder for chaining calls
+     * @since 1.6.0
+     */
+    public PaginatedCriteriaBuilder<T> withCountCache(long timeToLive, TimeUnit timeUnit);
+
+    /**
+     * Returns the time to live in milliseconds of cached counts or <code>0</code> if the count cache is disabled.
+     *
+     * @return the time to live of cached counts in milliseconds
+     * @since 1.6.0
+     */
+    public long getCountCacheTimeToLive();
+
     /**
      * Forces the use of an id query even if the pagination would not need it.
      *
@@ -189,6 +240,7 @@ public interface PaginatedCriteriaBuilder<T> extends FullQueryBuilder<T, Paginat
 
     /**
      * Forces the inlining of an count query into the object or id query.
+     * The count query can't be inlined while the count cache is enabled via {@link #withCountCache(long, TimeUnit)}.
      *
      * @param withInlineCountQuery true to inline the count query, false otherwise
      * @return The query builder for chaining calls
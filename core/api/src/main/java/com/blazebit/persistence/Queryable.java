@@ -51,6 +51,22 @@ public interface Queryable<T, X extends Queryable<T, X>> {
      */
     public List<T> getResultList();
 
+    /**
+     * Execute the query and return an iterator over the results.
+     *
+     * If the JPA provider supports it, results are fetched from the database while iterating
+     * rather than being loaded into memory all at once.
+     * This is only possible if no object builder is used or the object builder is a {@link StreamableObjectBuilder}.
+     * The returned iterator must be closed if it isn't fully consumed.
+     *
+     * Note that this method was added in 1.6.0, so custom implementations of this interface have to implement it.
+     * Implementations that can't fetch incrementally may return an iterator over {@link #getResultList()}.
+     *
+     * @return The iterator over the results
+     * @since 1.6.0
+     */
+    public CloseableIterator<T> getResultIterator();
+
     /**
      * Execute the query expecting a single result.
      *
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence;
+
+/**
+ * Marker interface to signal, that {@link #buildList(java.util.List)} returns the given list as is.
+ *
+ * This allows {@link Queryable#getResultIterator()} to build the objects one tuple at a time
+ * instead of materializing the full result list before transforming it.
+ *
+ * @param <T> The type that this builder produces
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+public interface StreamableObjectBuilder<T> extends ObjectBuilder<T> {
+
+}
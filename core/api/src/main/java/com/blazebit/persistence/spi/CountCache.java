@@ -0,0 +1,59 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.spi;
+
+import java.util.Map;
+
+/**
+ * A cache for the results of count queries of paginated criteria builders.
+ * The cache is used for a {@link com.blazebit.persistence.PaginatedCriteriaBuilder} when a time to live is configured via
+ * {@link com.blazebit.persistence.PaginatedCriteriaBuilder#withCountCache(long, java.util.concurrent.TimeUnit)}.
+ * Counts are keyed by the count query string and the bound parameter values.
+ * The implementation can be configured via {@link com.blazebit.persistence.ConfigurationProperties#COUNT_CACHE_CLASS}
+ * and obtained via <code>CriteriaBuilderFactory.getService(CountCache.class)</code>.
+ *
+ * Implementations must be thread safe.
+ *
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+public interface CountCache {
+
+    /**
+     * Returns the cached count for the given count query and parameter values or <code>null</code> if there is no valid entry.
+     *
+     * @param countQueryString The count query string
+     * @param parameterValues The parameter values of the count query by parameter name or position
+     * @return The cached count or <code>null</code>
+     */
+    public Long get(String countQueryString, Map<String, Object> parameterValues);
+
+    /**
+     * Caches the given count for the given count query and parameter values.
+     *
+     * @param countQueryString The count query string
+     * @param parameterValues The parameter values of the count query by parameter name or position
+     * @param count The count
+     * @param timeToLiveMillis The number of milliseconds after which the entry must not be returned anymore
+     */
+    public void put(String countQueryString, Map<String, Object> parameterValues, long count, long timeToLiveMillis);
+
+    /**
+     * Removes all cached counts.
+     */
+    public void clear();
+}
@@ -19,6 +19,7 @@ package com.blazebit.persistence.spi;
 import com.blazebit.persistence.ReturningResult;
 
 import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 import javax.persistence.Query;
 import java.util.List;
 
@@ -138,4 +139,15 @@ public interface ExtendedQuerySupport {
      * @return The returning result of the query
      */
     public ReturningResult<Object[]> executeReturning(ServiceProvider serviceProvider, List<Query> participatingQueries, Query baseQuery, Query exampleQuery, String sqlOverride, boolean queryPlanCacheEnabled);
+
+    /**
+     * Returns a snapshot of the statistics of the query plan cache used for the given entity manager factory,
+     * or <code>null</code> if query plans aren't cached by this implementation.
+     *
+     * @param serviceProvider The service provider to access the configuration of the query plan cache
+     * @param entityManagerFactory The entity manager factory for which to return the query plan cache statistics
+     * @return The query plan cache statistics or <code>null</code>
+     * @since 1.6.0
+     */
+    public QueryPlanCacheStatistics getQueryPlanCacheStatistics(ServiceProvider serviceProvider, EntityManagerFactory entityManagerFactory);
 }
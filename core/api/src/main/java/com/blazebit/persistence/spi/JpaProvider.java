@@ -435,6 +435,30 @@ public interface JpaProvider {
      */
     public boolean containsEntity(EntityManager em, Class<?> entityClass, Object id);
 
+    /**
+     * Returns whether the entity manager has state that influences query results and that is not visible to a separate entity manager,
+     * like a transaction in progress, enabled filters or a tenant identifier.
+     * A running transaction always counts as such state, because changes flushed in it are not visible to other connections.
+     * Providers that can't inspect that state must return true.
+     *
+     * @param em The entity manager
+     * @return True if the entity manager might have such state, false otherwise
+     * @since 1.6.0
+     */
+    public boolean hasSessionState(EntityManager em);
+
+    /**
+     * Returns a key for the state of the entity manager that influences query results and that is not part of the query,
+     * like enabled filters with their parameter values or a tenant identifier, or <code>null</code> if the entity manager has no such state.
+     * Caches that share query results across entity managers must only share them between entity managers with equal keys.
+     * Unlike {@link #hasSessionState(EntityManager)}, a running transaction is not part of the key.
+     *
+     * @param em The entity manager
+     * @return The key for the state or <code>null</code>
+     * @since 1.6.0
+     */
+    public Object getSessionStateKey(EntityManager em);
+
     /**
      * Indicates if the provider supports expressions like
      *
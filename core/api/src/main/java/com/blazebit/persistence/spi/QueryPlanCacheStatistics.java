@@ -0,0 +1,141 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.blazebit.persistence.spi;
+
+/**
+ * A snapshot of the statistics of the query plan cache used by an {@link ExtendedQuerySupport} for advanced SQL queries.
+ * Can be obtained via <code>CriteriaBuilderFactory.getService(QueryPlanCacheStatistics.class)</code>.
+ *
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+public final class QueryPlanCacheStatistics {
+
+    private final int maximumSize;
+    private final int size;
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long sqlRenderingCount;
+    private final long sqlRenderingTimeNanos;
+
+    public QueryPlanCacheStatistics(int maximumSize, int size, long hitCount, long missCount, long evictionCount, long sqlRenderingCount, long sqlRenderingTimeNanos) {
+        this.maximumSize = maximumSize;
+        this.size = size;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.sqlRenderingCount = sqlRenderingCount;
+        this.sqlRenderingTimeNanos = sqlRenderingTimeNanos;
+    }
+
+    /**
+     * Returns the maximum number of query plans the cache may hold.
+     *
+     * @return The maximum size
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Returns the number of query plans currently cached.
+     *
+     * @return The size
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the number of lookups that could reuse a cached query plan.
+     *
+     * @return The hit count
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of lookups that had to build a new query plan.
+     *
+     * @return The miss count
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of query plans that were evicted from the cache because it was full.
+     *
+     * @return The eviction count
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns the number of times a query plan had to be built and its SQL rendered, including queries for which the cache was disabled.
+     *
+     * @return The SQL rendering count
+     */
+    public long getSqlRenderingCount() {
+        return sqlRenderingCount;
+    }
+
+    /**
+     * Returns the total time in nanoseconds spent building query plans and rendering their SQL.
+     *
+     * @return The total SQL rendering time in nanoseconds
+     */
+    public long getSqlRenderingTimeNanos() {
+        return sqlRenderingTimeNanos;
+    }
+
+    /**
+     * Returns the average time in nanoseconds spent building a query plan and rendering its SQL.
+     *
+     * @return The average SQL rendering time in nanoseconds
+     */
+    public long getAverageSqlRenderingTimeNanos() {
+        return sqlRenderingCount == 0 ? 0L : sqlRenderingTimeNanos / sqlRenderingCount;
+    }
+
+    /**
+     * Returns the ratio of cache hits to all cache lookups.
+     *
+     * @return The hit ratio
+     */
+    public double getHitRatio() {
+        long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 1.0d : (double) hitCount / requestCount;
+    }
+
+    @Override
+    public String toString() {
+        return "QueryPlanCacheStatistics{" +
+                "maximumSize=" + maximumSize +
+                ", size=" + size +
+                ", hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", evictionCount=" + evictionCount +
+                ", sqlRenderingCount=" + sqlRenderingCount +
+                ", sqlRenderingTimeNanos=" + sqlRenderingTimeNanos +
+                '}';
+    }
+}
@@ -68,6 +68,7 @@ import com.blazebit.persistence.impl.transform.SimpleTransformerGroup;
 import com.blazebit.persistence.impl.transform.SizeTransformationVisitor;
 import com.blazebit.persistence.impl.transform.SizeTransformerGroup;
 import com.blazebit.persistence.impl.transform.SubqueryRecursiveExpressionVisitor;
+import com.blazebit.persistence.impl.util.PaddingUtils;
 import com.blazebit.persistence.impl.util.SqlUtils;
 import com.blazebit.persistence.parser.AliasReplacementVisitor;
 import com.blazebit.persistence.parser.EntityMetamodel;
@@ -77,6 +78,7 @@ import com.blazebit.persistence.parser.expression.Expression;
 import com.blazebit.persistence.parser.expression.ExpressionCopyContext;
 import com.blazebit.persistence.parser.expression.ExpressionCopyContextMap;
 import com.blazebit.persistence.parser.expression.ExpressionFactory;
+import com.blazebit.persistence.parser.expression.ExpressionTreeBuilder;
 import com.blazebit.persistence.parser.expression.FunctionExpression;
 import com.blazebit.persistence.parser.expression.NumericLiteral;
 import com.blazebit.persistence.parser.expression.NumericType;
@@ -144,7 +146,7 @@ import java.util.Set;
  * @author Moritz Becker
  * @since 1.0.0
  */
-public abstract class AbstractCommonQueryBuilder<QueryResultType, BuilderType, SetReturn, SubquerySetReturn, FinalSetReturn extends BaseFinalSetOperationBuilderImpl<?, ?, ?>> implements ServiceProvider, ConfigurationSource {
+public abstract class AbstractCommonQueryBuilder<QueryResultType, BuilderType, SetReturn, SubquerySetReturn, FinalSetReturn extends BaseFinalSetOperationBuilderImpl<?, ?, ?>> implements ServiceProvider, ConfigurationSource, ExpressionTreeBuilder<BuilderType> {
 
     public static final String ID_PARAM_NAME = "ids";
 
@@ -862,29 +864,38 @@ public abstract class AbstractCommonQueryBuilder<QueryResultType, BuilderType, S
     }
 
     public <T> BuilderType fromValues(Class<T> valueClass, String alias, Collection<T> values) {
-        BuilderType result = fromValues(valueClass, alias, values.size());
+        BuilderType result = fromValues(valueClass, alias, getValueCount(values));
         setParameter(alias, values);
         return result;
     }
 
     public BuilderType fromValues(Class<?> entityBaseClass, String attributeName, String alias, Collection<?> values) {
-        BuilderType result = fromValues(entityBaseClass, attributeName, alias, values.size());
+        BuilderType result = fromValues(entityBaseClass, attributeName, alias, getValueCount(values));
         setParameter(alias, values);
         return result;
     }
 
     public <T> BuilderType fromIdentifiableValues(Class<T> valueClass, String alias, Collection<T> values) {
-        BuilderType result = fromIdentifiableValues(valueClass, alias, values.size());
+        BuilderType result = fromIdentifiableValues(valueClass, alias, getValueCount(values));
         setParameter(alias, values);
         return result;
     }
 
     public <T> BuilderType fromIdentifiableValues(Class<T> valueClass, String identifierAttribute, String alias, Collection<T> values) {
-        BuilderType result = fromIdentifiableValues(valueClass, identifierAttribute, alias, values.size());
+        BuilderType result = fromIdentifiableValues(valueClass, identifierAttribute, alias, getValueCount(values));
         setParameter(alias, values);
         return result;
     }
 
+    private int getValueCount(Collection<?> values) {
+        QueryConfiguration queryConfiguration = mainQuery.getQueryConfiguration();
+        // Padded tuples are all null, so we can only pad if they are filtered
+        if (queryConfiguration.isParameterListPaddingEnabled() && queryConfiguration.isValuesClauseFilterNullsEnabled()) {
+            return PaddingUtils.getPaddedSize(values.size());
+        }
+        return values.size();
+    }
+
     public BuilderType fromIdentifiableValues(Class<?> valueClass, String alias, int valueCount) {
         return fromIdentifiableValues(valueClass, null, alias, valueCount);
     }
@@ -1276,15 +1287,20 @@ public abstract class AbstractCommonQueryBuilder<QueryResultType, BuilderType, S
         return select(expression, null);
     }
 
-    @SuppressWarnings("unchecked")
     public BuilderType select(String expression, String selectAlias) {
         Expression expr = expressionFactory.createSimpleExpression(expression, false);
+        return selectExpressionTree(expr, selectAlias);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public BuilderType selectExpressionTree(Expression expression, String selectAlias) {
         if (selectAlias != null && selectAlias.isEmpty()) {
             throw new IllegalArgumentException("selectAlias");
         }
         verifyBuilderEnded();
         prepareForModification(ClauseType.SELECT);
-        selectManager.select(expr, selectAlias);
+        selectManager.select(expression, selectAlias);
         if (selectManager.getSelectInfos().size() > 1) {
             // TODO: don't know if we should override this here
             resultType = (Class<QueryResultType>) Tuple.class;
@@ -1483,10 +1499,15 @@ public abstract class AbstractCommonQueryBuilder<QueryResultType, BuilderType, S
         return whereManager.restrictExpressionSubqueries((BuilderType) this, predicate);
     }
 
-    @SuppressWarnings("unchecked")
     public BuilderType setWhereExpression(String expression) {
-        prepareForModification(ClauseType.WHERE);
         Predicate predicate = expressionFactory.createBooleanExpression(expression, false);
+        return setWhereExpressionTree(predicate);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public BuilderType setWhereExpressionTree(Predicate predicate) {
+        prepareForModification(ClauseType.WHERE);
         whereManager.restrictSetExpression(predicate);
         return (BuilderType) this;
     }
@@ -1694,7 +1715,6 @@ public abstract class AbstractCommonQueryBuilder<QueryResultType, BuilderType, S
         return orderBy(expression, ascending, false);
     }
 
-    @SuppressWarnings("unchecked")
     public BuilderType orderBy(String expression, boolean ascending, boolean nullFirst) {
         Expression expr;
         if (mainQuery.getQueryConfiguration().isCompatibleModeEnabled()) {
@@ -1702,14 +1722,16 @@ public abstract class AbstractCommonQueryBuilder<QueryResultType, BuilderType, S
         } else {
             expr = expressionFactory.createSimpleExpression(expression, false);
         }
-        orderBy(expr, ascending, nullFirst);
-        return (BuilderType) this;
+        return orderByExpressionTree(expr, ascending, nullFirst);
     }
 
-    private void orderBy(Expression expression, boolean ascending, boolean nullFirst) {
+    @Override
+    @SuppressWarnings("unchecked")
+    public BuilderType orderByExpressionTree(Expression expression, boolean ascending, boolean nullFirst) {
         prepareForModification(ClauseType.ORDER_BY);
         verifyBuilderEnded();
         orderByManager.orderBy(expression, ascending, nullFirst);
+        return (BuilderType) this;
     }
 
     /*
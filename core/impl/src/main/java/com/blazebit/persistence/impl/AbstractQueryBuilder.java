@@ -20,8 +20,10 @@ import java.util.List;
 
 import javax.persistence.TypedQuery;
 
+import com.blazebit.persistence.CloseableIterator;
 import com.blazebit.persistence.FullQueryBuilder;
 import com.blazebit.persistence.Queryable;
+import com.blazebit.persistence.impl.query.StreamResultIterator;
 import com.blazebit.persistence.spi.DbmsStatementType;
 
 /**
@@ -57,6 +59,11 @@ public abstract class AbstractQueryBuilder<T, X extends Queryable<T, X>, Z, W, F
         return getQuery().getResultList();
     }
 
+    @Override
+    public CloseableIterator<T> getResultIterator() {
+        return StreamResultIterator.forQuery(getQuery());
+    }
+
     @Override
     public T getSingleResult() {
         return getQuery().getSingleResult();
@@ -18,6 +18,7 @@ package com.blazebit.persistence.impl;
 
 import com.blazebit.persistence.BaseFinalSetOperationBuilder;
 import com.blazebit.persistence.BaseOngoingFinalSetOperationBuilder;
+import com.blazebit.persistence.CloseableIterator;
 import com.blazebit.persistence.impl.function.querywrapper.QueryWrapperFunction;
 import com.blazebit.persistence.impl.query.CTENode;
 import com.blazebit.persistence.impl.query.CustomSQLQuery;
@@ -25,6 +26,7 @@ import com.blazebit.persistence.impl.query.CustomSQLTypedQuery;
 import com.blazebit.persistence.impl.query.EntityFunctionNode;
 import com.blazebit.persistence.impl.query.QuerySpecification;
 import com.blazebit.persistence.impl.query.SetOperationQuerySpecification;
+import com.blazebit.persistence.impl.query.StreamResultIterator;
 import com.blazebit.persistence.parser.expression.Expression;
 import com.blazebit.persistence.parser.expression.ExpressionCopyContext;
 import com.blazebit.persistence.parser.expression.FunctionExpression;
@@ -106,6 +108,12 @@ public abstract class BaseFinalSetOperationBuilderImpl<T, X extends BaseFinalSet
         return (X) this;
     }
 
+    @Override
+    public X orderByExpressionTree(Expression expression, boolean ascending, boolean nullFirst) {
+        // The order by elements of set operations refer to select items of the left most query by their rendered form
+        return orderBy(expression.toString(), ascending, nullFirst);
+    }
+
     private boolean isNullable(AbstractCommonQueryBuilder<?, ?, ?, ?, ?> queryBuilder, String expression) {
         if (queryBuilder instanceof BaseFinalSetOperationBuilderImpl<?, ?, ?>) {
             SetOperationManager setOpManager = ((BaseFinalSetOperationBuilderImpl<?, ?, ?>) queryBuilder).setOperationManager;
@@ -446,6 +454,10 @@ public abstract class BaseFinalSetOperationBuilderImpl<T, X extends BaseFinalSet
         return getTypedQuery(null, null).getResultList();
     }
 
+    public CloseableIterator<T> getResultIterator() {
+        return StreamResultIterator.forQuery(getTypedQuery(null, null));
+    }
+
     public T getSingleResult() {
         return getTypedQuery(null, null).getSingleResult();
     }
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.impl;
+
+import com.blazebit.persistence.spi.CountCache;
+
+import javax.persistence.Parameter;
+import javax.persistence.TypedQuery;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Looks up and stores the result of a count query in a {@link CountCache}.
+ *
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+public class CachingCountQuery {
+
+    private final CountCache countCache;
+    private final String countQueryString;
+    private final long timeToLiveMillis;
+
+    public CachingCountQuery(CountCache countCache, String countQueryString, long timeToLiveMillis) {
+        this.countCache = countCache;
+        this.countQueryString = countQueryString;
+        this.timeToLiveMillis = timeToLiveMillis;
+    }
+
+    public Map<String, Object> getParameterValues(TypedQuery<?> countQuery) {
+        Map<String, Object> parameterValues = new HashMap<>();
+        for (Parameter<?> parameter : countQuery.getParameters()) {
+            if (countQuery.isBound(parameter)) {
+                String name = parameter.getName() == null ? parameter.getPosition().toString() : parameter.getName();
+                parameterValues.put(name, countQuery.getParameterValue(parameter));
+            }
+        }
+        return parameterValues;
+    }
+
+    public Long get(Map<String, Object> parameterValues) {
+        return countCache.get(countQueryString, parameterValues);
+    }
+
+    public void put(Map<String, Object> parameterValues, long count) {
+        countCache.put(countQueryString, parameterValues, count, timeToLiveMillis);
+    }
+}
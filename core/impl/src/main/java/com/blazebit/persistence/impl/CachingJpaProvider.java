@@ -294,6 +294,16 @@ public final class CachingJpaProvider implements JpaProvider {
         return jpaProvider.containsEntity(em, entityClass, id);
     }
 
+    @Override
+    public boolean hasSessionState(EntityManager em) {
+        return jpaProvider.hasSessionState(em);
+    }
+
+    @Override
+    public Object getSessionStateKey(EntityManager em) {
+        return jpaProvider.getSessionStateKey(em);
+    }
+
     @Override
     public boolean supportsSingleValuedAssociationIdExpressions() {
         return jpaProvider.supportsSingleValuedAssociationIdExpressions();
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.impl;
+
+import com.blazebit.persistence.spi.JpaProvider;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Parameter;
+import javax.persistence.PersistenceException;
+import javax.persistence.TypedQuery;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Executes a plain JPQL count query on a separate entity manager through an {@link Executor}.
+ * Since the separate entity manager does not share the transaction, filters or tenant of the entity manager of the query,
+ * the count query is only executed concurrently if the query entity manager has no such state.
+ *
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+public class ConcurrentCountQuery {
+
+    private final Executor executor;
+    private final EntityManager entityManager;
+    private final JpaProvider jpaProvider;
+    private final String countQueryString;
+    private final boolean cacheable;
+
+    public ConcurrentCountQuery(Executor executor, EntityManager entityManager, JpaProvider jpaProvider, String countQueryString, boolean cacheable) {
+        this.executor = executor;
+        this.entityManager = entityManager;
+        this.jpaProvider = jpaProvider;
+        this.countQueryString = countQueryString;
+        this.cacheable = cacheable;
+    }
+
+    /**
+     * Returns whether the count query can be executed on a separate entity manager without changing its result,
+     * which is not the case if the query entity manager is joined to a transaction or has enabled filters or a tenant identifier.
+     *
+     * @return True if the count query can be submitted, false otherwise
+     */
+    public boolean isSubmittable() {
+        return !jpaProvider.hasSessionState(entityManager);
+    }
+
+    /**
+     * Submits the count query with the parameter values currently bound to the given count query.
+     * If the executor rejects the task, the count query is executed on the calling thread.
+     *
+     * @param countQuery The count query from which to take the parameter values
+     * @return The future for the count
+     */
+    public Future<Long> submit(TypedQuery<?> countQuery) {
+        // Parameter values must be read on the calling thread as the query is not thread safe
+        final List<Map.Entry<Parameter<?>, Object>> parameterValues = new ArrayList<>();
+        for (Parameter<?> parameter : countQuery.getParameters()) {
+            if (countQuery.isBound(parameter)) {
+                parameterValues.add(new AbstractMap.SimpleEntry<Parameter<?>, Object>(parameter, countQuery.getParameterValue(parameter)));
+            }
+        }
+        final EntityManagerFactory entityManagerFactory = entityManager.getEntityManagerFactory();
+        FutureTask<Long> task = new FutureTask<>(new Callable<Long>() {
+            @Override
+            public Long call() {
+                EntityManager em = entityManagerFactory.createEntityManager();
+                try {
+                    TypedQuery<Long> query = em.createQuery(countQueryString, Long.class);
+                    if (cacheable) {
+                        jpaProvider.setCacheable(query);
+                    }
+                    for (Map.Entry<Parameter<?>, Object> entry : parameterValues) {
+                        Parameter<?> parameter = entry.getKey();
+                        if (parameter.getName() == null) {
+                            query.setParameter(parameter.getPosition(), entry.getValue());
+                        } else {
+                            query.setParameter(parameter.getName(), entry.getValue());
+                        }
+                    }
+                    return query.getSingleResult();
+                } finally {
+                    em.close();
+                }
+            }
+        });
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException ex) {
+            task.run();
+        }
+        return task;
+    }
+
+    /**
+     * Waits for the count of the given future and rethrows failures of the count query.
+     *
+     * @param future The future as returned by {@link #submit(TypedQuery)}
+     * @return The count
+     */
+    public static long getCount(Future<Long> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new PersistenceException("Interrupted while waiting for the count query", ex);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new PersistenceException("The count query failed", cause);
+        }
+    }
+}
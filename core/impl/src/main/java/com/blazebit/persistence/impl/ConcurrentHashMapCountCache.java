@@ -0,0 +1,146 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.impl;
+
+import com.blazebit.persistence.spi.CountCache;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The default {@link CountCache} that expires entries after their time to live and holds at most a configurable number of counts.
+ *
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+public class ConcurrentHashMapCountCache implements CountCache {
+
+    private static final int DEFAULT_MAXIMUM_SIZE = 1024;
+
+    private final int maximumSize;
+    private final ConcurrentMap<Key, Entry> cache;
+
+    public ConcurrentHashMapCountCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public ConcurrentHashMapCountCache(int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Invalid maximum size for count cache: " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+        this.cache = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public Long get(String countQueryString, Map<String, Object> parameterValues) {
+        Key key = new Key(countQueryString, parameterValues);
+        Entry entry = cache.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.nanoTime())) {
+            cache.remove(key, entry);
+            return null;
+        }
+        return entry.count;
+    }
+
+    @Override
+    public void put(String countQueryString, Map<String, Object> parameterValues, long count, long timeToLiveMillis) {
+        long now = System.nanoTime();
+        if (cache.size() >= maximumSize) {
+            evict(now);
+        }
+        cache.put(new Key(countQueryString, new HashMap<>(parameterValues)), new Entry(count, now + TimeUnit.MILLISECONDS.toNanos(timeToLiveMillis)));
+    }
+
+    @Override
+    public void clear() {
+        cache.clear();
+    }
+
+    private void evict(long now) {
+        Iterator<Entry> iterator = cache.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().isExpired(now)) {
+                iterator.remove();
+            }
+        }
+        // If nothing expired, drop arbitrary entries to make room
+        iterator = cache.values().iterator();
+        while (cache.size() >= maximumSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * @author Christian Beikov
+     * @since 1.6.0
+     */
+    private static final class Key {
+        private final String countQueryString;
+        private final Map<String, Object> parameterValues;
+        private final int hash;
+
+        public Key(String countQueryString, Map<String, Object> parameterValues) {
+            this.countQueryString = countQueryString;
+            this.parameterValues = parameterValues;
+            this.hash = 31 * countQueryString.hashCode() + parameterValues.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return countQueryString.equals(key.countQueryString) && parameterValues.equals(key.parameterValues);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * @author Christian Beikov
+     * @since 1.6.0
+     */
+    private static final class Entry {
+        private final long count;
+        private final long expirationNanos;
+
+        public Entry(long count, long expirationNanos) {
+            this.count = count;
+            this.expirationNanos = expirationNanos;
+        }
+
+        public boolean isExpired(long now) {
+            return now - expirationNanos >= 0;
+        }
+    }
+}
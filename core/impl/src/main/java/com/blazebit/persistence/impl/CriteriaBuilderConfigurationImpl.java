@@ -1838,6 +1838,7 @@ public class CriteriaBuilderConfigurationImpl implements CriteriaBuilderConfigur
         properties.put(ConfigurationProperties.INLINE_ID_QUERY, "auto");
         properties.put(ConfigurationProperties.INLINE_COUNT_QUERY, "auto");
         properties.put(ConfigurationProperties.INLINE_CTES, "true");
+        properties.put(ConfigurationProperties.COUNT_CACHE_CLASS, ConcurrentHashMapCountCache.class.getName());
     }
 
     private void loadExtendedQuerySupport() {
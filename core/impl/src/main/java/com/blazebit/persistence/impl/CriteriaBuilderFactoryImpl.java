@@ -16,6 +16,7 @@
 
 package com.blazebit.persistence.impl;
 
+import com.blazebit.persistence.ConfigurationProperties;
 import com.blazebit.persistence.CriteriaBuilder;
 import com.blazebit.persistence.CriteriaBuilderFactory;
 import com.blazebit.persistence.DeleteCriteriaBuilder;
@@ -23,7 +24,11 @@ import com.blazebit.persistence.InsertCriteriaBuilder;
 import com.blazebit.persistence.LeafOngoingFinalSetOperationCriteriaBuilder;
 import com.blazebit.persistence.StartOngoingSetOperationCriteriaBuilder;
 import com.blazebit.persistence.UpdateCriteriaBuilder;
+import com.blazebit.persistence.impl.query.QuerySpecificationSqlCache;
 import com.blazebit.persistence.parser.FunctionKind;
+import com.blazebit.persistence.parser.expression.AbstractCachingExpressionFactory;
+import com.blazebit.persistence.parser.expression.BoundedExpressionCache;
+import com.blazebit.persistence.parser.expression.ConcurrentHashMapExpressionCache;
 import com.blazebit.persistence.parser.expression.ExpressionCache;
 import com.blazebit.persistence.parser.expression.ExpressionFactory;
 import com.blazebit.persistence.parser.expression.ExpressionFactoryImpl;
@@ -31,6 +36,7 @@ import com.blazebit.persistence.parser.expression.MacroConfiguration;
 import com.blazebit.persistence.parser.expression.SimpleCachingExpressionFactory;
 import com.blazebit.persistence.parser.expression.SubqueryExpressionFactory;
 import com.blazebit.persistence.spi.ConfigurationSource;
+import com.blazebit.persistence.spi.CountCache;
 import com.blazebit.persistence.spi.DbmsDialect;
 import com.blazebit.persistence.spi.EntityManagerFactoryIntegrator;
 import com.blazebit.persistence.spi.ExtendedQuerySupport;
@@ -40,10 +46,12 @@ import com.blazebit.persistence.spi.JpqlFunction;
 import com.blazebit.persistence.spi.JpqlFunctionGroup;
 import com.blazebit.persistence.spi.JpqlFunctionKind;
 import com.blazebit.persistence.spi.PackageOpener;
+import com.blazebit.persistence.spi.QueryPlanCacheStatistics;
 
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.metamodel.Metamodel;
+import java.lang.reflect.Constructor;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -64,6 +72,8 @@ public class CriteriaBuilderFactoryImpl implements CriteriaBuilderFactory {
     private final Map<String, FunctionKind> functions;
     private final Map<Class<?>, String> namedTypes;
     private final ExpressionCache expressionCache;
+    private final CountCache countCache;
+    private final QuerySpecificationSqlCache querySpecificationSqlCache;
     private final ExpressionFactory expressionFactory;
     private final ExpressionFactory subqueryExpressionFactory;
     private final QueryConfiguration queryConfiguration;
@@ -115,23 +125,66 @@ public class CriteriaBuilderFactoryImpl implements CriteriaBuilderFactory {
         this.namedTypes = resolveNamedTypes(config.getNamedTypes());
 
         ExpressionFactory originalExpressionFactory = new ExpressionFactoryImpl(functions, metamodel.getEntityTypes(), metamodel.getEnumTypes(), metamodel.getEnumTypesForLiterals(), !compatibleMode, optimize);
-        this.expressionCache = createCache(queryConfiguration.getExpressionCacheClass());
+        this.expressionCache = createCache(queryConfiguration.getExpressionCacheClass(), config.getProperty(ConfigurationProperties.EXPRESSION_CACHE_MAXIMUM_SIZE));
         ExpressionFactory cachingExpressionFactory = new SimpleCachingExpressionFactory(originalExpressionFactory, expressionCache);
-        ExpressionFactory cachingSubqueryExpressionFactory = new SimpleCachingExpressionFactory(new SubqueryExpressionFactory(functions, metamodel.getEntityTypes(), metamodel.getEnumTypes(), metamodel.getEnumTypesForLiterals(), !compatibleMode, optimize, originalExpressionFactory));
+        // The subquery expression factory parses simple expressions differently, so it uses separate cache names in the shared cache
+        ExpressionFactory cachingSubqueryExpressionFactory = new SimpleCachingExpressionFactory(new SubqueryExpressionFactory(functions, metamodel.getEntityTypes(), metamodel.getEnumTypes(), metamodel.getEnumTypesForLiterals(), !compatibleMode, optimize, originalExpressionFactory),
+                expressionCache, AbstractCachingExpressionFactory.DEFAULT_CACHE_NAME_PREFIX + "subquery.");
+        this.countCache = createCountCache(config.getProperty(ConfigurationProperties.COUNT_CACHE_CLASS), config.getProperty(ConfigurationProperties.COUNT_CACHE_MAXIMUM_SIZE));
+        this.querySpecificationSqlCache = new QuerySpecificationSqlCache(queryConfiguration.getQueryPlanCacheMaxSize());
         this.macroConfiguration = MacroConfiguration.of(JpqlMacroAdapter.createMacros(config.getMacros(), cachingExpressionFactory));
         JpqlMacroStorage macroStorage = new JpqlMacroStorage(null, macroConfiguration);
         this.expressionFactory = new JpqlMacroAwareExpressionFactory(cachingExpressionFactory, macroStorage);
         this.subqueryExpressionFactory = new JpqlMacroAwareExpressionFactory(cachingSubqueryExpressionFactory, macroStorage);
     }
 
-    private ExpressionCache createCache(String className) {
+    private ExpressionCache createCache(String className, String maximumSize) {
+        Class<?> cacheClass;
         try {
-            return (ExpressionCache) Class.forName(className).newInstance();
+            cacheClass = Class.forName(className);
+        } catch (Exception ex) {
+            throw new IllegalArgumentException("Could not instantiate expression cache: " + className, ex);
+        }
+        if (maximumSize != null) {
+            // The default cache is unbounded, so configuring a maximum size switches to the bounded cache
+            if (cacheClass == ConcurrentHashMapExpressionCache.class) {
+                cacheClass = BoundedExpressionCache.class;
+            }
+            Constructor<?> constructor;
+            try {
+                constructor = cacheClass.getConstructor(int.class);
+            } catch (NoSuchMethodException ex) {
+                throw new IllegalArgumentException("The expression cache class '" + className + "' has no constructor accepting an int, so the property '"
+                        + ConfigurationProperties.EXPRESSION_CACHE_MAXIMUM_SIZE + "' can't be applied!", ex);
+            }
+            try {
+                return (ExpressionCache) constructor.newInstance(Integer.parseInt(maximumSize));
+            } catch (Exception ex) {
+                throw new IllegalArgumentException("Could not instantiate expression cache: " + cacheClass.getName(), ex);
+            }
+        }
+        try {
+            return (ExpressionCache) cacheClass.newInstance();
         } catch (Exception ex) {
             throw new IllegalArgumentException("Could not instantiate expression cache: " + className, ex);
         }
     }
 
+    private CountCache createCountCache(String className, String maximumSize) {
+        if (className == null) {
+            className = ConcurrentHashMapCountCache.class.getName();
+        }
+        try {
+            Class<?> cacheClass = Class.forName(className);
+            if (maximumSize != null) {
+                return (CountCache) cacheClass.getConstructor(int.class).newInstance(Integer.parseInt(maximumSize));
+            }
+            return (CountCache) cacheClass.newInstance();
+        } catch (Exception ex) {
+            throw new IllegalArgumentException("Could not instantiate count cache: " + className, ex);
+        }
+    }
+
     private static Map<String, FunctionKind> resolveFunctions(Map<String, JpqlFunctionGroup> functions, Map<String, JpqlFunction> configuredFunctions) {
         Map<String, FunctionKind> map = new HashMap<>();
         for (Map.Entry<String, JpqlFunctionGroup> entry : functions.entrySet()) {
@@ -180,6 +233,10 @@ public class CriteriaBuilderFactoryImpl implements CriteriaBuilderFactory {
         return jpaProvider;
     }
 
+    public CountCache getCountCache() {
+        return countCache;
+    }
+
     public QueryConfiguration getQueryConfiguration() {
         return queryConfiguration;
     }
@@ -354,6 +411,12 @@ public class CriteriaBuilderFactoryImpl implements CriteriaBuilderFactory {
             return (T) jpaProvider;
         } else if (ExpressionCache.class.equals(serviceClass)) {
             return (T) expressionCache;
+        } else if (CountCache.class.equals(serviceClass)) {
+            return (T) countCache;
+        } else if (QuerySpecificationSqlCache.class.equals(serviceClass)) {
+            return (T) querySpecificationSqlCache;
+        } else if (QueryPlanCacheStatistics.class.equals(serviceClass)) {
+            return extendedQuerySupport == null ? null : (T) extendedQuerySupport.getQueryPlanCacheStatistics(this, entityManagerFactory);
         } else if (Metamodel.class.isAssignableFrom(serviceClass)) {
             return (T) metamodel;
         } else if (EntityManagerFactory.class.equals(serviceClass)) {
@@ -61,6 +61,7 @@ public class MainQuery {
         this.dbmsDialect = dbmsDialect;
         this.registeredFunctions = registeredFunctions;
         this.parameterManager = parameterManager;
+        parameterManager.setMainQuery(this);
         this.cteManager = new CTEManager(this);
 
         if (jpaProvider.supportsTransientEntityAsParameter()) {
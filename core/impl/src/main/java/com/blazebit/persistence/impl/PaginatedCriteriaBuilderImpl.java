@@ -17,6 +17,7 @@
 package com.blazebit.persistence.impl;
 
 import com.blazebit.persistence.CaseWhenStarterBuilder;
+import com.blazebit.persistence.CloseableIterator;
 import com.blazebit.persistence.ConfigurationProperties;
 import com.blazebit.persistence.CriteriaBuilder;
 import com.blazebit.persistence.FullQueryBuilder;
@@ -49,6 +50,7 @@ import com.blazebit.persistence.impl.query.CTENode;
 import com.blazebit.persistence.impl.query.CustomQuerySpecification;
 import com.blazebit.persistence.impl.query.CustomSQLTypedQuery;
 import com.blazebit.persistence.impl.query.EntityFunctionNode;
+import com.blazebit.persistence.impl.query.ListResultIterator;
 import com.blazebit.persistence.impl.query.ObjectBuilderTypedQuery;
 import com.blazebit.persistence.impl.query.QuerySpecification;
 import com.blazebit.persistence.parser.expression.PathExpression;
@@ -66,6 +68,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 /**
  *
@@ -86,6 +90,8 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
     private Boolean withInlineIdQuery;
     private boolean withInlineCountQuery;
     private long maximumCount = Long.MAX_VALUE;
+    private Executor countQueryExecutor;
+    private long countCacheTimeToLive;
     private int highestOffset = 0;
     private final KeysetPage keysetPage;
     private final ResolvedExpression[] identifierExpressions;
@@ -159,6 +165,8 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
         builder.withCountQuery(withCountQuery);
         builder.withForceIdQuery(withForceIdQuery);
         builder.withHighestKeysetOffset(highestOffset);
+        builder.withCountQueryExecutor(countQueryExecutor);
+        builder.withCountCache(countCacheTimeToLive, TimeUnit.MILLISECONDS);
         return builder;
     }
 
@@ -261,6 +269,35 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
         return maximumCount;
     }
 
+    @Override
+    public PaginatedCriteriaBuilder<T> withCountQueryExecutor(Executor countQueryExecutor) {
+        this.countQueryExecutor = countQueryExecutor;
+        return this;
+    }
+
+    @Override
+    public Executor getCountQueryExecutor() {
+        return countQueryExecutor;
+    }
+
+    @Override
+    public PaginatedCriteriaBuilder<T> withCountCache(long timeToLive, TimeUnit timeUnit) {
+        if (timeToLive < 0) {
+            throw new IllegalArgumentException("The time to live may not be negative");
+        }
+        this.countCacheTimeToLive = timeUnit.toMillis(timeToLive);
+        if (countCacheTimeToLive != 0L && withInlineCountQuery) {
+            // A cached count can only be reused if the count query is executed separately
+            withInlineCountQuery(false);
+        }
+        return this;
+    }
+
+    @Override
+    public long getCountCacheTimeToLive() {
+        return countCacheTimeToLive;
+    }
+
     @Override
     public PaginatedCriteriaBuilder<T> withForceIdQuery(boolean withForceIdQuery) {
         this.withForceIdQuery = withForceIdQuery;
@@ -333,6 +370,8 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
                 throw new IllegalStateException("Can't inline the count query when paginating to a page by entity id!");
             } else if (!mainQuery.jpaProvider.supportsSubqueryAliasShadowing()) {
                 throw new IllegalStateException("Can't inline the count query because the JPA provider does not support subquery alias shadowing!");
+            } else if (countCacheTimeToLive != 0L) {
+                throw new IllegalStateException("Can't inline the count query when the count cache is enabled!");
             }
         }
         if (this.withInlineCountQuery != withInlineCountQuery) {
@@ -522,6 +561,16 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
             objectBuilder = entry.getValue();
             inlinedIdQuery = isWithInlineIdQuery() && (hasCollections || withForceIdQuery);
         }
+        ConcurrentCountQuery concurrentCountQuery = null;
+        // Only a plain JPQL count query can be re-created on a separate entity manager
+        if (countQueryExecutor != null && entityId == null && maximumCount == Long.MAX_VALUE && !inlinedCountQuery
+                && normalQueryMode && isEmpty(keyRestrictedLeftJoins, COUNT_QUERY_CLAUSE_EXCLUSIONS)) {
+            concurrentCountQuery = new ConcurrentCountQuery(countQueryExecutor, em, mainQuery.jpaProvider, countQueryString, isCacheable());
+        }
+        CachingCountQuery cachingCountQuery = null;
+        if (countCacheTimeToLive != 0L && entityId == null) {
+            cachingCountQuery = new CachingCountQuery(mainQuery.cbf.getCountCache(), countQueryString, countCacheTimeToLive);
+        }
         PaginatedTypedQueryImpl<T> query = new PaginatedTypedQueryImpl<>(
                 withExtractAllKeysets,
                 firstResult < maximumCount && withCountQuery,
@@ -542,7 +591,9 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
                 keysetPage,
                 forceFirstResult,
                 inlinedIdQuery,
-                inlinedCountQuery
+                inlinedCountQuery,
+                concurrentCountQuery,
+                cachingCountQuery
         );
         return query;
     }
@@ -552,6 +603,12 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
         return getQuery().getResultList();
     }
 
+    @Override
+    public CloseableIterator<T> getResultIterator() {
+        // A page is bounded, so there is no need to stream it
+        return new ListResultIterator<>(getResultList());
+    }
+
     @Override
     public String getCountQueryString() {
         return getPageCountQueryString();
@@ -48,6 +48,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Future;
 
 /**
  * @author Christian Beikov
@@ -78,9 +79,13 @@ public class PaginatedTypedQueryImpl<X> implements PaginatedTypedQuery<X> {
     private final boolean forceFirstResult;
     private final boolean inlinedIdQuery;
     private final boolean inlinedCountQuery;
+    private final ConcurrentCountQuery concurrentCountQuery;
+    private final CachingCountQuery cachingCountQuery;
+    private Future<Long> pendingTotalCount;
 
     public PaginatedTypedQueryImpl(boolean withExtractAllKeysets, boolean withCount, boolean boundedCount, int highestOffset, TypedQuery<?> countQuery, TypedQuery<?> idQuery, TypedQuery<X> objectQuery, ObjectBuilder<X> objectBuilder, Set<Parameter<?>> parameters,
-                                   Object entityId, int firstResult, int pageSize, int identifierCount, boolean needsNewIdList, int[] keysetToSelectIndexMapping, KeysetMode keysetMode, KeysetPage keysetPage, boolean forceFirstResult, boolean inlinedIdQuery, boolean inlinedCountQuery) {
+                                   Object entityId, int firstResult, int pageSize, int identifierCount, boolean needsNewIdList, int[] keysetToSelectIndexMapping, KeysetMode keysetMode, KeysetPage keysetPage, boolean forceFirstResult, boolean inlinedIdQuery, boolean inlinedCountQuery,
+                                   ConcurrentCountQuery concurrentCountQuery, CachingCountQuery cachingCountQuery) {
         this.withExtractAllKeysets = withExtractAllKeysets;
         this.withCount = withCount;
         this.boundedCount = boundedCount;
@@ -101,6 +106,8 @@ public class PaginatedTypedQueryImpl<X> implements PaginatedTypedQuery<X> {
         this.forceFirstResult = forceFirstResult;
         this.inlinedIdQuery = inlinedIdQuery;
         this.inlinedCountQuery = inlinedCountQuery;
+        this.concurrentCountQuery = concurrentCountQuery;
+        this.cachingCountQuery = cachingCountQuery;
 
         Map<String, Parameter<?>> params = new HashMap<>(parameters.size());
         for (Parameter<?> parameter : parameters) {
@@ -161,6 +168,9 @@ public class PaginatedTypedQueryImpl<X> implements PaginatedTypedQuery<X> {
 
     @Override
     public long getTotalCount() {
+        if (pendingTotalCount != null) {
+            return ConcurrentCountQuery.getCount(pendingTotalCount);
+        }
         return ((Number) countQuery.getSingleResult()).longValue();
     }
 
@@ -178,8 +188,21 @@ public class PaginatedTypedQueryImpl<X> implements PaginatedTypedQuery<X> {
         int firstRow = firstResult;
         long totalSize = -1L;
         if (withCount && !inlinedCountQuery) {
-            if (entityId == null) {
+            Map<String, Object> countParameterValues = null;
+            Long cachedCount = null;
+            if (cachingCountQuery != null) {
+                countParameterValues = cachingCountQuery.getParameterValues(countQuery);
+                cachedCount = cachingCountQuery.get(countParameterValues);
+            }
+            if (cachedCount != null) {
+                return getResultListWithCachedCount(queryFirstResult, firstRow, cachedCount);
+            } else if (concurrentCountQuery != null && concurrentCountQuery.isSubmittable()) {
+                return getResultListWithConcurrentCount(queryFirstResult, firstRow, countParameterValues);
+            } else if (entityId == null) {
                 totalSize = ((Number) countQuery.getSingleResult()).longValue();
+                if (cachingCountQuery != null) {
+                    cachingCountQuery.put(countParameterValues, totalSize);
+                }
             } else {
                 Object[] result = (Object[]) countQuery.getSingleResult();
                 totalSize = ((Number) result[0]).longValue();
@@ -203,6 +226,36 @@ public class PaginatedTypedQueryImpl<X> implements PaginatedTypedQuery<X> {
         return getResultList(queryFirstResult, firstRow, totalSize);
     }
 
+    private PagedList<X> getResultListWithCachedCount(int queryFirstResult, int firstRow, long cachedCount) {
+        if (cachedCount == 0L) {
+            return new PagedArrayList<X>(Collections.<X>emptyList(), null, cachedCount, true, queryFirstResult, pageSize);
+        }
+        PagedList<X> resultList = getResultList(queryFirstResult, firstRow, cachedCount);
+        // The cached count might be outdated, but it can't be lower than what this page has seen
+        long totalSize = resultList.isEmpty() ? cachedCount : Math.max(cachedCount, firstRow + resultList.size());
+        return new PagedArrayList<X>(resultList, resultList.getKeysetPage(), totalSize, true, resultList.getFirstResult(), pageSize);
+    }
+
+    private PagedList<X> getResultListWithConcurrentCount(int queryFirstResult, int firstRow, Map<String, Object> countParameterValues) {
+        Future<Long> totalCount = concurrentCountQuery.submit(countQuery);
+        PagedList<X> resultList;
+        pendingTotalCount = totalCount;
+        try {
+            resultList = getResultList(queryFirstResult, firstRow, -1L);
+        } finally {
+            pendingTotalCount = null;
+        }
+        long totalSize = ConcurrentCountQuery.getCount(totalCount);
+        if (cachingCountQuery != null) {
+            cachingCountQuery.put(countParameterValues, totalSize);
+        }
+        if (!resultList.isEmpty()) {
+            // The count query ran on a separate connection, so it might not see rows the page query has seen
+            totalSize = Math.max(totalSize, firstRow + resultList.size());
+        }
+        return new PagedArrayList<X>(resultList, resultList.getKeysetPage(), totalSize, resultList.getFirstResult(), pageSize);
+    }
+
     private PagedList<X> getResultList(int queryFirstResult, int firstRow, long totalSize) {
         if (idQuery != null) {
             idQuery.setMaxResults(pageSize);
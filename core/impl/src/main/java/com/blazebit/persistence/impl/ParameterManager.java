@@ -16,6 +16,7 @@
 
 package com.blazebit.persistence.impl;
 
+import com.blazebit.persistence.impl.util.PaddingUtils;
 import com.blazebit.persistence.parser.EntityMetamodel;
 import com.blazebit.persistence.parser.expression.Expression;
 import com.blazebit.persistence.parser.expression.ParameterExpression;
@@ -71,6 +72,7 @@ public class ParameterManager {
     private final ParameterRegistrationVisitor parameterRegistrationVisitor;
     private final ParameterUnregistrationVisitor parameterUnregistrationVisitor;
     private int positionalOffset = -1; // Records the last positional parameter index that was used
+    private MainQuery mainQuery;
 
     public ParameterManager(JpaProvider jpaProvider, EntityMetamodel entityMetamodel) {
         this.jpaProvider = jpaProvider;
@@ -79,6 +81,10 @@ public class ParameterManager {
         this.parameterUnregistrationVisitor = new ParameterUnregistrationVisitor(this);
     }
 
+    void setMainQuery(MainQuery mainQuery) {
+        this.mainQuery = mainQuery;
+    }
+
     public ParameterRegistrationVisitor getParameterRegistrationVisitor() {
         return parameterRegistrationVisitor;
     }
@@ -210,6 +216,7 @@ public class ParameterManager {
 
     void parameterizeQuery(Query q, String skippedParameterPrefix) {
         Set<String> requestedValueParameters = new HashSet<String>();
+        boolean parameterListPadding = mainQuery != null && mainQuery.getQueryConfiguration().isParameterListPaddingEnabled();
         for (Parameter<?> p : q.getParameters()) {
             String parameterName = p.getName();
             // In case of positional parameters, we convert the position to a string and look it up instead
@@ -235,6 +242,8 @@ public class ParameterManager {
                 if (parameter.getValue() != null) {
                     q.setParameter(parameterName, parameter.getValue());
                 }
+            } else if (parameterListPadding && parameter.isCollectionValued()) {
+                parameter.bindPadded(q);
             } else {
                 parameter.bind(q);
             }
@@ -684,6 +693,25 @@ public class ParameterManager {
             }
         }
 
+        /**
+         * Binds the value like {@link #bind(Query)}, but pads a collection value to the next power of two by repeating the last element.
+         * This must only be used for parameters that are used in IN predicates, as duplicate elements don't change the result there.
+         *
+         * @param q The query to bind the value to
+         */
+        public void bindPadded(Query q) {
+            if (valueSet && value instanceof Collection<?>) {
+                Collection<?> paddedValue = PaddingUtils.padCollection((Collection<?>) value);
+                if (name == null) {
+                    q.setParameter(position, paddedValue);
+                } else {
+                    q.setParameter(name, paddedValue);
+                }
+            } else {
+                bind(q);
+            }
+        }
+
         public void bind(Query q) {
             if (valueSet) {
                 if (value instanceof ParameterValue) {
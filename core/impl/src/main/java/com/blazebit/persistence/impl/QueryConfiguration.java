@@ -43,6 +43,8 @@ public interface QueryConfiguration {
 
     public boolean isValuesClauseFilterNullsEnabled();
 
+    public boolean isParameterListPaddingEnabled();
+
     public boolean isParameterAsLiteralRenderingEnabled();
 
     public boolean isOptimizedKeysetPredicateRenderingEnabled();
@@ -66,4 +68,6 @@ public interface QueryConfiguration {
     public boolean isCacheable();
 
     public boolean isQueryPlanCacheEnabled();
+
+    public int getQueryPlanCacheMaxSize();
 }
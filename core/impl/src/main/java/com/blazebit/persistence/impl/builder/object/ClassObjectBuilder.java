@@ -19,15 +19,15 @@ package com.blazebit.persistence.impl.builder.object;
 import java.lang.reflect.Constructor;
 import java.util.List;
 
-import com.blazebit.persistence.ObjectBuilder;
 import com.blazebit.persistence.SelectBuilder;
+import com.blazebit.persistence.StreamableObjectBuilder;
 
 /**
  *
  * @author Moritz Becker
  * @since 1.0.0
  */
-public class ClassObjectBuilder<T> implements ObjectBuilder<T> {
+public class ClassObjectBuilder<T> implements StreamableObjectBuilder<T> {
 
     private final Class<T> clazz;
     private Constructor<T> constructor;
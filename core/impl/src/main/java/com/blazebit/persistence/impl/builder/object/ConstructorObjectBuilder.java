@@ -19,15 +19,15 @@ package com.blazebit.persistence.impl.builder.object;
 import java.lang.reflect.Constructor;
 import java.util.List;
 
-import com.blazebit.persistence.ObjectBuilder;
 import com.blazebit.persistence.SelectBuilder;
+import com.blazebit.persistence.StreamableObjectBuilder;
 
 /**
  *
  * @author Moritz Becker
  * @since 1.0.0
  */
-public class ConstructorObjectBuilder<T> implements ObjectBuilder<T> {
+public class ConstructorObjectBuilder<T> implements StreamableObjectBuilder<T> {
 
     private final Constructor<T> constructor;
 
@@ -24,8 +24,8 @@ import java.util.Map;
 import javax.persistence.Tuple;
 import javax.persistence.TupleElement;
 
-import com.blazebit.persistence.ObjectBuilder;
 import com.blazebit.persistence.SelectBuilder;
+import com.blazebit.persistence.StreamableObjectBuilder;
 import com.blazebit.persistence.impl.SelectInfo;
 
 /**
@@ -34,7 +34,7 @@ import com.blazebit.persistence.impl.SelectInfo;
  * @author Moritz Becker
  * @since 1.0.0
  */
-public class TupleObjectBuilder implements ObjectBuilder<Tuple> {
+public class TupleObjectBuilder implements StreamableObjectBuilder<Tuple> {
 
     private final Map<String, Integer> selectAliasToPositionMap;
     private String[] aliases;
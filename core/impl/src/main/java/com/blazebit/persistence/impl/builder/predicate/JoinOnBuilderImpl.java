@@ -39,6 +39,7 @@ import com.blazebit.persistence.impl.builder.expression.ExpressionBuilderEndedLi
 import com.blazebit.persistence.impl.builder.expression.SimpleCaseWhenBuilderImpl;
 import com.blazebit.persistence.parser.expression.Expression;
 import com.blazebit.persistence.parser.expression.ExpressionFactory;
+import com.blazebit.persistence.parser.expression.JoinOnExpressionTreeBuilder;
 import com.blazebit.persistence.parser.predicate.CompoundPredicate;
 import com.blazebit.persistence.parser.predicate.ExistsPredicate;
 import com.blazebit.persistence.parser.predicate.Predicate;
@@ -51,7 +52,7 @@ import java.util.List;
  * @author Moritz Becker
  * @since 1.0.0
  */
-public class JoinOnBuilderImpl<T> extends PredicateAndSubqueryBuilderEndedListener<T> implements JoinOnBuilder<T>, PredicateBuilder {
+public class JoinOnBuilderImpl<T> extends PredicateAndSubqueryBuilderEndedListener<T> implements JoinOnBuilder<T>, JoinOnExpressionTreeBuilder<T>, PredicateBuilder {
 
     private final T result;
     private final RootPredicate rootPredicate;
@@ -181,8 +182,13 @@ public class JoinOnBuilderImpl<T> extends PredicateAndSubqueryBuilderEndedListen
 
     @Override
     public T setOnExpression(String expression) {
-        rootPredicate.verifyBuilderEnded();
         Predicate predicate = expressionFactory.createBooleanExpression(expression, false);
+        return setOnExpressionTree(predicate);
+    }
+
+    @Override
+    public T setOnExpressionTree(Predicate predicate) {
+        rootPredicate.verifyBuilderEnded();
         parameterManager.collectParameterRegistrations(predicate, ClauseType.JOIN, subqueryInitFactory.getQueryBuilder());
         
         List<Predicate> children = rootPredicate.getPredicate().getChildren();
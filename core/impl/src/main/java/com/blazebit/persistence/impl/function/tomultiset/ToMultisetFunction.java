@@ -18,6 +18,7 @@ package com.blazebit.persistence.impl.function.tomultiset;
 
 import com.blazebit.persistence.impl.SubqueryInternalBuilder;
 import com.blazebit.persistence.impl.function.tostringjson.AbstractToStringJsonFunction;
+import com.blazebit.persistence.impl.function.tostringjson.ArrayRowsToStringJsonFunction;
 import com.blazebit.persistence.impl.function.tostringxml.AbstractToStringXmlFunction;
 import com.blazebit.persistence.impl.util.SqlUtils;
 import com.blazebit.persistence.parser.expression.Subquery;
@@ -35,12 +36,25 @@ import java.util.List;
 public class ToMultisetFunction implements JpqlFunction, JpqlFunctionProcessor<CharSequence> {
 
     public static final String FUNCTION_NAME = "to_multiset";
+    private static final String[][] FIELDS = new String[32][];
+
+    static {
+        for (int i = 0; i < FIELDS.length; i++) {
+            String[] fields = new String[i];
+            for (int j = 0; j < i; j++) {
+                fields[j] = "f" + j;
+            }
+            FIELDS[i] = fields;
+        }
+    }
 
     private final AbstractToStringJsonFunction toJsonFunction;
+    private final ArrayRowsToStringJsonFunction arrayRowsToJsonFunction;
     private final AbstractToStringXmlFunction toXmlFunction;
 
     public ToMultisetFunction(AbstractToStringJsonFunction toJsonFunction, AbstractToStringXmlFunction toXmlFunction) {
         this.toJsonFunction = toJsonFunction;
+        this.arrayRowsToJsonFunction = toJsonFunction instanceof ArrayRowsToStringJsonFunction ? (ArrayRowsToStringJsonFunction) toJsonFunction : null;
         this.toXmlFunction = toXmlFunction;
     }
 
@@ -94,12 +108,17 @@ public class ToMultisetFunction implements JpqlFunction, JpqlFunctionProcessor<C
         String[] fields = createFields(selectItemExpressions.length);
         if (toJsonFunction == null) {
             toXmlFunction.render(context, fields, selectItemExpressions, subquery, fromIndex);
+        } else if (arrayRowsToJsonFunction != null) {
+            arrayRowsToJsonFunction.renderArrayRows(context, fields, selectItemExpressions, subquery, fromIndex);
         } else {
             toJsonFunction.render(context, fields, selectItemExpressions, subquery, fromIndex);
         }
     }
 
     private static String[] createFields(int length) {
+        if (length < FIELDS.length) {
+            return FIELDS[length];
+        }
         String[] fields = new String[length];
         for (int i = 0; i < fields.length; i++) {
             fields[i] = "f" + i;
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.impl.function.tostringjson;
+
+import com.blazebit.persistence.spi.FunctionRenderContext;
+
+/**
+ * A to_string_json function that can render the rows as positional JSON arrays instead of JSON objects.
+ * Array rows don't repeat the field names for every row which reduces the size of the result and the parsing effort.
+ *
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+public interface ArrayRowsToStringJsonFunction {
+
+    public void renderArrayRows(FunctionRenderContext context, String[] fields, String[] selectItemExpressions, String subquery, int fromIndex);
+}
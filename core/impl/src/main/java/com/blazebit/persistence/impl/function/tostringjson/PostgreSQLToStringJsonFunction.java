@@ -23,30 +23,40 @@ import com.blazebit.persistence.spi.FunctionRenderContext;
  * @author Christian Beikov
  * @since 1.5.0
  */
-public class PostgreSQLToStringJsonFunction extends AbstractToStringJsonFunction {
+public class PostgreSQLToStringJsonFunction extends AbstractToStringJsonFunction implements ArrayRowsToStringJsonFunction {
 
-    private static final String START_CHUNK = "(select json_agg(json_build_object('";
+    private static final String START_CHUNK = "(select json_agg(json_build_object(";
+    private static final String ARRAY_ROWS_START_CHUNK = "(select json_agg(json_build_array(";
 
     @Override
     public void render(FunctionRenderContext context, String[] fields, String[] selectItemExpressions, String subquery, int fromIndex) {
         context.addChunk(START_CHUNK);
+        render(context, fields, selectItemExpressions, subquery, fromIndex, false);
+    }
 
+    @Override
+    public void renderArrayRows(FunctionRenderContext context, String[] fields, String[] selectItemExpressions, String subquery, int fromIndex) {
+        context.addChunk(ARRAY_ROWS_START_CHUNK);
+        render(context, fields, selectItemExpressions, subquery, fromIndex, true);
+    }
+
+    private void render(FunctionRenderContext context, String[] fields, String[] selectItemExpressions, String subquery, int fromIndex, boolean arrayRows) {
         int orderByIndex = SqlUtils.indexOfOrderBy(subquery, fromIndex);
         if (orderByIndex == -1) {
-            renderJsonObjectArguments(context, fields, selectItemExpressions);
+            renderJsonArguments(context, fields, selectItemExpressions, arrayRows);
             context.addChunk("))");
             context.addChunk(subquery.substring(fromIndex));
         } else {
             int limitIndex = SqlUtils.indexOfLimit(subquery, orderByIndex);
             if (limitIndex == -1) {
-                renderJsonObjectArguments(context, fields, selectItemExpressions);
+                renderJsonArguments(context, fields, selectItemExpressions, arrayRows);
                 context.addChunk("))");
                 context.addChunk(" OVER (");
                 context.addChunk(subquery.substring(orderByIndex));
                 context.addChunk(")");
                 context.addChunk(subquery.substring(fromIndex, orderByIndex));
             } else {
-                renderJsonObjectArguments(context, fields, fields);
+                renderJsonArguments(context, fields, fields, arrayRows);
                 context.addChunk("))");
                 context.addChunk(" from (select ");
                 for (int i = 0; i < fields.length; i++) {
@@ -63,14 +73,17 @@ public class PostgreSQLToStringJsonFunction extends AbstractToStringJsonFunction
         }
     }
 
-    private void renderJsonObjectArguments(FunctionRenderContext context, String[] fields, String[] selectItemExpressions) {
+    private void renderJsonArguments(FunctionRenderContext context, String[] fields, String[] selectItemExpressions, boolean arrayRows) {
         for (int i = 0; i < fields.length; i++) {
             if (i != 0) {
-                context.addChunk(",'");
+                context.addChunk(",");
+            }
+            if (!arrayRows) {
+                context.addChunk("'");
+                context.addChunk(fields[i]);
+                context.addChunk("',");
             }
-            context.addChunk(fields[i]);
-            context.addChunk("',");
-            if (selectItemExpressions[i].startsWith(START_CHUNK)) {
+            if (selectItemExpressions[i].startsWith(START_CHUNK) || selectItemExpressions[i].startsWith(ARRAY_ROWS_START_CHUNK)) {
                 context.addChunk(selectItemExpressions[i]);
             } else {
                 context.addChunk("'' || ");
@@ -33,6 +33,7 @@ import javax.persistence.EntityManager;
 import javax.persistence.Parameter;
 import javax.persistence.Query;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -68,6 +69,7 @@ public class CustomQuerySpecification<T> implements QuerySpecification<T> {
     protected final boolean queryPlanCacheEnabled;
     protected final Query countWrapperExampleQuery;
     protected final String countPrefix;
+    protected final QuerySpecificationSqlCache sqlCache;
 
     protected boolean dirty;
     protected String sql;
@@ -100,6 +102,7 @@ public class CustomQuerySpecification<T> implements QuerySpecification<T> {
         this.dirty = true;
         this.queryPlanCacheEnabled = queryPlanCacheEnabled;
         this.countWrapperExampleQuery = countWrapperExampleQuery;
+        this.sqlCache = queryPlanCacheEnabled ? commonQueryBuilder.getService(QuerySpecificationSqlCache.class) : null;
         if (countWrapperExampleQuery == null) {
             this.countPrefix = null;
         } else {
@@ -171,6 +174,22 @@ public class CustomQuerySpecification<T> implements QuerySpecification<T> {
         }
 
         String sqlQuery = extendedQuerySupport.getSql(em, baseQuery);
+        QuerySpecificationSqlCache.Key cacheKey = null;
+        if (sqlCache != null) {
+            cacheKey = createSqlCacheKey(sqlQuery);
+            QuerySpecificationSqlCache.Entry entry = sqlCache.get(cacheKey);
+            if (entry != null) {
+                collectCteParticipatingQueries(baseQuery, participatingQueries);
+                participatingQueries.add(baseQuery);
+
+                this.sql = entry.getSql();
+                this.participatingQueries = participatingQueries;
+                this.addedCtes = entry.getAddedCtes();
+                this.dirty = false;
+                return;
+            }
+        }
+
         StringBuilder sqlSb = applySqlTransformations(sqlQuery);
         StringBuilder withClause = applyCtes(sqlSb, baseQuery, participatingQueries);
         Map<String, String> addedCtes = applyExtendedSql(sqlSb, false, false, withClause, null, null, null);
@@ -183,8 +202,86 @@ public class CustomQuerySpecification<T> implements QuerySpecification<T> {
 
         this.sql = sqlSb.toString();
         this.participatingQueries = participatingQueries;
-        this.addedCtes = addedCtes;
+        this.addedCtes = addedCtes == null ? null : Collections.unmodifiableMap(new LinkedHashMap<>(addedCtes));
         this.dirty = false;
+        if (cacheKey != null) {
+            sqlCache.put(cacheKey, new QuerySpecificationSqlCache.Entry(sql, this.addedCtes));
+        }
+    }
+
+    /**
+     * Creates a key for the final SQL that consists of all inputs of the SQL transformations.
+     * The provider SQL of the base query already reflects the sizes of collection parameters.
+     */
+    private QuerySpecificationSqlCache.Key createSqlCacheKey(String sqlQuery) {
+        List<Object> parts = new ArrayList<>();
+        parts.add(statementType);
+        parts.add(sqlQuery);
+        parts.add(limit);
+        parts.add(offset);
+        parts.add(countPrefix);
+        parts.add(keyRestrictedLeftJoinAliases);
+        for (EntityFunctionNode node : entityFunctionNodes) {
+            parts.add(node.getSubquery());
+            parts.add(node.getAliases());
+            parts.add(node.getEntityName());
+            parts.add(node.getTableAlias());
+            parts.add(node.getPluralCollectionTableAlias());
+            parts.add(node.getPluralTableAlias());
+            parts.add(node.getPluralTableJoin());
+            parts.add(node.getSyntheticPredicate());
+            parts.add(node.isLateral());
+        }
+        parts.add(shouldRenderCtes);
+        if (shouldRenderCtes) {
+            parts.add(recursive);
+            for (CTENode cteInfo : ctes) {
+                parts.add(cteInfo.getName());
+                parts.add(cteInfo.getHead());
+                parts.add(cteInfo.getAliases() == null ? null : Arrays.asList(cteInfo.getAliases()));
+                parts.add(cteInfo.isUnionAll());
+                parts.add(cteInfo.getNonRecursiveWithClauseSuffix());
+                addSqlCacheKeyParts(parts, cteInfo.getNonRecursiveQuerySpecification(), cteInfo.getNonRecursiveTableNameRemappings());
+                if (cteInfo.isRecursive()) {
+                    addSqlCacheKeyParts(parts, cteInfo.getRecursiveQuerySpecification(), cteInfo.getRecursiveTableNameRemappings());
+                }
+            }
+        }
+        return new QuerySpecificationSqlCache.Key(parts);
+    }
+
+    private static void addSqlCacheKeyParts(List<Object> parts, QuerySpecification<?> querySpecification, Map<String, String> tableNameRemappings) {
+        parts.add(querySpecification.getSql());
+        parts.add(querySpecification.getAddedCtes());
+        parts.add(tableNameRemappings);
+    }
+
+    /**
+     * Collects the participating queries in the same order as {@link #applyCtes(StringBuilder, Query, List)} without rendering SQL.
+     */
+    private void collectCteParticipatingQueries(Query baseQuery, List<Query> participatingQueries) {
+        if (!shouldRenderCtes || (ctes.isEmpty() && (statementType != DbmsStatementType.DELETE || !dbmsDialect.supportsModificationQueryInWithClause()))) {
+            return;
+        }
+        for (CTENode cteInfo : ctes) {
+            participatingQueries.addAll(cteInfo.getNonRecursiveQuerySpecification().getParticipatingQueries());
+            if (cteInfo.isRecursive()) {
+                participatingQueries.addAll(cteInfo.getRecursiveQuerySpecification().getParticipatingQueries());
+            }
+            if (dbmsDialect.supportsModificationQueryInWithClause()) {
+                addCascadingDeleteQueries(cteInfo.getNonRecursiveQuerySpecification().getBaseQuery(), participatingQueries);
+            }
+        }
+        if (dbmsDialect.supportsModificationQueryInWithClause()) {
+            addCascadingDeleteQueries(baseQuery, participatingQueries);
+        }
+    }
+
+    private void addCascadingDeleteQueries(Query query, List<Query> participatingQueries) {
+        int cascadingDeletes = extendedQuerySupport.getCascadingDeleteSql(em, query).size();
+        for (int i = 0; i < cascadingDeletes; i++) {
+            participatingQueries.add(query);
+        }
     }
 
     protected Map<String, String> applyExtendedSql(StringBuilder sqlSb, boolean isSubquery, boolean isEmbedded, StringBuilder withClause, String dmlAffectedTable, String[] returningColumns, Map<DbmsModificationState, String> includedModificationStates) {
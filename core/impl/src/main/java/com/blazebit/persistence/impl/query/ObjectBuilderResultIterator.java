@@ -0,0 +1,62 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.impl.query;
+
+import com.blazebit.persistence.CloseableIterator;
+import com.blazebit.persistence.ObjectBuilder;
+
+/**
+ * A result iterator that builds the objects one tuple at a time.
+ *
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+public class ObjectBuilderResultIterator<X> implements CloseableIterator<X> {
+
+    private final CloseableIterator<Object> tupleIterator;
+    private final ObjectBuilder<X> builder;
+
+    public ObjectBuilderResultIterator(CloseableIterator<Object> tupleIterator, ObjectBuilder<X> builder) {
+        this.tupleIterator = tupleIterator;
+        this.builder = builder;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return tupleIterator.hasNext();
+    }
+
+    @Override
+    public X next() {
+        Object tuple = tupleIterator.next();
+        if (tuple instanceof Object[]) {
+            return builder.build((Object[]) tuple);
+        } else {
+            return builder.build(new Object[] { tuple });
+        }
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("Removing query results is not supported!");
+    }
+
+    @Override
+    public void close() {
+        tupleIterator.close();
+    }
+}
@@ -16,7 +16,9 @@
 
 package com.blazebit.persistence.impl.query;
 
+import com.blazebit.persistence.CloseableIterator;
 import com.blazebit.persistence.ObjectBuilder;
+import com.blazebit.persistence.StreamableObjectBuilder;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -72,4 +74,12 @@ public class ObjectBuilderTypedQuery<X> extends TypedQueryWrapper<X> {
         
         return builder.buildList(newList);
     }
+
+    public CloseableIterator<X> getResultIterator() {
+        if (builder instanceof StreamableObjectBuilder<?>) {
+            return new ObjectBuilderResultIterator<>(StreamResultIterator.forQuery(delegate), builder);
+        }
+        // The object builder might need all results for buildList
+        return new ListResultIterator<>(getResultList());
+    }
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.impl.query;
+
+import com.blazebit.persistence.parser.util.BoundedLruCache;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A cache for the final SQL of a {@link CustomQuerySpecification} that is shared across builder instances.
+ * Entries are keyed by the SQL of the JPA provider for the participating queries, which is served from the provider query plan cache,
+ * and the CTE, VALUES and pagination parts that are spliced into it. When the maximum size is reached, the least recently used entries are evicted.
+ *
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+public class QuerySpecificationSqlCache {
+
+    private final BoundedLruCache<Key, Entry> cache;
+
+    public QuerySpecificationSqlCache(int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Invalid maximum size for query specification sql cache: " + maximumSize);
+        }
+        this.cache = new BoundedLruCache<>(maximumSize);
+    }
+
+    public Entry get(Key key) {
+        return cache.get(key);
+    }
+
+    public void put(Key key, Entry entry) {
+        cache.putIfAbsent(key, entry);
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+
+    /**
+     * @author Christian Beikov
+     * @since 1.6.0
+     */
+    public static final class Key {
+        private final Object[] parts;
+        private final int hash;
+
+        public Key(List<Object> parts) {
+            this.parts = parts.toArray();
+            this.hash = Arrays.hashCode(this.parts);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return hash == key.hash && Arrays.equals(parts, key.parts);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * @author Christian Beikov
+     * @since 1.6.0
+     */
+    public static final class Entry {
+        private final String sql;
+        private final Map<String, String> addedCtes;
+
+        public Entry(String sql, Map<String, String> addedCtes) {
+            this.sql = sql;
+            this.addedCtes = addedCtes;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public Map<String, String> getAddedCtes() {
+            return addedCtes;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.impl.query;
+
+import com.blazebit.persistence.CloseableIterator;
+
+import javax.persistence.PersistenceException;
+import javax.persistence.Query;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A result iterator backed by the result stream of a JPA 2.2 query.
+ * Since we compile against older JPA versions, the stream is accessed reflectively.
+ * When JPA 2.2 isn't available, the results are materialized as list.
+ *
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+public class StreamResultIterator<T> implements CloseableIterator<T> {
+
+    private static final Method GET_RESULT_STREAM_METHOD;
+    private static final Method ITERATOR_METHOD;
+
+    static {
+        Method getResultStreamMethod;
+        Method iteratorMethod;
+        try {
+            getResultStreamMethod = Query.class.getMethod("getResultStream");
+            iteratorMethod = Class.forName("java.util.stream.BaseStream").getMethod("iterator");
+        } catch (NoSuchMethodException | ClassNotFoundException ex) {
+            getResultStreamMethod = null;
+            iteratorMethod = null;
+        }
+        GET_RESULT_STREAM_METHOD = getResultStreamMethod;
+        ITERATOR_METHOD = iteratorMethod;
+    }
+
+    private final AutoCloseable stream;
+    private final Iterator<T> iterator;
+    private boolean closed;
+
+    private StreamResultIterator(AutoCloseable stream, Iterator<T> iterator) {
+        this.stream = stream;
+        this.iterator = iterator;
+    }
+
+    /**
+     * Returns a result iterator for the given query that fetches results lazily if possible.
+     *
+     * @param query The query to execute
+     * @param <T> The result type
+     * @return The result iterator
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> CloseableIterator<T> forQuery(Query query) {
+        if (query instanceof ObjectBuilderTypedQuery<?>) {
+            return ((ObjectBuilderTypedQuery<T>) query).getResultIterator();
+        }
+        // Our custom queries materialize the result list through the extended query support anyway
+        if (GET_RESULT_STREAM_METHOD == null || query instanceof AbstractCustomQuery<?> || query instanceof TypedQueryWrapper<?>) {
+            return new ListResultIterator<>((List<T>) query.getResultList());
+        }
+
+        Object stream = invoke(GET_RESULT_STREAM_METHOD, query);
+        return new StreamResultIterator<>((AutoCloseable) stream, (Iterator<T>) invoke(ITERATOR_METHOD, stream));
+    }
+
+    private static Object invoke(Method method, Object target) {
+        try {
+            return method.invoke(target);
+        } catch (InvocationTargetException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new PersistenceException("Could not stream query results", ex.getCause());
+        } catch (IllegalAccessException ex) {
+            throw new PersistenceException("Could not stream query results", ex);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        if (iterator.hasNext()) {
+            return true;
+        }
+        close();
+        return false;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return iterator.next();
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("Removing query results is not supported!");
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            try {
+                stream.close();
+            } catch (RuntimeException ex) {
+                throw ex;
+            } catch (Exception ex) {
+                throw new PersistenceException("Could not close query result stream", ex);
+            }
+        }
+    }
+}
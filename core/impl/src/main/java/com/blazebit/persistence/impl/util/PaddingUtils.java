@@ -0,0 +1,68 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.impl.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Pads collections of parameter values to a power of two so that only a few distinct query strings are produced for varying sizes.
+ *
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+public final class PaddingUtils {
+
+    private PaddingUtils() {
+    }
+
+    /**
+     * Returns the next power of two that is greater or equal to the given size.
+     *
+     * @param size The collection size
+     * @return The padded size
+     */
+    public static int getPaddedSize(int size) {
+        if (size <= 1) {
+            return size;
+        }
+        return Integer.highestOneBit(size - 1) << 1;
+    }
+
+    /**
+     * Returns the given values padded to the next power of two by repeating the last value.
+     * If no padding is necessary, the given collection is returned.
+     *
+     * @param values The values to pad
+     * @return The padded values
+     */
+    public static Collection<?> padCollection(Collection<?> values) {
+        int size = values.size();
+        int paddedSize = getPaddedSize(size);
+        if (paddedSize == size) {
+            return values;
+        }
+        List<Object> paddedValues = new ArrayList<>(paddedSize);
+        paddedValues.addAll(values);
+        Object lastValue = paddedValues.get(size - 1);
+        for (int i = size; i < paddedSize; i++) {
+            paddedValues.add(lastValue);
+        }
+        return paddedValues;
+    }
+}
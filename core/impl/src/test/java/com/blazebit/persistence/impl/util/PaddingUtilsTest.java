@@ -0,0 +1,54 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.impl.util;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+public class PaddingUtilsTest {
+
+    @Test
+    public void testPaddedSize() {
+        assertEquals(0, PaddingUtils.getPaddedSize(0));
+        assertEquals(1, PaddingUtils.getPaddedSize(1));
+        assertEquals(2, PaddingUtils.getPaddedSize(2));
+        assertEquals(4, PaddingUtils.getPaddedSize(3));
+        assertEquals(4, PaddingUtils.getPaddedSize(4));
+        assertEquals(8, PaddingUtils.getPaddedSize(5));
+        assertEquals(1024, PaddingUtils.getPaddedSize(513));
+    }
+
+    @Test
+    public void testPadCollection() {
+        Collection<Integer> values = Arrays.asList(1, 2, 3, 4);
+        assertSame(values, PaddingUtils.padCollection(values));
+        assertEquals(Arrays.asList(1, 2, 3, 3), PaddingUtils.padCollection(Arrays.asList(1, 2, 3)));
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 5, 5, 5), PaddingUtils.padCollection(Arrays.asList(1, 2, 3, 4, 5)));
+        assertEquals(Collections.emptyList(), PaddingUtils.padCollection(Collections.emptyList()));
+    }
+}
@@ -17,9 +17,7 @@
 package com.blazebit.persistence.parser;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * This is a specialized parser for the JSON structure that will be produced by the JSON functions in Blaze-Persistence.
@@ -35,103 +33,200 @@ public final class JsonParser {
 
     public static List<Object[]> parseStringOnly(CharSequence json, String... fields) {
         List<Object[]> list = new ArrayList<>();
-        StringBuilder sb = new StringBuilder();
         if (json != null && json.length() != 0) {
-            Map<String, Integer> fieldMap = new HashMap<>(fields.length);
-            for (int i = 0; i < fields.length; i++) {
-                fieldMap.put(fields[i], i);
-            }
-
+            StringBuilder sb = new StringBuilder();
             int start = CharSequenceUtils.indexOf(json, '[') + 1;
             int end = CharSequenceUtils.lastIndexOf(json, ']');
             for (int i = start; i < end; i++) {
+                i = indexOfRowStart(json, i, end);
+                if (i == -1) {
+                    break;
+                }
                 Object[] object = new Object[fields.length];
-                boolean quoteMode = false;
-                int fieldIndex = -1;
-                boolean escapes = false;
-                i = CharSequenceUtils.indexOf(json, '{', i) + 1;
+                if (json.charAt(i) == '[') {
+                    // Positional rows as produced by the array based multiset transport
+                    i = parseArrayRow(json, i + 1, end, object, sb);
+                } else {
+                    i = parseObjectRow(json, i + 1, end, object, fields, sb);
+                }
+                list.add(object);
+            }
+        }
+        return list;
+    }
+
+    private static int indexOfRowStart(CharSequence json, int i, int end) {
+        for (; i < end; i++) {
+            final char c = json.charAt(i);
+            if (c == '{' || c == '[') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int parseObjectRow(CharSequence json, int i, int end, Object[] object, String[] fields, StringBuilder sb) {
+        int fieldIndex = -1;
+        // Objects are usually rendered with the keys in field order, so we try the next field first
+        int expectedFieldIndex = 0;
+        for (; i < end; i++) {
+            final char c = json.charAt(i);
+            if (c == '}') {
+                break;
+            } else if (c == ':' || c == ',' || Character.isWhitespace(c)) {
+                continue;
+            }
+            if (fieldIndex == -1) {
+                if (c != '"') {
+                    throw new IllegalArgumentException("Expected a field name at: " + i);
+                }
+                int keyEnd = indexOfStringEnd(json, i + 1, end);
+                fieldIndex = getFieldIndex(json, i + 1, keyEnd, fields, expectedFieldIndex);
+                expectedFieldIndex = fieldIndex + 1;
+                i = keyEnd;
+            } else {
+                i = parseValue(json, i, end, object, fieldIndex, sb);
+                fieldIndex = -1;
+            }
+        }
+        return i;
+    }
+
+    private static int parseArrayRow(CharSequence json, int i, int end, Object[] object, StringBuilder sb) {
+        int fieldIndex = 0;
+        for (; i < end; i++) {
+            final char c = json.charAt(i);
+            if (c == ']') {
+                break;
+            } else if (c != ',' && !Character.isWhitespace(c)) {
+                i = parseValue(json, i, end, object, fieldIndex++, sb);
+            }
+        }
+        return i;
+    }
+
+    private static int parseValue(CharSequence json, int i, int end, Object[] object, int fieldIndex, StringBuilder sb) {
+        switch (json.charAt(i)) {
+            case '"':
+                return parseString(json, i + 1, end, object, fieldIndex, sb);
+            case 'n':
+                object[fieldIndex] = null;
+                return i + 3;
+            case '[':
+                // Nested arrays are only delimited here and parsed lazily when the nested multiset is processed
+                int nestedEnd = findEnd(json, i);
+                object[fieldIndex] = new SubSequence(json, i, nestedEnd);
+                return nestedEnd - 1;
+            default:
+                // Other scalars like numbers or booleans are passed through as raw text
+                int scalarStart = i;
+                for (i++; i < end; i++) {
+                    final char c = json.charAt(i);
+                    if (c == ',' || c == '}' || c == ']' || Character.isWhitespace(c)) {
+                        break;
+                    }
+                }
+                object[fieldIndex] = new SubSequence(json, scalarStart, i);
+                return i - 1;
+        }
+    }
+
+    private static int parseString(CharSequence json, int i, int end, Object[] object, int fieldIndex, StringBuilder sb) {
+        final int start = i;
+        for (; i < end; i++) {
+            char c = json.charAt(i);
+            if (c == '"') {
+                // Strings without escapes are not copied
+                object[fieldIndex] = new SubSequence(json, start, i);
+                return i;
+            } else if (c == '\\') {
+                sb.setLength(0);
+                sb.append(json, start, i);
                 for (; i < end; i++) {
-                    char c = json.charAt(i);
-                    if (!quoteMode) {
-                        if (c == '"') {
-                            quoteMode = true;
-                        } else if (c == '}') {
-                            break;
-                        } else if (c != ':' && c != ',' && !Character.isWhitespace(c)) {
-                            // non-string value
-                            switch (c) {
-                                case 'n':
-                                    object[fieldIndex] = null;
-                                    i += 3;
-                                    fieldIndex = -1;
-                                    escapes = false;
-                                    break;
-                                case '[':
-                                    // Nested object handling
-                                    int nestedEnd = findEnd(json, i);
-                                    object[fieldIndex] = new SubSequence(json, i, nestedEnd);
-                                    fieldIndex = -1;
-                                    i = nestedEnd - 1;
-                                    break;
-                                default:
-                                    throw new IllegalArgumentException("Non-String value unsupported! Found at: " + i);
-                            }
-                        }
+                    c = json.charAt(i);
+                    if (c == '\\') {
+                        i = unescape(json, i + 1, sb);
+                    } else if (c == '"') {
+                        object[fieldIndex] = sb.toString();
+                        return i;
                     } else {
-                        if (c == '\\') {
-                            escapes = true;
-                            c = json.charAt(++i);
-                            switch (c) {
-                                case 'b':
-                                    c = '\b';
-                                    break;
-                                case 'f':
-                                    c = '\f';
-                                    break;
-                                case 'r':
-                                    c = '\r';
-                                    break;
-                                case 'n':
-                                    c = '\n';
-                                    break;
-                                case 't':
-                                    c = '\t';
-                                    break;
-                                case 'u':
-                                    c = (char) Integer.parseInt(json.subSequence(i + 1, i + 5).toString(), 16);
-                                    i += 4;
-                                    break;
-                                case '"':
-                                case '\\':
-                                case '/':
-                                    break;
-                                default:
-                                    throw new IllegalStateException("Unexpected escape sequence at position: " + i);
-                            }
-                            sb.append(c);
-                        } else if (c == '"') {
-                            if (fieldIndex == -1) {
-                                fieldIndex = fieldMap.get(sb.toString());
-                            } else {
-                                if (escapes) {
-                                    object[fieldIndex] = sb.toString();
-                                } else {
-                                    object[fieldIndex] = new SubSequence(json, i - sb.length(), i);
-                                }
-                                fieldIndex = -1;
-                                escapes = false;
-                            }
-                            sb.setLength(0);
-                            quoteMode = false;
-                        } else {
-                            sb.append(c);
-                        }
+                        sb.append(c);
                     }
                 }
-                list.add(object);
+                break;
             }
         }
-        return list;
+        throw new IllegalArgumentException("Unterminated string starting at: " + (start - 1));
+    }
+
+    private static int indexOfStringEnd(CharSequence json, int i, int end) {
+        for (; i < end; i++) {
+            final char c = json.charAt(i);
+            if (c == '"') {
+                return i;
+            } else if (c == '\\') {
+                i++;
+            }
+        }
+        throw new IllegalArgumentException("Unterminated string at: " + i);
+    }
+
+    private static int getFieldIndex(CharSequence json, int start, int end, String[] fields, int expectedFieldIndex) {
+        if (expectedFieldIndex < fields.length && regionEquals(json, start, end, fields[expectedFieldIndex])) {
+            return expectedFieldIndex;
+        }
+        for (int i = 0; i < fields.length; i++) {
+            if (regionEquals(json, start, end, fields[i])) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown field '" + json.subSequence(start, end) + "' at: " + start);
+    }
+
+    private static boolean regionEquals(CharSequence json, int start, int end, String field) {
+        int length = field.length();
+        if (end - start != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (json.charAt(start + i) != field.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int unescape(CharSequence json, int i, StringBuilder sb) {
+        char c = json.charAt(i);
+        switch (c) {
+            case 'b':
+                c = '\b';
+                break;
+            case 'f':
+                c = '\f';
+                break;
+            case 'r':
+                c = '\r';
+                break;
+            case 'n':
+                c = '\n';
+                break;
+            case 't':
+                c = '\t';
+                break;
+            case 'u':
+                c = (char) Integer.parseInt(json.subSequence(i + 1, i + 5).toString(), 16);
+                i += 4;
+                break;
+            case '"':
+            case '\\':
+            case '/':
+                break;
+            default:
+                throw new IllegalStateException("Unexpected escape sequence at position: " + i);
+        }
+        sb.append(c);
+        return i;
     }
 
     private static int findEnd(CharSequence json, int i) {
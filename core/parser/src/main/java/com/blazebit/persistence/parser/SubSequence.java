@@ -26,8 +26,15 @@ public class SubSequence implements CharSequence {
     private final int length;
 
     public SubSequence(CharSequence string, int start, int end) {
-        this.string = string;
-        this.start = start;
+        if (string instanceof SubSequence) {
+            // Flatten nested sub sequences so that character access doesn't go through multiple levels of indirection
+            SubSequence subSequence = (SubSequence) string;
+            this.string = subSequence.string;
+            this.start = subSequence.start + start;
+        } else {
+            this.string = string;
+            this.start = start;
+        }
         this.length = end - start;
     }
 
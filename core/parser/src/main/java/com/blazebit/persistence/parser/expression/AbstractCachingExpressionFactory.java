@@ -78,12 +78,37 @@ public abstract class AbstractCachingExpressionFactory extends AbstractExpressio
         }
     };
 
+    public static final String DEFAULT_CACHE_NAME_PREFIX = "com.blazebit.persistence.parser.expression.cache.";
+
     private final ExpressionFactory delegate;
     private final ExpressionCache<ExpressionCacheEntry> expressionCache;
+    private final String pathExpressionCacheName;
+    private final String simpleExpressionCacheName;
+    private final String inItemExpressionCacheName;
+    private final String inItemOrPathExpressionCacheName;
+    private final String booleanExpressionCacheName;
 
     public AbstractCachingExpressionFactory(ExpressionFactory delegate, ExpressionCache expressionCache) {
+        this(delegate, expressionCache, DEFAULT_CACHE_NAME_PREFIX);
+    }
+
+    /**
+     * Creates a caching expression factory that uses cache names starting with the given prefix.
+     * Factories that produce different expressions for the same input must use different prefixes when sharing an expression cache.
+     *
+     * @param delegate The expression factory to delegate to on a cache miss
+     * @param expressionCache The expression cache
+     * @param cacheNamePrefix The prefix for the cache names
+     * @since 1.6.0
+     */
+    public AbstractCachingExpressionFactory(ExpressionFactory delegate, ExpressionCache expressionCache, String cacheNamePrefix) {
         this.delegate = delegate;
         this.expressionCache = expressionCache;
+        this.pathExpressionCacheName = cacheNamePrefix + "PathExpression";
+        this.simpleExpressionCacheName = cacheNamePrefix + "SimpleExpression";
+        this.inItemExpressionCacheName = cacheNamePrefix + "InPredicateExpression";
+        this.inItemOrPathExpressionCacheName = cacheNamePrefix + "InPredicateSingleExpression";
+        this.booleanExpressionCacheName = cacheNamePrefix + "PredicateExpression";
     }
 
     @Override
@@ -101,12 +126,12 @@ public abstract class AbstractCachingExpressionFactory extends AbstractExpressio
 
     @Override
     public Expression createPathExpression(final String expression, final MacroConfiguration macroConfiguration, Set<String> usedMacros) {
-        return getOrDefault("com.blazebit.persistence.parser.expression.cache.PathExpression", delegate, expression, false, false, false, macroConfiguration, PATH_EXPRESSION_SUPPLIER);
+        return getOrDefault(pathExpressionCacheName, delegate, expression, false, false, false, macroConfiguration, PATH_EXPRESSION_SUPPLIER);
     }
 
     @Override
     public Expression createSimpleExpression(final String expression, boolean allowOuter, final boolean allowQuantifiedPredicates, boolean allowObjectExpression, final MacroConfiguration macroConfiguration, Set<String> usedMacros) {
-        return getOrDefault("com.blazebit.persistence.parser.expression.cache.SimpleExpression", delegate, expression, allowOuter, allowQuantifiedPredicates, allowObjectExpression, macroConfiguration, SIMPLE_EXPRESSION_SUPPLIER);
+        return getOrDefault(simpleExpressionCacheName, delegate, expression, allowOuter, allowQuantifiedPredicates, allowObjectExpression, macroConfiguration, SIMPLE_EXPRESSION_SUPPLIER);
     }
 
     @Override
@@ -133,17 +158,17 @@ public abstract class AbstractCachingExpressionFactory extends AbstractExpressio
 
     @Override
     public Expression createInItemExpression(final String parameterOrLiteralExpression, final MacroConfiguration macroConfiguration, Set<String> usedMacros) {
-        return getOrDefault("com.blazebit.persistence.parser.expression.cache.InPredicateExpression", delegate, parameterOrLiteralExpression, false, false, false, macroConfiguration, IN_ITEM_EXPRESSION_SUPPLIER);
+        return getOrDefault(inItemExpressionCacheName, delegate, parameterOrLiteralExpression, false, false, false, macroConfiguration, IN_ITEM_EXPRESSION_SUPPLIER);
     }
 
     @Override
     public Expression createInItemOrPathExpression(final String parameterOrLiteralExpression, final MacroConfiguration macroConfiguration, Set<String> usedMacros) {
-        return getOrDefault("com.blazebit.persistence.parser.expression.cache.InPredicateSingleExpression", delegate, parameterOrLiteralExpression, false, false, false, macroConfiguration, IN_ITEM_OR_PATH_EXPRESSION_SUPPLIER);
+        return getOrDefault(inItemOrPathExpressionCacheName, delegate, parameterOrLiteralExpression, false, false, false, macroConfiguration, IN_ITEM_OR_PATH_EXPRESSION_SUPPLIER);
     }
 
     @Override
     public Predicate createBooleanExpression(final String expression, final boolean allowQuantifiedPredicates, final MacroConfiguration macroConfiguration, Set<String> usedMacros) {
-        return getOrDefault("com.blazebit.persistence.parser.expression.cache.PredicateExpression", delegate, expression, false, allowQuantifiedPredicates, false, macroConfiguration, BOOLEAN_EXPRESSION_SUPPLIER);
+        return getOrDefault(booleanExpressionCacheName, delegate, expression, false, allowQuantifiedPredicates, false, macroConfiguration, BOOLEAN_EXPRESSION_SUPPLIER);
     }
 
     private <E extends Expression> E getOrDefault(String cacheName, ExpressionFactory expressionFactory, String expression, boolean allowOuter, boolean allowQuantifiedPredicates, boolean allowObjectExpression, MacroConfiguration macroConfiguration, ExpressionSupplier defaultExpressionSupplier) {
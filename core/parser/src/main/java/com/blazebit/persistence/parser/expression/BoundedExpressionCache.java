@@ -0,0 +1,113 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.parser.expression;
+
+import com.blazebit.persistence.parser.util.BoundedLruCache;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * An expression cache that retains at most a configurable amount of entries per cache name.
+ * When the limit is reached, the least recently used entries are evicted.
+ * Hits, misses, evictions and the entry count per cache name can be queried via {@link #getStatistics(String)}.
+ *
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+public class BoundedExpressionCache<T> implements ExpressionCache<T> {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    private final ConcurrentMap<String, BoundedLruCache<Key, T>> cacheManager;
+    private final int maximumSize;
+
+    public BoundedExpressionCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public BoundedExpressionCache(int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Invalid maximum size for expression cache: " + maximumSize);
+        }
+        this.cacheManager = new ConcurrentHashMap<>();
+        this.maximumSize = maximumSize;
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    @Override
+    public T get(String cacheName, Key key) {
+        BoundedLruCache<Key, T> cache = cacheManager.get(cacheName);
+        if (cache == null) {
+            cache = getOrCreateCache(cacheName);
+        }
+        return cache.get(key);
+    }
+
+    @Override
+    public T putIfAbsent(String cacheName, Key key, T value) {
+        BoundedLruCache<Key, T> cache = cacheManager.get(cacheName);
+        if (cache == null) {
+            cache = getOrCreateCache(cacheName);
+        }
+        return cache.putIfAbsent(key, value);
+    }
+
+    /**
+     * Returns the names of the caches that were accessed so far.
+     *
+     * @return the cache names
+     */
+    public Set<String> getCacheNames() {
+        return Collections.unmodifiableSet(cacheManager.keySet());
+    }
+
+    /**
+     * Returns a snapshot of the statistics for the cache with the given name or <code>null</code> if the cache was never accessed.
+     *
+     * @param cacheName The cache name
+     * @return the statistics snapshot or <code>null</code>
+     */
+    public ExpressionCacheStatistics getStatistics(String cacheName) {
+        BoundedLruCache<Key, T> cache = cacheManager.get(cacheName);
+        if (cache == null) {
+            return null;
+        }
+        return new ExpressionCacheStatistics(cacheName, cache.getHitCount(), cache.getMissCount(), cache.getEvictionCount(), cache.size());
+    }
+
+    /**
+     * Removes all entries and resets the statistics of all caches.
+     */
+    public void clear() {
+        cacheManager.clear();
+    }
+
+    private BoundedLruCache<Key, T> getOrCreateCache(String cacheName) {
+        BoundedLruCache<Key, T> cache = new BoundedLruCache<>(maximumSize);
+        BoundedLruCache<Key, T> oldCache = cacheManager.putIfAbsent(cacheName, cache);
+        if (oldCache != null) {
+            return oldCache;
+        }
+        return cache;
+    }
+}
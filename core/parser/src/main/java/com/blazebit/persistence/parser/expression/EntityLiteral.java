@@ -41,8 +41,8 @@ public class EntityLiteral extends AbstractExpression implements LiteralExpressi
     }
 
     @Override
-    public Expression copy(ExpressionCopyContext copyContext) {
-        return new EntityLiteral(value, originalExpression);
+    public EntityLiteral copy(ExpressionCopyContext copyContext) {
+        return this;
     }
 
     @Override
@@ -41,8 +41,8 @@ public class EnumLiteral extends AbstractExpression implements LiteralExpression
     }
 
     @Override
-    public Expression copy(ExpressionCopyContext copyContext) {
-        return new EnumLiteral(value, originalExpression);
+    public EnumLiteral copy(ExpressionCopyContext copyContext) {
+        return this;
     }
 
     @Override
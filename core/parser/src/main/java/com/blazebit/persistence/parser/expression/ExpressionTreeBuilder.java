@@ -0,0 +1,59 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.parser.expression;
+
+import com.blazebit.persistence.parser.predicate.Predicate;
+
+/**
+ * Internal SPI implemented by the query builders that allows integrations like the JPA Criteria API or Querydsl
+ * to pass pre-built expression trees instead of JPQL.Next strings that would have to be parsed again.
+ *
+ * The passed expression trees are owned by the builder afterwards and must not be shared between builders.
+ *
+ * @param <X> The builder result type
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+public interface ExpressionTreeBuilder<X> {
+
+    /**
+     * Like <code>SelectBuilder.select(String, String)</code> but with an expression tree.
+     *
+     * @param expression The expression tree
+     * @param selectAlias The select alias or <code>null</code>
+     * @return The builder
+     */
+    public X selectExpressionTree(Expression expression, String selectAlias);
+
+    /**
+     * Like <code>WhereBuilder.setWhereExpression(String)</code> but with a predicate tree.
+     *
+     * @param predicate The predicate tree
+     * @return The builder
+     */
+    public X setWhereExpressionTree(Predicate predicate);
+
+    /**
+     * Like <code>OrderByBuilder.orderBy(String, boolean, boolean)</code> but with an expression tree.
+     *
+     * @param expression The expression tree
+     * @param ascending Whether the order should be ascending or descending
+     * @param nullFirst Whether null elements should be ordered first or last
+     * @return The builder
+     */
+    public X orderByExpressionTree(Expression expression, boolean ascending, boolean nullFirst);
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.parser.expression;
+
+import com.blazebit.persistence.parser.JPQLNextLexer;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.Vocabulary;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A hand-written recognizer for the trivial expression forms that make up the bulk of the expressions
+ * passed to the expression factory i.e. simple paths like <code>a.b.c</code>, named and positional parameters
+ * and integer or simple string literals. For such expressions this produces the very same expression objects
+ * as the ANTLR based parser would, but without paying for lexer, parser and visitor setup.
+ *
+ * Whenever an expression is not obviously one of these forms, <code>null</code> is returned and the caller
+ * has to fall back to the ANTLR based parser. Paths containing a keyword are always handed to the ANTLR
+ * parser as keywords might have a special meaning e.g. <code>NULL</code> or <code>CURRENT_DATE</code>.
+ *
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+final class FastPathExpressionParser {
+
+    private static final Set<String> KEYWORDS = createKeywords();
+
+    private final Map<String, Class<?>> entityTypes;
+    private final Map<String, Class<Enum<?>>> enumTypes;
+    private final Map<String, Class<Enum<?>>> enumTypesForLiterals;
+    private final int minEnumSegmentCount;
+    private final int minEntitySegmentCount;
+
+    FastPathExpressionParser(Map<String, Class<?>> entityTypes, Map<String, Class<Enum<?>>> enumTypes, Map<String, Class<Enum<?>>> enumTypesForLiterals, int minEnumSegmentCount, int minEntitySegmentCount) {
+        this.entityTypes = entityTypes;
+        this.enumTypes = enumTypes;
+        this.enumTypesForLiterals = enumTypesForLiterals;
+        this.minEnumSegmentCount = minEnumSegmentCount;
+        this.minEntitySegmentCount = minEntitySegmentCount;
+    }
+
+    private static Set<String> createKeywords() {
+        // Every token type that has a symbolic name which lexes to that very token type is a keyword
+        Vocabulary vocabulary = JPQLNextLexer.VOCABULARY;
+        Set<String> keywords = new HashSet<>();
+        for (int tokenType = 1; tokenType <= vocabulary.getMaxTokenType(); tokenType++) {
+            String symbolicName = vocabulary.getSymbolicName(tokenType);
+            if (symbolicName == null || tokenType == JPQLNextLexer.IDENTIFIER) {
+                continue;
+            }
+            JPQLNextLexer lexer = new JPQLNextLexer(CharStreams.fromString(symbolicName));
+            lexer.removeErrorListeners();
+            Token token = lexer.nextToken();
+            if (token.getType() == tokenType && lexer.nextToken().getType() == Token.EOF) {
+                keywords.add(symbolicName);
+            }
+        }
+        return Collections.unmodifiableSet(keywords);
+    }
+
+    /**
+     * Tries to parse the given expression without the ANTLR based parser.
+     *
+     * @param expression The expression to parse
+     * @param allowPath Whether a path, entity literal or enum literal is acceptable
+     * @param allowParameterOrLiteral Whether a parameter or literal is acceptable
+     * @return The parsed expression or <code>null</code> if the expression is not a trivial expression
+     */
+    public Expression parse(String expression, boolean allowPath, boolean allowParameterOrLiteral) {
+        char c = expression.charAt(0);
+        if (allowParameterOrLiteral) {
+            switch (c) {
+                case ':':
+                    return parseNamedParameter(expression);
+                case '?':
+                    return parsePositionalParameter(expression);
+                case '\'':
+                    return parseStringLiteral(expression);
+                default:
+                    if (c >= '0' && c <= '9') {
+                        return isIntegerLiteral(expression, 0) ? new NumericLiteral(expression, NumericType.INTEGER) : null;
+                    }
+                    break;
+            }
+        }
+        if (allowPath && isIdentifierStart(c)) {
+            return parsePath(expression);
+        }
+        return null;
+    }
+
+    private Expression parseNamedParameter(String expression) {
+        int length = expression.length();
+        if (length == 1 || !isIdentifierStart(expression.charAt(1))) {
+            return null;
+        }
+        int end = identifierEnd(expression, 1);
+        if (end != length) {
+            return null;
+        }
+        String name = expression.substring(1);
+        if (isKeyword(name)) {
+            return null;
+        }
+        return new ParameterExpression(name);
+    }
+
+    private Expression parsePositionalParameter(String expression) {
+        if (isIntegerLiteral(expression, 1)) {
+            return new ParameterExpression(expression.substring(1));
+        }
+        return null;
+    }
+
+    private Expression parseStringLiteral(String expression) {
+        int end = expression.length() - 1;
+        if (end == 0 || expression.charAt(end) != '\'') {
+            return null;
+        }
+        for (int i = 1; i < end; i++) {
+            char c = expression.charAt(i);
+            // Quotes and escape sequences require unescaping which is left to the ANTLR based parser
+            if (c == '\'' || c == '\\') {
+                return null;
+            }
+        }
+        return new StringLiteral(expression.substring(1, end));
+    }
+
+    private Expression parsePath(String expression) {
+        int length = expression.length();
+        List<String> segments = new ArrayList<>();
+        int start = 0;
+        while (true) {
+            if (start == length || !isIdentifierStart(expression.charAt(start))) {
+                return null;
+            }
+            int end = identifierEnd(expression, start);
+            String segment = expression.substring(start, end);
+            if (isKeyword(segment)) {
+                return null;
+            }
+            segments.add(segment);
+            if (end == length) {
+                break;
+            }
+            if (expression.charAt(end) != '.') {
+                return null;
+            }
+            start = end + 1;
+        }
+
+        // handle entity and enum literals the same way as JPQLNextExpressionVisitorImpl does
+        int size = segments.size();
+        if (size >= minEnumSegmentCount) {
+            Expression literalExpression = LiteralFactory.createEnumLiteral(enumTypes, enumTypesForLiterals, expression);
+            if (literalExpression != null) {
+                return literalExpression;
+            }
+        } else if (size >= minEntitySegmentCount || size == 1) {
+            Expression literalExpression = LiteralFactory.createEntityTypeLiteral(entityTypes, expression);
+            if (literalExpression != null) {
+                return literalExpression;
+            }
+        }
+
+        ArrayList<PathElementExpression> pathElementExpressions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            pathElementExpressions.add(new PropertyExpression(segments.get(i)));
+        }
+        return new PathExpression(pathElementExpressions);
+    }
+
+    private static boolean isKeyword(String identifier) {
+        return KEYWORDS.contains(identifier.toUpperCase(Locale.ROOT));
+    }
+
+    private static boolean isIntegerLiteral(String expression, int start) {
+        int length = expression.length();
+        if (start == length) {
+            return false;
+        }
+        char c = expression.charAt(start);
+        if (c == '0') {
+            return start + 1 == length;
+        }
+        if (c < '1' || c > '9') {
+            return false;
+        }
+        for (int i = start + 1; i < length; i++) {
+            c = expression.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int identifierEnd(String expression, int start) {
+        int length = expression.length();
+        int i = start + 1;
+        while (i < length && isIdentifierPart(expression.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isIdentifierStart(char c) {
+        // The '$' character is deliberately excluded as it is also used for nested class names in enum literals
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c == '_' || c >= '\u0080' && c <= '\ufffe';
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return isIdentifierStart(c) || c >= '0' && c <= '9';
+    }
+}
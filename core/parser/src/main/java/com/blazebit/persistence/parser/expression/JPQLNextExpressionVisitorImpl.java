@@ -248,12 +248,12 @@ public class JPQLNextExpressionVisitorImpl extends JPQLNextParserBaseVisitor<Exp
     @Override
     public Expression visitEntityTypeOrEnumLiteral(JPQLNextParser.EntityTypeOrEnumLiteralContext ctx) {
         String literalStr = ctx.getText();
-        Expression literalExpression = createEnumLiteral(literalStr);
+        Expression literalExpression = LiteralFactory.createEnumLiteral(enums, enumsForLiterals, literalStr);
         if (literalExpression != null) {
             return literalExpression;
         }
 
-        literalExpression = createEntityTypeLiteral(literalStr);
+        literalExpression = LiteralFactory.createEntityTypeLiteral(entities, literalStr);
         if (literalExpression != null) {
             return literalExpression;
         }
@@ -705,13 +705,13 @@ public class JPQLNextExpressionVisitorImpl extends JPQLNextParserBaseVisitor<Exp
         // handle entity and enum literals
         if (size >= minEnumSegmentCount) {
             String literalStr = ctx.getText();
-            Expression literalExpression = createEnumLiteral(literalStr);
+            Expression literalExpression = LiteralFactory.createEnumLiteral(enums, enumsForLiterals, literalStr);
             if (literalExpression != null) {
                 return literalExpression;
             }
         } else if (size >= minEntitySegmentCount || size == 1) {
             String literalStr = ctx.getText();
-            Expression literalExpression = createEntityTypeLiteral(literalStr);
+            Expression literalExpression = LiteralFactory.createEntityTypeLiteral(entities, literalStr);
             if (literalExpression != null) {
                 return literalExpression;
             }
@@ -744,13 +744,13 @@ public class JPQLNextExpressionVisitorImpl extends JPQLNextParserBaseVisitor<Exp
             if (literalPossible) {
                 if (size >= minEnumSegmentCount) {
                     String literalStr = ctx.simpleSubpath().getText();
-                    Expression literalExpression = createEnumLiteral(literalStr);
+                    Expression literalExpression = LiteralFactory.createEnumLiteral(enums, enumsForLiterals, literalStr);
                     if (literalExpression != null) {
                         return literalExpression;
                     }
                 } else if (size >= minEntitySegmentCount || size == 1) {
                     String literalStr = ctx.simpleSubpath().getText();
-                    Expression literalExpression = createEntityTypeLiteral(literalStr);
+                    Expression literalExpression = LiteralFactory.createEntityTypeLiteral(entities, literalStr);
                     if (literalExpression != null) {
                         if (expression == null) {
                             return literalExpression;
@@ -996,7 +996,7 @@ public class JPQLNextExpressionVisitorImpl extends JPQLNextParserBaseVisitor<Exp
     @Override
     public Expression visitIdentifier(JPQLNextParser.IdentifierContext ctx) {
         String text = ctx.getText();
-        Expression entityLiteral = createEntityTypeLiteral(text);
+        Expression entityLiteral = LiteralFactory.createEntityTypeLiteral(entities, text);
         if (entityLiteral != null) {
             return entityLiteral;
         }
@@ -1028,34 +1028,6 @@ public class JPQLNextExpressionVisitorImpl extends JPQLNextParserBaseVisitor<Exp
         }
     }
 
-    @SuppressWarnings({ "rawtypes", "unchecked" })
-    private Expression createEnumLiteral(String enumStr) {
-        int lastDotIdx = enumStr.lastIndexOf('.');
-        if (lastDotIdx == -1) {
-            return null;
-        }
-        String enumTypeStr = enumStr.substring(0, lastDotIdx);
-        String enumValueStr = enumStr.substring(lastDotIdx + 1);
-        Class<Enum<?>> enumType = enums.get(enumTypeStr);
-        if (enumType == null) {
-            return null;
-        }
-        Enum enumValue = Enum.valueOf((Class) enumType, enumValueStr);
-        if (enumsForLiterals.containsKey(enumTypeStr)) {
-            return new EnumLiteral(enumValue, enumStr);
-        } else {
-            return new ParameterExpression(enumStr.replace('.', '_'), enumValue);
-        }
-    }
-
-    private Expression createEntityTypeLiteral(String entityLiteralStr) {
-        Class<?> entityType = entities.get(entityLiteralStr);
-        if (entityType == null) {
-            return null;
-        }
-        return new EntityLiteral(entityType, entityLiteralStr);
-    }
-
     private String getInputText(ParserRuleContext ctx) {
         int from = ctx.start.getStartIndex();
         int to = ctx.stop.getStopIndex();
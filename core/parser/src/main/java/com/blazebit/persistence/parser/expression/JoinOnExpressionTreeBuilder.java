@@ -0,0 +1,38 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.parser.expression;
+
+import com.blazebit.persistence.parser.predicate.Predicate;
+
+/**
+ * Internal SPI implemented by the join on builders that allows integrations like the JPA Criteria API or Querydsl
+ * to pass a pre-built predicate tree instead of a JPQL.Next string that would have to be parsed again.
+ *
+ * @param <X> The builder result type
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+public interface JoinOnExpressionTreeBuilder<X> {
+
+    /**
+     * Like <code>JoinOnBuilder.setOnExpression(String)</code> but with a predicate tree.
+     *
+     * @param predicate The predicate tree
+     * @return The result of the join on builder
+     */
+    public X setOnExpressionTree(Predicate predicate);
+}
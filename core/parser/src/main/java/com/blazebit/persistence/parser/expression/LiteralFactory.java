@@ -0,0 +1,75 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.parser.expression;
+
+import java.util.Map;
+
+/**
+ * Creates the expressions for enum and entity type literals so that the fast path parser and the ANTLR based parser resolve them the same way.
+ *
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+final class LiteralFactory {
+
+    private LiteralFactory() {
+    }
+
+    /**
+     * Returns an {@link EnumLiteral} or, if the enum type isn't allowed for literals, a {@link ParameterExpression} for the given enum string
+     * or <code>null</code> if the string doesn't refer to a known enum type.
+     *
+     * @param enumTypes The known enum types by name
+     * @param enumTypesForLiterals The enum types by name that may be rendered as literals
+     * @param enumStr The fully qualified enum value
+     * @return The enum expression or <code>null</code>
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    static Expression createEnumLiteral(Map<String, Class<Enum<?>>> enumTypes, Map<String, Class<Enum<?>>> enumTypesForLiterals, String enumStr) {
+        int lastDotIdx = enumStr.lastIndexOf('.');
+        if (lastDotIdx == -1) {
+            return null;
+        }
+        String enumTypeStr = enumStr.substring(0, lastDotIdx);
+        String enumValueStr = enumStr.substring(lastDotIdx + 1);
+        Class<Enum<?>> enumType = enumTypes.get(enumTypeStr);
+        if (enumType == null) {
+            return null;
+        }
+        Enum enumValue = Enum.valueOf((Class) enumType, enumValueStr);
+        if (enumTypesForLiterals.containsKey(enumTypeStr)) {
+            return new EnumLiteral(enumValue, enumStr);
+        } else {
+            return new ParameterExpression(enumStr.replace('.', '_'), enumValue);
+        }
+    }
+
+    /**
+     * Returns an {@link EntityLiteral} for the given entity name or <code>null</code> if the name doesn't refer to a known entity type.
+     *
+     * @param entityTypes The known entity types by name
+     * @param entityLiteralStr The entity name
+     * @return The entity literal or <code>null</code>
+     */
+    static Expression createEntityTypeLiteral(Map<String, Class<?>> entityTypes, String entityLiteralStr) {
+        Class<?> entityType = entityTypes.get(entityLiteralStr);
+        if (entityType == null) {
+            return null;
+        }
+        return new EntityLiteral(entityType, entityLiteralStr);
+    }
+}
@@ -36,8 +36,8 @@ public class NumericLiteral extends AbstractNumericExpression implements Literal
     }
 
     @Override
-    public Expression copy(ExpressionCopyContext copyContext) {
-        return new NumericLiteral(value, getNumericType());
+    public NumericLiteral copy(ExpressionCopyContext copyContext) {
+        return this;
     }
 
     @Override
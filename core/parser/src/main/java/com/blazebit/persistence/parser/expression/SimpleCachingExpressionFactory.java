@@ -31,4 +31,8 @@ public class SimpleCachingExpressionFactory extends AbstractCachingExpressionFac
     public SimpleCachingExpressionFactory(ExpressionFactory delegate, ExpressionCache expressionCache) {
         super(delegate, expressionCache);
     }
+
+    public SimpleCachingExpressionFactory(ExpressionFactory delegate, ExpressionCache expressionCache, String cacheNamePrefix) {
+        super(delegate, expressionCache, cacheNamePrefix);
+    }
 }
@@ -35,8 +35,8 @@ public class StringLiteral extends AbstractExpression implements LiteralExpressi
     }
 
     @Override
-    public Expression copy(ExpressionCopyContext copyContext) {
-        return new StringLiteral(value);
+    public StringLiteral copy(ExpressionCopyContext copyContext) {
+        return this;
     }
 
     @Override
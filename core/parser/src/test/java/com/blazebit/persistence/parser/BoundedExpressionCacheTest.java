@@ -0,0 +1,75 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.parser;
+
+import com.blazebit.persistence.parser.expression.BoundedExpressionCache;
+import com.blazebit.persistence.parser.expression.ExpressionCache;
+import com.blazebit.persistence.parser.expression.ExpressionCacheStatistics;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+public class BoundedExpressionCacheTest {
+
+    private static final String CACHE_NAME = "test";
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        BoundedExpressionCache<String> cache = new BoundedExpressionCache<>(1);
+        cache.putIfAbsent(CACHE_NAME, key("a"), "a");
+        cache.putIfAbsent(CACHE_NAME, key("b"), "b");
+
+        Assert.assertNull(cache.get(CACHE_NAME, key("a")));
+        Assert.assertEquals("b", cache.get(CACHE_NAME, key("b")));
+
+        ExpressionCacheStatistics statistics = cache.getStatistics(CACHE_NAME);
+        Assert.assertEquals(1, statistics.getHitCount());
+        Assert.assertEquals(1, statistics.getMissCount());
+        Assert.assertEquals(1, statistics.getEvictionCount());
+        Assert.assertEquals(1, statistics.getSize());
+    }
+
+    @Test
+    public void testPutIfAbsentReturnsExistingValue() {
+        BoundedExpressionCache<String> cache = new BoundedExpressionCache<>();
+        Assert.assertEquals("a", cache.putIfAbsent(CACHE_NAME, key("a"), "a"));
+        Assert.assertEquals("a", cache.putIfAbsent(CACHE_NAME, key("a"), "b"));
+        Assert.assertEquals(1, cache.getStatistics(CACHE_NAME).getSize());
+    }
+
+    @Test
+    public void testStatisticsArePerCacheName() {
+        BoundedExpressionCache<String> cache = new BoundedExpressionCache<>();
+        cache.putIfAbsent(CACHE_NAME, key("a"), "a");
+        cache.get(CACHE_NAME, key("a"));
+        cache.get("other", key("a"));
+
+        Assert.assertEquals(1, cache.getStatistics(CACHE_NAME).getHitCount());
+        Assert.assertEquals(0, cache.getStatistics(CACHE_NAME).getMissCount());
+        Assert.assertEquals(0, cache.getStatistics("other").getHitCount());
+        Assert.assertEquals(1, cache.getStatistics("other").getMissCount());
+        Assert.assertNull(cache.getStatistics("unknown"));
+    }
+
+    private static ExpressionCache.Key key(String expression) {
+        return new ExpressionCache.Key(expression, false, false, false);
+    }
+}
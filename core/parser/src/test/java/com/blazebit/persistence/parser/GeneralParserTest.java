@@ -1092,4 +1092,37 @@ public class GeneralParserTest extends AbstractParserTest {
         PathExpression result = (PathExpression) parseJoinBasePath("TREAT(x as Y)");
         assertEquals(path(treat(path("x"), "Y")), result);
     }
+
+    @Test
+    public void testFastPathSimpleExpressions() {
+        assertEquals(path("d", "owner", "name"), parse("d.owner.name"));
+        assertEquals(parameter("param"), parse(":param"));
+        assertEquals(parameter("1"), parse("?1"));
+        assertEquals(_int("0"), parse("0"));
+        assertEquals(_int("123"), parse("123"));
+        assertEquals(_string("abc"), parse("'abc'"));
+        assertEquals(_entity(TestEntity.class), parse("TestEntity"));
+    }
+
+    @Test
+    public void testFastPathFallbackExpressions() {
+        assertEquals(new NullExpression(), parse("null"));
+        assertEquals(function("CURRENT_DATE"), parse("CURRENT_DATE"));
+        assertEquals(_string("it's"), parse("'it''s'"));
+        assertEquals(_long("1L"), parse("1L"));
+        assertEquals(path("d", "age"), parse(" d.age "));
+    }
+
+    @Test
+    public void testFastPathInItemExpressions() {
+        assertEquals(parameter("param"), ef().createInItemExpression(":param", macroConfiguration, null));
+        assertEquals(_int("1"), ef().createInItemExpression("1", macroConfiguration, null));
+        assertEquals(path("d", "age"), ef().createInItemOrPathExpression("d.age", macroConfiguration, null));
+        assertEquals(_entity(TestEntity.class), ef().createInItemExpression("TestEntity", macroConfiguration, null));
+    }
+
+    @Test(expected = SyntaxErrorException.class)
+    public void testFastPathParameterIsNoPath() {
+        parsePath(":param");
+    }
 }
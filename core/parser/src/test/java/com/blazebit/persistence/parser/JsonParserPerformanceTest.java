@@ -0,0 +1,85 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.blazebit.persistence.parser;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.util.List;
+
+/**
+ * Every benchmark round parses roughly one megabyte of JSON, so the round time is the time per megabyte.
+ *
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+public class JsonParserPerformanceTest {
+
+    private static final int MEGABYTE = 1024 * 1024;
+    private static final String[] FIELDS = { "f0", "f1", "f2", "f3" };
+    private static final String OBJECT_ROWS = createJson(false);
+    private static final String ARRAY_ROWS = createJson(true);
+
+    @Rule
+    public TestRule benchmarkRun = new BenchmarkRule();
+
+    private static String createJson(boolean arrayRows) {
+        StringBuilder sb = new StringBuilder(MEGABYTE + 256);
+        sb.append('[');
+        for (int i = 0; sb.length() < MEGABYTE; i++) {
+            if (i != 0) {
+                sb.append(',');
+            }
+            // Every row contains a nested multiset with two elements like a collection fetched via MULTISET would
+            if (arrayRows) {
+                sb.append("[\"").append(i).append("\",\"Document ").append(i).append("\",\"2020-01-01 00:00:00.0\",");
+                sb.append("[[\"").append(i).append("\",\"Person 1\"],[\"").append(i).append("\",\"Person \\\"2\\\"\"]]]");
+            } else {
+                sb.append("{\"f0\":\"").append(i).append("\",\"f1\":\"Document ").append(i).append("\",\"f2\":\"2020-01-01 00:00:00.0\",\"f3\":");
+                sb.append("[{\"f0\":\"").append(i).append("\",\"f1\":\"Person 1\"},{\"f0\":\"").append(i).append("\",\"f1\":\"Person \\\"2\\\"\"}]}");
+            }
+        }
+        sb.append(']');
+        return sb.toString();
+    }
+
+    @BenchmarkOptions(benchmarkRounds = 50, warmupRounds = 20)
+    @Test
+    public void testParseObjectRowsPerMegabyte() {
+        testParse(OBJECT_ROWS);
+    }
+
+    @BenchmarkOptions(benchmarkRounds = 50, warmupRounds = 20)
+    @Test
+    public void testParseArrayRowsPerMegabyte() {
+        testParse(ARRAY_ROWS);
+    }
+
+    private void testParse(String json) {
+        List<Object[]> rows = JsonParser.parseStringOnly(json, FIELDS);
+        int nestedCount = 0;
+        for (Object[] row : rows) {
+            nestedCount += JsonParser.parseStringOnly((CharSequence) row[3], "f0", "f1").size();
+        }
+        Assert.assertEquals(rows.size() * 2, nestedCount);
+    }
+}
@@ -55,6 +55,19 @@ public class JsonParserTest {
         assertEquals(new Object[]{ "1", "test" }, JsonParser.parseStringOnly("[{\"age\": \"1\", \"name\": \"test\"}, {\"age\": \"1\", \"name\": \"test\"}]", "age", "name").get(1));
     }
 
+    @Test
+    public void testStringOnlyArrayRows() {
+        assertEquals(new Object[]{ "test", "1" }, JsonParser.parseStringOnly("[[\"test\", \"1\"], [\"test2\", null]]", "name", "age").get(0));
+        assertEquals(new Object[]{ "test2", null }, JsonParser.parseStringOnly("[[\"test\", \"1\"], [\"test2\", null]]", "name", "age").get(1));
+        assertEquals(new Object[]{ "test\"\\/\b\f\n\r\t\uFFFF", "1" }, JsonParser.parseStringOnly("[[\"test\\\"\\\\\\/\\b\\f\\n\\r\\t\\uFFFF\", \"1\"]]", "name", "age").get(0));
+    }
+
+    @Test
+    public void testStringOnlyArrayRowsNested() {
+        assertEquals(new Object[]{ "test", "[[\"a\",\"b\"],[\"c\",null]]" }, JsonParser.parseStringOnly("[[\"test\", [[\"a\",\"b\"],[\"c\",null]]]]", "name", "children").get(0));
+        assertEquals(new Object[]{ "c", null }, JsonParser.parseStringOnly(JsonParser.parseStringOnly("[[\"test\", [[\"a\",\"b\"],[\"c\",null]]]]", "name", "children").get(0)[1].toString(), "name", "age").get(1));
+    }
+
     private static void assertEquals(Object[] array1, Object[] array2) {
         Assert.assertEquals(array1.length, array2.length);
         for (int i = 0; i < array1.length; i++) {
@@ -16,6 +16,8 @@
 
 package com.blazebit.persistence.parser;
 
+import com.blazebit.persistence.parser.expression.ExpressionFactory;
+import com.blazebit.persistence.parser.expression.ExpressionFactoryImpl;
 import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
 import com.carrotsearch.junitbenchmarks.BenchmarkRule;
 import org.antlr.v4.runtime.ANTLRInputStream;
@@ -28,6 +30,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TestRule;
 
+import java.util.Collections;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -36,6 +39,11 @@ import java.util.logging.Logger;
  * @author Christian Beikov
  */
 public class ParserPerformanceTest {
+
+    private static final String[] SIMPLE_EXPRESSIONS = {
+        "buyerParty.name", "buyerParty.countryEntry.name", "buyerParty.region.name", ":param", "?1", "1", "'abc'"
+    };
+    private static final int SIMPLE_EXPRESSION_ITERATIONS = 1000;
     
     private static Level originalLevel;
     
@@ -69,6 +77,28 @@ public class ParserPerformanceTest {
         doTest(expression);
     }
     
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 5)
+    @Test
+    public void testSimpleExpressionsAntlr() {
+        for (int i = 0; i < SIMPLE_EXPRESSION_ITERATIONS; i++) {
+            for (String expression : SIMPLE_EXPRESSIONS) {
+                doTest(expression);
+            }
+        }
+    }
+
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 5)
+    @Test
+    public void testSimpleExpressionsFastPath() {
+        // No caching expression factory, so every invocation has to parse the expression
+        ExpressionFactory expressionFactory = new ExpressionFactoryImpl(Collections.<String, FunctionKind>emptyMap(), true, true);
+        for (int i = 0; i < SIMPLE_EXPRESSION_ITERATIONS; i++) {
+            for (String expression : SIMPLE_EXPRESSIONS) {
+                expressionFactory.createSimpleExpression(expression);
+            }
+        }
+    }
+    
     private void doTest(String expression) {
         JPQLNextLexer l = new JPQLNextLexer(new ANTLRInputStream(expression));
         CommonTokenStream tokens = new CommonTokenStream(l);
@@ -162,6 +162,18 @@ public class SimpleCachingExpressionFactoryPerformanceTest {
         testCreateSimpleExpressionPerformance(cachingExpressionFactory, tenMacros);
     }
 
+    @BenchmarkOptions(benchmarkRounds = 10000, warmupRounds = 5000, concurrency = 4)
+    @Test
+    public void testCreateLiteralHeavyExpressionPerformanceCaching() {
+        String expressionString = "CASE WHEN a.status = 'ACTIVE' THEN 1 WHEN a.status = 'PENDING' THEN 2 WHEN a.status = 'BLOCKED' THEN 3 ELSE 4 END";
+
+        Expression expr1 = cachingExpressionFactory.createSimpleExpression(expressionString, false, true, false, null, null);
+        Expression expr2 = cachingExpressionFactory.createSimpleExpression(expressionString, false, true, false, null, null);
+
+        Assert.assertFalse(expr1 == expr2);
+        Assert.assertEquals(expr1, expr2);
+    }
+
     private void testCreateSimpleExpressionPerformance(ExpressionFactory ef, MacroConfiguration macroConfiguration) {
         String expressionString = "SIZE(Hello.world[:hahaha].criteria[1].api.lsls[a.b.c.d.e]) + SIZE(Hello.world[:hahaha].criteria[1].api.lsls[a.b.c.d.e])";
 
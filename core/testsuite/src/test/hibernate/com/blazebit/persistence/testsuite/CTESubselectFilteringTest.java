@@ -44,6 +44,8 @@ import java.util.List;
 import static org.hibernate.Hibernate.initialize;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
 
 /**
  * @author Jan-Willem Gmelig Meyling
@@ -148,6 +150,23 @@ public class CTESubselectFilteringTest extends AbstractCoreTest {
         assertEquals(1, child.children.size());
     }
 
+    @Test
+    public void testSessionStateKeyContainsFilterParameters() {
+        assertNull(jpaProvider.getSessionStateKey(em));
+
+        em.unwrap(Session.class).enableFilter("NodeFilter")
+                .setParameter("mySuperValue", true);
+        Object trueKey = jpaProvider.getSessionStateKey(em);
+        assertEquals(trueKey, jpaProvider.getSessionStateKey(em));
+
+        em.unwrap(Session.class).enableFilter("NodeFilter")
+                .setParameter("mySuperValue", false);
+        assertNotEquals(trueKey, jpaProvider.getSessionStateKey(em));
+
+        em.unwrap(Session.class).disableFilter("NodeFilter");
+        assertNull(jpaProvider.getSessionStateKey(em));
+    }
+
     @CTE
     @Entity(name = "NodeCte")
     public static class NodeCTE {
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.testsuite;
+
+import com.blazebit.persistence.ConfigurationProperties;
+import com.blazebit.persistence.CriteriaBuilder;
+import com.blazebit.persistence.parser.expression.AbstractCachingExpressionFactory;
+import com.blazebit.persistence.parser.expression.BoundedExpressionCache;
+import com.blazebit.persistence.parser.expression.ExpressionCache;
+import com.blazebit.persistence.spi.CriteriaBuilderConfiguration;
+import com.blazebit.persistence.testsuite.entity.Document;
+import com.blazebit.persistence.testsuite.entity.Person;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+public class ExpressionCacheTest extends AbstractCoreTest {
+
+    private static final int MAX_SIZE = 100;
+
+    @Override
+    protected void configure(CriteriaBuilderConfiguration config) {
+        super.configure(config);
+        // Only the maximum size is configured, the cache class is the default one
+        config.setProperty(ConfigurationProperties.EXPRESSION_CACHE_MAXIMUM_SIZE, Integer.toString(MAX_SIZE));
+    }
+
+    @Test
+    public void maximumSizeSwitchesToBoundedCache() {
+        ExpressionCache<?> expressionCache = cbf.getService(ExpressionCache.class);
+        assertTrue(expressionCache instanceof BoundedExpressionCache);
+        assertEquals(MAX_SIZE, ((BoundedExpressionCache<?>) expressionCache).getMaximumSize());
+    }
+
+    @Test
+    public void subqueryExpressionsUseBoundedCache() {
+        CriteriaBuilder<Document> criteria = cbf.create(em, Document.class, "d")
+                .whereExists()
+                    .from(Person.class, "p")
+                    .where("p.id").eqExpression("d.owner.id")
+                .end();
+        criteria.getQueryString();
+
+        BoundedExpressionCache<?> expressionCache = (BoundedExpressionCache<?>) cbf.getService(ExpressionCache.class);
+        boolean subqueryCacheUsed = false;
+        for (String cacheName : expressionCache.getCacheNames()) {
+            if (cacheName.startsWith(AbstractCachingExpressionFactory.DEFAULT_CACHE_NAME_PREFIX + "subquery.")) {
+                subqueryCacheUsed = true;
+                assertTrue(expressionCache.getStatistics(cacheName).getSize() <= MAX_SIZE);
+            }
+        }
+        assertTrue(subqueryCacheUsed);
+    }
+}
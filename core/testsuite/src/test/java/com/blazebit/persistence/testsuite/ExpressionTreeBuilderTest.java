@@ -0,0 +1,89 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.testsuite;
+
+import com.blazebit.persistence.CriteriaBuilder;
+import com.blazebit.persistence.JoinOnBuilder;
+import com.blazebit.persistence.parser.expression.ExpressionTreeBuilder;
+import com.blazebit.persistence.parser.expression.JoinOnExpressionTreeBuilder;
+import com.blazebit.persistence.parser.expression.ParameterExpression;
+import com.blazebit.persistence.parser.expression.PathElementExpression;
+import com.blazebit.persistence.parser.expression.PathExpression;
+import com.blazebit.persistence.parser.expression.PropertyExpression;
+import com.blazebit.persistence.parser.predicate.CompoundPredicate;
+import com.blazebit.persistence.parser.predicate.GtPredicate;
+import com.blazebit.persistence.parser.predicate.IsNullPredicate;
+import com.blazebit.persistence.testsuite.entity.Document;
+import org.junit.Test;
+
+import javax.persistence.Tuple;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+public class ExpressionTreeBuilderTest extends AbstractCoreTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testExpressionTreesRenderLikeExpressionStrings() {
+        CriteriaBuilder<Tuple> expected = cbf.create(em, Tuple.class).from(Document.class, "d")
+                .select("d.name", "docName")
+                .setWhereExpression("d.age > :minAge AND d.owner.name IS NOT NULL")
+                .orderBy("d.id", true, false);
+
+        CriteriaBuilder<Tuple> criteria = cbf.create(em, Tuple.class).from(Document.class, "d");
+        ExpressionTreeBuilder<CriteriaBuilder<Tuple>> treeBuilder = (ExpressionTreeBuilder<CriteriaBuilder<Tuple>>) criteria;
+        treeBuilder.selectExpressionTree(path("d", "name"), "docName");
+        treeBuilder.setWhereExpressionTree(new CompoundPredicate(
+                CompoundPredicate.BooleanOperator.AND,
+                new GtPredicate(path("d", "age"), new ParameterExpression("minAge")),
+                new IsNullPredicate(path("d", "owner", "name"), true)
+        ));
+        treeBuilder.orderByExpressionTree(path("d", "id"), true, false);
+
+        assertEquals(expected.getQueryString(), criteria.getQueryString());
+        criteria.setParameter("minAge", 1L).getResultList();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testJoinOnExpressionTree() {
+        CriteriaBuilder<Document> expected = cbf.create(em, Document.class, "d")
+                .leftJoinOn("d.partners", "p").setOnExpression("p.age > :minAge");
+
+        CriteriaBuilder<Document> criteria = cbf.create(em, Document.class, "d");
+        JoinOnBuilder<CriteriaBuilder<Document>> onBuilder = criteria.leftJoinOn("d.partners", "p");
+        ((JoinOnExpressionTreeBuilder<CriteriaBuilder<Document>>) onBuilder).setOnExpressionTree(new GtPredicate(path("p", "age"), new ParameterExpression("minAge")));
+
+        assertEquals(expected.getQueryString(), criteria.getQueryString());
+        criteria.setParameter("minAge", 1L).getResultList();
+    }
+
+    private static PathExpression path(String... properties) {
+        List<PathElementExpression> pathElements = new ArrayList<>(properties.length);
+        for (String property : properties) {
+            pathElements.add(new PropertyExpression(property));
+        }
+        return new PathExpression(pathElements);
+    }
+}
@@ -24,6 +24,11 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.persistence.EntityManager;
 import javax.persistence.Tuple;
@@ -31,6 +36,7 @@ import javax.persistence.Tuple;
 import com.blazebit.persistence.ConfigurationProperties;
 import com.blazebit.persistence.DefaultKeyset;
 import com.blazebit.persistence.DefaultKeysetPage;
+import com.blazebit.persistence.spi.CountCache;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoDatanucleus;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoEclipselink;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoOpenJPA;
@@ -40,6 +46,7 @@ import org.junit.Ignore;
 import org.junit.Test;
 
 import com.blazebit.persistence.CriteriaBuilder;
+import com.blazebit.persistence.PagedArrayList;
 import com.blazebit.persistence.PagedList;
 import com.blazebit.persistence.PaginatedCriteriaBuilder;
 import com.blazebit.persistence.testsuite.entity.Document;
@@ -253,6 +260,105 @@ public class PaginationTest extends AbstractCoreTest {
         assertEquals("doc1", result.get(0).getName());
     }
 
+    @Test
+    // Only Hibernate can tell that the entity manager has no transaction, filters or tenant
+    @Category({ NoDatanucleus.class, NoEclipselink.class, NoOpenJPA.class })
+    public void testConcurrentCountQuery() throws Exception {
+        // The count query only runs concurrently if the entity manager is not joined to a transaction
+        em.getTransaction().rollback();
+        final AtomicInteger submittedCount = new AtomicInteger();
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Executor executor = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                submittedCount.incrementAndGet();
+                executorService.execute(command);
+            }
+        };
+        try {
+            PaginatedCriteriaBuilder<Document> cb = cbf.create(em, Document.class, "d")
+                    .where("d.name").like(false).value("doc%").noEscape()
+                    .orderByAsc("d.id")
+                    .page(0, 2)
+                    .withInlineCountQuery(false)
+                    .withCountQueryExecutor(executor);
+            PagedList<Document> result = cb.getResultList();
+            assertEquals(2, result.size());
+            assertEquals(5, result.getTotalSize());
+            assertEquals("doc1", result.get(0).getName());
+            assertEquals("Doc2", result.get(1).getName());
+
+            result = cb.setFirstResult(4).getResultList();
+            assertEquals(1, result.size());
+            assertEquals(5, result.getTotalSize());
+            assertEquals(2, submittedCount.get());
+        } finally {
+            executorService.shutdown();
+            executorService.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testConcurrentCountQueryInTransactionRunsSequentially() {
+        Executor executor = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                fail("The count query must not leave the transaction of the entity manager");
+            }
+        };
+        PaginatedCriteriaBuilder<Document> cb = cbf.create(em, Document.class, "d")
+                .where("d.name").like(false).value("doc%").noEscape()
+                .orderByAsc("d.id")
+                .page(0, 2)
+                .withInlineCountQuery(false)
+                .withCountQueryExecutor(executor);
+        PagedList<Document> result = cb.getResultList();
+        assertEquals(2, result.size());
+        assertEquals(5, result.getTotalSize());
+    }
+
+    @Test
+    public void testCountCache() {
+        cbf.getService(CountCache.class).clear();
+        PaginatedCriteriaBuilder<Document> cb = cbf.create(em, Document.class, "d")
+                .where("d.owner.name").eqExpression(":ownerName")
+                .orderByAsc("d.id")
+                .page(0, 2)
+                .withCountCache(1, TimeUnit.MINUTES)
+                .setParameter("ownerName", "Karl2");
+        PagedList<Document> result = cb.getResultList();
+        assertEquals(2, result.size());
+        assertEquals(4, result.getTotalSize());
+        Assert.assertFalse(((PagedArrayList<Document>) result).isTotalSizeCached());
+
+        result = cb.setFirstResult(2).getResultList();
+        assertEquals(2, result.size());
+        assertEquals(4, result.getTotalSize());
+        Assert.assertTrue(((PagedArrayList<Document>) result).isTotalSizeCached());
+        assertEquals("bdoc", result.get(0).getName());
+
+        // Different parameter values must not reuse the cached count
+        result = cb.setParameter("ownerName", "Karl1").setFirstResult(0).getResultList();
+        assertEquals(3, result.getTotalSize());
+        Assert.assertFalse(((PagedArrayList<Document>) result).isTotalSizeCached());
+    }
+
+    @Test
+    public void testCountCacheDisablesInlineCountQuery() {
+        PaginatedCriteriaBuilder<Document> cb = cbf.create(em, Document.class, "d")
+                .orderByAsc("d.id")
+                .page(0, 2)
+                .withCountCache(1, TimeUnit.MINUTES);
+        Assert.assertFalse(cb.isWithInlineCountQuery());
+        try {
+            cb.withInlineCountQuery(true);
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException ex) {
+            // Expected
+        }
+        Assert.assertFalse(cb.isWithInlineCountQuery());
+    }
+
     @Test
     public void testSelectIndexedWithParameter() {
         String expectedCountQuery = "SELECT " + countPaginated("d.id", false) + " FROM Document d JOIN d.owner owner_1 WHERE owner_1.name = :param_0";
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.testsuite;
+
+import com.blazebit.persistence.ConfigurationProperties;
+import com.blazebit.persistence.UpdateCriteriaBuilder;
+import com.blazebit.persistence.spi.CriteriaBuilderConfiguration;
+import com.blazebit.persistence.spi.QueryPlanCacheStatistics;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoDatanucleus;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoEclipselink;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoOpenJPA;
+import com.blazebit.persistence.testsuite.entity.Document;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+// NOTE: Query plans are only cached for the advanced SQL that isn't supported for other JPA providers yet
+@Category({ NoDatanucleus.class, NoEclipselink.class, NoOpenJPA.class })
+public class QueryPlanCacheTest extends AbstractCoreTest {
+
+    private static final int MAX_SIZE = 2;
+
+    @Override
+    protected void configure(CriteriaBuilderConfiguration config) {
+        super.configure(config);
+        config.setProperty(ConfigurationProperties.QUERY_PLAN_CACHE_MAX_SIZE, Integer.toString(MAX_SIZE));
+    }
+
+    @Test
+    public void statisticsReportConfiguredMaximumSize() {
+        QueryPlanCacheStatistics statistics = cbf.getService(QueryPlanCacheStatistics.class);
+        assertEquals(MAX_SIZE, statistics.getMaximumSize());
+    }
+
+    @Test
+    public void statisticsCountHitsAndMisses() {
+        List<Long> ids = ids(1);
+        QueryPlanCacheStatistics before = cbf.getService(QueryPlanCacheStatistics.class);
+        toUpperDocumentNames(ids, false);
+        QueryPlanCacheStatistics afterFirst = cbf.getService(QueryPlanCacheStatistics.class);
+        toUpperDocumentNames(ids, false);
+        QueryPlanCacheStatistics afterSecond = cbf.getService(QueryPlanCacheStatistics.class);
+
+        // The plan might already be cached by a previous test, but the second execution must be a hit
+        assertEquals(before.getHitCount() + before.getMissCount() + 1, afterFirst.getHitCount() + afterFirst.getMissCount());
+        assertEquals(afterFirst.getHitCount() + 1, afterSecond.getHitCount());
+        assertEquals(afterFirst.getMissCount(), afterSecond.getMissCount());
+    }
+
+    @Test
+    public void cacheIsBoundedByMaximumSize() {
+        for (int i = 1; i <= MAX_SIZE * 4; i++) {
+            toUpperDocumentNames(ids(i), false);
+        }
+
+        QueryPlanCacheStatistics statistics = cbf.getService(QueryPlanCacheStatistics.class);
+        assertTrue(statistics.getEvictionCount() > 0);
+        assertTrue(statistics.getSize() < MAX_SIZE * 4);
+    }
+
+    @Test
+    public void queryPlanCacheStaysEnabledWhenSettingBuilderProperties() {
+        List<Long> ids = ids(1);
+        toUpperDocumentNames(ids, false);
+        QueryPlanCacheStatistics before = cbf.getService(QueryPlanCacheStatistics.class);
+        // Setting any property creates a mutable copy of the query configuration which must retain the plan cache flag
+        toUpperDocumentNames(ids, true);
+        QueryPlanCacheStatistics after = cbf.getService(QueryPlanCacheStatistics.class);
+
+        assertEquals(before.getHitCount() + 1, after.getHitCount());
+        assertEquals(before.getMissCount(), after.getMissCount());
+    }
+
+    private static List<Long> ids(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        for (long i = 1; i <= count; i++) {
+            ids.add(i);
+        }
+        return ids;
+    }
+
+    private int toUpperDocumentNames(Collection<Long> ids, boolean setProperty) {
+        UpdateCriteriaBuilder<Document> criteriaBuilder = cbf.update(em, Document.class);
+        if (setProperty) {
+            criteriaBuilder.setProperty(ConfigurationProperties.SIZE_TO_COUNT_TRANSFORMATION, "true");
+        }
+        return criteriaBuilder
+                .setExpression("name", "UPPER(name)")
+                .where("id").in(ids)
+                .executeWithReturning("id", Long.class)
+                .getUpdateCount();
+    }
+}
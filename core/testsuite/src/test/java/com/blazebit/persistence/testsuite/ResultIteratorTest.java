@@ -0,0 +1,98 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.testsuite;
+
+import com.blazebit.persistence.CloseableIterator;
+import com.blazebit.persistence.CriteriaBuilder;
+import com.blazebit.persistence.testsuite.entity.Document;
+import com.blazebit.persistence.testsuite.entity.Person;
+import com.blazebit.persistence.testsuite.entity.Version;
+import com.blazebit.persistence.testsuite.tx.TxVoidWork;
+import org.junit.Test;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+public class ResultIteratorTest extends AbstractCoreTest {
+
+    @Override
+    public void setUpOnce() {
+        cleanDatabase();
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                Person p = new Person("Karl");
+                em.persist(p);
+
+                Version v1 = new Version();
+                Version v2 = new Version();
+                em.persist(v1);
+                em.persist(v2);
+
+                em.persist(new Document("Doc1", p, v1));
+                em.persist(new Document("Doc2", p, v2));
+            }
+        });
+    }
+
+    @Test
+    public void testIterateEntities() {
+        CriteriaBuilder<Document> criteria = cbf.create(em, Document.class, "d")
+            .orderByAsc("name");
+        List<String> names = new ArrayList<>();
+        try (CloseableIterator<Document> iterator = criteria.getResultIterator()) {
+            while (iterator.hasNext()) {
+                names.add(iterator.next().getName());
+            }
+            assertFalse(iterator.hasNext());
+        }
+
+        assertEquals(2, names.size());
+        assertEquals("Doc1", names.get(0));
+        assertEquals("Doc2", names.get(1));
+    }
+
+    @Test
+    public void testIterateTuplesWithObjectBuilder() {
+        CriteriaBuilder<Tuple> criteria = cbf.create(em, Tuple.class)
+            .from(Document.class, "d")
+            .select("d.name", "name")
+            .select("UPPER(d.name)", "upperName")
+            .orderByAsc("d.name");
+        List<Tuple> tuples = new ArrayList<>();
+        try (CloseableIterator<Tuple> iterator = criteria.getResultIterator()) {
+            while (iterator.hasNext()) {
+                tuples.add(iterator.next());
+            }
+        }
+
+        assertEquals(2, tuples.size());
+        assertEquals("Doc1", tuples.get(0).get("name"));
+        assertEquals("DOC1", tuples.get(0).get("upperName"));
+        assertEquals("Doc2", tuples.get(1).get("name"));
+    }
+}
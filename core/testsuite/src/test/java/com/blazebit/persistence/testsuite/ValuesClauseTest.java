@@ -18,6 +18,7 @@ package com.blazebit.persistence.testsuite;
 
 import com.blazebit.persistence.ConfigurationProperties;
 import com.blazebit.persistence.CriteriaBuilder;
+import com.blazebit.persistence.impl.query.QuerySpecificationSqlCache;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoDatanucleus;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoEclipselink;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoHibernate42;
@@ -151,6 +152,47 @@ public class ValuesClauseTest extends AbstractCoreTest {
         assertEquals(1L, resultList.get(0).get(1));
     }
 
+    @Test
+    @Category({ NoDatanucleus.class, NoEclipselink.class, NoOpenJPA.class })
+    public void testValuesEntityFunctionReusesSqlAcrossBuilders() {
+        QuerySpecificationSqlCache sqlCache = cbf.getService(QuerySpecificationSqlCache.class);
+        sqlCache.clear();
+        assertEquals(Collections.singletonList("doc1"), getDocumentNamesForAllowedAges(Collections.singleton(1L)));
+        long hitCount = sqlCache.getHitCount();
+        assertEquals(Collections.emptyList(), getDocumentNamesForAllowedAges(Collections.singleton(99L)));
+        // The same amount of values produces the same SQL, so the second builder must reuse the cached SQL
+        assertEquals(hitCount + 1, sqlCache.getHitCount());
+        assertEquals(Collections.singletonList("doc1"), getDocumentNamesForAllowedAges(Arrays.asList(99L, 1L)));
+        assertEquals(Collections.singletonList("doc1"), getDocumentNamesForAllowedAges(Collections.singleton(1L)));
+    }
+
+    @Test
+    @Category({ NoDatanucleus.class, NoEclipselink.class, NoOpenJPA.class })
+    public void testValuesEntityFunctionWithParameterListPadding() {
+        CriteriaBuilder<String> cb = cbf.create(em, String.class);
+        cb.setProperty(ConfigurationProperties.PARAMETER_LIST_PADDING, "true");
+        cb.fromValues(Long.class, "allowedAge", Arrays.asList(1L, 2L, 3L));
+        cb.from(Document.class, "doc");
+        cb.where("doc.age").eqExpression("allowedAge");
+        cb.where("doc.age").in(Arrays.asList(1L, 5L, 7L));
+        cb.select("doc.name");
+
+        String expected = ""
+                + "SELECT doc.name FROM Long(4 VALUES) allowedAge, Document doc WHERE doc.age = allowedAge AND doc.age IN (:param_0)";
+
+        assertEquals(expected, cb.getQueryString());
+        assertEquals(Collections.singletonList("doc1"), cb.getResultList());
+    }
+
+    private List<String> getDocumentNamesForAllowedAges(Collection<Long> allowedAges) {
+        CriteriaBuilder<String> cb = cbf.create(em, String.class);
+        cb.fromValues(Long.class, "allowedAge", allowedAges);
+        cb.from(Document.class, "doc");
+        cb.where("doc.age").eqExpression("allowedAge");
+        cb.select("doc.name");
+        return cb.getResultList();
+    }
+
     @Test
     @Category({ NoDatanucleus.class, NoEclipselink.class, NoOpenJPA.class })
     public void testValuesEntityFunctionWithEmbeddable() {
@@ -50,6 +50,16 @@ public final class ConfigurationProperties {
      * @since 1.0.6
      */
     public static final String PROXY_UNSAFE_ALLOWED = "com.blazebit.persistence.view.proxy.unsafe_allowed";
+    /**
+     * A boolean flag to make it possible to use generated instantiators for entity view construction.
+     * A generated instantiator invokes the proxy constructor directly and, for entity view classes that are neither abstract nor interfaces,
+     * also unboxes primitive attributes and applies type converters inline, instead of invoking the constructor via reflection.
+     * By default the generated instantiators are disabled.
+     * Valid values for this property are <code>true</code> or <code>false</code>.
+     *
+     * @since 1.6.0
+     */
+    public static final String PROXY_INSTANTIATOR_GENERATION = "com.blazebit.persistence.view.proxy.instantiator_generation";
     /**
      * A boolean flag to make it possible to disable the expression validation.
      * By default the expression validation is enabled, but since the validation is not bullet proof, it can be disabled.
@@ -257,6 +267,107 @@ public final class ConfigurationProperties {
      */
     public static final String CREATE_EMPTY_FLAT_VIEWS = "com.blazebit.persistence.view.create_empty_flat_views";
 
+    /**
+     * The number of threads to use for eagerly loading templates, proxies and updaters when creating the entity view manager.
+     * Only has an effect if {@link #TEMPLATE_EAGER_LOADING}, {@link #PROXY_EAGER_LOADING} or {@link #UPDATER_EAGER_LOADING} is enabled.
+     * By default, eager loading happens on the calling thread i.e. the default value is <code>1</code>.
+     * Valid values for this property are positive integers or <code>auto</code> to use the number of available processors.
+     *
+     * @since 1.6.0
+     */
+    public static final String BOOTSTRAP_PARALLELISM = "com.blazebit.persistence.view.bootstrap_parallelism";
+
+    /**
+     * A {@link java.util.concurrent.Executor} that is used to execute the batch queries of a <code>SELECT</code> fetched correlated attribute concurrently.
+     * Every batch query is executed with a separate entity manager created from the entity manager factory of the query.
+     * That entity manager does not take part in the transaction of the calling entity manager, so the batch queries don't see uncommitted changes
+     * and may observe a different snapshot of the data than the main query, depending on the transaction isolation level.
+     * Session state like Hibernate filters or tenant identifiers of the calling entity manager is not propagated either.
+     * Concurrent execution is only used for batched correlations that don't make use of the <code>VIEW_ROOT</code> or <code>EMBEDDING_VIEW</code> macros
+     * and for which no JPA entity is reachable from the correlation result, as such entities would be detached.
+     * Correlations nested in a concurrently loaded batch are loaded sequentially and batches that the executor didn't start yet
+     * are executed on the calling thread, so a bounded executor can't deadlock.
+     * By default, the property is not set which has the effect, that batch queries are executed sequentially on the calling thread.
+     * The property can only be set via {@linkplain com.blazebit.persistence.view.EntityViewSetting#setProperty}.
+     *
+     * @since 1.6.0
+     */
+    public static final String CORRELATION_BATCH_EXECUTOR = "com.blazebit.persistence.view.correlation_batch_executor";
+
+    /**
+     * An integer value that enables adaptive batch sizes for <code>SELECT</code> fetched attributes that use a batch size greater than 1 and defines the maximum batch size.
+     * When enabled, the batch size is derived from the number of distinct values that were batched in the previous execution,
+     * padded to the next power of two so that only a few distinct batch queries are created.
+     * By default, the property is not set which has the effect, that the configured batch sizes are used.
+     * The observed values can be inspected via {@linkplain com.blazebit.persistence.view.metamodel.Attribute#getBatchFetchStatistics()}.
+     *
+     * @since 1.6.0
+     */
+    public static final String ADAPTIVE_BATCH_SIZE_LIMIT = "com.blazebit.persistence.view.adaptive_batch_size_limit";
+
+    /**
+     * A boolean specifying if the results of correlated attributes that are fetched via the <code>SELECT</code> fetch strategy should be cached across queries.
+     * Only attributes with a non-updatable and non-creatable subview result type are cached. The cache entries are keyed by the correlation value,
+     * the attribute, the parameter values that are used by the correlation and the enabled filters and tenant identifier of the entity manager.
+     * By default the value is false and can be overridden by setting this property via {@linkplain com.blazebit.persistence.view.EntityViewSetting#setProperty}.
+     *
+     * To enable the cache for a specific attribute, append the attribute name after the "correlation_cache" like
+     * e.g. <code>com.blazebit.persistence.view.correlation_cache.subProperty</code>
+     *
+     * @since 1.6.0
+     * @see com.blazebit.persistence.view.spi.CorrelationCache
+     */
+    public static final String CORRELATION_CACHE = "com.blazebit.persistence.view.correlation_cache";
+
+    /**
+     * An integer value that defines the maximum number of entries of the default correlation cache.
+     * By default the value is <code>1000</code>. The property has no effect if a custom cache is configured
+     * via {@linkplain com.blazebit.persistence.view.spi.EntityViewConfiguration#setCorrelationCache}.
+     *
+     * @since 1.6.0
+     */
+    public static final String CORRELATION_CACHE_MAX_SIZE = "com.blazebit.persistence.view.default_correlation_cache.max_size";
+
+    /**
+     * An integer value that defines the number of milliseconds after which an entry of the default correlation cache expires.
+     * By default the value is <code>60000</code>. The property has no effect if a custom cache is configured
+     * via {@linkplain com.blazebit.persistence.view.spi.EntityViewConfiguration#setCorrelationCache}.
+     *
+     * @since 1.6.0
+     */
+    public static final String CORRELATION_CACHE_TTL = "com.blazebit.persistence.view.default_correlation_cache.ttl";
+
+    /**
+     * A boolean specifying if the result of an entity view query executed via
+     * {@linkplain com.blazebit.persistence.view.EntityViewManager#getResultList(EntityViewSetting, com.blazebit.persistence.CriteriaBuilder)}
+     * should be cached across queries. Only results of entity views that are neither updatable nor creatable, only contain such subviews
+     * and don't reach an entity type attribute are cached.
+     * The cache entries are keyed by the entity view type, the query string, the parameter values, the optional parameters and the pagination bounds.
+     * By default the value is false and can be overridden by setting this property via {@linkplain com.blazebit.persistence.view.EntityViewSetting#setProperty}.
+     *
+     * @since 1.6.0
+     * @see com.blazebit.persistence.view.spi.EntityViewResultCache
+     */
+    public static final String RESULT_CACHE = "com.blazebit.persistence.view.result_cache";
+
+    /**
+     * An integer value that defines the maximum number of entries of the default result cache.
+     * By default the value is <code>1000</code>. The property has no effect if a custom cache is configured
+     * via {@linkplain com.blazebit.persistence.view.spi.EntityViewConfiguration#setResultCache}.
+     *
+     * @since 1.6.0
+     */
+    public static final String RESULT_CACHE_MAX_SIZE = "com.blazebit.persistence.view.default_result_cache.max_size";
+
+    /**
+     * An integer value that defines the number of milliseconds after which an entry of the default result cache expires.
+     * By default the value is <code>60000</code>. The property has no effect if a custom cache is configured
+     * via {@linkplain com.blazebit.persistence.view.spi.EntityViewConfiguration#setResultCache}.
+     *
+     * @since 1.6.0
+     */
+    public static final String RESULT_CACHE_TTL = "com.blazebit.persistence.view.default_result_cache.ttl";
+
     private ConfigurationProperties() {
     }
 }
@@ -24,6 +24,8 @@ import com.blazebit.persistence.view.change.SingularChangeModel;
 import com.blazebit.persistence.view.metamodel.ViewMetamodel;
 
 import javax.persistence.EntityManager;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -73,6 +75,39 @@ public interface EntityViewManager extends ServiceProvider {
      */
     public <T> T find(EntityManager entityManager, EntityViewSetting<T, CriteriaBuilder<T>> entityViewSetting, Object entityId);
 
+    /**
+     * Loads and returns the entity views of the given type having the given entity ids.
+     * The entity views are loaded in batches and returned in the order of the given entity ids.
+     * The list contains <code>null</code> for every entity id that is <code>null</code> or for which no entity exists.
+     * The entity ids must be instances of the id type of the entity, otherwise an {@link IllegalArgumentException} is thrown.
+     * Entity views of entities with an embedded id or an id class are loaded one by one.
+     *
+     * @param entityManager The entity manager to use for querying
+     * @param entityViewClass The entity view class to use
+     * @param entityIds The ids of the entities
+     * @param <T> The type of the entity view class
+     * @return The loaded instances of the given entity view type in the order of the ids
+     * @since 1.6.0
+     */
+    public <T> List<T> findAll(EntityManager entityManager, Class<T> entityViewClass, Collection<?> entityIds);
+
+    /**
+     * Loads and returns the entity views as determined by the given type {@link EntityViewSetting} having the given entity ids.
+     * The entity views are loaded in batches and returned in the order of the given entity ids.
+     * The list contains <code>null</code> for every entity id that is <code>null</code> or for which no entity exists.
+     * The entity ids must be instances of the id type of the entity, otherwise an {@link IllegalArgumentException} is thrown.
+     * Entity views of entities with an embedded id or an id class are loaded one by one.
+     *
+     * @param entityManager The entity manager to use for querying
+     * @param entityViewSetting The entity view setting to use, which must not be paginated
+     * @param entityIds The ids of the entities
+     * @param <T> The type of the entity view class
+     * @return The loaded instances of the given entity view type in the order of the ids
+     * @throws IllegalArgumentException If the entity view setting is paginated
+     * @since 1.6.0
+     */
+    public <T> List<T> findAll(EntityManager entityManager, EntityViewSetting<T, CriteriaBuilder<T>> entityViewSetting, Collection<?> entityIds);
+
     /**
      * Creates a reference instance of the entity view class for the given id and returns it.
      *
@@ -366,6 +401,19 @@ public interface EntityViewManager extends ServiceProvider {
      */
     public void saveFullTo(EntityManager entityManager, Object view, Object entity);
 
+    /**
+     * Saves the entities which the given entity views map to.
+     * Issues partial updates if enabled for the respective views.
+     * Views that are not dirty are skipped. The entities of the other existing views are loaded in bulk per entity type
+     * and updated through the entity manager in the order of their dirty attributes, which allows the JPA provider to batch the resulting update statements.
+     * Within a transaction, the entity manager is flushed in chunks and the entities that were loaded for a chunk are detached afterwards.
+     *
+     * @param entityManager The entity manager to use for the save
+     * @param views The views to use for saving
+     * @since 1.6.0
+     */
+    public void saveAll(EntityManager entityManager, Iterable<?> views);
+
     /**
      * Updates the entity which the given entity view maps to.
      * Issues a partial update if enabled for the given view.
@@ -433,6 +481,18 @@ public interface EntityViewManager extends ServiceProvider {
      */
     public FlushOperationBuilder saveFullWithTo(EntityManager entityManager, Object view, Object entity);
 
+    /**
+     * Saves the entities which the given entity views map to.
+     * Issues partial updates if enabled for the respective views.
+     *
+     * @param entityManager The entity manager to use for the save
+     * @param views The views to use for saving
+     * @return A flush operation builder for further configuring the flush operation
+     * @since 1.6.0
+     * @see #saveAll(EntityManager, Iterable)
+     */
+    public FlushOperationBuilder saveAllWith(EntityManager entityManager, Iterable<?> views);
+
     /**
      * Removes the entity represented by the given view.
      * Also cascades deletes to attributes that have {@link CascadeType#DELETE} enabled.
@@ -502,4 +562,33 @@ public interface EntityViewManager extends ServiceProvider {
      * @since 1.2.0
      */
     public <T, Q extends FullQueryBuilder<T, Q>> Q applySetting(EntityViewSetting<T, Q> setting, CriteriaBuilder<?> criteriaBuilder, String entityViewRoot);
+
+    /**
+     * Applies the entity view setting to the given criteria builder and returns the result list.
+     * If the result cache is enabled via {@link ConfigurationProperties#RESULT_CACHE}, the result is served from
+     * the {@link com.blazebit.persistence.view.spi.EntityViewResultCache} if possible.
+     *
+     * @param setting         The setting that should be applied
+     * @param criteriaBuilder The criteria builder on which the setting should be applied
+     * @param <T>             The type of the entity view
+     * @param <Q>             {@linkplain PaginatedCriteriaBuilder} if paginated, {@linkplain CriteriaBuilder} otherwise
+     * @return A {@linkplain com.blazebit.persistence.PagedList} if paginated, a {@linkplain List} otherwise
+     * @since 1.6.0
+     */
+    public <T, Q extends FullQueryBuilder<T, Q>> List<T> getResultList(EntityViewSetting<T, Q> setting, CriteriaBuilder<?> criteriaBuilder);
+
+    /**
+     * Applies the entity view setting to the given entity view root of the criteria builder and returns the result list.
+     * If the result cache is enabled via {@link ConfigurationProperties#RESULT_CACHE}, the result is served from
+     * the {@link com.blazebit.persistence.view.spi.EntityViewResultCache} if possible.
+     *
+     * @param setting         The setting that should be applied
+     * @param criteriaBuilder The criteria builder on which the setting should be applied
+     * @param entityViewRoot  The relation from which the entity view should be materialized
+     * @param <T>             The type of the entity view
+     * @param <Q>             {@linkplain PaginatedCriteriaBuilder} if paginated, {@linkplain CriteriaBuilder} otherwise
+     * @return A {@linkplain com.blazebit.persistence.PagedList} if paginated, a {@linkplain List} otherwise
+     * @since 1.6.0
+     */
+    public <T, Q extends FullQueryBuilder<T, Q>> List<T> getResultList(EntityViewSetting<T, Q> setting, CriteriaBuilder<?> criteriaBuilder, String entityViewRoot);
 }
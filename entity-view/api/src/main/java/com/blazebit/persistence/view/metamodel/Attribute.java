@@ -133,6 +133,15 @@ public interface Attribute<X, Y> {
      */
     public int getBatchSize();
 
+    /**
+     * Returns the statistics about the batches observed when fetching this attribute with the {@link FetchStrategy#SELECT} strategy.
+     * For other fetch strategies, the statistics are never updated.
+     *
+     * @return The batch fetch statistics of the attribute
+     * @since 1.6.0
+     */
+    public BatchFetchStatistics getBatchFetchStatistics();
+
     /**
      * Returns the order by items for the limit expression.
      *
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.blazebit.persistence.view.metamodel;
+
+/**
+ * Information about the batches that were observed when fetching an attribute with the {@link com.blazebit.persistence.view.FetchStrategy#SELECT} strategy.
+ *
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+public interface BatchFetchStatistics {
+
+    /**
+     * Returns the batch mode that was used for the last execution i.e. one of <code>values</code>, <code>view_roots</code> or <code>embedding_views</code>,
+     * or <code>null</code> if the attribute was not fetched yet.
+     *
+     * @return The batch mode of the last execution
+     * @see com.blazebit.persistence.view.ConfigurationProperties#EXPECT_BATCH_MODE
+     */
+    public String getBatchMode();
+
+    /**
+     * Returns the number of distinct values that were batched in the last execution,
+     * or -1 if the attribute was not fetched yet.
+     *
+     * @return The number of distinct batched values of the last execution
+     */
+    public int getBatchCardinality();
+
+    /**
+     * Returns the batch size that is used for the next execution when adaptive batch sizing is enabled
+     * via {@link com.blazebit.persistence.view.ConfigurationProperties#ADAPTIVE_BATCH_SIZE_LIMIT},
+     * or -1 if the attribute was not fetched yet.
+     *
+     * @param batchSizeLimit The maximum batch size
+     * @return The adaptive batch size
+     */
+    public int getAdaptiveBatchSize(int batchSizeLimit);
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.blazebit.persistence.view.spi;
+
+import java.util.Set;
+
+/**
+ * A cache for the results of correlated attributes that is shared across queries.
+ * Keys implement <code>equals</code> and <code>hashCode</code> and values are immutable entity views or containers thereof.
+ * Implementations must be thread safe.
+ *
+ * @author Christian Beikov
+ * @since 1.6.0
+ * @see com.blazebit.persistence.view.ConfigurationProperties#CORRELATION_CACHE
+ */
+public interface CorrelationCache {
+
+    /**
+     * Returns the cached value for the given key or <code>null</code> if there is none.
+     *
+     * @param key The key
+     * @return The cached value or <code>null</code>
+     */
+    public Object get(Object key);
+
+    /**
+     * Returns the current invalidation generation which must be obtained before loading a value that is put into the cache.
+     *
+     * @return The current invalidation generation
+     */
+    public long getInvalidationGeneration();
+
+    /**
+     * Puts the given value for the given key into the cache unless one of the entity classes or the whole cache was invalidated
+     * after the given invalidation generation was obtained, as the value might be stale in that case.
+     *
+     * @param key The key
+     * @param entityClasses The entity classes of all entity views reachable from the value
+     * @param value The value
+     * @param invalidationGeneration The invalidation generation that was obtained before loading the value
+     */
+    public void put(Object key, Set<Class<?>> entityClasses, Object value, long invalidationGeneration);
+
+    /**
+     * Invalidates all entries that contain entity views of the given entity class or one of its super or sub types, directly or through subviews.
+     * This is invoked when an entity view of the entity class is saved or removed through the entity view manager.
+     *
+     * @param entityClass The entity class
+     */
+    public void invalidate(Class<?> entityClass);
+
+    /**
+     * Invalidates all entries.
+     */
+    public void clear();
+}
@@ -280,6 +280,40 @@ public interface EntityViewConfiguration {
      */
     public EntityViewConfiguration setTransactionSupport(TransactionSupport transactionSupport);
 
+    /**
+     * Returns the configured correlation cache or <code>null</code> if the default cache should be used.
+     *
+     * @return the configured correlation cache
+     * @since 1.6.0
+     */
+    public CorrelationCache getCorrelationCache();
+
+    /**
+     * Sets the given correlation cache which is used instead of the default in-memory cache.
+     *
+     * @param correlationCache The correlation cache
+     * @return this for method chaining
+     * @since 1.6.0
+     */
+    public EntityViewConfiguration setCorrelationCache(CorrelationCache correlationCache);
+
+    /**
+     * Returns the configured result cache or <code>null</code> if the default cache should be used.
+     *
+     * @return the configured result cache
+     * @since 1.6.0
+     */
+    public EntityViewResultCache getResultCache();
+
+    /**
+     * Sets the given result cache which is used instead of the default in-memory cache.
+     *
+     * @param resultCache The result cache
+     * @return this for method chaining
+     * @since 1.6.0
+     */
+    public EntityViewConfiguration setResultCache(EntityViewResultCache resultCache);
+
     /**
      * Returns all globally configured optional parameters.
      *
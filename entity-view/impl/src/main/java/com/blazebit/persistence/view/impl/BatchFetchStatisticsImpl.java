@@ -0,0 +1,68 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.blazebit.persistence.view.impl;
+
+import com.blazebit.persistence.view.metamodel.BatchFetchStatistics;
+
+import java.util.Locale;
+
+/**
+ * Records the batch mode and cardinality of the last execution of a <code>SELECT</code> fetched attribute.
+ * The values are only hints, so concurrent executions may overwrite each other.
+ *
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+public final class BatchFetchStatisticsImpl implements BatchFetchStatistics {
+
+    private static final int MIN_ADAPTIVE_BATCH_SIZE = 2;
+
+    private volatile BatchCorrelationMode batchCorrelationMode;
+    private volatile int batchCardinality = -1;
+
+    public BatchCorrelationMode getBatchCorrelationMode() {
+        return batchCorrelationMode;
+    }
+
+    public void record(BatchCorrelationMode batchCorrelationMode, int batchCardinality) {
+        this.batchCorrelationMode = batchCorrelationMode;
+        this.batchCardinality = batchCardinality;
+    }
+
+    @Override
+    public String getBatchMode() {
+        BatchCorrelationMode batchCorrelationMode = this.batchCorrelationMode;
+        return batchCorrelationMode == null ? null : batchCorrelationMode.name().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public int getBatchCardinality() {
+        return batchCardinality;
+    }
+
+    @Override
+    public int getAdaptiveBatchSize(int batchSizeLimit) {
+        int batchCardinality = this.batchCardinality;
+        if (batchCardinality < 1) {
+            return -1;
+        }
+        // Pad to the next power of two so that only a few distinct batch queries end up in the query plan cache
+        int batchSize = Math.max(MIN_ADAPTIVE_BATCH_SIZE, Integer.highestOneBit(batchCardinality - 1) << 1);
+        return Math.min(batchSize, Math.max(MIN_ADAPTIVE_BATCH_SIZE, Integer.highestOneBit(batchSizeLimit)));
+    }
+}
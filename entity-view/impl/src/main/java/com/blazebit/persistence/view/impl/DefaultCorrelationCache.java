@@ -0,0 +1,62 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.blazebit.persistence.view.impl;
+
+import com.blazebit.persistence.view.spi.CorrelationCache;
+
+import java.util.Set;
+
+/**
+ * A bounded in-memory correlation cache that evicts the least recently used entries and expires entries after a fixed time.
+ *
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+public final class DefaultCorrelationCache implements CorrelationCache {
+
+    private final EntityClassBoundCache cache;
+
+    public DefaultCorrelationCache(int maxSize, long ttlMillis) {
+        this.cache = new EntityClassBoundCache("correlation cache", maxSize, ttlMillis);
+    }
+
+    @Override
+    public Object get(Object key) {
+        return cache.get(key);
+    }
+
+    @Override
+    public long getInvalidationGeneration() {
+        return cache.getInvalidationGeneration();
+    }
+
+    @Override
+    public void put(Object key, Set<Class<?>> entityClasses, Object value, long invalidationGeneration) {
+        cache.put(key, entityClasses, value, invalidationGeneration);
+    }
+
+    @Override
+    public void invalidate(Class<?> entityClass) {
+        cache.invalidate(entityClass);
+    }
+
+    @Override
+    public void clear() {
+        cache.clear();
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.impl;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A bounded in-memory cache that evicts the least recently used entries, expires entries after a fixed time
+ * and invalidates entries by the entity classes they were built from.
+ * The entries are split into segments to reduce lock contention, so the least recently used order is only maintained per segment.
+ *
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+final class EntityClassBoundCache {
+
+    private static final int SEGMENT_COUNT = 16;
+
+    private final long ttlNanos;
+    private final Segment[] segments;
+    private final Object invalidationLock = new Object();
+    // The generation of the last invalidation per entity class, which is bounded by the number of entity classes
+    private final ConcurrentMap<Class<?>, Long> invalidationGenerations = new ConcurrentHashMap<>();
+    private volatile long generation;
+    private volatile long clearGeneration;
+
+    EntityClassBoundCache(String name, int maxSize, long ttlMillis) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Invalid " + name + " max size: " + maxSize);
+        }
+        if (ttlMillis < 1) {
+            throw new IllegalArgumentException("Invalid " + name + " ttl: " + ttlMillis);
+        }
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        int segmentCount = Math.min(SEGMENT_COUNT, maxSize);
+        int segmentSize = maxSize / segmentCount;
+        int remainder = maxSize % segmentCount;
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(i < remainder ? segmentSize + 1 : segmentSize);
+        }
+    }
+
+    public long getInvalidationGeneration() {
+        return generation;
+    }
+
+    public Object get(Object key) {
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            Entry entry = segment.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (System.nanoTime() - entry.created > ttlNanos) {
+                segment.remove(key);
+                return null;
+            }
+            return entry.value;
+        }
+    }
+
+    public void put(Object key, Set<Class<?>> entityClasses, Object value, long invalidationGeneration) {
+        // A value that was loaded before an invalidation of one of its entity classes might be stale
+        if (isInvalidatedSince(entityClasses, invalidationGeneration)) {
+            return;
+        }
+        Entry entry = new Entry(entityClasses, value, System.nanoTime());
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            segment.put(key, entry);
+        }
+        // A concurrent invalidation might have scanned the segment before the entry was added, so the entry is removed again
+        if (isInvalidatedSince(entityClasses, invalidationGeneration)) {
+            synchronized (segment) {
+                if (segment.get(key) == entry) {
+                    segment.remove(key);
+                }
+            }
+        }
+    }
+
+    public void invalidate(Class<?> entityClass) {
+        synchronized (invalidationLock) {
+            long generation = this.generation + 1;
+            invalidationGenerations.put(entityClass, generation);
+            this.generation = generation;
+        }
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                Iterator<Entry> iterator = segment.values().iterator();
+                while (iterator.hasNext()) {
+                    if (isRelated(iterator.next().entityClasses, entityClass)) {
+                        iterator.remove();
+                    }
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (invalidationLock) {
+            long generation = this.generation + 1;
+            clearGeneration = generation;
+            this.generation = generation;
+        }
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    private boolean isInvalidatedSince(Set<Class<?>> entityClasses, long invalidationGeneration) {
+        if (clearGeneration > invalidationGeneration) {
+            return true;
+        }
+        for (Map.Entry<Class<?>, Long> entry : invalidationGenerations.entrySet()) {
+            if (entry.getValue() > invalidationGeneration && isRelated(entityClasses, entry.getKey())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isRelated(Set<Class<?>> entityClasses, Class<?> entityClass) {
+        for (Class<?> cachedEntityClass : entityClasses) {
+            if (cachedEntityClass.isAssignableFrom(entityClass) || entityClass.isAssignableFrom(cachedEntityClass)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Segment segmentFor(Object key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return segments[(h & 0x7fffffff) % segments.length];
+    }
+
+    /**
+     * An access ordered map that evicts the least recently used entry when exceeding the maximum size.
+     * Access must be synchronized on the segment.
+     *
+     * @author Christian Beikov
+     * @since 1.6.0
+     */
+    private static final class Segment extends LinkedHashMap<Object, Entry> {
+
+        private final int maxSize;
+
+        public Segment(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+            return size() > maxSize;
+        }
+    }
+
+    /**
+     * @author Christian Beikov
+     * @since 1.6.0
+     */
+    private static final class Entry {
+        private final Set<Class<?>> entityClasses;
+        private final Object value;
+        private final long created;
+
+        private Entry(Set<Class<?>> entityClasses, Object value, long created) {
+            this.entityClasses = entityClasses;
+            this.value = value;
+            this.created = created;
+        }
+    }
+}
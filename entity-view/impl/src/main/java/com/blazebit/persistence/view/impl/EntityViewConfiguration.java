@@ -34,6 +34,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 /**
  * @author Christian Beikov
@@ -49,6 +50,9 @@ public final class EntityViewConfiguration {
     private final Set<String> fetches;
     private final Map<String, Integer> batchSizeConfiguration;
     private final Map<String, BatchCorrelationMode> expectBatchCorrelationValuesConfiguration;
+    private final Executor correlationBatchExecutor;
+    private final int adaptiveBatchSizeLimit;
+    private final Map<String, Boolean> correlationCacheConfiguration;
 
     public EntityViewConfiguration(FullQueryBuilder<?, ?> criteriaBuilder, ExpressionFactory expressionFactory, ViewJpqlMacro viewJpqlMacro, EmbeddingViewJpqlMacro embeddingViewJpqlMacro, Map<String, Object> optionalParameters, Map<String, Object> properties, Collection<String> fetches, String attributePath) {
         this(criteriaBuilder, expressionFactory, viewJpqlMacro, embeddingViewJpqlMacro, optionalParameters, properties, getFetches(fetches, attributePath));
@@ -61,6 +65,9 @@ public final class EntityViewConfiguration {
     private EntityViewConfiguration(FullQueryBuilder<?, ?> criteriaBuilder, ExpressionFactory expressionFactory, ViewJpqlMacro viewJpqlMacro, EmbeddingViewJpqlMacro embeddingViewJpqlMacro, Map<String, Object> optionalParameters, Map<String, Object> properties, Set<String> fetches) {
         Map<String, Integer> batchSizeConfiguration = new HashMap<String, Integer>(properties.size());
         Map<String, BatchCorrelationMode> expectBatchCorrelationValuesConfiguration = new HashMap<>(properties.size());
+        Executor correlationBatchExecutor = null;
+        int adaptiveBatchSizeLimit = -1;
+        Map<String, Boolean> correlationCacheConfiguration = new HashMap<>(properties.size());
 
         for (Map.Entry<String, Object> entry : properties.entrySet()) {
             String key = entry.getKey();
@@ -94,6 +101,24 @@ public final class EntityViewConfiguration {
                     key = key.substring(ConfigurationProperties.EXPECT_BATCH_MODE.length() + 1);
                     expectBatchCorrelationValuesConfiguration.put(key, value);
                 }
+            } else if (key.equals(ConfigurationProperties.CORRELATION_BATCH_EXECUTOR)) {
+                Object value = entry.getValue();
+                if (value != null && !(value instanceof Executor)) {
+                    throw new IllegalArgumentException("Invalid correlation batch executor configuration " + value + " for key: " + key);
+                }
+                correlationBatchExecutor = (Executor) value;
+            } else if (key.equals(ConfigurationProperties.ADAPTIVE_BATCH_SIZE_LIMIT)) {
+                adaptiveBatchSizeLimit = getBatchSize(key, entry.getValue());
+            } else if (key.startsWith(ConfigurationProperties.CORRELATION_CACHE)) {
+                Boolean value = getCorrelationCache(key, entry.getValue());
+                if (key.length() == ConfigurationProperties.CORRELATION_CACHE.length()) {
+                    correlationCacheConfiguration.put("", value);
+                } else if (key.length() < ConfigurationProperties.CORRELATION_CACHE.length() + 2) {
+                    throw new IllegalArgumentException("Invalid correlation cache configuration!");
+                } else {
+                    key = key.substring(ConfigurationProperties.CORRELATION_CACHE.length() + 1);
+                    correlationCacheConfiguration.put(key, value);
+                }
             }
         }
 
@@ -105,11 +130,14 @@ public final class EntityViewConfiguration {
         this.fetches = fetches;
         this.batchSizeConfiguration = Collections.unmodifiableMap(batchSizeConfiguration);
         this.expectBatchCorrelationValuesConfiguration = Collections.unmodifiableMap(expectBatchCorrelationValuesConfiguration);
+        this.correlationBatchExecutor = correlationBatchExecutor;
+        this.adaptiveBatchSizeLimit = adaptiveBatchSizeLimit;
+        this.correlationCacheConfiguration = Collections.unmodifiableMap(correlationCacheConfiguration);
         this.criteriaBuilder.registerMacro("view", viewJpqlMacro);
         this.criteriaBuilder.registerMacro("embedding_view", embeddingViewJpqlMacro);
     }
 
-    private EntityViewConfiguration(EntityViewConfiguration original, FullQueryBuilder<?, ?> criteriaBuilder, String attributePath, EmbeddingViewJpqlMacro embeddingViewJpqlMacro) {
+    private EntityViewConfiguration(EntityViewConfiguration original, FullQueryBuilder<?, ?> criteriaBuilder, EmbeddingViewJpqlMacro embeddingViewJpqlMacro, Executor correlationBatchExecutor) {
         this.criteriaBuilder = criteriaBuilder;
         this.expressionFactory = original.expressionFactory;
         this.viewJpqlMacro = original.viewJpqlMacro;
@@ -118,6 +146,9 @@ public final class EntityViewConfiguration {
         this.fetches = original.fetches;
         this.batchSizeConfiguration = original.batchSizeConfiguration;
         this.expectBatchCorrelationValuesConfiguration = original.expectBatchCorrelationValuesConfiguration;
+        this.correlationBatchExecutor = correlationBatchExecutor;
+        this.adaptiveBatchSizeLimit = original.adaptiveBatchSizeLimit;
+        this.correlationCacheConfiguration = original.correlationCacheConfiguration;
     }
 
     private static Set<String> getFetches(Collection<String> fetches, String attributePath) {
@@ -205,7 +236,20 @@ public final class EntityViewConfiguration {
     }
 
     public EntityViewConfiguration forSubview(FullQueryBuilder<?, ?> criteriaBuilder, String attributePath, EmbeddingViewJpqlMacro embeddingViewJpqlMacro) {
-        return new EntityViewConfiguration(this, criteriaBuilder, attributePath, embeddingViewJpqlMacro);
+        return new EntityViewConfiguration(this, criteriaBuilder, embeddingViewJpqlMacro, correlationBatchExecutor);
+    }
+
+    /**
+     * Returns a copy of this configuration that loads correlation batches on the calling thread.
+     * Correlations nested in a concurrently loaded batch must not wait for tasks of the executor they are running on.
+     *
+     * @return the configuration without a correlation batch executor
+     */
+    public EntityViewConfiguration withoutCorrelationBatchExecutor() {
+        if (correlationBatchExecutor == null) {
+            return this;
+        }
+        return new EntityViewConfiguration(this, criteriaBuilder, embeddingViewJpqlMacro, null);
     }
 
     public FullQueryBuilder<?, ?> getCriteriaBuilder() {
@@ -269,6 +313,38 @@ public final class EntityViewConfiguration {
         return val;
     }
 
+    public Executor getCorrelationBatchExecutor() {
+        return correlationBatchExecutor;
+    }
+
+    public int getAdaptiveBatchSizeLimit() {
+        return adaptiveBatchSizeLimit;
+    }
+
+    public boolean isCorrelationCacheEnabled(String attributePath) {
+        Boolean value = correlationCacheConfiguration.get(attributePath);
+        if (value == null) {
+            value = correlationCacheConfiguration.get("");
+        }
+
+        return value != null && value;
+    }
+
+    private Boolean getCorrelationCache(String key, Object value) {
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        } else if (value instanceof String) {
+            String s = (String) value;
+            if ("true".equalsIgnoreCase(s)) {
+                return Boolean.TRUE;
+            } else if ("false".equalsIgnoreCase(s)) {
+                return Boolean.FALSE;
+            }
+        }
+
+        throw new IllegalArgumentException("Invalid correlation cache configuration " + value + " for key: " + key);
+    }
+
     public BatchCorrelationMode getExpectBatchCorrelationValues() {
         return getExpectBatchCorrelationValues("");
     }
@@ -278,7 +354,7 @@ public final class EntityViewConfiguration {
         return getExpectBatchCorrelationValues(attributePath, BatchCorrelationMode.VALUES);
     }
 
-    private BatchCorrelationMode getExpectBatchCorrelationValues(String attributePath, BatchCorrelationMode defaultValue) {
+    public BatchCorrelationMode getExpectBatchCorrelationValues(String attributePath, BatchCorrelationMode defaultValue) {
         BatchCorrelationMode value = expectBatchCorrelationValuesConfiguration.get(attributePath);
         if (value == null) {
             value = expectBatchCorrelationValuesConfiguration.get("");
@@ -24,6 +24,8 @@ import com.blazebit.persistence.view.impl.metamodel.MetamodelBootContext;
 import com.blazebit.persistence.view.impl.metamodel.MetamodelBootContextImpl;
 import com.blazebit.persistence.view.impl.metamodel.MappingReader;
 import com.blazebit.persistence.view.impl.type.MutableBasicUserTypeRegistry;
+import com.blazebit.persistence.view.spi.CorrelationCache;
+import com.blazebit.persistence.view.spi.EntityViewResultCache;
 import com.blazebit.persistence.view.spi.TransactionSupport;
 import com.blazebit.persistence.view.spi.type.BasicUserType;
 import com.blazebit.persistence.view.spi.EntityViewConfiguration;
@@ -59,6 +61,8 @@ public class EntityViewConfigurationImpl implements EntityViewConfiguration {
     private final Map<Class<?>, Object> typeTestValues = new HashMap<>();
     private Properties properties = new Properties();
     private TransactionSupport transactionSupport;
+    private CorrelationCache correlationCache;
+    private EntityViewResultCache resultCache;
     private Map<String, Object> optionalParameters = new HashMap<>();
 
     public EntityViewConfigurationImpl() {
@@ -68,6 +72,7 @@ public class EntityViewConfigurationImpl implements EntityViewConfiguration {
     private void loadDefaultProperties() {
         properties.put(ConfigurationProperties.PROXY_EAGER_LOADING, "false");
         properties.put(ConfigurationProperties.PROXY_UNSAFE_ALLOWED, "true");
+        properties.put(ConfigurationProperties.PROXY_INSTANTIATOR_GENERATION, "false");
         properties.put(ConfigurationProperties.MANAGED_TYPE_VALIDATION_DISABLED, "false");
         properties.put(ConfigurationProperties.UPDATER_DISALLOW_OWNED_UPDATABLE_SUBVIEW, "true");
         properties.put(ConfigurationProperties.UPDATER_STRICT_CASCADING_CHECK, "true");
@@ -76,6 +81,11 @@ public class EntityViewConfigurationImpl implements EntityViewConfiguration {
         properties.put(ConfigurationProperties.STATIC_IMPLEMENTATION_SCANNING_DISABLED, "false");
         properties.put(ConfigurationProperties.STATIC_METAMODEL_SCANNING_DISABLED, "false");
         properties.put(ConfigurationProperties.CREATE_EMPTY_FLAT_VIEWS, "true");
+        properties.put(ConfigurationProperties.BOOTSTRAP_PARALLELISM, "1");
+        properties.put(ConfigurationProperties.CORRELATION_CACHE_MAX_SIZE, "1000");
+        properties.put(ConfigurationProperties.CORRELATION_CACHE_TTL, "60000");
+        properties.put(ConfigurationProperties.RESULT_CACHE_MAX_SIZE, "1000");
+        properties.put(ConfigurationProperties.RESULT_CACHE_TTL, "60000");
 
         typeTestValues.put(boolean.class, true);
         typeTestValues.put(byte.class, Byte.MAX_VALUE);
@@ -272,6 +282,28 @@ public class EntityViewConfigurationImpl implements EntityViewConfiguration {
         return this;
     }
 
+    @Override
+    public CorrelationCache getCorrelationCache() {
+        return correlationCache;
+    }
+
+    @Override
+    public EntityViewConfiguration setCorrelationCache(CorrelationCache correlationCache) {
+        this.correlationCache = correlationCache;
+        return this;
+    }
+
+    @Override
+    public EntityViewResultCache getResultCache() {
+        return resultCache;
+    }
+
+    @Override
+    public EntityViewConfiguration setResultCache(EntityViewResultCache resultCache) {
+        this.resultCache = resultCache;
+        return this;
+    }
+
     @Override
     public Map<String, Object> getOptionalParameters() {
         return optionalParameters;
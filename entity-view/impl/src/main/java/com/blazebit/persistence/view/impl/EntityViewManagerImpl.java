@@ -21,7 +21,10 @@ import com.blazebit.lang.StringUtils;
 import com.blazebit.persistence.CriteriaBuilder;
 import com.blazebit.persistence.CriteriaBuilderFactory;
 import com.blazebit.persistence.FullQueryBuilder;
+import com.blazebit.persistence.LimitBuilder;
 import com.blazebit.persistence.ObjectBuilder;
+import com.blazebit.persistence.PagedArrayList;
+import com.blazebit.persistence.PagedList;
 import com.blazebit.persistence.Path;
 import com.blazebit.persistence.parser.EntityMetamodel;
 import com.blazebit.persistence.parser.expression.AbstractCachingExpressionFactory;
@@ -93,6 +96,7 @@ import com.blazebit.persistence.view.impl.mapper.ConvertOperationBuilderImpl;
 import com.blazebit.persistence.view.impl.mapper.ViewMapper;
 import com.blazebit.persistence.view.impl.metamodel.AbstractMethodAttribute;
 import com.blazebit.persistence.view.impl.metamodel.ConstrainedAttribute;
+import com.blazebit.persistence.view.impl.metamodel.DetachedTypeUtils;
 import com.blazebit.persistence.view.impl.metamodel.ManagedViewTypeImpl;
 import com.blazebit.persistence.view.impl.metamodel.ManagedViewTypeImplementor;
 import com.blazebit.persistence.view.impl.metamodel.MappingConstructorImpl;
@@ -111,6 +115,7 @@ import com.blazebit.persistence.view.impl.update.Listeners;
 import com.blazebit.persistence.view.impl.update.SimpleUpdateContext;
 import com.blazebit.persistence.view.impl.update.UpdateContext;
 import com.blazebit.persistence.view.impl.update.flush.CompositeAttributeFlusher;
+import com.blazebit.persistence.view.impl.update.flush.DirtyAttributeFlusher;
 import com.blazebit.persistence.view.impl.update.listener.ViewInstancePostCommitListener;
 import com.blazebit.persistence.view.impl.update.listener.ViewInstancePostPersistEntityListener;
 import com.blazebit.persistence.view.impl.update.listener.ViewInstancePostRemoveListener;
@@ -133,8 +138,10 @@ import com.blazebit.persistence.view.metamodel.MethodPluralAttribute;
 import com.blazebit.persistence.view.metamodel.MethodSingularAttribute;
 import com.blazebit.persistence.view.metamodel.PluralAttribute;
 import com.blazebit.persistence.view.metamodel.SingularAttribute;
-import com.blazebit.persistence.view.metamodel.ViewType;
+import com.blazebit.persistence.view.spi.CorrelationCache;
 import com.blazebit.persistence.view.spi.EmbeddingViewJpqlMacro;
+import com.blazebit.persistence.view.spi.EntityViewResultCache;
+import com.blazebit.persistence.view.spi.TransactionAccess;
 import com.blazebit.persistence.view.spi.TransactionSupport;
 import com.blazebit.persistence.view.spi.ViewJpqlMacro;
 import com.blazebit.persistence.view.spi.type.DirtyStateTrackable;
@@ -143,24 +150,39 @@ import com.blazebit.persistence.view.spi.type.MutableStateTrackable;
 import com.blazebit.reflection.ReflectionUtils;
 
 import javax.persistence.EntityManager;
+import javax.persistence.Parameter;
 import javax.persistence.metamodel.EntityType;
 import javax.persistence.metamodel.ManagedType;
 import javax.persistence.metamodel.Metamodel;
+import javax.transaction.Synchronization;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.TypeVariable;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  *
@@ -169,11 +191,14 @@ import java.util.concurrent.ConcurrentMap;
  */
 public class EntityViewManagerImpl implements EntityViewManager {
 
+    private static final Logger LOG = Logger.getLogger(EntityViewManagerImpl.class.getName());
     private static final String META_MODEL_CLASS_NAME_SUFFIX = "_";
     private static final String RELATION_CLASS_NAME_SUFFIX = "Relation";
     private static final String MULTI_RELATION_CLASS_NAME_SUFFIX = "MultiRelation";
     private static final String BUILDER_CLASS_NAME_SUFFIX = "Builder";
     private static final Set<ViewTransition> VIEW_TRANSITIONS = EnumSet.allOf(ViewTransition.class);
+    private static final int BULK_LOAD_BATCH_SIZE = 500;
+    private static final int FIND_ALL_BATCH_SIZE = 128;
 
     private final CriteriaBuilderFactory cbf;
     private final JpaProvider jpaProvider;
@@ -184,6 +209,8 @@ public class EntityViewManagerImpl implements EntityViewManager {
     private final ViewMetamodelImpl metamodel;
     private final ProxyFactory proxyFactory;
     private final TransactionSupport transactionSupport;
+    private final CorrelationCache correlationCache;
+    private final EntityViewResultCache resultCache;
     private final Map<String, Object> optionalParameters;
     private final boolean supportsTransientReference;
     private final ConcurrentMap<ViewTypeObjectBuilderTemplate.Key, ViewTypeObjectBuilderTemplate<?>> objectBuilderCache;
@@ -192,6 +219,8 @@ public class EntityViewManagerImpl implements EntityViewManager {
     private final ConcurrentMap<ViewMapper.Key<?, ?>, ViewMapper<?, ?>> entityViewMappers;
     private final ConcurrentMap<ViewMapperConfigKey, ViewMapper<?, ?>> configuredEntityViewMappers;
     private final ConcurrentMap<Class<?>, Constructor<?>> createConstructorCache;
+    private final ConcurrentMap<ManagedViewType<?>, Set<Class<?>>> resultCacheEntityClasses = new ConcurrentHashMap<>();
+    private final ConcurrentMap<ManagedViewType<?>, Set<Class<?>>> flushEntityClasses = new ConcurrentHashMap<>();
     private final ConcurrentMap<Class<?>, Constructor<?>> referenceConstructorCache;
     private final ConcurrentMap<Class<?>, ListenerTypeInfo> listenerClassTypeInfo;
     private final ClassValue<EntityViewManager> serializableDelegates;
@@ -204,6 +233,7 @@ public class EntityViewManagerImpl implements EntityViewManager {
     private final boolean strictCascadingCheck;
 
     public EntityViewManagerImpl(EntityViewConfigurationImpl config, CriteriaBuilderFactory cbf) {
+        long bootstrapStart = System.nanoTime();
         this.cbf = cbf;
         this.jpaProvider = cbf.getService(JpaProvider.class);
         this.dbmsDialect = cbf.getService(DbmsDialect.class);
@@ -213,8 +243,25 @@ public class EntityViewManagerImpl implements EntityViewManager {
         this.entityIdAccessor = new EntityIdAttributeAccessor(jpaProvider);
         this.unsafeDisabled = !Boolean.valueOf(String.valueOf(config.getProperty(ConfigurationProperties.PROXY_UNSAFE_ALLOWED)));
         this.strictCascadingCheck = Boolean.valueOf(String.valueOf(config.getProperty(ConfigurationProperties.UPDATER_STRICT_CASCADING_CHECK)));
-        this.proxyFactory = new ProxyFactory(unsafeDisabled, strictCascadingCheck, packageOpener);
+        boolean instantiatorGeneration = Boolean.valueOf(String.valueOf(config.getProperty(ConfigurationProperties.PROXY_INSTANTIATOR_GENERATION)));
+        this.proxyFactory = new ProxyFactory(unsafeDisabled, instantiatorGeneration, strictCascadingCheck, packageOpener);
         this.transactionSupport = config.getTransactionSupport();
+        if (config.getCorrelationCache() == null) {
+            this.correlationCache = new DefaultCorrelationCache(
+                    getPositiveNumber(ConfigurationProperties.CORRELATION_CACHE_MAX_SIZE, config.getProperty(ConfigurationProperties.CORRELATION_CACHE_MAX_SIZE)),
+                    getPositiveNumber(ConfigurationProperties.CORRELATION_CACHE_TTL, config.getProperty(ConfigurationProperties.CORRELATION_CACHE_TTL))
+            );
+        } else {
+            this.correlationCache = config.getCorrelationCache();
+        }
+        if (config.getResultCache() == null) {
+            this.resultCache = new DefaultEntityViewResultCache(
+                    getPositiveNumber(ConfigurationProperties.RESULT_CACHE_MAX_SIZE, config.getProperty(ConfigurationProperties.RESULT_CACHE_MAX_SIZE)),
+                    getPositiveNumber(ConfigurationProperties.RESULT_CACHE_TTL, config.getProperty(ConfigurationProperties.RESULT_CACHE_TTL))
+            );
+        } else {
+            this.resultCache = config.getResultCache();
+        }
         this.optionalParameters = Collections.unmodifiableMap(new HashMap<>(config.getOptionalParameters()));
         this.serializableDelegates = new ClassValue<EntityViewManager>() {
             @Override
@@ -256,6 +303,7 @@ public class EntityViewManagerImpl implements EntityViewManager {
         ViewMetamodelImpl viewMetamodel = null;
         RuntimeException exception = null;
         Map<Class<?>, Object> typeTestValues = config.getTypeTestValues();
+        long metamodelStart = System.nanoTime();
 
         try {
             viewMetamodel = new ViewMetamodelImpl(entityMetamodel, context, typeTestValues, validateManagedTypes, validateExpressions);
@@ -278,6 +326,8 @@ public class EntityViewManagerImpl implements EntityViewManager {
         }
 
         this.metamodel = viewMetamodel;
+        long metamodelNanos = System.nanoTime() - metamodelStart;
+        long initializationStart = System.nanoTime();
         this.supportsTransientReference = jpaProvider.supportsTransientEntityAsParameter();
         this.objectBuilderCache = new ConcurrentHashMap<>();
         this.entityViewUpdaterCache = new ConcurrentHashMap<>();
@@ -422,31 +472,144 @@ public class EntityViewManagerImpl implements EntityViewManager {
         }
 
         this.listeners = listeners;
+        long initializationNanos = System.nanoTime() - initializationStart;
+        long eagerLoadingStart = System.nanoTime();
 
+        int bootstrapParallelism = getBootstrapParallelism(config.getProperty(ConfigurationProperties.BOOTSTRAP_PARALLELISM));
+        List<ViewTypeImpl<?>> views = new ArrayList<>(metamodel.views());
+        // Sort the views so that tasks are created and errors are reported in a deterministic order
+        Collections.sort(views, new Comparator<ViewTypeImpl<?>>() {
+            @Override
+            public int compare(ViewTypeImpl<?> o1, ViewTypeImpl<?> o2) {
+                return o1.getJavaType().getName().compareTo(o2.getJavaType().getName());
+            }
+        });
         if (Boolean.valueOf(String.valueOf(config.getProperty(ConfigurationProperties.TEMPLATE_EAGER_LOADING)))) {
-            for (ViewTypeImpl<?> view : metamodel.views()) {
+            List<Callable<Object>> tasks = new ArrayList<>(views.size());
+            for (final ViewTypeImpl<?> view : views) {
                 // TODO: Might be a good idea to let the view root be overridden or specified via the annotation
-                String probableViewRoot = StringUtils.firstToLower(view.getEntityClass().getSimpleName());
-                MacroConfigurationExpressionFactory macroAwareExpressionFactory = context.createMacroAwareExpressionFactory(probableViewRoot);
-                ViewJpqlMacro viewJpqlMacro = (ViewJpqlMacro) macroAwareExpressionFactory.getDefaultMacroConfiguration().get("VIEW").getState()[0];
-                EmbeddingViewJpqlMacro embeddingViewJpqlMacro = (EmbeddingViewJpqlMacro) macroAwareExpressionFactory.getDefaultMacroConfiguration().get("EMBEDDING_VIEW").getState()[0];
-                getTemplate(macroAwareExpressionFactory, view, null, null, viewJpqlMacro, null, embeddingViewJpqlMacro);
-
-                for (MappingConstructor<?> constructor : view.getConstructors()) {
-                    getTemplate(macroAwareExpressionFactory, view, (MappingConstructorImpl) constructor, null, viewJpqlMacro, null, embeddingViewJpqlMacro);
-                }
+                final String probableViewRoot = StringUtils.firstToLower(view.getEntityClass().getSimpleName());
+                final MacroConfigurationExpressionFactory macroAwareExpressionFactory = context.createMacroAwareExpressionFactory(probableViewRoot);
+                tasks.add(new Callable<Object>() {
+                    @Override
+                    public Object call() {
+                        ViewJpqlMacro viewJpqlMacro = (ViewJpqlMacro) macroAwareExpressionFactory.getDefaultMacroConfiguration().get("VIEW").getState()[0];
+                        EmbeddingViewJpqlMacro embeddingViewJpqlMacro = (EmbeddingViewJpqlMacro) macroAwareExpressionFactory.getDefaultMacroConfiguration().get("EMBEDDING_VIEW").getState()[0];
+                        getTemplate(macroAwareExpressionFactory, view, null, null, viewJpqlMacro, null, embeddingViewJpqlMacro);
+
+                        for (MappingConstructor<?> constructor : view.getConstructors()) {
+                            getTemplate(macroAwareExpressionFactory, view, (MappingConstructorImpl) constructor, null, viewJpqlMacro, null, embeddingViewJpqlMacro);
+                        }
+                        return null;
+                    }
+                });
             }
+            runBootstrapTasks(tasks, bootstrapParallelism);
         } else if (Boolean.valueOf(String.valueOf(config.getProperty(ConfigurationProperties.PROXY_EAGER_LOADING)))) {
             // Loading template will always involve also loading the proxies, so we use else if
-            for (ViewType<?> view : metamodel.getViews()) {
-                proxyFactory.getProxy(this, (ManagedViewTypeImplementor<Object>) view);
+            List<Callable<Object>> tasks = new ArrayList<>(views.size());
+            for (final ViewTypeImpl<?> view : views) {
+                tasks.add(new Callable<Object>() {
+                    @Override
+                    public Object call() {
+                        return proxyFactory.getProxy(EntityViewManagerImpl.this, (ManagedViewTypeImplementor<Object>) view);
+                    }
+                });
             }
+            runBootstrapTasks(tasks, bootstrapParallelism);
         }
 
         if (Boolean.valueOf(String.valueOf(config.getProperty(ConfigurationProperties.UPDATER_EAGER_LOADING)))) {
-            for (ManagedViewType<?> view : metamodel.getViews()) {
-                getUpdater(null, (ManagedViewTypeImplementor<?>) view, null, null, null);
+            List<Callable<Object>> tasks = new ArrayList<>(views.size());
+            for (final ViewTypeImpl<?> view : views) {
+                tasks.add(new Callable<Object>() {
+                    @Override
+                    public Object call() {
+                        return getUpdater(null, view, null, null, null);
+                    }
+                });
+            }
+            runBootstrapTasks(tasks, bootstrapParallelism);
+        }
+
+        if (LOG.isLoggable(Level.FINE)) {
+            long eagerLoadingNanos = System.nanoTime() - eagerLoadingStart;
+            LOG.fine("Bootstrapping the entity view manager for " + views.size() + " views with parallelism " + bootstrapParallelism + " took "
+                    + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - bootstrapStart) + "ms [metamodel building: "
+                    + TimeUnit.NANOSECONDS.toMillis(metamodelNanos) + "ms, initialization: "
+                    + TimeUnit.NANOSECONDS.toMillis(initializationNanos) + "ms, eager loading: "
+                    + TimeUnit.NANOSECONDS.toMillis(eagerLoadingNanos) + "ms]");
+        }
+    }
+
+    private static int getPositiveNumber(String key, Object value) {
+        String stringValue = String.valueOf(value);
+        try {
+            int number = Integer.parseInt(stringValue);
+            if (number > 0) {
+                return number;
+            }
+        } catch (NumberFormatException ex) {
+            // Fall through
+        }
+        throw new IllegalArgumentException("Invalid value for property " + key + ": " + stringValue);
+    }
+
+    private static int getBootstrapParallelism(Object value) {
+        String stringValue = String.valueOf(value);
+        if ("auto".equalsIgnoreCase(stringValue)) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+        try {
+            int parallelism = Integer.parseInt(stringValue);
+            if (parallelism > 0) {
+                return parallelism;
             }
+        } catch (NumberFormatException ex) {
+            // Fall through
+        }
+        throw new IllegalArgumentException("Invalid value for property " + ConfigurationProperties.BOOTSTRAP_PARALLELISM + ": " + stringValue);
+    }
+
+    private static void runBootstrapTasks(List<Callable<Object>> tasks, int parallelism) {
+        if (parallelism == 1 || tasks.size() < 2) {
+            for (Callable<Object> task : tasks) {
+                try {
+                    task.call();
+                } catch (RuntimeException ex) {
+                    throw ex;
+                } catch (Exception ex) {
+                    throw new RuntimeException(ex);
+                }
+            }
+            return;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(Math.min(parallelism, tasks.size()));
+        try {
+            List<Future<Object>> futures = pool.invokeAll(tasks);
+            RuntimeException exception = null;
+            // Report the failure of the first task in task order and attach the other failures as suppressed
+            for (Future<Object> future : futures) {
+                try {
+                    future.get();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while bootstrapping the entity view manager", ex);
+                } catch (ExecutionException ex) {
+                    Throwable cause = ex.getCause();
+                    if (exception == null) {
+                        exception = cause instanceof RuntimeException ? (RuntimeException) cause : new RuntimeException(cause);
+                    } else {
+                        exception.addSuppressed(cause);
+                    }
+                }
+            }
+            if (exception != null) {
+                throw exception;
+            }
+        } finally {
+            pool.shutdown();
         }
     }
 
@@ -763,6 +926,45 @@ public class EntityViewManagerImpl implements EntityViewManager {
         return optionalParameters;
     }
 
+    public CorrelationCache getCorrelationCache() {
+        return correlationCache;
+    }
+
+    public EntityViewResultCache getResultCache() {
+        return resultCache;
+    }
+
+    private void invalidateCaches(UpdateContext context, ManagedViewTypeImplementor<?> viewType) {
+        Set<Class<?>> entityClasses = getFlushEntityClasses(viewType);
+        invalidateCaches(correlationCache, resultCache, entityClasses);
+        TransactionAccess transactionAccess = context.getTransactionAccess();
+        if (transactionAccess.isActive()) {
+            // Concurrent queries could cache the old state until the transaction completes, so invalidate again afterwards
+            transactionAccess.registerSynchronization(new CacheInvalidation(correlationCache, resultCache, entityClasses));
+        }
+    }
+
+    /**
+     * Returns the entity classes that a flush of the given view type may touch.
+     * Besides the entity class of the view type, this includes the entity classes of all cascaded subviews and entity attributes.
+     * Read only subviews are included as well, which might invalidate more than necessary, but is simpler than following the cascade configuration.
+     */
+    private Set<Class<?>> getFlushEntityClasses(ManagedViewType<?> viewType) {
+        Set<Class<?>> entityClasses = flushEntityClasses.get(viewType);
+        if (entityClasses == null) {
+            entityClasses = Collections.unmodifiableSet(DetachedTypeUtils.getReachableEntityClasses(viewType));
+            flushEntityClasses.putIfAbsent(viewType, entityClasses);
+        }
+        return entityClasses;
+    }
+
+    private static void invalidateCaches(CorrelationCache correlationCache, EntityViewResultCache resultCache, Set<Class<?>> entityClasses) {
+        for (Class<?> entityClass : entityClasses) {
+            correlationCache.invalidate(entityClass);
+            resultCache.invalidate(entityClass);
+        }
+    }
+
     public JpaProvider getJpaProvider() {
         return jpaProvider;
     }
@@ -795,6 +997,83 @@ public class EntityViewManagerImpl implements EntityViewManager {
         return resultList.isEmpty() ? null : resultList.get(0);
     }
 
+    @Override
+    public <T> List<T> findAll(EntityManager entityManager, Class<T> entityViewClass, Collection<?> entityIds) {
+        return findAll(entityManager, EntityViewSetting.create(entityViewClass), entityIds);
+    }
+
+    @Override
+    public <T> List<T> findAll(EntityManager entityManager, EntityViewSetting<T, CriteriaBuilder<T>> entityViewSetting, Collection<?> entityIds) {
+        if (entityViewSetting.isPaginated() || entityViewSetting.isKeysetPaginated()) {
+            throw new IllegalArgumentException("Can't load entity views by ids with a paginated entity view setting!");
+        }
+        ViewTypeImpl<T> managedViewType = metamodel.viewOrError(entityViewSetting.getEntityViewClass());
+        EntityType<?> entityType = (EntityType<?>) managedViewType.getJpaManagedType();
+        List<T> resultList = new ArrayList<>(entityIds.size());
+        if (!entityType.hasSingleIdAttribute()) {
+            // Ids of an id class can't be used in an IN predicate, so the entity views are loaded one by one
+            for (Object id : entityIds) {
+                resultList.add(id == null ? null : find(entityManager, entityViewSetting, id));
+            }
+            return resultList;
+        }
+        javax.persistence.metamodel.SingularAttribute<?, ?> idAttribute = JpaMetamodelUtils.getSingleIdAttribute(entityType);
+        // The views are matched to the ids via equals, so an id of a different type e.g. Integer for a Long id would never match
+        Class<?> idType = ReflectionUtils.getObjectClassOfPrimitve(idAttribute.getJavaType());
+        for (Object id : entityIds) {
+            if (id != null && !idType.isInstance(id)) {
+                throw new IllegalArgumentException("The entity id '" + id + "' of type " + id.getClass().getName() + " is not an instance of the id type " + idType.getName() + " of the entity " + managedViewType.getEntityClass().getName());
+            }
+        }
+        if (idAttribute.getType().getPersistenceType() != javax.persistence.metamodel.Type.PersistenceType.BASIC) {
+            // Embedded ids can't be used in an IN predicate, so the entity views are loaded one by one
+            for (Object id : entityIds) {
+                resultList.add(id == null ? null : find(entityManager, entityViewSetting, id));
+            }
+            return resultList;
+        }
+
+        // Null ids can't match an entity and duplicate ids only have to be loaded once
+        Set<Object> idSet = new LinkedHashSet<>(entityIds);
+        idSet.remove(null);
+        List<Object> ids = new ArrayList<>(idSet);
+        boolean subviewId = managedViewType.getIdAttribute().isSubview();
+        Map<Object, T> views = new HashMap<>(ids.size());
+        for (int i = 0; i < ids.size(); i += FIND_ALL_BATCH_SIZE) {
+            // Pad the batch so that only a few distinct query strings are produced
+            CriteriaBuilder<?> cb = cbf.create(entityManager, managedViewType.getEntityClass())
+                    .where(idAttribute.getName()).in(padBatch(ids.subList(i, Math.min(i + FIND_ALL_BATCH_SIZE, ids.size()))));
+            for (T view : applySetting(entityViewSetting, cb).getResultList()) {
+                EntityViewProxy proxy = (EntityViewProxy) view;
+                views.put(subviewId ? getEntityId(entityManager, proxy) : proxy.$$_getId(), view);
+            }
+        }
+
+        for (Object id : entityIds) {
+            resultList.add(id == null ? null : views.get(id));
+        }
+        return resultList;
+    }
+
+    private static List<Object> padBatch(List<Object> batch) {
+        int size = batch.size();
+        if (size <= 1) {
+            return batch;
+        }
+        // Pad to the next power of two by repeating the last id
+        int paddedSize = Integer.highestOneBit(size - 1) << 1;
+        if (paddedSize == size) {
+            return batch;
+        }
+        List<Object> paddedBatch = new ArrayList<>(paddedSize);
+        paddedBatch.addAll(batch);
+        Object lastId = batch.get(size - 1);
+        for (int i = size; i < paddedSize; i++) {
+            paddedBatch.add(lastId);
+        }
+        return paddedBatch;
+    }
+
     @Override
     public <T> T getReference(Class<T> entityViewClass, Object id) {
         Constructor<T> constructor = (Constructor<T>) referenceConstructorCache.get(entityViewClass);
@@ -1074,6 +1353,11 @@ public class EntityViewManagerImpl implements EntityViewManager {
         updateTo(em, view, entity, true);
     }
 
+    @Override
+    public void saveAll(EntityManager em, Iterable<?> views) {
+        updateAll(new DefaultUpdateContext(this, em, false, views), views);
+    }
+
     @Override
     public void remove(EntityManager entityManager, Object view) {
         remove(new DefaultUpdateContext(this, entityManager, false, false, true, null, view, null), view);
@@ -1102,6 +1386,7 @@ public class EntityViewManagerImpl implements EntityViewManager {
                     }
                 }
                 updater.remove(context, proxy);
+                invalidateCaches(context, viewType);
             }
         } catch (Throwable t) {
             context.getTransactionAccess().markRollbackOnly();
@@ -1122,6 +1407,7 @@ public class EntityViewManagerImpl implements EntityViewManager {
         EntityViewUpdater updater = getUpdater(null, viewType, null, null, null);
         try {
             updater.remove(context, viewId);
+            invalidateCaches(context, viewType);
         } catch (Throwable t) {
             context.getTransactionAccess().markRollbackOnly();
             ExceptionUtils.doThrow(t);
@@ -1165,6 +1451,11 @@ public class EntityViewManagerImpl implements EntityViewManager {
     public FlushOperationBuilder saveFullWithTo(EntityManager em, Object view, Object entity) {
         return new DefaultUpdateContext(this, em, true, true, false, null, view, entity);
     }
+
+    @Override
+    public FlushOperationBuilder saveAllWith(EntityManager em, Iterable<?> views) {
+        return new DefaultUpdateContext(this, em, false, views);
+    }
     
     public void update(UpdateContext context, Object view) {
         if (!(view instanceof MutableStateTrackable)) {
@@ -1181,6 +1472,7 @@ public class EntityViewManagerImpl implements EntityViewManager {
             } else {
                 updater.executeUpdate(context, updatableProxy);
             }
+            invalidateCaches(context, viewType);
         } catch (Throwable t) {
             context.getTransactionAccess().markRollbackOnly();
             ExceptionUtils.doThrow(t);
@@ -1201,12 +1493,149 @@ public class EntityViewManagerImpl implements EntityViewManager {
         EntityViewUpdater updater = getUpdater(null, viewType, null, null, null);
         try {
             updater.executeUpdate(context, entity, updatableProxy);
+            invalidateCaches(context, viewType);
+        } catch (Throwable t) {
+            context.getTransactionAccess().markRollbackOnly();
+            ExceptionUtils.doThrow(t);
+        }
+    }
+
+    public void updateAll(UpdateContext context, Iterable<?> views) {
+        Map<ManagedViewTypeImplementor<?>, List<MutableStateTrackable>> viewsByType = new HashMap<>();
+        List<ManagedViewTypeImplementor<?>> viewTypes = new ArrayList<>();
+        for (Object view : views) {
+            if (!(view instanceof MutableStateTrackable)) {
+                throw new IllegalArgumentException("Can't update non-updatable entity views: " + view);
+            }
+
+            MutableStateTrackable updatableProxy = (MutableStateTrackable) view;
+            ManagedViewTypeImplementor<?> viewType = metamodel.managedViewOrError(updatableProxy.$$_getEntityViewClass());
+            List<MutableStateTrackable> viewList = viewsByType.get(viewType);
+            if (viewList == null) {
+                viewList = new ArrayList<>();
+                viewsByType.put(viewType, viewList);
+                viewTypes.add(viewType);
+            }
+            viewList.add(updatableProxy);
+        }
+
+        try {
+            for (ManagedViewTypeImplementor<?> viewType : viewTypes) {
+                List<MutableStateTrackable> viewList = viewsByType.get(viewType);
+                EntityViewUpdater updater = getUpdater(null, viewType, null, null, null);
+                // Grouping the views by their dirty attributes makes equal update statements adjacent, so the JPA provider can batch them
+                Map<Object, List<MutableStateTrackable>> viewsByDirtyAttributes = new LinkedHashMap<>();
+                int dirtyViews = 0;
+                for (MutableStateTrackable updatableProxy : viewList) {
+                    if (updatableProxy.$$_isNew()) {
+                        updater.executePersist(context, updatableProxy);
+                    } else {
+                        @SuppressWarnings("unchecked")
+                        DirtyAttributeFlusher<?, ?, ?> flusher = updater.getNestedDirtyFlusher(context, updatableProxy, (DirtyAttributeFlusher) null);
+                        // Clean views don't need an update, so there is no need to load their entities
+                        if (flusher != null) {
+                            Object key = getDirtyAttributesKey(flusher);
+                            List<MutableStateTrackable> group = viewsByDirtyAttributes.get(key);
+                            if (group == null) {
+                                group = new ArrayList<>();
+                                viewsByDirtyAttributes.put(key, group);
+                            }
+                            group.add(updatableProxy);
+                            dirtyViews++;
+                        }
+                    }
+                }
+
+                if (dirtyViews != 0) {
+                    List<MutableStateTrackable> dirtyViewList = new ArrayList<>(dirtyViews);
+                    for (List<MutableStateTrackable> group : viewsByDirtyAttributes.values()) {
+                        dirtyViewList.addAll(group);
+                    }
+                    javax.persistence.metamodel.SingularAttribute<?, ?> idAttribute = getBulkLoadIdAttribute(viewType);
+                    for (int i = 0; i < dirtyViewList.size(); i += BULK_LOAD_BATCH_SIZE) {
+                        updateChunk(context, viewType, updater, idAttribute, dirtyViewList.subList(i, Math.min(i + BULK_LOAD_BATCH_SIZE, dirtyViewList.size())));
+                    }
+                }
+                invalidateCaches(context, viewType);
+            }
         } catch (Throwable t) {
             context.getTransactionAccess().markRollbackOnly();
             ExceptionUtils.doThrow(t);
         }
     }
 
+    private static Object getDirtyAttributesKey(DirtyAttributeFlusher<?, ?, ?> flusher) {
+        if (flusher instanceof CompositeAttributeFlusher) {
+            long[] mask = ((CompositeAttributeFlusher) flusher).getUpdateQueryFragmentMask();
+            if (mask != null) {
+                return BitSet.valueOf(mask);
+            }
+        }
+        // Views with dirty nested attributes are not distinguished any further
+        return null;
+    }
+
+    private static javax.persistence.metamodel.SingularAttribute<?, ?> getBulkLoadIdAttribute(ManagedViewTypeImplementor<?> viewType) {
+        ManagedType<?> managedType = viewType.getJpaManagedType();
+        if (!(managedType instanceof EntityType<?>) || !((EntityType<?>) managedType).hasSingleIdAttribute()) {
+            return null;
+        }
+        javax.persistence.metamodel.SingularAttribute<?, ?> idAttribute = JpaMetamodelUtils.getSingleIdAttribute((EntityType<?>) managedType);
+        if (idAttribute.getType().getPersistenceType() != javax.persistence.metamodel.Type.PersistenceType.BASIC) {
+            // Embedded ids can't be used in an IN predicate, so the entities are loaded one by one during the flush
+            return null;
+        }
+        return idAttribute;
+    }
+
+    private void updateChunk(UpdateContext context, ManagedViewTypeImplementor<?> viewType, EntityViewUpdater updater, javax.persistence.metamodel.SingularAttribute<?, ?> idAttribute, List<MutableStateTrackable> views) {
+        EntityManager em = context.getEntityManager();
+        Map<Object, Object> entities = Collections.emptyMap();
+        List<Object> loadedEntities = Collections.emptyList();
+        if (idAttribute != null) {
+            Class<?> entityClass = viewType.getEntityClass();
+            List<Object> ids = new ArrayList<>(views.size());
+            // Entities that are already managed belong to the caller and must not be detached
+            Set<Object> managedIds = new HashSet<>();
+            for (MutableStateTrackable updatableProxy : views) {
+                Object id = getEntityId(em, updatableProxy);
+                ids.add(id);
+                if (jpaProvider.containsEntity(em, entityClass, id)) {
+                    managedIds.add(id);
+                }
+            }
+            List<?> resultList = cbf.create(em, entityClass)
+                    .where(idAttribute.getName()).in(ids)
+                    .getResultList();
+            entities = new HashMap<>(resultList.size());
+            loadedEntities = new ArrayList<>(resultList.size());
+            for (Object entity : resultList) {
+                Object id = entityIdAccessor.getValue(entity);
+                entities.put(id, entity);
+                if (!managedIds.contains(id)) {
+                    loadedEntities.add(entity);
+                }
+            }
+        }
+
+        for (MutableStateTrackable updatableProxy : views) {
+            Object entity = entities.get(getEntityId(em, updatableProxy));
+            if (entity == null) {
+                updater.executeUpdate(context, updatableProxy);
+            } else {
+                updater.executeUpdate(context, entity, updatableProxy);
+            }
+        }
+
+        // Every flush dirty checks all managed entities, so flushing and detaching the loaded entities per chunk keeps the persistence context small
+        if (!loadedEntities.isEmpty() && context.getTransactionAccess().isActive()) {
+            em.flush();
+            for (Object entity : loadedEntities) {
+                em.detach(entity);
+            }
+        }
+    }
+
     public Object persist(UpdateContext context, Object view) {
         if (!(view instanceof MutableStateTrackable)) {
             throw new IllegalArgumentException("Can't persist non-updatable entity views: " + view);
@@ -1216,7 +1645,9 @@ public class EntityViewManagerImpl implements EntityViewManager {
         Class<?> entityViewClass = updatableProxy.$$_getEntityViewClass();
         ManagedViewTypeImplementor<?> viewType = metamodel.managedViewOrError(entityViewClass);
         EntityViewUpdater updater = getUpdater(null, viewType, null, null, null);
-        return updater.executePersist(context, updatableProxy);
+        Object result = updater.executePersist(context, updatableProxy);
+        invalidateCaches(context, viewType);
+        return result;
     }
 
     @Override
@@ -1229,6 +1660,98 @@ public class EntityViewManagerImpl implements EntityViewManager {
         return EntityViewSettingHelper.apply(setting, this, criteriaBuilder, entityViewRoot);
     }
 
+    @Override
+    public <T, Q extends FullQueryBuilder<T, Q>> List<T> getResultList(EntityViewSetting<T, Q> setting, CriteriaBuilder<?> criteriaBuilder) {
+        return getResultList(setting, criteriaBuilder, null);
+    }
+
+    @Override
+    public <T, Q extends FullQueryBuilder<T, Q>> List<T> getResultList(EntityViewSetting<T, Q> setting, CriteriaBuilder<?> criteriaBuilder, String entityViewRoot) {
+        Q queryBuilder = EntityViewSettingHelper.apply(setting, this, criteriaBuilder, entityViewRoot);
+        // Keyset and entity id based pagination use internal parameters that aren't part of the cache key
+        if (!isResultCacheEnabled(setting) || setting.isKeysetPaginated() || setting.getEntityId() != null) {
+            return queryBuilder.getResultList();
+        }
+        Set<Class<?>> entityClasses = getResultCacheEntityClasses(metamodel.managedViewOrError(setting.getEntityViewClass()));
+        if (entityClasses.isEmpty()) {
+            return queryBuilder.getResultList();
+        }
+
+        Map<String, Object> parameterValues = new HashMap<>();
+        for (Parameter<?> parameter : queryBuilder.getParameters()) {
+            String name = parameter.getName() == null ? parameter.getPosition().toString() : parameter.getName();
+            parameterValues.put(name, queryBuilder.isParameterSet(name) ? queryBuilder.getParameterValue(name) : null);
+        }
+        int firstResult = setting.getFirstResult();
+        int maxResults = setting.getMaxResults();
+        if (queryBuilder instanceof LimitBuilder<?>) {
+            firstResult = ((LimitBuilder<?>) queryBuilder).getFirstResult();
+            maxResults = ((LimitBuilder<?>) queryBuilder).getMaxResults();
+        }
+        ResultCacheKey key = new ResultCacheKey(
+                setting.getEntityViewClass(),
+                setting.getViewConstructorName(),
+                queryBuilder.getQueryString(),
+                parameterValues,
+                new HashMap<>(setting.getOptionalParameters()),
+                firstResult,
+                maxResults
+        );
+        long invalidationGeneration = resultCache.getInvalidationGeneration();
+        @SuppressWarnings("unchecked")
+        List<T> cachedResult = (List<T>) resultCache.get(key);
+        if (cachedResult != null) {
+            return copyResultList(cachedResult);
+        }
+        List<T> result = queryBuilder.getResultList();
+        resultCache.put(key, entityClasses, copyResultList(result), invalidationGeneration);
+        return result;
+    }
+
+    private static boolean isResultCacheEnabled(EntityViewSetting<?, ?> setting) {
+        Object value = setting.getProperties().get(ConfigurationProperties.RESULT_CACHE);
+        if (value == null) {
+            return false;
+        } else if (value instanceof Boolean) {
+            return (Boolean) value;
+        } else if (value instanceof String) {
+            String s = (String) value;
+            if ("true".equalsIgnoreCase(s)) {
+                return true;
+            } else if ("false".equalsIgnoreCase(s)) {
+                return false;
+            }
+        }
+
+        throw new IllegalArgumentException("Invalid result cache configuration " + value + " for key: " + ConfigurationProperties.RESULT_CACHE);
+    }
+
+    private static <T> List<T> copyResultList(List<T> list) {
+        if (list instanceof PagedList<?>) {
+            PagedList<T> pagedList = (PagedList<T>) list;
+            boolean totalSizeCached = pagedList instanceof PagedArrayList<?> && ((PagedArrayList<T>) pagedList).isTotalSizeCached();
+            return new PagedArrayList<>(pagedList, pagedList.getKeysetPage(), pagedList.getTotalSize(), totalSizeCached, pagedList.getFirstResult(), pagedList.getMaxResults());
+        }
+        return new ArrayList<>(list);
+    }
+
+    /**
+     * Returns the entity classes of the given view type and all reachable subview types,
+     * or an empty set if the view type reaches a JPA entity or an updatable or creatable view type and thus can't be cached.
+     */
+    private Set<Class<?>> getResultCacheEntityClasses(ManagedViewType<?> viewType) {
+        Set<Class<?>> entityClasses = resultCacheEntityClasses.get(viewType);
+        if (entityClasses == null) {
+            entityClasses = DetachedTypeUtils.getShareableEntityClasses(viewType);
+            if (entityClasses == null) {
+                entityClasses = Collections.emptySet();
+            }
+            entityClasses = Collections.unmodifiableSet(entityClasses);
+            resultCacheEntityClasses.putIfAbsent(viewType, entityClasses);
+        }
+        return entityClasses;
+    }
+
     public boolean isUnsafeDisabled() {
         return unsafeDisabled;
     }
@@ -1585,4 +2108,88 @@ public class EntityViewManagerImpl implements EntityViewManager {
             return result;
         }
     }
+
+    /**
+     * @author Christian Beikov
+     * @since 1.6.0
+     */
+    private static class ResultCacheKey {
+        private final Class<?> entityViewClass;
+        private final String viewConstructorName;
+        private final String queryString;
+        private final Map<String, Object> parameterValues;
+        private final Map<String, Object> optionalParameters;
+        private final int firstResult;
+        private final int maxResults;
+        private final int hash;
+
+        public ResultCacheKey(Class<?> entityViewClass, String viewConstructorName, String queryString, Map<String, Object> parameterValues, Map<String, Object> optionalParameters, int firstResult, int maxResults) {
+            this.entityViewClass = entityViewClass;
+            this.viewConstructorName = viewConstructorName;
+            this.queryString = queryString;
+            this.parameterValues = parameterValues;
+            this.optionalParameters = optionalParameters;
+            this.firstResult = firstResult;
+            this.maxResults = maxResults;
+            int result = entityViewClass.hashCode();
+            result = 31 * result + (viewConstructorName != null ? viewConstructorName.hashCode() : 0);
+            result = 31 * result + queryString.hashCode();
+            result = 31 * result + parameterValues.hashCode();
+            result = 31 * result + optionalParameters.hashCode();
+            result = 31 * result + firstResult;
+            result = 31 * result + maxResults;
+            this.hash = result;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ResultCacheKey)) {
+                return false;
+            }
+
+            ResultCacheKey that = (ResultCacheKey) o;
+            return firstResult == that.firstResult
+                    && maxResults == that.maxResults
+                    && entityViewClass.equals(that.entityViewClass)
+                    && (viewConstructorName != null ? viewConstructorName.equals(that.viewConstructorName) : that.viewConstructorName == null)
+                    && queryString.equals(that.queryString)
+                    && parameterValues.equals(that.parameterValues)
+                    && optionalParameters.equals(that.optionalParameters);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * @author Christian Beikov
+     * @since 1.6.0
+     */
+    private static class CacheInvalidation implements Synchronization {
+
+        private final CorrelationCache correlationCache;
+        private final EntityViewResultCache resultCache;
+        private final Set<Class<?>> entityClasses;
+
+        public CacheInvalidation(CorrelationCache correlationCache, EntityViewResultCache resultCache, Set<Class<?>> entityClasses) {
+            this.correlationCache = correlationCache;
+            this.resultCache = resultCache;
+            this.entityClasses = entityClasses;
+        }
+
+        @Override
+        public void beforeCompletion() {
+            // No-op
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            invalidateCaches(correlationCache, resultCache, entityClasses);
+        }
+    }
 }
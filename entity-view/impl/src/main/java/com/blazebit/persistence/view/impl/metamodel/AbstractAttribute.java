@@ -54,6 +54,7 @@ import com.blazebit.persistence.view.MappingSubquery;
 import com.blazebit.persistence.view.Self;
 import com.blazebit.persistence.view.SubqueryProvider;
 import com.blazebit.persistence.view.SubqueryProviderFactory;
+import com.blazebit.persistence.view.impl.BatchFetchStatisticsImpl;
 import com.blazebit.persistence.view.impl.CollectionJoinMappingGathererExpressionVisitor;
 import com.blazebit.persistence.view.impl.CorrelationProviderHelper;
 import com.blazebit.persistence.view.impl.PrefixingQueryGenerator;
@@ -128,6 +129,7 @@ public abstract class AbstractAttribute<X, Y> implements Attribute<X, Y> {
     protected final String[] fetches;
     protected final FetchStrategy fetchStrategy;
     protected final int batchSize;
+    protected final BatchFetchStatisticsImpl batchFetchStatistics = new BatchFetchStatisticsImpl();
     protected final List<OrderByItem> orderByItems;
     protected final String limitExpression;
     protected final String offsetExpression;
@@ -1465,6 +1467,10 @@ public abstract class AbstractAttribute<X, Y> implements Attribute<X, Y> {
         return batchSize;
     }
 
+    public final BatchFetchStatisticsImpl getBatchFetchStatistics() {
+        return batchFetchStatistics;
+    }
+
     public final List<OrderByItem> getOrderByItems() {
         return orderByItems;
     }
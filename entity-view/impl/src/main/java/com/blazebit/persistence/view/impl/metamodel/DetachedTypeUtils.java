@@ -0,0 +1,160 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.impl.metamodel;
+
+import com.blazebit.persistence.view.metamodel.Attribute;
+import com.blazebit.persistence.view.metamodel.ManagedViewType;
+import com.blazebit.persistence.view.metamodel.MapAttribute;
+import com.blazebit.persistence.view.metamodel.MappingConstructor;
+import com.blazebit.persistence.view.metamodel.PluralAttribute;
+import com.blazebit.persistence.view.metamodel.SingularAttribute;
+import com.blazebit.persistence.view.metamodel.Type;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Determines whether objects of an entity view or basic type can be used outside of the persistence context they were loaded in.
+ * This is not the case as soon as a JPA entity is reachable, because the entity would be managed by that persistence context.
+ *
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+public final class DetachedTypeUtils {
+
+    private DetachedTypeUtils() {
+    }
+
+    /**
+     * Returns whether no JPA entity is reachable from objects of the given type.
+     *
+     * @param type The type to check
+     * @return Whether objects of the type are free of JPA entities
+     */
+    public static boolean isEntityFree(Type<?> type) {
+        return collectEntityClasses(type, false, null, new HashSet<ManagedViewType<?>>());
+    }
+
+    /**
+     * Returns the entity classes of the given type and all reachable view types, or <code>null</code> if objects of the type can't be shared.
+     * Objects can be shared across persistence contexts and threads if no JPA entity is reachable and no reachable view type is updatable or creatable.
+     *
+     * @param type The type to check
+     * @return The entity classes of the reachable view types or <code>null</code>
+     */
+    public static Set<Class<?>> getShareableEntityClasses(Type<?> type) {
+        Set<Class<?>> entityClasses = new HashSet<>();
+        if (collectEntityClasses(type, true, entityClasses, new HashSet<ManagedViewType<?>>())) {
+            return entityClasses;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the entity classes of all view types and JPA entities that are reachable from objects of the given type.
+     * A flush of such objects may change the state of entities of any of these classes.
+     *
+     * @param type The type to check
+     * @return The reachable entity classes
+     */
+    public static Set<Class<?>> getReachableEntityClasses(Type<?> type) {
+        Set<Class<?>> entityClasses = new HashSet<>();
+        collectReachableEntityClasses(type, entityClasses, new HashSet<ManagedViewType<?>>());
+        return entityClasses;
+    }
+
+    private static void collectReachableEntityClasses(Type<?> type, Set<Class<?>> entityClasses, Set<ManagedViewType<?>> visited) {
+        if (!(type instanceof ManagedViewType<?>)) {
+            if (type instanceof BasicTypeImpl<?> && ((BasicTypeImpl<?>) type).isJpaEntity()) {
+                entityClasses.add(type.getJavaType());
+            }
+            return;
+        }
+        ManagedViewType<?> viewType = (ManagedViewType<?>) type;
+        if (!visited.add(viewType)) {
+            return;
+        }
+        entityClasses.add(viewType.getEntityClass());
+        for (ManagedViewType<?> subtype : viewType.getInheritanceSubtypes()) {
+            collectReachableEntityClasses(subtype, entityClasses, visited);
+        }
+        for (Attribute<?, ?> attribute : viewType.getAttributes()) {
+            collectReachableAttributeEntityClasses(attribute, entityClasses, visited);
+        }
+        for (MappingConstructor<?> constructor : viewType.getConstructors()) {
+            for (Attribute<?, ?> attribute : constructor.getParameterAttributes()) {
+                collectReachableAttributeEntityClasses(attribute, entityClasses, visited);
+            }
+        }
+    }
+
+    private static void collectReachableAttributeEntityClasses(Attribute<?, ?> attribute, Set<Class<?>> entityClasses, Set<ManagedViewType<?>> visited) {
+        if (attribute instanceof PluralAttribute<?, ?, ?>) {
+            if (attribute instanceof MapAttribute<?, ?, ?>) {
+                collectReachableEntityClasses(((MapAttribute<?, ?, ?>) attribute).getKeyType(), entityClasses, visited);
+            }
+            collectReachableEntityClasses(((PluralAttribute<?, ?, ?>) attribute).getElementType(), entityClasses, visited);
+        } else {
+            collectReachableEntityClasses(((SingularAttribute<?, ?>) attribute).getType(), entityClasses, visited);
+        }
+    }
+
+    private static boolean collectEntityClasses(Type<?> type, boolean immutable, Set<Class<?>> entityClasses, Set<ManagedViewType<?>> visited) {
+        if (!(type instanceof ManagedViewType<?>)) {
+            return !(type instanceof BasicTypeImpl<?>) || !((BasicTypeImpl<?>) type).isJpaEntity();
+        }
+        ManagedViewType<?> viewType = (ManagedViewType<?>) type;
+        if (!visited.add(viewType)) {
+            return true;
+        }
+        if (immutable && (viewType.isUpdatable() || viewType.isCreatable())) {
+            return false;
+        }
+        if (entityClasses != null) {
+            entityClasses.add(viewType.getEntityClass());
+        }
+        for (ManagedViewType<?> subtype : viewType.getInheritanceSubtypes()) {
+            if (!collectEntityClasses(subtype, immutable, entityClasses, visited)) {
+                return false;
+            }
+        }
+        for (Attribute<?, ?> attribute : viewType.getAttributes()) {
+            if (!collectAttributeEntityClasses(attribute, immutable, entityClasses, visited)) {
+                return false;
+            }
+        }
+        for (MappingConstructor<?> constructor : viewType.getConstructors()) {
+            for (Attribute<?, ?> attribute : constructor.getParameterAttributes()) {
+                if (!collectAttributeEntityClasses(attribute, immutable, entityClasses, visited)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean collectAttributeEntityClasses(Attribute<?, ?> attribute, boolean immutable, Set<Class<?>> entityClasses, Set<ManagedViewType<?>> visited) {
+        if (attribute instanceof PluralAttribute<?, ?, ?>) {
+            // The key type is checked independently of the element type as either may be an entity or a view
+            if (attribute instanceof MapAttribute<?, ?, ?> && !collectEntityClasses(((MapAttribute<?, ?, ?>) attribute).getKeyType(), immutable, entityClasses, visited)) {
+                return false;
+            }
+            return collectEntityClasses(((PluralAttribute<?, ?, ?>) attribute).getElementType(), immutable, entityClasses, visited);
+        }
+        return collectEntityClasses(((SingularAttribute<?, ?>) attribute).getType(), immutable, entityClasses, visited);
+    }
+}
@@ -17,9 +17,9 @@
 package com.blazebit.persistence.view.impl.objectbuilder;
 
 import com.blazebit.persistence.FullQueryBuilder;
-import com.blazebit.persistence.ObjectBuilder;
 import com.blazebit.persistence.ParameterHolder;
 import com.blazebit.persistence.SelectBuilder;
+import com.blazebit.persistence.StreamableObjectBuilder;
 import com.blazebit.persistence.view.impl.objectbuilder.mapper.TupleElementMapper;
 import com.blazebit.persistence.view.impl.proxy.ObjectInstantiator;
 import com.blazebit.persistence.view.spi.EmbeddingViewJpqlMacro;
@@ -35,7 +35,7 @@ import java.util.Set;
  * @author Christian Beikov
  * @since 1.0.0
  */
-public class ViewTypeObjectBuilder<T> implements ObjectBuilder<T> {
+public class ViewTypeObjectBuilder<T> implements StreamableObjectBuilder<T> {
 
     final boolean hasId;
     final boolean nullIfEmpty;
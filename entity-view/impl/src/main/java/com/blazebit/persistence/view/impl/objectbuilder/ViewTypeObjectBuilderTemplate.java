@@ -42,6 +42,7 @@ import com.blazebit.persistence.view.impl.metamodel.AbstractAttribute;
 import com.blazebit.persistence.view.impl.metamodel.AbstractMethodAttribute;
 import com.blazebit.persistence.view.impl.metamodel.AbstractParameterAttribute;
 import com.blazebit.persistence.view.impl.metamodel.ConstrainedAttribute;
+import com.blazebit.persistence.view.impl.metamodel.DetachedTypeUtils;
 import com.blazebit.persistence.view.impl.metamodel.ManagedViewTypeImpl;
 import com.blazebit.persistence.view.impl.metamodel.ManagedViewTypeImplementor;
 import com.blazebit.persistence.view.impl.metamodel.MappingConstructorImpl;
@@ -71,6 +72,7 @@ import com.blazebit.persistence.view.impl.objectbuilder.transformer.NonIndexedTu
 import com.blazebit.persistence.view.impl.objectbuilder.transformer.SingularMultisetTupleListTransformerFactory;
 import com.blazebit.persistence.view.impl.objectbuilder.transformer.SubviewTupleTransformerFactory;
 import com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation.BasicCorrelator;
+import com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation.CorrelatedAttributeCache;
 import com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation.CorrelatedCollectionBatchTupleListTransformerFactory;
 import com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation.CorrelatedCollectionSubselectTupleListTransformerFactory;
 import com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation.CorrelatedMapBatchTupleListTransformerFactory;
@@ -739,7 +741,7 @@ public class ViewTypeObjectBuilderTemplate<T> {
                         mapperBuilder.setTupleListTransformerFactory(new CorrelatedMapBatchTupleListTransformerFactory(
                                 new BasicCorrelator(),
                                 viewRoot, viewType, correlationResult, factory, attributePath, attribute.getFetches(), correlatesThis, viewRootIndex, embeddingViewIndex, startIndex, batchSize, correlationBasisType, correlationBasisEntity,
-                                createLimiter(mapperBuilder, correlationAlias, attribute),
+                                createLimiter(mapperBuilder, correlationAlias, attribute), attribute.getBatchFetchStatistics(), getCorrelationCache(attribute), isConcurrentBatchLoadable(attribute),
                                 indexFetches, indexExpression, indexCorrelator, attribute.getContainerAccumulator(),
                                 dirtyTracking
                         ));
@@ -750,7 +752,7 @@ public class ViewTypeObjectBuilderTemplate<T> {
                 mapperBuilder.setTupleListTransformerFactory(new CorrelatedCollectionBatchTupleListTransformerFactory(
                         new BasicCorrelator(),
                         viewRoot, viewType, correlationResult, factory, attributePath, attribute.getFetches(), correlatesThis, viewRootIndex, embeddingViewIndex, startIndex, batchSize, correlationBasisType, correlationBasisEntity,
-                        createLimiter(mapperBuilder, correlationAlias, attribute),
+                        createLimiter(mapperBuilder, correlationAlias, attribute), attribute.getBatchFetchStatistics(), getCorrelationCache(attribute), isConcurrentBatchLoadable(attribute),
                         indexFetches, indexExpression, indexCorrelator, attribute.getContainerAccumulator(),
                         dirtyTracking
                 ));
@@ -758,7 +760,7 @@ public class ViewTypeObjectBuilderTemplate<T> {
                 mapperBuilder.setTupleListTransformerFactory(new CorrelatedSingularBatchTupleListTransformerFactory(
                         new BasicCorrelator(),
                         viewRoot, viewType, correlationResult, factory, attributePath, attribute.getFetches(), correlatesThis, viewRootIndex, embeddingViewIndex, startIndex, batchSize, correlationBasisType, correlationBasisEntity,
-                        createLimiter(mapperBuilder, correlationAlias, attribute)));
+                        createLimiter(mapperBuilder, correlationAlias, attribute), attribute.getBatchFetchStatistics(), getCorrelationCache(attribute), isConcurrentBatchLoadable(attribute)));
             }
         } else if (attribute.getFetchStrategy() == FetchStrategy.SUBSELECT) {
             String subviewAliasPrefix = mapperBuilder.getAlias(attribute, false);
@@ -1092,7 +1094,7 @@ public class ViewTypeObjectBuilderTemplate<T> {
                         mapperBuilder.setTupleListTransformerFactory(new CorrelatedMapBatchTupleListTransformerFactory(
                                 new SubviewCorrelator(managedViewType, null, evm, subviewAliasPrefix, attributePath),
                                 viewRoot, viewType, correlationResult, factory, attributePath, attribute.getFetches(), correlatesThis, viewRootIndex, embeddingViewIndex, startIndex, batchSize, correlationBasisType, correlationBasisEntity,
-                                createLimiter(mapperBuilder, correlationAlias, attribute),
+                                createLimiter(mapperBuilder, correlationAlias, attribute), attribute.getBatchFetchStatistics(), getCorrelationCache(attribute), isConcurrentBatchLoadable(attribute),
                                 indexFetches, indexExpression, indexCorrelator, attribute.getContainerAccumulator(),
                                 dirtyTracking
                         ));
@@ -1103,7 +1105,7 @@ public class ViewTypeObjectBuilderTemplate<T> {
                 mapperBuilder.setTupleListTransformerFactory(new CorrelatedCollectionBatchTupleListTransformerFactory(
                         new SubviewCorrelator(managedViewType, null, evm, subviewAliasPrefix, attributePath),
                         viewRoot, viewType, correlationResult, factory, attributePath, attribute.getFetches(), correlatesThis, viewRootIndex, embeddingViewIndex, startIndex, batchSize, correlationBasisType, correlationBasisEntity,
-                        createLimiter(mapperBuilder, correlationAlias, attribute),
+                        createLimiter(mapperBuilder, correlationAlias, attribute), attribute.getBatchFetchStatistics(), getCorrelationCache(attribute), isConcurrentBatchLoadable(attribute),
                         indexFetches, indexExpression, indexCorrelator, attribute.getContainerAccumulator(),
                         dirtyTracking
                 ));
@@ -1111,7 +1113,7 @@ public class ViewTypeObjectBuilderTemplate<T> {
                 mapperBuilder.setTupleListTransformerFactory(new CorrelatedSingularBatchTupleListTransformerFactory(
                         new SubviewCorrelator(managedViewType, null, evm, subviewAliasPrefix, attributePath),
                         viewRoot, viewType, correlationResult, factory, attributePath, attribute.getFetches(), correlatesThis, viewRootIndex, embeddingViewIndex, startIndex, batchSize, correlationBasisType, correlationBasisEntity,
-                        createLimiter(mapperBuilder, correlationAlias, attribute)));
+                        createLimiter(mapperBuilder, correlationAlias, attribute), attribute.getBatchFetchStatistics(), getCorrelationCache(attribute), isConcurrentBatchLoadable(attribute)));
             }
         } else if (attribute.getFetchStrategy() == FetchStrategy.SUBSELECT) {
             String subviewAliasPrefix = mapperBuilder.getAlias(attribute, false);
@@ -1192,6 +1194,34 @@ public class ViewTypeObjectBuilderTemplate<T> {
         return "multiset_" + attributePath.replace('.', '_');
     }
 
+    private CorrelatedAttributeCache getCorrelationCache(AbstractAttribute<?, ?> attribute) {
+        Type<?> elementType = attribute.getElementType();
+        // Only entity views that are immutable and don't reach entities, also through subviews, can be shared across queries
+        if (!(attribute instanceof MethodAttribute<?, ?>) || !(elementType instanceof ManagedViewType<?>)) {
+            return null;
+        }
+        Set<Class<?>> entityClasses = DetachedTypeUtils.getShareableEntityClasses(elementType);
+        if (entityClasses == null) {
+            return null;
+        }
+        if (attribute instanceof MapAttribute<?, ?, ?>) {
+            Set<Class<?>> keyEntityClasses = DetachedTypeUtils.getShareableEntityClasses(((MapAttribute<?, ?, ?>) attribute).getKeyType());
+            if (keyEntityClasses == null) {
+                return null;
+            }
+            entityClasses.addAll(keyEntityClasses);
+        }
+        return new CorrelatedAttributeCache(evm.getCorrelationCache(), attribute.getDeclaringType().getJavaType(), ((MethodAttribute<?, ?>) attribute).getName(), entityClasses);
+    }
+
+    private static boolean isConcurrentBatchLoadable(AbstractAttribute<?, ?> attribute) {
+        // Batches loaded concurrently use a separate entity manager, so the results must not contain entities
+        if (attribute instanceof MapAttribute<?, ?, ?> && !DetachedTypeUtils.isEntityFree(((MapAttribute<?, ?, ?>) attribute).getKeyType())) {
+            return false;
+        }
+        return DetachedTypeUtils.isEntityFree(attribute.getElementType());
+    }
+
     private Limiter createLimiter(TupleElementMapperBuilder mapperBuilder, String prefix, Attribute<?, ?> attribute) {
         return createLimiter(mapperBuilder, prefix, attribute.getLimitExpression(), attribute.getOffsetExpression(), attribute.getOrderByItems());
     }
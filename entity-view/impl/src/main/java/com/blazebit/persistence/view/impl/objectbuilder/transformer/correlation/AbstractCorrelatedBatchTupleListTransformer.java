@@ -25,6 +25,7 @@ import com.blazebit.persistence.parser.expression.ExpressionFactory;
 import com.blazebit.persistence.view.CorrelationProvider;
 import com.blazebit.persistence.view.impl.BatchCorrelationMode;
 import com.blazebit.persistence.view.CorrelationProviderFactory;
+import com.blazebit.persistence.view.impl.BatchFetchStatisticsImpl;
 import com.blazebit.persistence.view.impl.EntityViewConfiguration;
 import com.blazebit.persistence.view.impl.macro.CorrelatedSubqueryEmbeddingViewJpqlMacro;
 import com.blazebit.persistence.view.impl.macro.CorrelatedSubqueryViewRootJpqlMacro;
@@ -38,13 +39,21 @@ import com.blazebit.persistence.view.metamodel.ManagedViewType;
 import com.blazebit.persistence.view.metamodel.ViewType;
 
 import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 import javax.persistence.Parameter;
 import javax.persistence.Query;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  *
@@ -61,6 +70,9 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
     protected final BatchCorrelationMode expectBatchCorrelationMode;
     protected final int valueIndex;
     protected final int keyIndex;
+    protected final BatchFetchStatisticsImpl batchFetchStatistics;
+    protected final CorrelatedAttributeCache correlationCache;
+    protected final boolean concurrentBatchLoadable;
 
     protected String correlationParamName;
     protected String correlationSelectExpression;
@@ -70,13 +82,30 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
     protected Query query;
 
     public AbstractCorrelatedBatchTupleListTransformer(ExpressionFactory ef, Correlator correlator, ContainerAccumulator<?> containerAccumulator, ManagedViewTypeImplementor<?> viewRootType, ManagedViewTypeImplementor<?> embeddingViewType, Expression correlationResult, CorrelationProviderFactory correlationProviderFactory, String attributePath, String[] fetches, String[] indexFetches,
-                                                       Expression indexExpression, Correlator indexCorrelator, boolean correlatesThis, int viewRootIndex, int embeddingViewIndex, int tupleIndex, int defaultBatchSize, Class<?> correlationBasisType, Class<?> correlationBasisEntity, Limiter limiter, EntityViewConfiguration entityViewConfiguration) {
+                                                       Expression indexExpression, Correlator indexCorrelator, boolean correlatesThis, int viewRootIndex, int embeddingViewIndex, int tupleIndex, int defaultBatchSize, Class<?> correlationBasisType, Class<?> correlationBasisEntity, Limiter limiter, BatchFetchStatisticsImpl batchFetchStatistics, CorrelatedAttributeCache correlationCache, boolean concurrentBatchLoadable, EntityViewConfiguration entityViewConfiguration) {
         super(ef, correlator, containerAccumulator, viewRootType, embeddingViewType, correlationResult, correlationProviderFactory, attributePath, fetches, indexFetches, indexExpression, indexCorrelator, viewRootIndex, embeddingViewIndex, tupleIndex, correlationBasisType, correlationBasisEntity, limiter, entityViewConfiguration);
-        this.batchSize = entityViewConfiguration.getBatchSize(attributePath, defaultBatchSize);
+        int batchSize = entityViewConfiguration.getBatchSize(attributePath, defaultBatchSize);
+        int batchSizeLimit = entityViewConfiguration.getAdaptiveBatchSizeLimit();
+        if (batchSize > 1 && batchSizeLimit > 1) {
+            int adaptiveBatchSize = batchFetchStatistics.getAdaptiveBatchSize(batchSizeLimit);
+            if (adaptiveBatchSize != -1) {
+                batchSize = adaptiveBatchSize;
+            }
+        }
+        this.batchSize = batchSize;
         this.correlatesThis = correlatesThis;
-        this.expectBatchCorrelationMode = entityViewConfiguration.getExpectBatchCorrelationValues(attributePath);
+        // Unless configured otherwise, we expect the batch mode that was used the last time to avoid building the query twice
+        BatchCorrelationMode observedBatchCorrelationMode = batchFetchStatistics.getBatchCorrelationMode();
+        if (observedBatchCorrelationMode == null) {
+            this.expectBatchCorrelationMode = entityViewConfiguration.getExpectBatchCorrelationValues(attributePath);
+        } else {
+            this.expectBatchCorrelationMode = entityViewConfiguration.getExpectBatchCorrelationValues(attributePath, observedBatchCorrelationMode);
+        }
         this.valueIndex = correlator.getElementOffset();
         this.keyIndex = valueIndex + 1;
+        this.batchFetchStatistics = batchFetchStatistics;
+        this.correlationCache = correlationCache != null && entityViewConfiguration.isCorrelationCacheEnabled(attributePath) ? correlationCache : null;
+        this.concurrentBatchLoadable = concurrentBatchLoadable;
     }
 
     private String generateCorrelationParamName() {
@@ -97,6 +126,10 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
     }
 
     private String applyAndGetCorrelationRoot(BatchCorrelationMode batchCorrelationMode) {
+        return applyAndGetCorrelationRoot(batchCorrelationMode, entityViewConfiguration.getCriteriaBuilder().getEntityManager());
+    }
+
+    private String applyAndGetCorrelationRoot(BatchCorrelationMode batchCorrelationMode, EntityManager entityManager) {
         Class<?> viewRootEntityClass = viewRootType.getEntityClass();
         Class<?> embeddingViewEntityClass = embeddingViewType.getEntityClass();
         String viewRootIdAttributePath = getEntityIdName(viewRootEntityClass);
@@ -124,7 +157,7 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
             embeddingViewExpression = CORRELATION_KEY_ALIAS;
         }
 
-        this.criteriaBuilder = queryBuilder.getCriteriaBuilderFactory().create(queryBuilder.getEntityManager(), Object[].class);
+        this.criteriaBuilder = queryBuilder.getCriteriaBuilderFactory().create(entityManager, Object[].class);
         if (queryBuilder instanceof CTEBuilder<?>) {
             this.criteriaBuilder.withCtesFrom((CTEBuilder<?>) queryBuilder);
         }
@@ -239,6 +272,13 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
             populateParameters(criteriaBuilder);
             query = criteriaBuilder.getQuery();
 
+            // Without view macros, the result only depends on the correlation value, the parameters and the filters or tenant of the entity manager which makes it cacheable
+            Object cacheContext = correlationCache == null ? null : correlationCache.createContext(entityViewConfiguration.getFetches(), getParameterValues(), jpaProvider.getSessionStateKey(em));
+            long cacheInvalidationGeneration = correlationCache == null ? 0L : correlationCache.getInvalidationGeneration();
+            List<Object> cacheMisses = cacheContext == null ? null : new ArrayList<>();
+            // Entities loaded through a separate entity manager would be detached, so only entity free results are loaded concurrently
+            Executor executor = batchSize > 1 && concurrentBatchLoadable ? entityViewConfiguration.getCorrelationBatchExecutor() : null;
+            List<List<Object>> concurrentBatches = executor == null ? null : new ArrayList<List<Object>>();
             Map<Object, TuplePromise> correlationValues = new HashMap<>(tuples.size());
             while (tupleListIter.hasNext()) {
                 Object[] tuple = tupleListIter.next();
@@ -252,21 +292,30 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
                     correlationValues.put(correlationValue, tupleIndexValue);
 
                     // Can't correlate null
-                    if (correlationValue != null) {
-                        if (correlationBasisEntity != null) {
+                    if (correlationValue != null && !resolveFromCache(cacheContext, correlationValue, tupleIndexValue)) {
+                        if (cacheMisses != null) {
+                            cacheMisses.add(correlationValue);
+                        }
+                        if (correlationBasisEntity != null && concurrentBatches == null) {
                             correlationParams.add(em.getReference(correlationBasisEntity, correlationValue));
                         } else {
+                            // For concurrent batches, the references are created with the entity manager of the batch
                             correlationParams.add(correlationValue);
                         }
 
                         if (batchSize == correlationParams.realSize()) {
-                            Object defaultKey;
-                            if (correlationBasisEntity != null) {
-                                defaultKey = jpaProvider.getIdentifier(correlationParams.get(0));
+                            if (concurrentBatches != null) {
+                                concurrentBatches.add(Arrays.asList(correlationParams.toArray().clone()));
+                                correlationParams.reset();
                             } else {
-                                defaultKey = correlationParams.get(0);
+                                Object defaultKey;
+                                if (correlationBasisEntity != null) {
+                                    defaultKey = jpaProvider.getIdentifier(correlationParams.get(0));
+                                } else {
+                                    defaultKey = correlationParams.get(0);
+                                }
+                                batchLoad(correlationValues, correlationParams, null, defaultKey, viewRootJpqlMacro, BatchCorrelationMode.VALUES);
                             }
-                            batchLoad(correlationValues, correlationParams, null, defaultKey, viewRootJpqlMacro, BatchCorrelationMode.VALUES);
                         }
                     }
                 } else {
@@ -275,16 +324,59 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
             }
 
             if (correlationParams.realSize() > 0) {
-                batchLoad(correlationValues, correlationParams, null, null, viewRootJpqlMacro, BatchCorrelationMode.VALUES);
+                if (concurrentBatches == null) {
+                    batchLoad(correlationValues, correlationParams, null, null, viewRootJpqlMacro, BatchCorrelationMode.VALUES);
+                } else {
+                    correlationParams.clearRest();
+                    concurrentBatches.add(Arrays.asList(correlationParams.toArray().clone()));
+                    correlationParams.reset();
+                }
+            }
+            if (concurrentBatches != null) {
+                concurrentBatchLoad(correlationValues, concurrentBatches, correlationParams, executor, tupleOffset, correlationRoot);
             }
 
             fillDefaultValues(Collections.singletonMap(null, correlationValues));
+            if (cacheMisses != null) {
+                for (Object correlationValue : cacheMisses) {
+                    Object result = correlationValues.get(correlationValue).getResult();
+                    // Empty singular results are not cached as null denotes a cache miss
+                    if (result != null) {
+                        correlationCache.put(cacheContext, correlationValue, copy(result), cacheInvalidationGeneration);
+                    }
+                }
+            }
+            batchFetchStatistics.record(BatchCorrelationMode.VALUES, correlationValues.size());
         }
 
         consumeTupleMacroViewValues(tuples);
         return tuples;
     }
 
+    private boolean resolveFromCache(Object cacheContext, Object correlationValue, TuplePromise tuplePromise) {
+        if (cacheContext == null) {
+            return false;
+        }
+        Object result = correlationCache.get(cacheContext, correlationValue);
+        if (result == null) {
+            return false;
+        }
+        // The cached container must not be handed out as the tuples might modify it
+        tuplePromise.onResult(copy(result), this);
+        return true;
+    }
+
+    private Map<String, Object> getParameterValues() {
+        Map<String, Object> parameterValues = new HashMap<>();
+        for (Parameter<?> parameter : criteriaBuilder.getParameters()) {
+            String name = parameter.getName();
+            if (!name.equals(correlationParamName) && criteriaBuilder.isParameterSet(name)) {
+                parameterValues.put(name, criteriaBuilder.getParameterValue(name));
+            }
+        }
+        return parameterValues;
+    }
+
     @Override
     protected void populateParameters(FullQueryBuilder<?, ?> queryBuilder) {
         FullQueryBuilder<?, ?> mainBuilder = entityViewConfiguration.getCriteriaBuilder();
@@ -362,6 +454,8 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
 
         boolean batchCorrelationValues = !macro.usesViewMacro() && viewRoots.size() <= correlationValues.size();
         FixedArrayList viewRootIds = new FixedArrayList(batchSize);
+        // Batches never span multiple groups, so the largest group determines the batch cardinality
+        int batchCardinality = 0;
 
         if (batchCorrelationValues) {
             if (batchSize > 1) {
@@ -388,6 +482,7 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
 
             for (Map.Entry<Object, Map<Object, TuplePromise>> batchEntry : viewRoots.entrySet()) {
                 Map<Object, TuplePromise> batchValues = batchEntry.getValue();
+                batchCardinality = Math.max(batchCardinality, batchValues.size());
                 for (Map.Entry<Object, TuplePromise> batchValueEntry : batchValues.entrySet()) {
                     if (correlationBasisEntity != null) {
                         correlationParams.add(em.getReference(correlationBasisEntity, batchValueEntry.getKey()));
@@ -414,6 +509,7 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
             }
 
             fillDefaultValues(viewRoots);
+            batchFetchStatistics.record(BatchCorrelationMode.VALUES, batchCardinality);
         } else {
             if (batchSize > 1) {
                 // If the expectation was wrong, we have to create a new criteria builder
@@ -439,6 +535,7 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
 
             for (Map.Entry<Object, Map<Object, TuplePromise>> batchEntry : correlationValues.entrySet()) {
                 Map<Object, TuplePromise> batchValues = batchEntry.getValue();
+                batchCardinality = Math.max(batchCardinality, batchValues.size());
                 for (Map.Entry<Object, TuplePromise> batchValueEntry : batchValues.entrySet()) {
                     viewRootIds.add(batchValueEntry.getKey());
 
@@ -464,6 +561,7 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
             }
 
             fillDefaultValues(correlationValues);
+            batchFetchStatistics.record(correlationMode, batchCardinality);
         }
     }
 
@@ -496,6 +594,128 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
         }
     }
 
+    private void concurrentBatchLoad(Map<Object, TuplePromise> correlationValues, List<List<Object>> batches, FixedArrayList correlationParams, Executor executor, int tupleOffset, String correlationRoot) {
+        if (batches.size() == 1) {
+            // A single batch is loaded on the calling thread with the already prepared query
+            EntityManager em = criteriaBuilder.getEntityManager();
+            for (Object correlationValue : batches.get(0)) {
+                if (correlationValue != null) {
+                    correlationParams.add(correlationBasisEntity == null ? correlationValue : em.getReference(correlationBasisEntity, correlationValue));
+                }
+            }
+            batchLoad(correlationValues, correlationParams, null, null, viewRootJpqlMacro, BatchCorrelationMode.VALUES);
+            return;
+        }
+
+        EntityManagerFactory emf = criteriaBuilder.getEntityManager().getEntityManagerFactory();
+        List<EntityManager> entityManagers = new ArrayList<>(batches.size());
+        List<FutureTask<List<Object>>> tasks = new ArrayList<>(batches.size());
+        Throwable failure = null;
+        boolean interrupted = false;
+        try {
+            // Queries are built on the calling thread as the query builders and macros of this transformer are not thread safe
+            for (List<Object> batch : batches) {
+                EntityManager batchEntityManager = emf.createEntityManager();
+                entityManagers.add(batchEntityManager);
+                final Query batchQuery = createBatchQuery(batchEntityManager, tupleOffset, correlationRoot);
+                if (criteriaBuilder.containsParameter(correlationParamName)) {
+                    if (correlationBasisEntity != null) {
+                        for (int i = 0; i < batch.size(); i++) {
+                            Object correlationValue = batch.get(i);
+                            if (correlationValue != null) {
+                                batch.set(i, batchEntityManager.getReference(correlationBasisEntity, correlationValue));
+                            }
+                        }
+                    }
+                    batchQuery.setParameter(correlationParamName, batch);
+                }
+                tasks.add(new FutureTask<>(new Callable<List<Object>>() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public List<Object> call() {
+                        return (List<Object>) batchQuery.getResultList();
+                    }
+                }));
+            }
+            for (FutureTask<List<Object>> task : tasks) {
+                try {
+                    executor.execute(task);
+                } catch (RejectedExecutionException ex) {
+                    task.run();
+                }
+            }
+            // Wait for all tasks, even if one fails, so that no entity manager is closed while still in use
+            for (FutureTask<List<Object>> task : tasks) {
+                // Run tasks that the executor didn't start yet on the calling thread, which might itself be a thread of the executor.
+                // This is a no-op for tasks that are already running or done, so we only ever wait for tasks that make progress
+                task.run();
+                while (true) {
+                    try {
+                        List<Object> result = task.get();
+                        if (failure == null) {
+                            populateResult(correlationValues, null, result);
+                        }
+                        break;
+                    } catch (InterruptedException ex) {
+                        interrupted = true;
+                    } catch (ExecutionException ex) {
+                        if (failure == null) {
+                            failure = ex.getCause();
+                        } else {
+                            failure.addSuppressed(ex.getCause());
+                        }
+                        break;
+                    }
+                }
+            }
+        } finally {
+            for (EntityManager entityManager : entityManagers) {
+                entityManager.close();
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        } else if (failure instanceof Error) {
+            throw (Error) failure;
+        } else if (failure != null) {
+            throw new RuntimeException(failure);
+        }
+    }
+
+    private Query createBatchQuery(EntityManager entityManager, int tupleOffset, String correlationRoot) {
+        // The batch query is built on a separate builder, the state of this transformer must stay bound to the caller's entity manager
+        CriteriaBuilder<?> originalCriteriaBuilder = criteriaBuilder;
+        CorrelatedSubqueryViewRootJpqlMacro originalViewRootJpqlMacro = viewRootJpqlMacro;
+        CorrelatedSubqueryEmbeddingViewJpqlMacro originalEmbeddingViewJpqlMacro = embeddingViewJpqlMacro;
+        String originalCorrelationParamName = correlationParamName;
+        String originalCorrelationSelectExpression = correlationSelectExpression;
+        try {
+            applyAndGetCorrelationRoot(BatchCorrelationMode.VALUES, entityManager);
+            CriteriaBuilder<?> batchCriteriaBuilder = criteriaBuilder;
+            // Nested correlations of the batch query run on a thread of the executor, so they load their batches on that thread
+            EntityViewConfiguration batchConfiguration = entityViewConfiguration.withoutCorrelationBatchExecutor();
+            ObjectBuilder<?> objectBuilder = correlator.finish(batchCriteriaBuilder, batchConfiguration, 0, tupleOffset, correlationRoot, embeddingViewJpqlMacro, true);
+            batchCriteriaBuilder.select(correlationSelectExpression);
+            if (indexCorrelator != null) {
+                ObjectBuilder<?> indexBuilder = indexCorrelator.finish(batchCriteriaBuilder, batchConfiguration, tupleOffset, 0, indexExpression, embeddingViewJpqlMacro, true);
+                if (indexBuilder != null) {
+                    batchCriteriaBuilder.selectNew(new LateAdditionalObjectBuilder(objectBuilder, indexBuilder, false));
+                }
+            }
+            populateParameters(batchCriteriaBuilder);
+            return batchCriteriaBuilder.getQuery();
+        } finally {
+            criteriaBuilder = originalCriteriaBuilder;
+            viewRootJpqlMacro = originalViewRootJpqlMacro;
+            embeddingViewJpqlMacro = originalEmbeddingViewJpqlMacro;
+            correlationParamName = originalCorrelationParamName;
+            correlationSelectExpression = originalCorrelationSelectExpression;
+        }
+    }
+
     protected void populateResult(Map<Object, TuplePromise> correlationValues, Object defaultKey, List<Object> list) {
         if (batchSize == 1) {
             if (indexCorrelator == null && indexExpression == null) {
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation;
+
+import com.blazebit.persistence.view.spi.CorrelationCache;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Binds a {@link CorrelationCache} to a correlated attribute and creates the cache keys for it.
+ *
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+public final class CorrelatedAttributeCache {
+
+    private final CorrelationCache correlationCache;
+    private final Class<?> declaringViewClass;
+    private final String attributeName;
+    private final Set<Class<?>> entityClasses;
+
+    public CorrelatedAttributeCache(CorrelationCache correlationCache, Class<?> declaringViewClass, String attributeName, Set<Class<?>> entityClasses) {
+        this.correlationCache = correlationCache;
+        this.declaringViewClass = declaringViewClass;
+        this.attributeName = attributeName;
+        this.entityClasses = entityClasses;
+    }
+
+    public Object createContext(Set<String> fetches, Map<String, Object> parameterValues, Object sessionStateKey) {
+        return new Context(declaringViewClass, attributeName, fetches, parameterValues, sessionStateKey);
+    }
+
+    public Object get(Object context, Object correlationValue) {
+        return correlationCache.get(new Key(context, correlationValue));
+    }
+
+    public long getInvalidationGeneration() {
+        return correlationCache.getInvalidationGeneration();
+    }
+
+    public void put(Object context, Object correlationValue, Object value, long invalidationGeneration) {
+        correlationCache.put(new Key(context, correlationValue), entityClasses, value, invalidationGeneration);
+    }
+
+    /**
+     * @author Christian Beikov
+     * @since 1.6.0
+     */
+    private static final class Context {
+        private final Class<?> declaringViewClass;
+        private final String attributeName;
+        private final Set<String> fetches;
+        private final Map<String, Object> parameterValues;
+        private final Object sessionStateKey;
+        private final int hashCode;
+
+        public Context(Class<?> declaringViewClass, String attributeName, Set<String> fetches, Map<String, Object> parameterValues, Object sessionStateKey) {
+            this.declaringViewClass = declaringViewClass;
+            this.attributeName = attributeName;
+            this.fetches = fetches;
+            this.parameterValues = parameterValues;
+            this.sessionStateKey = sessionStateKey;
+            int hashCode = declaringViewClass.hashCode();
+            hashCode = 31 * hashCode + attributeName.hashCode();
+            hashCode = 31 * hashCode + fetches.hashCode();
+            hashCode = 31 * hashCode + parameterValues.hashCode();
+            hashCode = 31 * hashCode + (sessionStateKey == null ? 0 : sessionStateKey.hashCode());
+            this.hashCode = hashCode;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Context)) {
+                return false;
+            }
+
+            Context context = (Context) o;
+            return hashCode == context.hashCode
+                    && declaringViewClass.equals(context.declaringViewClass)
+                    && attributeName.equals(context.attributeName)
+                    && fetches.equals(context.fetches)
+                    && parameterValues.equals(context.parameterValues)
+                    && (sessionStateKey == null ? context.sessionStateKey == null : sessionStateKey.equals(context.sessionStateKey));
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * @author Christian Beikov
+     * @since 1.6.0
+     */
+    private static final class Key {
+        private final Object context;
+        private final Object correlationValue;
+
+        public Key(Object context, Object correlationValue) {
+            this.context = context;
+            this.correlationValue = correlationValue;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            Key key = (Key) o;
+            return context.equals(key.context) && correlationValue.equals(key.correlationValue);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * context.hashCode() + correlationValue.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            Context c = (Context) context;
+            return "CorrelatedAttributeCache.Key(" + c.declaringViewClass.getName() + "." + c.attributeName + ", " + correlationValue + ")";
+        }
+    }
+}
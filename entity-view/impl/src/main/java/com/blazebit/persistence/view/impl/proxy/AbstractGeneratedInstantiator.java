@@ -0,0 +1,156 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.impl.proxy;
+
+import com.blazebit.persistence.view.spi.type.TypeConverter;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Base class for the instantiators generated by {@link ProxyFactory#getInstantiator}.
+ * Subclasses invoke the proxy constructor directly rather than through reflection.
+ *
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+public abstract class AbstractGeneratedInstantiator<T> extends AbstractReflectionInstantiator<T> {
+
+    /**
+     * The type converters indexed by constructor parameter, <code>null</code> if the parameter has no converter.
+     */
+    protected final TypeConverter<Object, Object>[] parameterConverters;
+
+    @SuppressWarnings("unchecked")
+    public AbstractGeneratedInstantiator(List<MutableBasicUserTypeEntry> mutableBasicUserTypes, List<TypeConverterEntry> typeConverterEntries, Class<?>[] parameterTypes) {
+        super(mutableBasicUserTypes, typeConverterEntries, parameterTypes);
+        TypeConverter<Object, Object>[] parameterConverters = new TypeConverter[parameterTypes.length];
+        for (TypeConverterEntry typeConverterEntry : typeConverterEntries) {
+            parameterConverters[typeConverterEntry.index] = typeConverterEntry.typeConverter;
+        }
+        this.parameterConverters = parameterConverters;
+    }
+
+    @Override
+    public final T newInstance(Object[] tuple) {
+        try {
+            T instance = createInstance(tuple);
+            finalizeInstance(instance);
+            return instance;
+        } catch (Exception ex) {
+            String[] types = new String[tuple.length];
+
+            for (int i = 0; i < types.length; i++) {
+                if (tuple[i] == null) {
+                    types[i] = null;
+                } else {
+                    types[i] = tuple[i].getClass().getName();
+                }
+            }
+            throw new RuntimeException("Could not invoke the generated instantiator '" + getClass().getName() + "' with the given tuple: " + Arrays.toString(tuple) + " with the types: " + Arrays.toString(types), ex);
+        }
+    }
+
+    protected abstract T createInstance(Object[] tuple);
+
+    /*
+     * The unwrap methods only accept the wrapper types that reflective constructor invocation accepts for the primitive type,
+     * i.e. the exact wrapper type and the wrapper types of primitives that can be widened to it.
+     */
+
+    protected static boolean unwrapBoolean(Object value) {
+        if (value instanceof Boolean) {
+            return ((Boolean) value).booleanValue();
+        }
+        throw argumentTypeMismatch(value, boolean.class);
+    }
+
+    protected static char unwrapChar(Object value) {
+        if (value instanceof Character) {
+            return ((Character) value).charValue();
+        }
+        throw argumentTypeMismatch(value, char.class);
+    }
+
+    protected static byte unwrapByte(Object value) {
+        if (value instanceof Byte) {
+            return ((Byte) value).byteValue();
+        }
+        throw argumentTypeMismatch(value, byte.class);
+    }
+
+    protected static short unwrapShort(Object value) {
+        if (value instanceof Short) {
+            return ((Short) value).shortValue();
+        } else if (value instanceof Byte) {
+            return ((Byte) value).byteValue();
+        }
+        throw argumentTypeMismatch(value, short.class);
+    }
+
+    protected static int unwrapInt(Object value) {
+        if (value instanceof Integer) {
+            return ((Integer) value).intValue();
+        } else if (value instanceof Character) {
+            return ((Character) value).charValue();
+        } else if (value instanceof Short) {
+            return ((Short) value).shortValue();
+        } else if (value instanceof Byte) {
+            return ((Byte) value).byteValue();
+        }
+        throw argumentTypeMismatch(value, int.class);
+    }
+
+    protected static long unwrapLong(Object value) {
+        if (value instanceof Long) {
+            return ((Long) value).longValue();
+        }
+        return widenInt(value, long.class);
+    }
+
+    protected static float unwrapFloat(Object value) {
+        if (value instanceof Float) {
+            return ((Float) value).floatValue();
+        } else if (value instanceof Long) {
+            return ((Long) value).longValue();
+        }
+        return widenInt(value, float.class);
+    }
+
+    protected static double unwrapDouble(Object value) {
+        if (value instanceof Double) {
+            return ((Double) value).doubleValue();
+        } else if (value instanceof Float) {
+            return ((Float) value).floatValue();
+        } else if (value instanceof Long) {
+            return ((Long) value).longValue();
+        }
+        return widenInt(value, double.class);
+    }
+
+    private static int widenInt(Object value, Class<?> targetType) {
+        if (value instanceof Integer || value instanceof Character || value instanceof Short || value instanceof Byte) {
+            return unwrapInt(value);
+        }
+        throw argumentTypeMismatch(value, targetType);
+    }
+
+    private static IllegalArgumentException argumentTypeMismatch(Object value, Class<?> targetType) {
+        return new IllegalArgumentException("argument type mismatch: " + value.getClass().getName() + " can't be converted to " + targetType.getName());
+    }
+
+}
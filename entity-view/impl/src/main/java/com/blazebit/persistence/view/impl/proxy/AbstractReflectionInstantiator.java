@@ -89,6 +89,9 @@ public abstract class AbstractReflectionInstantiator<T> implements ObjectInstant
     }
 
     public static <T> ObjectInstantiator<T> createInstantiator(MappingConstructorImpl<T> mappingConstructor, ProxyFactory proxyFactory, ManagedViewTypeImplementor<T> managedViewType, Class<?>[] constructorParameterTypes, EntityViewManagerImpl evm, List<MutableBasicUserTypeEntry> mutableBasicUserTypes, List<TypeConverterEntry> typeConverterEntries) {
+        if (proxyFactory.isInstantiatorGeneration()) {
+            return proxyFactory.getInstantiator(evm, managedViewType, mappingConstructor, constructorParameterTypes, mutableBasicUserTypes, typeConverterEntries);
+        }
         if (managedViewType.getJavaType().isInterface() || Modifier.isAbstract(managedViewType.getJavaType().getModifiers())) {
             return new TupleConstructorReflectionInstantiator<>(mappingConstructor, proxyFactory, managedViewType, constructorParameterTypes, evm, mutableBasicUserTypes, typeConverterEntries);
         } else {
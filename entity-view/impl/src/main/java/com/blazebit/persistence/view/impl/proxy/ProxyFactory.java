@@ -133,9 +133,11 @@ public class ProxyFactory {
     private final ConcurrentMap<Class<?>, Class<?>> proxyClasses = new ConcurrentHashMap<>();
     private final ConcurrentMap<Class<?>, Class<?>> unsafeProxyClasses = new ConcurrentHashMap<>();
     private final ConcurrentMap<Class<?>, Class<?>> proxyClassesToViewClasses = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Class<?>> instantiatorClasses = new ConcurrentHashMap<>();
     private final Object proxyLock = new Object();
     private final ClassPool pool;
     private final boolean unsafeDisabled;
+    private final boolean instantiatorGeneration;
     private final boolean strictCascadingCheck;
     private final PackageOpener packageOpener;
 
@@ -155,10 +157,15 @@ public class ProxyFactory {
     }
 
     public ProxyFactory(boolean unsafeDisabled, boolean strictCascadingCheck, PackageOpener packageOpener) {
+        this(unsafeDisabled, false, strictCascadingCheck, packageOpener);
+    }
+
+    public ProxyFactory(boolean unsafeDisabled, boolean instantiatorGeneration, boolean strictCascadingCheck, PackageOpener packageOpener) {
         ClassPool pool = new ClassPool((ClassPool) null);
         pool.appendSystemPath();
         this.pool = pool;
         this.unsafeDisabled = unsafeDisabled;
+        this.instantiatorGeneration = instantiatorGeneration;
         this.strictCascadingCheck = strictCascadingCheck;
         this.packageOpener = packageOpener;
     }
@@ -175,6 +182,189 @@ public class ProxyFactory {
         return (Class<T>) proxyClassesToViewClasses.get(implementationClass);
     }
 
+    public boolean isInstantiatorGeneration() {
+        return instantiatorGeneration;
+    }
+
+    /**
+     * Returns an instantiator for the given view type and constructor parameter types, that invokes the proxy constructor without reflection.
+     * For concrete view types, the tuple elements are unboxed and converted inline. For interface or abstract class view types,
+     * the tuple constructor of the proxy is invoked.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ObjectInstantiator<T> getInstantiator(EntityViewManager entityViewManager, ManagedViewTypeImplementor<T> viewType, MappingConstructorImpl<T> mappingConstructor, Class<?>[] parameterTypes,
+                                                     List<AbstractReflectionInstantiator.MutableBasicUserTypeEntry> mutableBasicUserTypes, List<AbstractReflectionInstantiator.TypeConverterEntry> typeConverterEntries) {
+        Class<? extends T> proxyClass = getProxy(entityViewManager, viewType);
+        Class<T> clazz = viewType.getJavaType();
+        boolean tupleStyle = clazz.isInterface() || Modifier.isAbstract(clazz.getModifiers());
+        int idSwapIndex = viewType instanceof ViewType<?> ? ((AbstractMethodAttribute<?, ?>) ((ViewType<?>) viewType).getIdAttribute()).getAttributeIndex() : 0;
+        int superConstructorParameterCount = mappingConstructor == null ? 0 : mappingConstructor.getParameterAttributes().size();
+        boolean[] convertedParameters = new boolean[parameterTypes.length];
+        for (AbstractReflectionInstantiator.TypeConverterEntry typeConverterEntry : typeConverterEntries) {
+            convertedParameters[typeConverterEntry.index] = true;
+        }
+
+        // The signature determines the generated code. Proxy factories sharing a class loader reuse instantiator classes by name,
+        // so the class name must encode the full signature rather than a hash of it
+        StringBuilder signatureBuilder = new StringBuilder();
+        if (tupleStyle) {
+            signatureBuilder.append("tuple:").append(superConstructorParameterCount);
+        } else {
+            signatureBuilder.append("direct:").append(idSwapIndex);
+        }
+        for (int i = 0; i < parameterTypes.length; i++) {
+            signatureBuilder.append(convertedParameters[i] ? '!' : ';').append(parameterTypes[i].getName());
+        }
+        String signature = signatureBuilder.toString();
+        String instantiatorClassName = proxyClass.getName() + "_$$_instantiator_" + escapeClassNamePart(signature);
+        Class<?> instantiatorClass = instantiatorClasses.get(instantiatorClassName);
+
+        // Double checked locking since we can only define the class once
+        if (instantiatorClass == null) {
+            synchronized (proxyLock) {
+                instantiatorClass = instantiatorClasses.get(instantiatorClassName);
+                if (instantiatorClass == null) {
+                    instantiatorClass = createInstantiatorClass(instantiatorClassName, proxyClass, tupleStyle, idSwapIndex, superConstructorParameterCount, parameterTypes, convertedParameters);
+                    instantiatorClasses.put(instantiatorClassName, instantiatorClass);
+                }
+            }
+        }
+
+        try {
+            return (ObjectInstantiator<T>) instantiatorClass.getConstructor(List.class, List.class, Class[].class).newInstance(mutableBasicUserTypes, typeConverterEntries, parameterTypes);
+        } catch (Exception ex) {
+            throw new RuntimeException("Could not create the generated instantiator '" + instantiatorClass.getName() + "' for the mapping constructor '" + mappingConstructor + "' of the proxy class: " + proxyClass.getName(), ex);
+        }
+    }
+
+    private Class<?> createInstantiatorClass(String instantiatorClassName, Class<?> proxyClass, boolean tupleStyle, int idSwapIndex, int superConstructorParameterCount, Class<?>[] parameterTypes, boolean[] convertedParameters) {
+        CtClass cc = pool.makeClass(instantiatorClassName);
+        ClassPath classPath = new ClassClassPath(proxyClass);
+        pool.insertClassPath(classPath);
+
+        try {
+            cc.setSuperclass(pool.get(AbstractGeneratedInstantiator.class.getName()));
+            CtClass listCc = pool.get(List.class.getName());
+            CtConstructor ctConstructor = new CtConstructor(new CtClass[]{ listCc, listCc, pool.get("java.lang.Class[]") }, cc);
+            ctConstructor.setModifiers(Modifier.PUBLIC);
+            ctConstructor.setBody("{ super($1, $2, $3); }");
+            cc.addConstructor(ctConstructor);
+
+            StringBuilder sb = new StringBuilder();
+            sb.append("protected Object createInstance(Object[] tuple) {\n");
+            if (tupleStyle) {
+                // The tuple constructor of the proxy reads and unboxes the tuple elements itself
+                sb.append("\tthis.prepareTuple(tuple);\n");
+                sb.append("\treturn new ").append(proxyClass.getName()).append("((").append(proxyClass.getName()).append(") null, 0, tuple");
+                for (int i = parameterTypes.length - superConstructorParameterCount; i < parameterTypes.length; i++) {
+                    sb.append(", ");
+                    appendDefaultValue(sb, parameterTypes[i]);
+                }
+                sb.append(");\n");
+            } else {
+                for (int i = 0; i < parameterTypes.length; i++) {
+                    int tupleIndex = i;
+                    if (idSwapIndex != 0) {
+                        if (i == 0) {
+                            tupleIndex = idSwapIndex;
+                        } else if (i == idSwapIndex) {
+                            tupleIndex = 0;
+                        }
+                    }
+                    sb.append("\tObject o").append(i).append(" = ");
+                    if (convertedParameters[i]) {
+                        sb.append("this.parameterConverters[").append(i).append("].convertToViewType(tuple[").append(tupleIndex).append("]);\n");
+                    } else {
+                        sb.append("tuple[").append(tupleIndex).append("];\n");
+                    }
+                    if (parameterTypes[i].isPrimitive()) {
+                        sb.append("\t").append(parameterTypes[i].getName()).append(" p").append(i).append(" = ");
+                        appendDefaultValue(sb, parameterTypes[i]);
+                        sb.append(";\n");
+                        sb.append("\tif (o").append(i).append(" != null) {\n");
+                        sb.append("\t\tp").append(i).append(" = ");
+                        appendPrimitiveUnwrap(sb, parameterTypes[i], "o" + i);
+                        sb.append(";\n");
+                        sb.append("\t}\n");
+                    }
+                }
+                sb.append("\treturn new ").append(proxyClass.getName()).append("(");
+                for (int i = 0; i < parameterTypes.length; i++) {
+                    if (i != 0) {
+                        sb.append(", ");
+                    }
+                    if (parameterTypes[i].isPrimitive()) {
+                        sb.append("p").append(i);
+                    } else {
+                        sb.append("(").append(getSourceTypeName(parameterTypes[i])).append(") o").append(i);
+                    }
+                }
+                sb.append(");\n");
+            }
+            sb.append("}");
+            cc.addMethod(CtMethod.make(sb.toString(), cc));
+
+            return defineOrGetClass(proxyClass, proxyClass, cc);
+        } catch (Exception ex) {
+            throw new RuntimeException("Probably we did something wrong, please contact us if you see this message.", ex);
+        } finally {
+            pool.removeClassPath(classPath);
+        }
+    }
+
+    private static void appendDefaultValue(StringBuilder sb, Class<?> type) {
+        if (type == long.class) {
+            sb.append("0L");
+        } else if (type == float.class) {
+            sb.append("0F");
+        } else if (type == double.class) {
+            sb.append("0D");
+        } else if (type == int.class) {
+            sb.append("0");
+        } else if (type == short.class) {
+            sb.append("(short) 0");
+        } else if (type == byte.class) {
+            sb.append("(byte) 0");
+        } else if (type == boolean.class) {
+            sb.append("false");
+        } else if (type == char.class) {
+            sb.append("(char) 0");
+        } else {
+            sb.append("(").append(getSourceTypeName(type)).append(") null");
+        }
+    }
+
+    private static void appendPrimitiveUnwrap(StringBuilder sb, Class<?> type, String input) {
+        // The unwrap methods reject the same wrapper types as reflective invocation instead of narrowing them
+        String typeName = type.getName();
+        sb.append(AbstractGeneratedInstantiator.class.getName()).append(".unwrap")
+                .append(Character.toUpperCase(typeName.charAt(0))).append(typeName, 1, typeName.length())
+                .append("(").append(input).append(")");
+    }
+
+    /**
+     * Escapes every character that is not a letter or digit, including the escape character itself, so that distinct inputs produce distinct class name parts.
+     */
+    private static String escapeClassNamePart(String part) {
+        StringBuilder sb = new StringBuilder(part.length() * 2);
+        for (int i = 0; i < part.length(); i++) {
+            char c = part.charAt(i);
+            if (c < 128 && Character.isLetterOrDigit(c)) {
+                sb.append(c);
+            } else {
+                sb.append('_').append(Integer.toHexString(c)).append('_');
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String getSourceTypeName(Class<?> type) {
+        if (type.isArray()) {
+            return getSourceTypeName(type.getComponentType()) + "[]";
+        }
+        return type.getName();
+    }
+
     private static String getImplementationClassName(Class<?> javaType, Class<?> baseJavaType) {
         String fqcn = javaType.getName();
         StringBuilder sb = new StringBuilder(fqcn.length() + IMPL_CLASS_NAME_SUFFIX.length() + baseJavaType.getSimpleName().length());
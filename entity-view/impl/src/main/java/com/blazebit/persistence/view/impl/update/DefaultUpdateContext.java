@@ -77,6 +77,7 @@ public class DefaultUpdateContext implements UpdateContext, FlushOperationBuilde
     private final boolean forceFull;
     private final boolean forceEntity;
     private final boolean remove;
+    private final boolean bulk;
     private final Class<?> entityViewClass;
     private final Object object;
     private final Object entity;
@@ -89,12 +90,21 @@ public class DefaultUpdateContext implements UpdateContext, FlushOperationBuilde
     private List<PostFlushDeleter> orphanRemovalDeleters = new ArrayList<>();
 
     public DefaultUpdateContext(EntityViewManagerImpl evm, EntityManager em, boolean forceFull, boolean forceEntity, boolean remove, Class<?> entityViewClass, Object object, Object entity) {
+        this(evm, em, forceFull, forceEntity, remove, false, entityViewClass, object, entity);
+    }
+
+    public DefaultUpdateContext(EntityViewManagerImpl evm, EntityManager em, boolean forceFull, Iterable<?> objects) {
+        this(evm, em, forceFull, true, false, true, null, objects, null);
+    }
+
+    private DefaultUpdateContext(EntityViewManagerImpl evm, EntityManager em, boolean forceFull, boolean forceEntity, boolean remove, boolean bulk, Class<?> entityViewClass, Object object, Object entity) {
         this.evm = evm;
         this.em = em;
         this.forceFull = forceFull;
         this.transactionAccess = TransactionHelper.getTransactionAccess(em);
         this.forceEntity = forceEntity;
         this.remove = remove;
+        this.bulk = bulk;
         this.entityViewClass = entityViewClass;
         this.object = object;
         this.entity = entity;
@@ -676,7 +686,9 @@ public class DefaultUpdateContext implements UpdateContext, FlushOperationBuilde
 
     @Override
     public void flush() {
-        if (remove) {
+        if (bulk) {
+            evm.updateAll(this, (Iterable<?>) object);
+        } else if (remove) {
             if (entityViewClass == null) {
                 evm.remove(this, object);
             } else {
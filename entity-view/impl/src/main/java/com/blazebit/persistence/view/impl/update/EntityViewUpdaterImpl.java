@@ -99,6 +99,7 @@ import javax.persistence.metamodel.EntityType;
 import javax.persistence.metamodel.ManagedType;
 import javax.persistence.metamodel.SingularAttribute;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -108,6 +109,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  *
@@ -117,6 +120,7 @@ import java.util.TreeMap;
 public class EntityViewUpdaterImpl implements EntityViewUpdater {
 
     public static final String WHERE_CLAUSE_PREFIX = "_";
+    private static final int MAX_UPDATE_QUERY_CACHE_SIZE = 256;
 
     private final boolean rootUpdateAllowed;
     private final ManagedViewTypeImplementor<?> managedViewType;
@@ -129,6 +133,7 @@ public class EntityViewUpdaterImpl implements EntityViewUpdater {
     private final String updatePostfixString;
     private final String versionedUpdatePostfixString;
     private final String fullUpdateQueryString;
+    private final ConcurrentMap<UpdateQueryFragmentMask, PartialUpdateQuery> partialUpdateQueryCache = new ConcurrentHashMap<>();
 
     @SuppressWarnings({ "unchecked", "rawtypes" })
     public EntityViewUpdaterImpl(EntityViewManagerImpl evm, Map<Object, EntityViewUpdaterImpl> localCache, ManagedViewTypeImplementor<?> viewType, ManagedViewTypeImplementor<?> declaredViewType, EntityViewUpdaterImpl owner, String ownerMapping) {
@@ -631,6 +636,28 @@ public class EntityViewUpdaterImpl implements EntityViewUpdater {
         return managedViewType;
     }
 
+    /**
+     * Returns the partial update query strings that are cached by dirty attribute mask.
+     * The cache holds at most 256 entries, further masks render their query on every flush.
+     *
+     * Only meant for tests that live in the same package.
+     *
+     * @return The cached partial update query strings
+     */
+    Set<String> getCachedPartialUpdateQueryStrings() {
+        Set<String> queryStrings = new HashSet<>(partialUpdateQueryCache.size());
+        for (PartialUpdateQuery partialUpdateQuery : partialUpdateQueryCache.values()) {
+            if (partialUpdateQuery.queryString != null) {
+                queryStrings.add(partialUpdateQuery.queryString);
+            }
+        }
+        return queryStrings;
+    }
+
+    int getPartialUpdateQueryCacheSize() {
+        return partialUpdateQueryCache.size();
+    }
+
     @Override
     public boolean executeUpdate(UpdateContext context, MutableStateTrackable updatableProxy) {
         return update(context, null, updatableProxy);
@@ -653,27 +680,24 @@ public class EntityViewUpdaterImpl implements EntityViewUpdater {
             queryString = fullUpdateQueryString;
             needsOptimisticLocking = fullFlusher.hasVersionFlusher();
         } else {
-            StringBuilder sb = new StringBuilder(updatePrefixString.length() + updatePostfixString.length() + 250);
-            sb.append(updatePrefixString);
-            int initialLength = sb.length();
-            flusher.appendUpdateQueryFragment(context, sb, "e.", "", ", ");
-            if (sb.length() == initialLength) {
-                // If we still need optimistic locking, we just append a flush for the version increment
-                if (needsOptimisticLocking = fullFlusher.hasVersionFlusher() && flusher.isOptimisticLockProtected()) {
-                    versionFlusher.appendUpdateQueryFragment(context, sb, "e.", "", ", ");
-                    sb.append(versionedUpdatePostfixString);
-                    queryString = sb.toString();
-                } else {
-                    queryString = null;
+            // The rendered query only depends on the contributing attributes, so we can reuse it for the same dirty mask
+            UpdateQueryFragmentMask mask = null;
+            PartialUpdateQuery partialUpdateQuery = null;
+            if (flusher instanceof CompositeAttributeFlusher) {
+                long[] fragmentMask = ((CompositeAttributeFlusher) flusher).getUpdateQueryFragmentMask();
+                if (fragmentMask != null) {
+                    mask = new UpdateQueryFragmentMask(fragmentMask);
+                    partialUpdateQuery = partialUpdateQueryCache.get(mask);
                 }
-            } else {
-                if (needsOptimisticLocking = fullFlusher.hasVersionFlusher() && flusher.isOptimisticLockProtected()) {
-                    sb.append(versionedUpdatePostfixString);
-                } else {
-                    sb.append(updatePostfixString);
+            }
+            if (partialUpdateQuery == null) {
+                partialUpdateQuery = renderPartialUpdateQuery(context, flusher);
+                if (mask != null && partialUpdateQueryCache.size() < MAX_UPDATE_QUERY_CACHE_SIZE) {
+                    partialUpdateQueryCache.putIfAbsent(mask, partialUpdateQuery);
                 }
-                queryString = sb.toString();
             }
+            queryString = partialUpdateQuery.queryString;
+            needsOptimisticLocking = partialUpdateQuery.needsOptimisticLocking;
         }
 
         Query query = null;
@@ -690,6 +714,31 @@ public class EntityViewUpdaterImpl implements EntityViewUpdater {
         return query;
     }
 
+    private PartialUpdateQuery renderPartialUpdateQuery(UpdateContext context, DirtyAttributeFlusher<?, ?, ?> flusher) {
+        StringBuilder sb = new StringBuilder(updatePrefixString.length() + updatePostfixString.length() + 250);
+        sb.append(updatePrefixString);
+        int initialLength = sb.length();
+        flusher.appendUpdateQueryFragment(context, sb, "e.", "", ", ");
+        boolean needsOptimisticLocking = fullFlusher.hasVersionFlusher() && flusher.isOptimisticLockProtected();
+        if (sb.length() == initialLength) {
+            // If we still need optimistic locking, we just append a flush for the version increment
+            if (needsOptimisticLocking) {
+                versionFlusher.appendUpdateQueryFragment(context, sb, "e.", "", ", ");
+                sb.append(versionedUpdatePostfixString);
+                return new PartialUpdateQuery(sb.toString(), true);
+            } else {
+                return new PartialUpdateQuery(null, false);
+            }
+        } else {
+            if (needsOptimisticLocking) {
+                sb.append(versionedUpdatePostfixString);
+            } else {
+                sb.append(updatePostfixString);
+            }
+            return new PartialUpdateQuery(sb.toString(), needsOptimisticLocking);
+        }
+    }
+
     private boolean update(UpdateContext context, Object entity, MutableStateTrackable updatableProxy) {
         if (!rootUpdateAllowed && entity == null) {
             throw new IllegalArgumentException("Updating instances of the view type [" + updatableProxy.getClass().getName() + "] is not allowed because no entity id is known!");
@@ -1406,4 +1455,48 @@ public class EntityViewUpdaterImpl implements EntityViewUpdater {
         );
     }
 
+
+    /**
+     * @author Christian Beikov
+     * @since 1.6.0
+     */
+    private static final class UpdateQueryFragmentMask {
+        private final long[] mask;
+        private final int hashCode;
+
+        public UpdateQueryFragmentMask(long[] mask) {
+            this.mask = mask;
+            this.hashCode = Arrays.hashCode(mask);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof UpdateQueryFragmentMask)) {
+                return false;
+            }
+            return Arrays.equals(mask, ((UpdateQueryFragmentMask) o).mask);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * @author Christian Beikov
+     * @since 1.6.0
+     */
+    private static final class PartialUpdateQuery {
+        private final String queryString;
+        private final boolean needsOptimisticLocking;
+
+        public PartialUpdateQuery(String queryString, boolean needsOptimisticLocking) {
+            this.queryString = queryString;
+            this.needsOptimisticLocking = needsOptimisticLocking;
+        }
+    }
 }
@@ -296,6 +296,32 @@ public class CompositeAttributeFlusher extends CompositeAttributeFetchGraphNode<
         return currentValue;
     }
 
+    /**
+     * Returns a bitmask of the present and the update query contributing flushers, two bits per attribute index,
+     * or <code>null</code> if the update query fragment doesn't solely depend on the attribute indexes.
+     *
+     * @return the update query fragment mask or <code>null</code>
+     */
+    public long[] getUpdateQueryFragmentMask() {
+        long[] mask = new long[(flushers.length + 31) >> 5];
+        for (int i = 0; i < flushers.length; i++) {
+            DirtyAttributeFlusher<?, Object, Object> flusher = flushers[i];
+            if (flusher != null) {
+                int bit = i << 1;
+                if (flusher instanceof BasicAttributeFlusher<?, ?>) {
+                    if (((BasicAttributeFlusher<?, ?>) flusher).hasUpdateQueryFragment()) {
+                        bit++;
+                    }
+                } else if (!(flusher instanceof AbstractPluralAttributeFlusher<?, ?, ?, ?, ?>)) {
+                    // Other flushers render fragments that depend on nested state
+                    return null;
+                }
+                mask[bit >> 6] |= 1L << bit;
+            }
+        }
+        return mask;
+    }
+
     @Override
     public boolean appendUpdateQueryFragment(UpdateContext context, StringBuilder sb, String mappingPrefix, String parameterPrefix, String separator) {
         int clauseEndIndex = sb.length();
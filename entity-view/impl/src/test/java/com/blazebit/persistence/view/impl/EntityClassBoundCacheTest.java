@@ -0,0 +1,70 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.impl;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+public class EntityClassBoundCacheTest {
+
+    private static final Set<Class<?>> NUMBER_CLASSES = Collections.<Class<?>>singleton(Number.class);
+    private static final Set<Class<?>> STRING_CLASSES = Collections.<Class<?>>singleton(String.class);
+
+    @Test
+    public void skipPutOfValueLoadedBeforeInvalidation() {
+        EntityClassBoundCache cache = new EntityClassBoundCache("test cache", 10, 60_000L);
+        long invalidationGeneration = cache.getInvalidationGeneration();
+        cache.invalidate(Integer.class);
+        cache.put("number", NUMBER_CLASSES, "stale", invalidationGeneration);
+        cache.put("string", STRING_CLASSES, "fresh", invalidationGeneration);
+
+        assertNull(cache.get("number"));
+        assertEquals("fresh", cache.get("string"));
+
+        cache.put("number", NUMBER_CLASSES, "fresh", cache.getInvalidationGeneration());
+        assertEquals("fresh", cache.get("number"));
+    }
+
+    @Test
+    public void skipPutOfValueLoadedBeforeClear() {
+        EntityClassBoundCache cache = new EntityClassBoundCache("test cache", 10, 60_000L);
+        long invalidationGeneration = cache.getInvalidationGeneration();
+        cache.clear();
+        cache.put("string", STRING_CLASSES, "stale", invalidationGeneration);
+
+        assertNull(cache.get("string"));
+    }
+
+    @Test
+    public void evictLeastRecentlyUsedEntryPerSegment() {
+        EntityClassBoundCache cache = new EntityClassBoundCache("test cache", 1, 60_000L);
+        cache.put("a", STRING_CLASSES, "a", cache.getInvalidationGeneration());
+        cache.put("b", STRING_CLASSES, "b", cache.getInvalidationGeneration());
+
+        assertNull(cache.get("a"));
+        assertEquals("b", cache.get("b"));
+    }
+}
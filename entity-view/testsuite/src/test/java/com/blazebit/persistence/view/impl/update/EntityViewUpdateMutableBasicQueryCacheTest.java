@@ -0,0 +1,221 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.impl.update;
+
+import com.blazebit.persistence.testsuite.base.jpa.assertion.AssertStatementBuilder;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoDatanucleus;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoEclipselink;
+import com.blazebit.persistence.testsuite.entity.Document;
+import com.blazebit.persistence.testsuite.tx.TxVoidWork;
+import com.blazebit.persistence.view.FlushMode;
+import com.blazebit.persistence.view.FlushStrategy;
+import com.blazebit.persistence.view.impl.EntityViewManagerImpl;
+import com.blazebit.persistence.view.impl.metamodel.ManagedViewTypeImplementor;
+import com.blazebit.persistence.view.testsuite.update.AbstractEntityViewUpdateDocumentTest;
+import com.blazebit.persistence.view.testsuite.update.basic.mutable.model.UpdatableDocumentBasicQueryCacheView;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import javax.persistence.EntityManager;
+import java.util.Date;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests that partial update queries are rendered per dirty attribute combination and reused from the updater's cache.
+ *
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+@RunWith(Parameterized.class)
+// NOTE: No Datanucleus support yet
+@Category({ NoDatanucleus.class, NoEclipselink.class})
+public class EntityViewUpdateMutableBasicQueryCacheTest extends AbstractEntityViewUpdateDocumentTest<UpdatableDocumentBasicQueryCacheView> {
+
+    private static final int MAX_UPDATE_QUERY_CACHE_SIZE = 256;
+    private static final int ATTRIBUTE_COUNT = 9;
+
+    public EntityViewUpdateMutableBasicQueryCacheTest(FlushMode mode, FlushStrategy strategy, boolean version) {
+        super(mode, strategy, version, UpdatableDocumentBasicQueryCacheView.class);
+    }
+
+    @Parameterized.Parameters(name = "{0} - {1} - VERSIONED={2}")
+    public static Object[][] combinations() {
+        // The other flush modes flush all updatable attributes with the full update query, so only the partial flush mode is of interest
+        return new Object[][]{
+                { FlushMode.PARTIAL, FlushStrategy.QUERY, true },
+                { FlushMode.PARTIAL, FlushStrategy.QUERY, false },
+        };
+    }
+
+    @Test
+    public void testUpdateQueryPerDirtyAttributeCombination() {
+        EntityViewUpdaterImpl updater = getUpdater();
+        UpdatableDocumentBasicQueryCacheView docView = getDoc1View();
+
+        // When
+        docView.setName("newDoc");
+        update(docView);
+
+        // Then
+        Set<String> queryStrings = updater.getCachedPartialUpdateQueryStrings();
+        assertEquals(1, queryStrings.size());
+        String nameUpdate = queryStrings.iterator().next();
+        assertTrue(nameUpdate, nameUpdate.startsWith("UPDATE Document e SET "));
+        assertTrue(nameUpdate, nameUpdate.contains("e.name = :"));
+        assertFalse(nameUpdate, nameUpdate.contains("e.lastModified = :"));
+
+        // When
+        docView.setLastModified(new Date(0));
+        update(docView);
+
+        // Then
+        queryStrings = updater.getCachedPartialUpdateQueryStrings();
+        assertEquals(2, queryStrings.size());
+        queryStrings.remove(nameUpdate);
+        String lastModifiedUpdate = queryStrings.iterator().next();
+        assertTrue(lastModifiedUpdate, lastModifiedUpdate.contains("e.lastModified = :"));
+        assertFalse(lastModifiedUpdate, lastModifiedUpdate.contains("e.name = :"));
+
+        // When
+        docView.setName("newDoc2");
+        docView.setLastModified(new Date(1));
+        update(docView);
+
+        // Then
+        queryStrings = updater.getCachedPartialUpdateQueryStrings();
+        assertEquals(3, queryStrings.size());
+        queryStrings.remove(nameUpdate);
+        queryStrings.remove(lastModifiedUpdate);
+        String combinedUpdate = queryStrings.iterator().next();
+        assertTrue(combinedUpdate, combinedUpdate.contains("e.name = :"));
+        assertTrue(combinedUpdate, combinedUpdate.contains("e.lastModified = :"));
+
+        clearPersistenceContextAndReload();
+        assertEquals("newDoc2", doc1.getName());
+        assertEquals(new Date(1).getTime(), doc1.getLastModified().getTime());
+    }
+
+    @Test
+    public void testUpdateQueryIsReusedForSameDirtyAttributes() {
+        EntityViewUpdaterImpl updater = getUpdater();
+        UpdatableDocumentBasicQueryCacheView docView = getDoc1View();
+
+        // When
+        docView.setName("newDoc");
+        update(docView);
+        Set<String> queryStrings = updater.getCachedPartialUpdateQueryStrings();
+        docView.setName("newDoc2");
+        clearQueries();
+        update(docView);
+
+        // Then
+        assertEquals(1, updater.getPartialUpdateQueryCacheSize());
+        assertEquals(queryStrings, updater.getCachedPartialUpdateQueryStrings());
+        assertUnorderedQuerySequence()
+                .update(Document.class)
+                .validate();
+        clearPersistenceContextAndReload();
+        assertEquals("newDoc2", doc1.getName());
+    }
+
+    @Test
+    public void testUpdateQueryCacheOverflow() {
+        final EntityViewUpdaterImpl updater = getUpdater();
+        final UpdatableDocumentBasicQueryCacheView docView = getDoc1View();
+        final int combinations = (1 << ATTRIBUTE_COUNT) - 1;
+
+        // When
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                // Every non-empty subset of the attributes is a distinct dirty mask
+                for (int mask = 1; mask <= combinations; mask++) {
+                    makeDirty(docView, mask, mask);
+                    evm.save(em, docView);
+                }
+                em.flush();
+            }
+        });
+
+        // Then
+        assertTrue(combinations > MAX_UPDATE_QUERY_CACHE_SIZE);
+        assertEquals(MAX_UPDATE_QUERY_CACHE_SIZE, updater.getPartialUpdateQueryCacheSize());
+        clearPersistenceContextAndReload();
+        // The last masks are not cached and must still render a correct query
+        assertEquals("name" + combinations, doc1.getName());
+        assertEquals(combinations, doc1.getAge());
+        assertEquals(combinations, doc1.getIdx());
+        assertEquals(Double.valueOf(combinations), doc1.getSomeValue());
+        assertEquals("nj" + combinations, doc1.getNonJoinable());
+        assertEquals(Integer.valueOf(combinations), doc1.getDefaultContact());
+        assertEquals(combinations, doc1.getLastModified().getTime());
+        assertEquals(combinations, doc1.getLastModified2().getTime());
+        // The archived flag was toggled by 256 masks, so it is back at the initial value
+        assertFalse(doc1.isArchived());
+    }
+
+    private static void makeDirty(UpdatableDocumentBasicQueryCacheView docView, int mask, int value) {
+        if ((mask & 1) != 0) {
+            docView.setName("name" + value);
+        }
+        if ((mask & 2) != 0) {
+            docView.setAge(value);
+        }
+        if ((mask & 4) != 0) {
+            docView.setIdx(value);
+        }
+        if ((mask & 8) != 0) {
+            docView.setSomeValue((double) value);
+        }
+        if ((mask & 16) != 0) {
+            docView.setNonJoinable("nj" + value);
+        }
+        if ((mask & 32) != 0) {
+            docView.setDefaultContact(value);
+        }
+        if ((mask & 64) != 0) {
+            docView.setLastModified(new Date(value));
+        }
+        if ((mask & 128) != 0) {
+            docView.setLastModified2(new Date(value));
+        }
+        if ((mask & 256) != 0) {
+            docView.setArchived(!docView.isArchived());
+        }
+    }
+
+    private EntityViewUpdaterImpl getUpdater() {
+        ManagedViewTypeImplementor<?> managedViewType = (ManagedViewTypeImplementor<?>) evm.getMetamodel().managedView(viewType);
+        return ((EntityViewManagerImpl) evm).getUpdater(null, managedViewType, null, null, null);
+    }
+
+    @Override
+    protected AssertStatementBuilder fullFetch(AssertStatementBuilder builder) {
+        return builder.assertSelect()
+                .fetching(Document.class)
+                .and();
+    }
+
+    @Override
+    protected AssertStatementBuilder versionUpdate(AssertStatementBuilder builder) {
+        return builder.update(Document.class);
+    }
+}
@@ -71,8 +71,9 @@ public class AbstractEntityViewTest extends AbstractCoreTest {
 
         PackageOpener packageOpener = cbf.getService(PackageOpener.class);
         boolean unsafeDisabled = !Boolean.valueOf(String.valueOf(cfg.getProperty(ConfigurationProperties.PROXY_UNSAFE_ALLOWED)));
+        boolean instantiatorGeneration = Boolean.valueOf(String.valueOf(cfg.getProperty(ConfigurationProperties.PROXY_INSTANTIATOR_GENERATION)));
         boolean strictCascadingCheck = Boolean.valueOf(String.valueOf(cfg.getProperty(ConfigurationProperties.UPDATER_STRICT_CASCADING_CHECK)));
-        ProxyFactoryCacheKey proxyFactoryCacheKey = new ProxyFactoryCacheKey(unsafeDisabled, strictCascadingCheck, packageOpener);
+        ProxyFactoryCacheKey proxyFactoryCacheKey = new ProxyFactoryCacheKey(unsafeDisabled, instantiatorGeneration, strictCascadingCheck, packageOpener);
         ProxyFactory proxyFactory;
         if ((proxyFactory = proxyFactoryCache.get(proxyFactoryCacheKey)) == null) {
             proxyFactoryCache.put(proxyFactoryCacheKey, ((EntityViewManagerImpl) evm).getProxyFactory());
@@ -111,11 +112,13 @@ public class AbstractEntityViewTest extends AbstractCoreTest {
 
     private static class ProxyFactoryCacheKey {
         private final boolean unsafeDisabled;
+        private final boolean instantiatorGeneration;
         private final boolean strictCascadingCheck;
         private final PackageOpener packageOpener;
 
-        private ProxyFactoryCacheKey(boolean unsafeDisabled, boolean strictCascadingCheck, PackageOpener packageOpener) {
+        private ProxyFactoryCacheKey(boolean unsafeDisabled, boolean instantiatorGeneration, boolean strictCascadingCheck, PackageOpener packageOpener) {
             this.unsafeDisabled = unsafeDisabled;
+            this.instantiatorGeneration = instantiatorGeneration;
             this.strictCascadingCheck = strictCascadingCheck;
             this.packageOpener = packageOpener;
         }
@@ -126,13 +129,14 @@ public class AbstractEntityViewTest extends AbstractCoreTest {
             if (o == null || getClass() != o.getClass()) return false;
             ProxyFactoryCacheKey that = (ProxyFactoryCacheKey) o;
             return unsafeDisabled == that.unsafeDisabled &&
+                    instantiatorGeneration == that.instantiatorGeneration &&
                     strictCascadingCheck == that.strictCascadingCheck &&
                     packageOpener.equals(that.packageOpener);
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(unsafeDisabled, strictCascadingCheck, packageOpener);
+            return Objects.hash(unsafeDisabled, instantiatorGeneration, strictCascadingCheck, packageOpener);
         }
     }
 
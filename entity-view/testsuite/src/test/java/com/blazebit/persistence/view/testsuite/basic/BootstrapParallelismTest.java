@@ -0,0 +1,82 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.blazebit.persistence.view.testsuite.basic;
+
+import com.blazebit.persistence.CriteriaBuilder;
+import com.blazebit.persistence.testsuite.entity.Person;
+import com.blazebit.persistence.testsuite.tx.TxVoidWork;
+import com.blazebit.persistence.view.ConfigurationProperties;
+import com.blazebit.persistence.view.EntityViewManager;
+import com.blazebit.persistence.view.EntityViewSetting;
+import com.blazebit.persistence.view.EntityViews;
+import com.blazebit.persistence.view.spi.EntityViewConfiguration;
+import com.blazebit.persistence.view.testsuite.AbstractEntityViewTest;
+import com.blazebit.persistence.view.testsuite.basic.model.DocumentViewAbstractClass;
+import com.blazebit.persistence.view.testsuite.basic.model.DocumentViewInterface;
+import com.blazebit.persistence.view.testsuite.basic.model.PersonView;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+public class BootstrapParallelismTest extends AbstractEntityViewTest {
+
+    @Before
+    public void setUp() {
+        cleanDatabase();
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                em.persist(new Person("pers1"));
+                em.persist(new Person("pers2"));
+            }
+        });
+    }
+
+    @Test
+    public void testParallelEagerLoading() {
+        EntityViewConfiguration cfg = EntityViews.createDefaultConfiguration();
+        cfg.setProperty(ConfigurationProperties.TEMPLATE_EAGER_LOADING, "true");
+        cfg.setProperty(ConfigurationProperties.UPDATER_EAGER_LOADING, "true");
+        cfg.setProperty(ConfigurationProperties.BOOTSTRAP_PARALLELISM, "4");
+        EntityViewManager evm = build(cfg, DocumentViewInterface.class, DocumentViewAbstractClass.class, PersonView.class);
+
+        CriteriaBuilder<Person> criteria = cbf.create(em, Person.class, "p")
+            .orderByAsc("name");
+        List<PersonView> results = evm.applySetting(EntityViewSetting.create(PersonView.class), criteria).getResultList();
+
+        assertEquals(2, results.size());
+        assertEquals("pers1", results.get(0).getName());
+        assertEquals("pers2", results.get(1).getName());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidParallelism() {
+        EntityViewConfiguration cfg = EntityViews.createDefaultConfiguration();
+        cfg.setProperty(ConfigurationProperties.BOOTSTRAP_PARALLELISM, "0");
+        build(cfg, PersonView.class);
+    }
+}
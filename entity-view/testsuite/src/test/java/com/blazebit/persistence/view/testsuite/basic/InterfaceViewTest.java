@@ -17,7 +17,13 @@
 package com.blazebit.persistence.view.testsuite.basic;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.util.Arrays;
 import java.util.List;
 
 import javax.persistence.EntityManager;
@@ -28,14 +34,17 @@ import org.junit.Before;
 import org.junit.Test;
 
 import com.blazebit.persistence.CriteriaBuilder;
+import com.blazebit.persistence.view.ConfigurationProperties;
 import com.blazebit.persistence.view.EntityViewManager;
 import com.blazebit.persistence.view.EntityViewSetting;
 import com.blazebit.persistence.view.EntityViews;
 import com.blazebit.persistence.view.spi.EntityViewConfiguration;
 import com.blazebit.persistence.view.testsuite.AbstractEntityViewTest;
+import com.blazebit.persistence.view.testsuite.basic.model.CreatablePersonView;
 import com.blazebit.persistence.view.testsuite.basic.model.DocumentViewAbstractClass;
 import com.blazebit.persistence.view.testsuite.basic.model.DocumentViewInterface;
 import com.blazebit.persistence.view.testsuite.basic.model.PersonView;
+import com.blazebit.persistence.view.testsuite.basic.model.UpdatablePersonView;
 import com.blazebit.persistence.testsuite.entity.Document;
 import com.blazebit.persistence.testsuite.entity.Person;
 import org.junit.experimental.categories.Category;
@@ -124,4 +133,134 @@ public class InterfaceViewTest extends AbstractEntityViewTest {
         assertEquals(Integer.valueOf(2), results.get(1).getContactPersonNumber2());
         assertEquals(Long.valueOf(1), results.get(1).getContactCount());
     }
+
+    @Test
+    public void testFindAll() {
+        Long owner1Id = doc1.getOwner().getId();
+        Long owner2Id = doc2.getOwner().getId();
+        List<PersonView> results = evm.findAll(em, PersonView.class, Arrays.asList(owner2Id, -1L, owner1Id));
+
+        assertEquals(3, results.size());
+        assertEquals(owner2Id, results.get(0).getId());
+        assertEquals("pers2", results.get(0).getName());
+        assertNull(results.get(1));
+        assertEquals(owner1Id, results.get(2).getId());
+        assertEquals("pers1", results.get(2).getName());
+    }
+
+    @Test
+    public void testFindAllWithNullAndDuplicateIds() {
+        Long owner1Id = doc1.getOwner().getId();
+        List<PersonView> results = evm.findAll(em, PersonView.class, Arrays.asList(owner1Id, null, owner1Id));
+
+        assertEquals(3, results.size());
+        assertEquals(owner1Id, results.get(0).getId());
+        assertNull(results.get(1));
+        assertSame(results.get(0), results.get(2));
+    }
+
+    @Test
+    public void testFindAllRejectsKeysetPaginatedSetting() {
+        EntityViewSetting<PersonView, CriteriaBuilder<PersonView>> setting = EntityViewSetting.create(PersonView.class);
+        setting.withKeysetPage(null);
+        try {
+            evm.findAll(em, setting, Arrays.asList(doc1.getOwner().getId()));
+            fail("Expected failure because of a keyset paginated setting!");
+        } catch (IllegalArgumentException ex) {
+            // Expected
+        }
+    }
+
+    @Test
+    public void testFindAllRejectsIdOfWrongType() {
+        try {
+            evm.findAll(em, PersonView.class, Arrays.asList(doc1.getOwner().getId().intValue()));
+            fail("Expected failure because of an Integer id for a Long id attribute!");
+        } catch (IllegalArgumentException ex) {
+            assertTrue(ex.getMessage().contains(Long.class.getName()));
+        }
+    }
+
+    @Test
+    public void testResultCache() {
+        EntityViewSetting<PersonView, CriteriaBuilder<PersonView>> setting = EntityViewSetting.create(PersonView.class);
+        setting.setProperty(ConfigurationProperties.RESULT_CACHE, true);
+        List<PersonView> results = evm.getResultList(setting, cbf.create(em, Person.class).orderByAsc("id"));
+        assertEquals(2, results.size());
+        assertEquals("pers1", results.get(0).getName());
+
+        // The same query must be served from the cache
+        List<PersonView> cachedResults = evm.getResultList(setting, cbf.create(em, Person.class).orderByAsc("id"));
+        assertEquals(2, cachedResults.size());
+        assertNotSame(results, cachedResults);
+        assertSame(results.get(0), cachedResults.get(0));
+        assertSame(results.get(1), cachedResults.get(1));
+
+        // A different query must not use the cached result
+        List<PersonView> otherResults = evm.getResultList(setting, cbf.create(em, Person.class).where("name").eq("pers2"));
+        assertEquals(1, otherResults.size());
+        assertEquals("pers2", otherResults.get(0).getName());
+        assertNotSame(results.get(1), otherResults.get(0));
+    }
+
+    @Test
+    public void testResultCacheInvalidatedBySave() {
+        final EntityViewManager evm = build(PersonView.class, UpdatablePersonView.class);
+        final Long ownerId = doc1.getOwner().getId();
+        List<PersonView> results = getCachedPersonViews(evm);
+        assertEquals("pers1", results.get(0).getName());
+
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                UpdatablePersonView personView = evm.find(em, UpdatablePersonView.class, ownerId);
+                personView.setName("pers1_changed");
+                evm.save(em, personView);
+            }
+        });
+
+        List<PersonView> newResults = getCachedPersonViews(evm);
+        assertNotSame(results.get(0), newResults.get(0));
+        assertEquals("pers1_changed", newResults.get(0).getName());
+    }
+
+    @Test
+    public void testResultCacheRejectsUpdatableView() {
+        EntityViewManager evm = build(PersonView.class, UpdatablePersonView.class);
+        assertNotCached(evm, UpdatablePersonView.class);
+    }
+
+    @Test
+    public void testResultCacheRejectsCreatableView() {
+        EntityViewManager evm = build(PersonView.class, CreatablePersonView.class);
+        assertNotCached(evm, CreatablePersonView.class);
+    }
+
+    @Test
+    @Category({ NoEclipselink.class })
+    // Eclipselink has a result set mapping bug in case of map keys
+    public void testResultCacheRejectsViewWithEntityAttribute() {
+        EntityViewSetting<DocumentViewInterface, CriteriaBuilder<DocumentViewInterface>> setting = EntityViewSetting.create(DocumentViewInterface.class);
+        setting.setProperty(ConfigurationProperties.RESULT_CACHE, true);
+        setting.addOptionalParameter("contactPersonNumber", 2);
+        List<DocumentViewInterface> results = evm.getResultList(setting, cbf.create(em, Document.class).orderByAsc("id"));
+        List<DocumentViewInterface> newResults = evm.getResultList(setting, cbf.create(em, Document.class).orderByAsc("id"));
+        assertEquals(2, newResults.size());
+        assertNotSame(results.get(0), newResults.get(0));
+    }
+
+    private List<PersonView> getCachedPersonViews(EntityViewManager evm) {
+        EntityViewSetting<PersonView, CriteriaBuilder<PersonView>> setting = EntityViewSetting.create(PersonView.class);
+        setting.setProperty(ConfigurationProperties.RESULT_CACHE, true);
+        return evm.getResultList(setting, cbf.create(em, Person.class).orderByAsc("id"));
+    }
+
+    private <T extends PersonView> void assertNotCached(EntityViewManager evm, Class<T> viewClass) {
+        EntityViewSetting<T, CriteriaBuilder<T>> setting = EntityViewSetting.create(viewClass);
+        setting.setProperty(ConfigurationProperties.RESULT_CACHE, true);
+        List<T> results = evm.getResultList(setting, cbf.create(em, Person.class).orderByAsc("id"));
+        List<T> newResults = evm.getResultList(setting, cbf.create(em, Person.class).orderByAsc("id"));
+        assertEquals(2, newResults.size());
+        assertNotSame(results.get(0), newResults.get(0));
+    }
 }
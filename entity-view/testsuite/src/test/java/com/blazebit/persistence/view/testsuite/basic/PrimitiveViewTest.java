@@ -20,9 +20,11 @@ import com.blazebit.persistence.testsuite.base.jpa.category.NoEclipselink;
 import com.blazebit.persistence.testsuite.entity.PrimitiveDocument;
 import com.blazebit.persistence.testsuite.entity.PrimitivePerson;
 import com.blazebit.persistence.testsuite.tx.TxVoidWork;
+import com.blazebit.persistence.view.ConfigurationProperties;
 import com.blazebit.persistence.view.EntityViewManager;
 import com.blazebit.persistence.view.EntityViewSetting;
 import com.blazebit.persistence.view.EntityViews;
+import com.blazebit.persistence.view.impl.EntityViewManagerImpl;
 import com.blazebit.persistence.view.metamodel.ViewType;
 import com.blazebit.persistence.view.spi.EntityViewConfiguration;
 import com.blazebit.persistence.view.testsuite.AbstractEntityViewTest;
@@ -131,6 +133,38 @@ public class PrimitiveViewTest extends AbstractEntityViewTest {
         results.get(0).setName("Abc");
     }
 
+    @Test
+    @Category({ NoEclipselink.class })
+    // Eclipselink has a result set mapping bug in case of map keys
+    public void testSimpleWithGeneratedInstantiators() {
+        EntityViewConfiguration cfg = EntityViews.createDefaultConfiguration();
+        cfg.setProperty(ConfigurationProperties.PROXY_INSTANTIATOR_GENERATION, "true");
+        EntityViewManager evm = build(
+                cfg,
+                PrimitiveSimpleDocumentView.class,
+                PrimitiveDocumentView.class,
+                PrimitivePersonView.class
+        );
+        assertTrue(((EntityViewManagerImpl) evm).getProxyFactory().isInstantiatorGeneration());
+
+        CriteriaBuilder<PrimitiveDocument> criteria = cbf.create(em, PrimitiveDocument.class, "d")
+            .orderByAsc("id");
+        EntityViewSetting<PrimitiveDocumentView, CriteriaBuilder<PrimitiveDocumentView>> setting;
+        setting = EntityViewSetting.create(PrimitiveDocumentView.class);
+        List<PrimitiveDocumentView> results = evm.applySetting(setting, criteria).getResultList();
+
+        assertEquals(2, results.size());
+        assertEquals(doc1.getId(), results.get(0).getId());
+        assertEquals(doc1.getName(), results.get(0).getName());
+        assertFalse(results.get(0).isDeleted());
+        assertEquals(o1.getId(), results.get(0).getOwner().getId().longValue());
+        assertEquals(o1.getName(), results.get(0).getOwner().getName());
+        assertEquals(Collections.singleton(1), results.get(0).getContacts().keySet());
+        assertEquals(doc2.getId(), results.get(1).getId());
+        assertEquals(doc2.getName(), results.get(1).getName());
+        assertEquals(o2.getId(), results.get(1).getOwner().getId().longValue());
+    }
+
     @Test
     // Test for issue #375
     public void primitiveBooleanAttributeMetamodelMappingIsCorrect() {
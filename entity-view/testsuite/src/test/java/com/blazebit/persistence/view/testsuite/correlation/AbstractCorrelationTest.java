@@ -37,6 +37,7 @@ import javax.persistence.EntityManager;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import static org.junit.Assert.assertEquals;
 
@@ -93,6 +94,10 @@ public abstract class AbstractCorrelationTest extends AbstractEntityViewTest {
     }
 
     protected <T extends DocumentCorrelationView> void testCorrelation(Class<T> entityView, Integer batchSize) {
+        testCorrelation(entityView, batchSize, null);
+    }
+
+    protected <T extends DocumentCorrelationView> void testCorrelation(Class<T> entityView, Integer batchSize, Executor correlationBatchExecutor) {
         EntityViewManager evm = build(
                 entityView,
                 SimpleDocumentCorrelatedView.class,
@@ -102,7 +107,11 @@ public abstract class AbstractCorrelationTest extends AbstractEntityViewTest {
 
         CriteriaBuilder<Document> criteria = cbf.create(em, Document.class, "d").orderByAsc("id");
         EntityViewSetting<T, CriteriaBuilder<T>> setting = EntityViewSetting.create(entityView);
-        if (batchSize != null) {
+        if (correlationBatchExecutor != null) {
+            // Batch all correlated attributes so that there are multiple batches that can be executed concurrently
+            setting.setProperty(ConfigurationProperties.DEFAULT_BATCH_SIZE, batchSize);
+            setting.setProperty(ConfigurationProperties.CORRELATION_BATCH_EXECUTOR, correlationBatchExecutor);
+        } else if (batchSize != null) {
             setting.setProperty(ConfigurationProperties.DEFAULT_BATCH_SIZE + ".ownerRelatedDocumentIds", batchSize);
         }
         CriteriaBuilder<T> cb = evm.applySetting(setting, criteria);
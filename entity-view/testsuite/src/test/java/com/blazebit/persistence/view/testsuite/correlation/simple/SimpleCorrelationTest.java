@@ -23,7 +23,26 @@ import com.blazebit.persistence.testsuite.base.jpa.category.NoHibernate42;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoHibernate43;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoHibernate50;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoOpenJPA;
+import com.blazebit.persistence.CriteriaBuilder;
+import com.blazebit.persistence.testsuite.entity.Document;
+import com.blazebit.persistence.testsuite.entity.Person;
+import com.blazebit.persistence.testsuite.tx.TxVoidWork;
+import com.blazebit.persistence.view.ConfigurationProperties;
+import com.blazebit.persistence.view.EntityView;
+import com.blazebit.persistence.view.EntityViewManager;
+import com.blazebit.persistence.view.EntityViewSetting;
+import com.blazebit.persistence.view.FetchStrategy;
+import com.blazebit.persistence.view.IdMapping;
+import com.blazebit.persistence.view.MappingCorrelatedSimple;
+import com.blazebit.persistence.view.impl.EntityViewManagerImpl;
+import com.blazebit.persistence.view.metamodel.BatchFetchStatistics;
+import com.blazebit.persistence.view.spi.CorrelationCache;
 import com.blazebit.persistence.view.testsuite.correlation.AbstractCorrelationTest;
+import com.blazebit.persistence.view.testsuite.correlation.model.SimpleDocumentCorrelatedView;
+import com.blazebit.persistence.view.testsuite.correlation.model.SimplePersonCorrelatedSubView;
+import com.blazebit.persistence.view.testsuite.correlation.model.SimpleVersionCorrelatedView;
+import com.blazebit.persistence.view.testsuite.correlation.model.UpdatableDocumentOwnerView;
+import com.blazebit.persistence.view.testsuite.correlation.model.UpdatablePersonCorrelatedView;
 import com.blazebit.persistence.view.testsuite.correlation.simple.model.DocumentSimpleCorrelationViewJoinId;
 import com.blazebit.persistence.view.testsuite.correlation.simple.model.DocumentSimpleCorrelationViewJoinNormal;
 import com.blazebit.persistence.view.testsuite.correlation.simple.model.DocumentSimpleCorrelationViewSubqueryId;
@@ -33,6 +52,28 @@ import com.blazebit.persistence.view.testsuite.correlation.simple.model.Document
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
+import javax.persistence.EntityManager;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
 /**
  *
  * @author Christian Beikov
@@ -96,6 +137,226 @@ public class SimpleCorrelationTest extends AbstractCorrelationTest {
         testCorrelation(DocumentSimpleCorrelationViewSubqueryId.class, 20);
     }
 
+    @Test
+    // NOTE: Requires values clause which currently is only available for Hibernate
+    @Category({ NoDatanucleus4.class, NoDatanucleus.class, NoOpenJPA.class, NoEclipselink.class})
+    public void testSubqueryBatchedCorrelationNormalSize2Concurrent() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            testCorrelation(DocumentSimpleCorrelationViewSubqueryNormal.class, 2, executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    // NOTE: Requires values clause which currently is only available for Hibernate
+    @Category({ NoDatanucleus4.class, NoDatanucleus.class, NoOpenJPA.class, NoEclipselink.class})
+    public void testSubqueryBatchedCorrelationIdSize2Concurrent() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            testCorrelation(DocumentSimpleCorrelationViewSubqueryId.class, 2, executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    // NOTE: Requires values clause which currently is only available for Hibernate
+    @Category({ NoDatanucleus4.class, NoDatanucleus.class, NoOpenJPA.class, NoEclipselink.class})
+    public void testSubqueryBatchedCorrelationConcurrentBatchesRunOnExecutor() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        final AtomicInteger executedBatches = new AtomicInteger();
+        final Set<Thread> batchThreads = Collections.newSetFromMap(new ConcurrentHashMap<Thread, Boolean>());
+        try {
+            // The 4 documents correlated via "this" result in 2 batches of size 2 per attribute
+            testCorrelation(DocumentSimpleCorrelationViewSubqueryId.class, 2, new Executor() {
+                @Override
+                public void execute(final Runnable command) {
+                    executor.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            batchThreads.add(Thread.currentThread());
+                            executedBatches.incrementAndGet();
+                            command.run();
+                        }
+                    });
+                }
+            });
+        } finally {
+            executor.shutdown();
+        }
+        // The calling thread might run batches itself, so wait until the executor is done with all submitted batches
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertTrue(executedBatches.get() >= 2);
+        assertFalse(batchThreads.contains(Thread.currentThread()));
+    }
+
+    @Test
+    // NOTE: Requires values clause which currently is only available for Hibernate
+    @Category({ NoDatanucleus4.class, NoDatanucleus.class, NoOpenJPA.class, NoEclipselink.class})
+    public void testNestedBatchedCorrelationConcurrentOnSingleThreadExecutor() throws Exception {
+        final EntityViewManager evm = build(
+                DocumentNestedCorrelationView.class,
+                DocumentOwnerDocumentsView.class
+        );
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // The query runs on the only thread of the executor, so waiting there for queued batches would never finish
+            Future<List<DocumentNestedCorrelationView>> future = executor.submit(new Callable<List<DocumentNestedCorrelationView>>() {
+                @Override
+                public List<DocumentNestedCorrelationView> call() {
+                    EntityViewSetting<DocumentNestedCorrelationView, CriteriaBuilder<DocumentNestedCorrelationView>> setting = EntityViewSetting.create(DocumentNestedCorrelationView.class);
+                    setting.setProperty(ConfigurationProperties.DEFAULT_BATCH_SIZE, 2);
+                    setting.setProperty(ConfigurationProperties.CORRELATION_BATCH_EXECUTOR, executor);
+                    return evm.applySetting(setting, cbf.create(em, Document.class, "d").orderByAsc("id")).getResultList();
+                }
+            });
+            List<DocumentNestedCorrelationView> results = future.get(30, TimeUnit.SECONDS);
+
+            assertEquals(4, results.size());
+            assertEquals(doc1.getId(), results.get(0).getThisCorrelatedView().getId());
+            assertEquals(Collections.singleton(doc1.getId()), results.get(0).getThisCorrelatedView().getOwnerDocumentIds());
+            Set<Long> owner2DocumentIds = new HashSet<>(Arrays.asList(doc2.getId(), doc3.getId(), doc4.getId()));
+            for (int i = 1; i < results.size(); i++) {
+                assertEquals(results.get(i).getId(), results.get(i).getThisCorrelatedView().getId());
+                assertEquals(owner2DocumentIds, results.get(i).getThisCorrelatedView().getOwnerDocumentIds());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @EntityView(Document.class)
+    public interface DocumentNestedCorrelationView {
+
+        @IdMapping
+        public Long getId();
+
+        @MappingCorrelatedSimple(correlationBasis = "this", correlated = Document.class, correlationExpression = "this IN correlationKey", fetch = FetchStrategy.SELECT)
+        public DocumentOwnerDocumentsView getThisCorrelatedView();
+    }
+
+    @EntityView(Document.class)
+    public interface DocumentOwnerDocumentsView {
+
+        @IdMapping
+        public Long getId();
+
+        @MappingCorrelatedSimple(correlationBasis = "owner.id", correlationResult = "id", correlated = Document.class, correlationExpression = "owner.id IN correlationKey", fetch = FetchStrategy.SELECT)
+        public Set<Long> getOwnerDocumentIds();
+    }
+
+    @Test
+    // NOTE: Requires values clause which currently is only available for Hibernate
+    @Category({ NoDatanucleus4.class, NoDatanucleus.class, NoOpenJPA.class, NoEclipselink.class})
+    public void testSubqueryBatchedCorrelationAdaptiveBatchSize() {
+        EntityViewManager evm = build(
+                DocumentSimpleCorrelationViewSubqueryId.class,
+                SimpleDocumentCorrelatedView.class,
+                SimplePersonCorrelatedSubView.class,
+                SimpleVersionCorrelatedView.class
+        );
+        BatchFetchStatistics statistics = evm.getMetamodel().view(DocumentSimpleCorrelationViewSubqueryId.class)
+                .getAttribute("ownerRelatedDocumentIds").getBatchFetchStatistics();
+        assertNull(statistics.getBatchMode());
+        assertEquals(-1, statistics.getBatchCardinality());
+
+        for (int i = 0; i < 2; i++) {
+            EntityViewSetting<DocumentSimpleCorrelationViewSubqueryId, CriteriaBuilder<DocumentSimpleCorrelationViewSubqueryId>> setting = EntityViewSetting.create(DocumentSimpleCorrelationViewSubqueryId.class);
+            setting.setProperty(ConfigurationProperties.DEFAULT_BATCH_SIZE + ".ownerRelatedDocumentIds", 20);
+            setting.setProperty(ConfigurationProperties.ADAPTIVE_BATCH_SIZE_LIMIT, 16);
+            List<DocumentSimpleCorrelationViewSubqueryId> results = evm.applySetting(setting, cbf.create(em, Document.class, "d").orderByAsc("id")).getResultList();
+
+            assertEquals(4, results.size());
+            assertEquals(2, results.get(1).getOwnerRelatedDocumentIds().size());
+            // The VIEW_ROOT macro forces view root batching and pers2 owns 3 documents
+            assertEquals("view_roots", statistics.getBatchMode());
+            assertEquals(3, statistics.getBatchCardinality());
+            assertEquals(4, statistics.getAdaptiveBatchSize(16));
+            assertEquals(2, statistics.getAdaptiveBatchSize(3));
+        }
+    }
+
+    @Test
+    // NOTE: Datenucleus issue: https://github.com/datanucleus/datanucleus-api-jpa/issues/77
+    @Category({ NoDatanucleus.class })
+    public void testSubqueryCorrelationCache() {
+        EntityViewManager evm = build(
+                DocumentSimpleCorrelationViewSubqueryId.class,
+                SimpleDocumentCorrelatedView.class,
+                SimplePersonCorrelatedSubView.class,
+                SimpleVersionCorrelatedView.class
+        );
+        CorrelationCache correlationCache = ((EntityViewManagerImpl) evm).getCorrelationCache();
+        correlationCache.clear();
+
+        List<DocumentSimpleCorrelationViewSubqueryId> first = queryCorrelatedOwners(evm, true);
+        List<DocumentSimpleCorrelationViewSubqueryId> second = queryCorrelatedOwners(evm, true);
+        List<DocumentSimpleCorrelationViewSubqueryId> uncached = queryCorrelatedOwners(evm, false);
+
+        assertEquals(4, second.size());
+        assertEquals(doc2.getOwner().getId(), second.get(1).getCorrelatedOwnerViewList().iterator().next().getId());
+        // Cached subviews are shared, but the containers are not
+        assertNotSame(first.get(1).getCorrelatedOwnerViewList(), second.get(1).getCorrelatedOwnerViewList());
+        assertSame(first.get(1).getCorrelatedOwnerViewList().iterator().next(), second.get(1).getCorrelatedOwnerViewList().iterator().next());
+        assertNotSame(first.get(1).getCorrelatedOwnerViewList().iterator().next(), uncached.get(1).getCorrelatedOwnerViewList().iterator().next());
+
+        correlationCache.invalidate(Person.class);
+        List<DocumentSimpleCorrelationViewSubqueryId> third = queryCorrelatedOwners(evm, true);
+        assertNotSame(first.get(1).getCorrelatedOwnerViewList().iterator().next(), third.get(1).getCorrelatedOwnerViewList().iterator().next());
+        correlationCache.clear();
+    }
+
+    @Test
+    // NOTE: Datenucleus issue: https://github.com/datanucleus/datanucleus-api-jpa/issues/77
+    @Category({ NoDatanucleus.class })
+    public void testSubqueryCorrelationCacheInvalidatedBySave() {
+        final EntityViewManager evm = build(
+                DocumentSimpleCorrelationViewSubqueryId.class,
+                SimpleDocumentCorrelatedView.class,
+                SimplePersonCorrelatedSubView.class,
+                SimpleVersionCorrelatedView.class,
+                UpdatableDocumentOwnerView.class,
+                UpdatablePersonCorrelatedView.class
+        );
+        CorrelationCache correlationCache = ((EntityViewManagerImpl) evm).getCorrelationCache();
+        correlationCache.clear();
+
+        List<DocumentSimpleCorrelationViewSubqueryId> first = queryCorrelatedOwners(evm, true);
+        String ownerName = doc2.getOwner().getName();
+        try {
+            // The saved view is a document view, but the flush cascades to the owner through the updatable subview
+            saveOwnerName(evm, ownerName + "_changed");
+            List<DocumentSimpleCorrelationViewSubqueryId> second = queryCorrelatedOwners(evm, true);
+
+            SimplePersonCorrelatedSubView owner = second.get(1).getCorrelatedOwnerViewList().iterator().next();
+            assertNotSame(first.get(1).getCorrelatedOwnerViewList().iterator().next(), owner);
+            assertEquals((ownerName + "_changed").toUpperCase(), owner.getName());
+        } finally {
+            saveOwnerName(evm, ownerName);
+            correlationCache.clear();
+        }
+    }
+
+    private void saveOwnerName(final EntityViewManager evm, final String name) {
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                UpdatableDocumentOwnerView documentView = evm.find(em, UpdatableDocumentOwnerView.class, doc2.getId());
+                documentView.getOwner().setName(name);
+                evm.save(em, documentView);
+            }
+        });
+    }
+
+    private List<DocumentSimpleCorrelationViewSubqueryId> queryCorrelatedOwners(EntityViewManager evm, boolean cached) {
+        EntityViewSetting<DocumentSimpleCorrelationViewSubqueryId, CriteriaBuilder<DocumentSimpleCorrelationViewSubqueryId>> setting = EntityViewSetting.create(DocumentSimpleCorrelationViewSubqueryId.class);
+        setting.setProperty(ConfigurationProperties.CORRELATION_CACHE + ".correlatedOwnerViewList", cached);
+        return evm.applySetting(setting, cbf.create(em, Document.class, "d").orderByAsc("id")).getResultList();
+    }
+
     // TODO: test batch correlation expectation configuration
     // TODO: make explicit test for correlation key batching with view root usage maybe via nested subviews through collections?
 
@@ -23,6 +23,9 @@ import com.blazebit.persistence.view.EntityViewManager;
 import com.blazebit.persistence.view.EntityViews;
 import com.blazebit.persistence.view.impl.metamodel.ManagedViewTypeImplementor;
 import com.blazebit.persistence.view.impl.metamodel.MappingConstructorImpl;
+import com.blazebit.persistence.view.impl.proxy.AbstractGeneratedInstantiator;
+import com.blazebit.persistence.view.impl.proxy.AbstractReflectionInstantiator;
+import com.blazebit.persistence.view.impl.proxy.DirectConstructorReflectionInstantiator;
 import com.blazebit.persistence.view.impl.proxy.ObjectInstantiator;
 import com.blazebit.persistence.view.impl.proxy.ProxyFactory;
 import com.blazebit.persistence.view.impl.proxy.TupleConstructorReflectionInstantiator;
@@ -31,8 +34,10 @@ import com.blazebit.persistence.view.metamodel.ManagedViewType;
 import com.blazebit.persistence.view.metamodel.ViewMetamodel;
 import com.blazebit.persistence.view.metamodel.ViewType;
 import com.blazebit.persistence.view.spi.EntityViewConfiguration;
+import com.blazebit.persistence.view.spi.type.TypeConverter;
 import com.blazebit.persistence.view.testsuite.AbstractEntityViewTest;
 import com.blazebit.persistence.view.testsuite.proxy.model.DocumentClassView;
+import com.blazebit.persistence.view.testsuite.proxy.model.DocumentConcreteView;
 import com.blazebit.persistence.view.testsuite.proxy.model.DocumentCreateView;
 import com.blazebit.persistence.view.testsuite.proxy.model.DocumentCreateViewWithPrimitiveArray;
 import com.blazebit.persistence.view.testsuite.proxy.model.DocumentInterfaceView;
@@ -45,6 +50,8 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -74,6 +81,7 @@ public class ProxyFactoryTest extends AbstractEntityViewTest {
                 DocumentClassView.class,
                 UnsafeDocumentClassView.class,
                 DocumentCreateView.class,
+                DocumentConcreteView.class,
                 NameObjectView.class
         ).getMetamodel();
     }
@@ -115,6 +123,119 @@ public class ProxyFactoryTest extends AbstractEntityViewTest {
         assertTrue(expectedId == instance.getId());
     }
 
+    @Test
+    public void testGeneratedInstantiator() throws Exception {
+        ProxyFactory generatingProxyFactory = new ProxyFactory(false, true, false, PackageOpener.NOOP);
+        ViewType<UnsafeDocumentClassView> viewType = getViewMetamodel().view(UnsafeDocumentClassView.class);
+
+        // The parameter order is _id, contacts, firstContactPerson, id, name
+        Class<?>[] parameterTypes = new Class[]{ Long.class, Map.class, Person.class, Person.class, String.class, Long.class, Integer.class};
+        ObjectInstantiator<UnsafeDocumentClassView> instantiator = generatingProxyFactory.getInstantiator(evm, (ManagedViewTypeImplementor<UnsafeDocumentClassView>) viewType, (MappingConstructorImpl<UnsafeDocumentClassView>) viewType.getConstructor(Long.class, Integer.class), parameterTypes, Collections.EMPTY_LIST, Collections.EMPTY_LIST);
+        Map<Integer, Person> expectedContacts = new HashMap<Integer, Person>();
+        Person expectedFirstContactPerson = new Person("pers");
+        Long expectedId = 1L;
+        String expectedName = "doc";
+        long expectedAge = 10;
+        Person expectedMyContactPerson = new Person("my-pers");
+        Integer expectedContactPersonNumber = 2;
+
+        assertTrue(instantiator instanceof AbstractGeneratedInstantiator);
+        UnsafeDocumentClassView instance = instantiator.newInstance(new Object[] {expectedId, expectedContacts, expectedFirstContactPerson,
+                expectedMyContactPerson, expectedName, expectedAge, expectedContactPersonNumber});
+
+        assertTrue(expectedContacts == instance.getContacts());
+        assertTrue(expectedFirstContactPerson == instance.getFirstContactPerson());
+        assertTrue(expectedId == instance.getId());
+        assertTrue(expectedMyContactPerson == instance.getMyContactPerson());
+        assertTrue(expectedName == instance.getName());
+        assertTrue(expectedName == instance.getUnsafeName());
+        assertTrue(expectedAge == instance.getAge());
+        assertTrue(expectedContactPersonNumber == instance.getContactPersonNumber());
+
+        // The same signature must reuse the generated class
+        ObjectInstantiator<UnsafeDocumentClassView> otherInstantiator = generatingProxyFactory.getInstantiator(evm, (ManagedViewTypeImplementor<UnsafeDocumentClassView>) viewType, (MappingConstructorImpl<UnsafeDocumentClassView>) viewType.getConstructor(Long.class, Integer.class), parameterTypes, Collections.EMPTY_LIST, Collections.EMPTY_LIST);
+        assertSame(instantiator.getClass(), otherInstantiator.getClass());
+    }
+
+    @Test
+    public void testGeneratedInstantiatorForConcreteClass() throws Exception {
+        ProxyFactory generatingProxyFactory = new ProxyFactory(false, true, false, PackageOpener.NOOP);
+        generatingProxyFactory.setImplementation(DocumentConcreteView.class);
+        ViewType<DocumentConcreteView> viewType = getViewMetamodel().view(DocumentConcreteView.class);
+        TypeConverter<Object, Object> upperCaseConverter = new TypeConverter<Object, Object>() {
+            @Override
+            public Class<?> getUnderlyingType(Class<?> owningClass, Type declaredType) {
+                return String.class;
+            }
+
+            @Override
+            public Object convertToViewType(Object object) {
+                return object == null ? null : object.toString().toUpperCase();
+            }
+
+            @Override
+            public Object convertToUnderlyingType(Object object) {
+                return object;
+            }
+        };
+
+        // The constructor parameter order is name, id, age but the tuple starts with the id
+        Class<?>[] parameterTypes = new Class[]{ String.class, Long.class, long.class };
+        ObjectInstantiator<DocumentConcreteView> instantiator = generatingProxyFactory.getInstantiator(evm, (ManagedViewTypeImplementor<DocumentConcreteView>) viewType, null, parameterTypes, Collections.EMPTY_LIST,
+                Collections.singletonList(new AbstractReflectionInstantiator.TypeConverterEntry(0, upperCaseConverter)));
+
+        assertTrue(instantiator instanceof AbstractGeneratedInstantiator);
+        DocumentConcreteView instance = instantiator.newInstance(new Object[]{ 1L, "doc", 10L });
+        assertEquals(Long.valueOf(1L), instance.getId());
+        assertEquals("DOC", instance.getName());
+        assertEquals(10L, instance.getAge());
+
+        // Null values for primitive parameters fall back to the default value and other numeric types are widened
+        instance = instantiator.newInstance(new Object[]{ 2L, null, null });
+        assertEquals(Long.valueOf(2L), instance.getId());
+        assertNull(instance.getName());
+        assertEquals(0L, instance.getAge());
+
+        instance = instantiator.newInstance(new Object[]{ 3L, "doc", 5 });
+        assertEquals(5L, instance.getAge());
+
+        // A different converter layout must not reuse the instantiator class generated for the first one
+        ObjectInstantiator<DocumentConcreteView> unconvertedInstantiator = generatingProxyFactory.getInstantiator(evm, (ManagedViewTypeImplementor<DocumentConcreteView>) viewType, null, parameterTypes, Collections.EMPTY_LIST, Collections.EMPTY_LIST);
+        assertNotSame(instantiator.getClass(), unconvertedInstantiator.getClass());
+        assertEquals("doc", unconvertedInstantiator.newInstance(new Object[]{ 1L, "doc", 10L }).getName());
+    }
+
+    @Test
+    public void testGeneratedInstantiatorRejectsSameTuplesAsReflection() throws Exception {
+        ProxyFactory generatingProxyFactory = new ProxyFactory(false, true, false, PackageOpener.NOOP);
+        generatingProxyFactory.setImplementation(DocumentConcreteView.class);
+        ManagedViewTypeImplementor<DocumentConcreteView> viewType = (ManagedViewTypeImplementor<DocumentConcreteView>) getViewMetamodel().view(DocumentConcreteView.class);
+        Class<?>[] parameterTypes = new Class[]{ String.class, Long.class, long.class };
+        ObjectInstantiator<DocumentConcreteView> generatedInstantiator = generatingProxyFactory.getInstantiator(evm, viewType, null, parameterTypes, Collections.EMPTY_LIST, Collections.EMPTY_LIST);
+        ObjectInstantiator<DocumentConcreteView> reflectionInstantiator = new DirectConstructorReflectionInstantiator<>(null, generatingProxyFactory, viewType, parameterTypes, evm, Collections.EMPTY_LIST, Collections.EMPTY_LIST);
+        assertTrue(generatedInstantiator instanceof AbstractGeneratedInstantiator);
+
+        // Widening conversions are accepted by both
+        assertEquals(97L, generatedInstantiator.newInstance(new Object[]{ 1L, "doc", 'a' }).getAge());
+        assertEquals(97L, reflectionInstantiator.newInstance(new Object[]{ 1L, "doc", 'a' }).getAge());
+
+        // Narrowing conversions and non-numeric values are rejected by both
+        for (Object age : new Object[]{ 10.5D, 10F, true, "10" }) {
+            assertTrue(getInstantiationFailureCause(generatedInstantiator, new Object[]{ 1L, "doc", age }) instanceof IllegalArgumentException);
+            assertTrue(getInstantiationFailureCause(reflectionInstantiator, new Object[]{ 1L, "doc", age }) instanceof IllegalArgumentException);
+        }
+    }
+
+    private static Throwable getInstantiationFailureCause(ObjectInstantiator<?> instantiator, Object[] tuple) {
+        try {
+            instantiator.newInstance(tuple);
+        } catch (RuntimeException ex) {
+            return ex.getCause();
+        }
+        fail("Expected the instantiation of the tuple " + Arrays.toString(tuple) + " to fail");
+        return null;
+    }
+
     @Test
     public void testInterfaceProxy() throws Exception {
         ViewType<DocumentInterfaceView> viewType = getViewMetamodel().view(DocumentInterfaceView.class);
@@ -36,6 +36,7 @@ import org.junit.Before;
 
 import javax.persistence.EntityManager;
 import javax.persistence.EntityTransaction;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Map;
 import java.util.function.Consumer;
@@ -311,6 +312,17 @@ public abstract class AbstractEntityViewUpdateTest<T> extends AbstractEntityView
         });
     }
 
+    protected void saveAll(final Object... docViews) {
+        transactional(new TxVoidWork() {
+
+            @Override
+            public void work(EntityManager em) {
+                evm.saveAll(em, Arrays.asList(docViews));
+                em.flush();
+            }
+        });
+    }
+
     protected void saveTo(final Object docView, final Object entity) {
         transactional(new TxVoidWork() {
 
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.testsuite.update.basic.mutable;
+
+import com.blazebit.persistence.testsuite.base.jpa.assertion.AssertStatementBuilder;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoDatanucleus;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoEclipselink;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoOpenJPA;
+import com.blazebit.persistence.testsuite.entity.Document;
+import com.blazebit.persistence.testsuite.tx.TxVoidWork;
+import com.blazebit.persistence.view.FlushMode;
+import com.blazebit.persistence.view.FlushStrategy;
+import com.blazebit.persistence.view.OptimisticLockException;
+import com.blazebit.persistence.view.testsuite.update.basic.AbstractEntityViewUpdateBasicTest;
+import com.blazebit.persistence.view.testsuite.update.basic.mutable.model.UpdatableDocumentBasicView;
+import org.junit.Assume;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import javax.persistence.EntityManager;
+import java.util.Date;
+import java.util.Properties;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests that saving many views via saveAll skips clean views, batches the updates and applies optimistic locking.
+ *
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+@RunWith(Parameterized.class)
+// NOTE: The JDBC batching is only configured for Hibernate
+@Category({ NoDatanucleus.class, NoEclipselink.class, NoOpenJPA.class })
+public class EntityViewUpdateMutableBasicSaveAllTest extends AbstractEntityViewUpdateBasicTest<UpdatableDocumentBasicView> {
+
+    public EntityViewUpdateMutableBasicSaveAllTest(FlushMode mode, FlushStrategy strategy, boolean version) {
+        super(mode, strategy, version, UpdatableDocumentBasicView.class);
+    }
+
+    @Parameterized.Parameters(name = "{0} - {1} - VERSIONED={2}")
+    public static Object[][] combinations() {
+        // The views are always flushed through their entities, so only the versioning is of interest
+        return new Object[][]{
+                { FlushMode.PARTIAL, FlushStrategy.ENTITY, true },
+                { FlushMode.PARTIAL, FlushStrategy.ENTITY, false },
+        };
+    }
+
+    @Override
+    protected Properties applyProperties(Properties properties) {
+        properties = super.applyProperties(properties);
+        properties.setProperty("hibernate.jdbc.batch_size", "10");
+        properties.setProperty("hibernate.jdbc.batch_versioned_data", "true");
+        return properties;
+    }
+
+    @Test
+    public void testSaveAllBatchesUpdates() {
+        final UpdatableDocumentBasicView docView1 = getDoc1View();
+        final UpdatableDocumentBasicView docView2 = getDoc2View();
+
+        // When
+        docView1.setName("newDoc1");
+        docView2.setLastModified(new Date(0));
+        docView2.setName("newDoc2");
+        clearQueries();
+        saveAll(docView1, docView2);
+
+        // Then
+        // Both entities are loaded with a single query and both updates are executed as one JDBC batch
+        fullFetch(assertUnorderedQuerySequence())
+                .update(Document.class)
+                .validate();
+        clearPersistenceContextAndReload();
+        assertEquals("newDoc1", doc1.getName());
+        assertEquals("newDoc2", doc2.getName());
+        assertEquals(0, doc2.getLastModified().getTime());
+    }
+
+    @Test
+    public void testSaveAllSkipsCleanViews() {
+        final UpdatableDocumentBasicView docView1 = getDoc1View();
+        final UpdatableDocumentBasicView docView2 = getDoc2View();
+        Long oldVersion = docView2.getVersion();
+
+        // When
+        clearQueries();
+        saveAll(docView1, docView2);
+
+        // Then
+        assertUnorderedQuerySequence().validate();
+
+        // When
+        docView1.setName("newDoc1");
+        clearQueries();
+        saveAll(docView1, docView2);
+
+        // Then
+        fullFetch(assertUnorderedQuerySequence())
+                .update(Document.class)
+                .validate();
+        clearPersistenceContextAndReload();
+        assertEquals("newDoc1", doc1.getName());
+        assertEquals(oldVersion, doc2.getVersion());
+    }
+
+    @Test
+    public void testSaveAllOptimisticLockFailure() {
+        Assume.assumeTrue("Optimistic locking requires a version", version);
+        final UpdatableDocumentBasicView docView1 = getDoc1View();
+        final UpdatableDocumentBasicView docView2 = getDoc2View();
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                em.createQuery("UPDATE Document d SET d.version = d.version + 1 WHERE d.id = :id")
+                        .setParameter("id", doc2.getId())
+                        .executeUpdate();
+            }
+        });
+
+        // When
+        docView1.setName("newDoc1");
+        docView2.setName("newDoc2");
+        try {
+            saveAll(docView1, docView2);
+            fail("Expected an optimistic lock exception");
+        } catch (OptimisticLockException ex) {
+            // Expected
+        }
+
+        // Then
+        clearPersistenceContextAndReload();
+        assertEquals("doc1", doc1.getName());
+        assertEquals("doc2", doc2.getName());
+    }
+
+    @Override
+    protected AssertStatementBuilder fullFetch(AssertStatementBuilder builder) {
+        return builder.assertSelect()
+                .fetching(Document.class)
+                .and();
+    }
+
+    @Override
+    protected AssertStatementBuilder versionUpdate(AssertStatementBuilder builder) {
+        return builder.update(Document.class);
+    }
+}
@@ -68,6 +68,26 @@ public class EntityViewUpdateMutableBasicTest extends AbstractEntityViewUpdateBa
         assertEquals("newDoc", doc1.getName());
     }
 
+    @Test
+    public void testSaveAll() {
+        final UpdatableDocumentBasicView docView1 = getDoc1View();
+        final UpdatableDocumentBasicView docView2 = getDoc2View();
+        Long oldVersion = docView1.getVersion();
+
+        // When
+        docView1.setName("newDoc1");
+        docView2.setName("newDoc2");
+        saveAll(docView1, docView2);
+
+        // Then
+        clearPersistenceContextAndReload();
+        assertEquals("newDoc1", doc1.getName());
+        assertEquals("newDoc2", doc2.getName());
+        if (version) {
+            assertEquals(oldVersion + 1, doc1.getVersion().longValue());
+        }
+    }
+
     @Test
     public void testSimpleUpdate() {
         // Given & When
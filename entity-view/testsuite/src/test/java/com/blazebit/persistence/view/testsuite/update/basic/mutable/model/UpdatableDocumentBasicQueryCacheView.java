@@ -0,0 +1,63 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.testsuite.update.basic.mutable.model;
+
+import com.blazebit.persistence.testsuite.entity.Document;
+import com.blazebit.persistence.view.EntityView;
+import com.blazebit.persistence.view.UpdatableEntityView;
+import com.blazebit.persistence.view.testsuite.update.basic.model.UpdatableDocumentBasicViewBase;
+
+import java.util.Date;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+@UpdatableEntityView
+@EntityView(Document.class)
+public interface UpdatableDocumentBasicQueryCacheView extends UpdatableDocumentBasicViewBase {
+
+    public long getAge();
+
+    public void setAge(long age);
+
+    public int getIdx();
+
+    public void setIdx(int idx);
+
+    public Double getSomeValue();
+
+    public void setSomeValue(Double someValue);
+
+    public String getNonJoinable();
+
+    public void setNonJoinable(String nonJoinable);
+
+    public Integer getDefaultContact();
+
+    public void setDefaultContact(Integer defaultContact);
+
+    public Date getLastModified2();
+
+    public void setLastModified2(Date lastModified2);
+
+    public boolean isArchived();
+
+    public void setArchived(boolean archived);
+
+}
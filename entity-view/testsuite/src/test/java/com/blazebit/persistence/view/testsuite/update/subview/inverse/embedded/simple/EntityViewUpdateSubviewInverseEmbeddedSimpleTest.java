@@ -58,6 +58,7 @@ import java.util.List;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
 
 /**
  *
@@ -306,6 +307,46 @@ public class EntityViewUpdateSubviewInverseEmbeddedSimpleTest extends AbstractEn
         assertNotEquals(resultList.get(0).getId(), resultList.get(1).getId());
     }
 
+    @Test
+    public void testFindAllWithEmbeddedIds() {
+        final Long[] orderId = new Long[1];
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                LegacyOrder o = new LegacyOrder();
+                em.persist(o);
+                orderId[0] = o.getId();
+
+                LegacyOrderPosition p1 = new LegacyOrderPosition(new LegacyOrderPositionId(o.getId(), 0));
+                p1.setArticleNumber("123");
+                p1.setOrder(o);
+                em.persist(p1);
+                o.getPositions().add(p1);
+
+                LegacyOrderPosition p2 = new LegacyOrderPosition(new LegacyOrderPositionId(o.getId(), 1));
+                p2.setArticleNumber("456");
+                p2.setOrder(o);
+                em.persist(p2);
+                o.getPositions().add(p2);
+            }
+        });
+
+        em.clear();
+        List<UpdatableLegacyOrderPositionView> results = evm.findAll(em, UpdatableLegacyOrderPositionView.class, Arrays.asList(
+                new LegacyOrderPositionId(orderId[0], 1),
+                null,
+                new LegacyOrderPositionId(orderId[0], 2),
+                new LegacyOrderPositionId(orderId[0], 0)
+        ));
+
+        // Embedded ids are loaded one by one, null and missing ids map to null
+        assertEquals(4, results.size());
+        assertEquals("456", results.get(0).getArticleNumber());
+        assertNull(results.get(1));
+        assertNull(results.get(2));
+        assertEquals("123", results.get(3).getArticleNumber());
+    }
+
     @Override
     protected void reload() {
     }
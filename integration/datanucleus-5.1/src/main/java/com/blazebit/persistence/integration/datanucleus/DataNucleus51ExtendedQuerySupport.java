@@ -19,10 +19,12 @@ package com.blazebit.persistence.integration.datanucleus;
 import com.blazebit.apt.service.ServiceProvider;
 import com.blazebit.persistence.ReturningResult;
 import com.blazebit.persistence.spi.ExtendedQuerySupport;
+import com.blazebit.persistence.spi.QueryPlanCacheStatistics;
 import org.datanucleus.store.rdbms.query.JPQLQuery;
 import org.datanucleus.store.rdbms.query.RDBMSQueryCompilation;
 
 import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 import javax.persistence.Query;
 import java.lang.reflect.Field;
 import java.util.List;
@@ -104,6 +106,11 @@ public class DataNucleus51ExtendedQuerySupport implements ExtendedQuerySupport {
         // TODO: implement
         throw new UnsupportedOperationException("Not yet implemeneted!");
     }
+
+    @Override
+    public QueryPlanCacheStatistics getQueryPlanCacheStatistics(com.blazebit.persistence.spi.ServiceProvider serviceProvider, EntityManagerFactory entityManagerFactory) {
+        return null;
+    }
     
     private void applySql(Query query, String sqlOverride) {
         // TODO: parameter handling
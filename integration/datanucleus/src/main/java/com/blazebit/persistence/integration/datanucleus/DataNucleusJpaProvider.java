@@ -441,6 +441,25 @@ public class DataNucleusJpaProvider implements JpaProvider {
         return ec.getAttachedObjectForId(ec.newObjectId(entityClass, id)) != null;
     }
 
+    @Override
+    public boolean hasSessionState(EntityManager em) {
+        try {
+            if (em.getTransaction().isActive()) {
+                return true;
+            }
+        } catch (IllegalStateException ex) {
+            // JTA entity managers don't expose the transaction, so we have to assume it is active
+            return true;
+        }
+        // A tenant identifier set on the entity manager is not visible to a separate entity manager
+        return em.getProperties().get("datanucleus.TenantID") != null;
+    }
+
+    @Override
+    public Object getSessionStateKey(EntityManager em) {
+        return em.getProperties().get("datanucleus.TenantID");
+    }
+
     @Override
     public boolean supportsSingleValuedAssociationIdExpressions() {
         return false;
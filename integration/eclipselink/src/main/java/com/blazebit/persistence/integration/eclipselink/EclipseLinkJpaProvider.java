@@ -48,6 +48,7 @@ import javax.persistence.metamodel.SingularAttribute;
 import javax.persistence.metamodel.Type;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -515,6 +516,18 @@ public class EclipseLinkJpaProvider implements JpaProvider {
         return em.unwrap(JpaEntityManager.class).getActiveSession().getIdentityMapAccessor().getFromIdentityMap(id, entityClass) != null;
     }
 
+    @Override
+    public boolean hasSessionState(EntityManager em) {
+        // Tenant discriminators and additional criteria are parameterized by arbitrary entity manager properties that we can't tell apart
+        return true;
+    }
+
+    @Override
+    public Object getSessionStateKey(EntityManager em) {
+        // Entity managers with equal properties use the same tenant discriminators and additional criteria parameters
+        return new HashMap<>(em.getProperties());
+    }
+
     private AttributeImpl<?, ?> getAttribute(ManagedType<?> ownerType, String attributeName) {
         if (attributeName.indexOf('.') == -1) {
             return (AttributeImpl<?, ?>) ownerType.getAttribute(attributeName);
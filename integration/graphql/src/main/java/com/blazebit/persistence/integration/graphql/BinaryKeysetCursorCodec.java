@@ -0,0 +1,444 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.integration.graphql;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A {@link KeysetCursorCodec} that encodes cursors in a compact binary form as Base64 URL without padding.
+ *
+ * The offset and page size are written as variable length integers, followed by the keyset tuple elements.
+ * Every element is prefixed by a type tag. Common id and temporal types are written in a compact form,
+ * all other types are written with Java serialization and are only decoded if the type is contained in the serializable basic types.
+ *
+ * Cursors that were encoded with Java serialization by earlier versions are still decoded.
+ *
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+public class BinaryKeysetCursorCodec implements KeysetCursorCodec, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int VERSION = 1;
+
+    private static final int TAG_NULL = 0;
+    private static final int TAG_INTEGER = 1;
+    private static final int TAG_LONG = 2;
+    private static final int TAG_SHORT = 3;
+    private static final int TAG_BYTE = 4;
+    private static final int TAG_STRING = 5;
+    private static final int TAG_UUID = 6;
+    private static final int TAG_TRUE = 7;
+    private static final int TAG_FALSE = 8;
+    private static final int TAG_CHARACTER = 9;
+    private static final int TAG_DOUBLE = 10;
+    private static final int TAG_FLOAT = 11;
+    private static final int TAG_BIG_INTEGER = 12;
+    private static final int TAG_BIG_DECIMAL = 13;
+    private static final int TAG_DATE = 14;
+    private static final int TAG_SQL_DATE = 15;
+    private static final int TAG_SQL_TIME = 16;
+    private static final int TAG_SQL_TIMESTAMP = 17;
+    private static final int TAG_INSTANT = 18;
+    private static final int TAG_LOCAL_DATE = 19;
+    private static final int TAG_LOCAL_TIME = 20;
+    private static final int TAG_LOCAL_DATE_TIME = 21;
+    private static final int TAG_SERIALIZED = 127;
+
+    private static final int JAVA_SERIALIZATION_MAGIC = 0xAC;
+
+    private final Set<String> serializableBasicTypes;
+
+    /**
+     * Creates a new codec that doesn't decode Java serialized tuple elements.
+     */
+    public BinaryKeysetCursorCodec() {
+        this(Collections.<String>emptySet());
+    }
+
+    /**
+     * Creates a new codec that only decodes Java serialized tuple elements of the given types.
+     *
+     * @param serializableBasicTypes The allowed set of fully qualified class names for deserialization
+     */
+    public BinaryKeysetCursorCodec(Set<String> serializableBasicTypes) {
+        this.serializableBasicTypes = serializableBasicTypes;
+    }
+
+    @Override
+    public String encode(GraphQLCursor cursor) {
+        return encode(cursor.getOffset(), cursor.getPageSize(), cursor.getTuple());
+    }
+
+    /**
+     * Encodes the given cursor components to a string that is safe to use within URLs.
+     *
+     * @param offset The offset
+     * @param pageSize The page size
+     * @param tuple The tuple
+     * @return the encoded cursor
+     */
+    public String encode(int offset, int pageSize, Serializable[] tuple) {
+        Output out = new Output(16 + (tuple == null ? 0 : tuple.length * 9));
+        out.write(VERSION);
+        out.writeVarInt(offset);
+        out.writeVarInt(pageSize);
+        if (tuple == null) {
+            out.writeVarInt(0);
+        } else {
+            out.writeVarInt(tuple.length + 1);
+            for (int i = 0; i < tuple.length; i++) {
+                writeElement(out, tuple[i]);
+            }
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(out.toByteArray());
+    }
+
+    @Override
+    public GraphQLCursor decode(String cursor) {
+        byte[] bytes;
+        if (cursor.indexOf('+') != -1 || cursor.indexOf('/') != -1 || cursor.indexOf('=') != -1) {
+            bytes = Base64.getDecoder().decode(cursor);
+        } else {
+            bytes = Base64.getUrlDecoder().decode(cursor);
+        }
+        if (bytes.length == 0) {
+            throw new IllegalArgumentException("Empty cursor");
+        }
+        try {
+            if ((bytes[0] & 0xFF) == JAVA_SERIALIZATION_MAGIC) {
+                return decodeSerialized(bytes);
+            }
+            Input in = new Input(bytes);
+            int version = in.read();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported cursor version: " + version);
+            }
+            int offset = in.readVarInt();
+            int pageSize = in.readVarInt();
+            int length = in.readVarInt();
+            Serializable[] tuple;
+            if (length == 0) {
+                tuple = null;
+            } else {
+                tuple = new Serializable[length - 1];
+                for (int i = 0; i < tuple.length; i++) {
+                    tuple[i] = readElement(in);
+                }
+            }
+            return new GraphQLCursor(offset, pageSize, tuple);
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Couldn't read cursor", e);
+        }
+    }
+
+    private GraphQLCursor decodeSerialized(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream ois = new GraphQLCursorObjectInputStream(new ByteArrayInputStream(bytes), serializableBasicTypes)) {
+            int offset = ois.read();
+            int pageSize = ois.read();
+            Serializable[] tuple = (Serializable[]) ois.readObject();
+            return new GraphQLCursor(offset, pageSize, tuple);
+        }
+    }
+
+    private static void writeElement(Output out, Serializable value) {
+        if (value == null) {
+            out.write(TAG_NULL);
+            return;
+        }
+        Class<?> type = value.getClass();
+        if (type == Long.class) {
+            out.write(TAG_LONG);
+            out.writeZigZagLong((Long) value);
+        } else if (type == Integer.class) {
+            out.write(TAG_INTEGER);
+            out.writeZigZagLong((Integer) value);
+        } else if (type == String.class) {
+            byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+            out.write(TAG_STRING);
+            out.writeVarInt(bytes.length);
+            out.write(bytes);
+        } else if (type == UUID.class) {
+            out.write(TAG_UUID);
+            out.writeFixedLong(((UUID) value).getMostSignificantBits());
+            out.writeFixedLong(((UUID) value).getLeastSignificantBits());
+        } else if (type == Short.class) {
+            out.write(TAG_SHORT);
+            out.writeZigZagLong((Short) value);
+        } else if (type == Byte.class) {
+            out.write(TAG_BYTE);
+            out.write((Byte) value);
+        } else if (type == Boolean.class) {
+            out.write((Boolean) value ? TAG_TRUE : TAG_FALSE);
+        } else if (type == Character.class) {
+            out.write(TAG_CHARACTER);
+            out.writeVarInt((Character) value);
+        } else if (type == Double.class) {
+            out.write(TAG_DOUBLE);
+            out.writeFixedLong(Double.doubleToLongBits((Double) value));
+        } else if (type == Float.class) {
+            out.write(TAG_FLOAT);
+            out.writeVarInt(Float.floatToIntBits((Float) value));
+        } else if (type == BigInteger.class) {
+            byte[] bytes = ((BigInteger) value).toByteArray();
+            out.write(TAG_BIG_INTEGER);
+            out.writeVarInt(bytes.length);
+            out.write(bytes);
+        } else if (type == BigDecimal.class) {
+            byte[] bytes = ((BigDecimal) value).unscaledValue().toByteArray();
+            out.write(TAG_BIG_DECIMAL);
+            out.writeZigZagLong(((BigDecimal) value).scale());
+            out.writeVarInt(bytes.length);
+            out.write(bytes);
+        } else if (type == java.util.Date.class) {
+            out.write(TAG_DATE);
+            out.writeZigZagLong(((java.util.Date) value).getTime());
+        } else if (type == java.sql.Date.class) {
+            out.write(TAG_SQL_DATE);
+            out.writeZigZagLong(((java.sql.Date) value).getTime());
+        } else if (type == java.sql.Time.class) {
+            out.write(TAG_SQL_TIME);
+            out.writeZigZagLong(((java.sql.Time) value).getTime());
+        } else if (type == java.sql.Timestamp.class) {
+            out.write(TAG_SQL_TIMESTAMP);
+            out.writeZigZagLong(((java.sql.Timestamp) value).getTime());
+            out.writeVarInt(((java.sql.Timestamp) value).getNanos());
+        } else if (type == Instant.class) {
+            out.write(TAG_INSTANT);
+            out.writeZigZagLong(((Instant) value).getEpochSecond());
+            out.writeVarInt(((Instant) value).getNano());
+        } else if (type == LocalDate.class) {
+            out.write(TAG_LOCAL_DATE);
+            out.writeZigZagLong(((LocalDate) value).toEpochDay());
+        } else if (type == LocalTime.class) {
+            out.write(TAG_LOCAL_TIME);
+            out.writeZigZagLong(((LocalTime) value).toNanoOfDay());
+        } else if (type == LocalDateTime.class) {
+            out.write(TAG_LOCAL_DATE_TIME);
+            out.writeZigZagLong(((LocalDateTime) value).toLocalDate().toEpochDay());
+            out.writeZigZagLong(((LocalDateTime) value).toLocalTime().toNanoOfDay());
+        } else {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+                oos.writeObject(value);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            byte[] bytes = baos.toByteArray();
+            out.write(TAG_SERIALIZED);
+            out.writeVarInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private Serializable readElement(Input in) throws IOException, ClassNotFoundException {
+        int tag = in.read();
+        switch (tag) {
+            case TAG_NULL:
+                return null;
+            case TAG_INTEGER:
+                return (int) in.readZigZagLong();
+            case TAG_LONG:
+                return in.readZigZagLong();
+            case TAG_SHORT:
+                return (short) in.readZigZagLong();
+            case TAG_BYTE:
+                return (byte) in.read();
+            case TAG_STRING:
+                return new String(in.read(in.readVarInt()), StandardCharsets.UTF_8);
+            case TAG_UUID:
+                return new UUID(in.readFixedLong(), in.readFixedLong());
+            case TAG_TRUE:
+                return Boolean.TRUE;
+            case TAG_FALSE:
+                return Boolean.FALSE;
+            case TAG_CHARACTER:
+                return (char) in.readVarInt();
+            case TAG_DOUBLE:
+                return Double.longBitsToDouble(in.readFixedLong());
+            case TAG_FLOAT:
+                return Float.intBitsToFloat(in.readVarInt());
+            case TAG_BIG_INTEGER:
+                return new BigInteger(in.read(in.readVarInt()));
+            case TAG_BIG_DECIMAL:
+                int scale = (int) in.readZigZagLong();
+                return new BigDecimal(new BigInteger(in.read(in.readVarInt())), scale);
+            case TAG_DATE:
+                return new java.util.Date(in.readZigZagLong());
+            case TAG_SQL_DATE:
+                return new java.sql.Date(in.readZigZagLong());
+            case TAG_SQL_TIME:
+                return new java.sql.Time(in.readZigZagLong());
+            case TAG_SQL_TIMESTAMP:
+                java.sql.Timestamp timestamp = new java.sql.Timestamp(in.readZigZagLong());
+                timestamp.setNanos(in.readVarInt());
+                return timestamp;
+            case TAG_INSTANT:
+                long epochSecond = in.readZigZagLong();
+                return Instant.ofEpochSecond(epochSecond, in.readVarInt());
+            case TAG_LOCAL_DATE:
+                return LocalDate.ofEpochDay(in.readZigZagLong());
+            case TAG_LOCAL_TIME:
+                return LocalTime.ofNanoOfDay(in.readZigZagLong());
+            case TAG_LOCAL_DATE_TIME:
+                LocalDate date = LocalDate.ofEpochDay(in.readZigZagLong());
+                return LocalDateTime.of(date, LocalTime.ofNanoOfDay(in.readZigZagLong()));
+            case TAG_SERIALIZED:
+                try (ObjectInputStream ois = new GraphQLCursorObjectInputStream(new ByteArrayInputStream(in.read(in.readVarInt())), serializableBasicTypes)) {
+                    return (Serializable) ois.readObject();
+                }
+            default:
+                throw new IllegalArgumentException("Unsupported cursor element type tag: " + tag);
+        }
+    }
+
+    /**
+     * @author Christian Beikov
+     * @since 1.6.0
+     */
+    private static final class Output {
+        private byte[] buffer;
+        private int size;
+
+        public Output(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        private void ensureCapacity(int additional) {
+            if (size + additional > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, size + additional));
+            }
+        }
+
+        public void write(int b) {
+            ensureCapacity(1);
+            buffer[size++] = (byte) b;
+        }
+
+        public void write(byte[] bytes) {
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        public void writeVarInt(int value) {
+            writeVarLong(value & 0xFFFFFFFFL);
+        }
+
+        public void writeZigZagLong(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        private void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        public void writeFixedLong(long value) {
+            ensureCapacity(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        public byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+    }
+
+    /**
+     * @author Christian Beikov
+     * @since 1.6.0
+     */
+    private static final class Input {
+        private final byte[] buffer;
+        private int position;
+
+        public Input(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        public int read() {
+            if (position >= buffer.length) {
+                throw new IllegalArgumentException("Unexpected end of cursor");
+            }
+            return buffer[position++] & 0xFF;
+        }
+
+        public byte[] read(int length) {
+            if (length < 0 || position + length > buffer.length) {
+                throw new IllegalArgumentException("Unexpected end of cursor");
+            }
+            byte[] bytes = Arrays.copyOfRange(buffer, position, position + length);
+            position += length;
+            return bytes;
+        }
+
+        public int readVarInt() {
+            return (int) readVarLong();
+        }
+
+        public long readZigZagLong() {
+            long value = readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = read();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed variable length integer in cursor");
+        }
+
+        public long readFixedLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | read();
+            }
+            return value;
+        }
+    }
+}
@@ -30,10 +30,6 @@ import graphql.schema.GraphQLNonNull;
 import graphql.schema.GraphQLObjectType;
 import graphql.schema.GraphQLType;
 
-import java.io.ByteArrayInputStream;
-import java.io.ObjectInputStream;
-import java.io.Serializable;
-import java.util.Base64;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -95,6 +91,7 @@ public class GraphQLEntityViewSupport {
     private final String pageElementsName;
     private final String pageElementObjectName;
     private final String elementCursorName;
+    private final KeysetCursorCodec cursorCodec;
 
     /**
      * Creates a new {@link GraphQLEntityViewSupport} instance with the given type name to class mapping and serializable basic type whitelist.
@@ -121,6 +118,25 @@ public class GraphQLEntityViewSupport {
      * @param elementCursorName The name of the cursor field within elements
      */
     public GraphQLEntityViewSupport(Map<String, Class<?>> typeNameToClass, Set<String> serializableBasicTypes, String pageSizeName, String offsetName, String beforeCursorName, String afterCursorName, String totalCountName, String pageElementsName, String pageElementObjectName, String elementCursorName) {
+        this(typeNameToClass, serializableBasicTypes, pageSizeName, offsetName, beforeCursorName, afterCursorName, totalCountName, pageElementsName, pageElementObjectName, elementCursorName, new BinaryKeysetCursorCodec(serializableBasicTypes));
+    }
+
+    /**
+     * Creates a new {@link GraphQLEntityViewSupport} instance with the given type name to class mapping, serializable basic type whitelist and cursor codec.
+     * @param typeNameToClass The mapping from GraphQL type names to entity view class names
+     * @param serializableBasicTypes The whitelist of allowed serializable basic types to use for cursor deserialization
+     * @param pageSizeName The name of the page size field
+     * @param offsetName The name of the offset field
+     * @param beforeCursorName The name of the beforeCursor field
+     * @param afterCursorName The name of the afterCursor field
+     * @param totalCountName The name of the totalCount field
+     * @param pageElementsName The name of the elements field
+     * @param pageElementObjectName The name of the element object field within elements
+     * @param elementCursorName The name of the cursor field within elements
+     * @param cursorCodec The codec to use for decoding before or afterCursors
+     * @since 1.6.0
+     */
+    public GraphQLEntityViewSupport(Map<String, Class<?>> typeNameToClass, Set<String> serializableBasicTypes, String pageSizeName, String offsetName, String beforeCursorName, String afterCursorName, String totalCountName, String pageElementsName, String pageElementObjectName, String elementCursorName, KeysetCursorCodec cursorCodec) {
         this.pageSizeName = pageSizeName;
         this.offsetName = offsetName;
         this.beforeCursorName = beforeCursorName;
@@ -131,6 +147,18 @@ public class GraphQLEntityViewSupport {
         this.serializableBasicTypes = serializableBasicTypes;
         this.pageElementObjectName = pageElementObjectName;
         this.elementCursorName = elementCursorName;
+        this.cursorCodec = cursorCodec;
+    }
+
+    /**
+     * Returns the codec that is used for decoding cursors.
+     * The same codec should be used for encoding cursors through {@link GraphQLRelayConnection#GraphQLRelayConnection(List, KeysetCursorCodec)}.
+     *
+     * @return the cursor codec
+     * @since 1.6.0
+     */
+    public KeysetCursorCodec getCursorCodec() {
+        return cursorCodec;
     }
 
     /**
@@ -445,20 +473,13 @@ public class GraphQLEntityViewSupport {
     }
 
     /**
-     * Deserializes the given Base64 encoded cursor to a {@link GraphQLCursor} object.
+     * Deserializes the given encoded cursor to a {@link GraphQLCursor} object.
      *
-     * @param beforeCursor The Base64 encoded cursor
+     * @param beforeCursor The encoded cursor
      * @return a new cursor
      */
     protected GraphQLCursor deserialize(String beforeCursor) {
-        try (ObjectInputStream ois = new GraphQLCursorObjectInputStream(Base64.getDecoder().wrap(new ByteArrayInputStream(beforeCursor.getBytes())), serializableBasicTypes)) {
-            int offset = ois.read();
-            int pageSize = ois.read();
-            Serializable[] tuple = (Serializable[]) ois.readObject();
-            return new GraphQLCursor(offset, pageSize, tuple);
-        } catch (Exception e) {
-            throw new RuntimeException("Couldn't read cursor", e);
-        }
+        return cursorCodec.decode(beforeCursor);
     }
 
     /**
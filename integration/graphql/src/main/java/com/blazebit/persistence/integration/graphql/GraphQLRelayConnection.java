@@ -21,7 +21,6 @@ import com.blazebit.persistence.PagedList;
 
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.Base64;
 import java.util.List;
 
 /**
@@ -44,9 +43,20 @@ public class GraphQLRelayConnection<T> implements Serializable {
      * @param list The list
      */
     public GraphQLRelayConnection(List<T> list) {
+        this(list, new BinaryKeysetCursorCodec());
+    }
+
+    /**
+     * Creates a new GraphQL page from the given list that encodes cursors with the given codec.
+     *
+     * @param list The list
+     * @param cursorCodec The cursor codec
+     * @since 1.6.0
+     */
+    public GraphQLRelayConnection(List<T> list, KeysetCursorCodec cursorCodec) {
         if (list instanceof PagedList<?>) {
             PagedList<T> data = (PagedList<T>) list;
-            this.pageInfo = new GraphQLRelayPageInfo(data);
+            this.pageInfo = new GraphQLRelayPageInfo(data, cursorCodec);
             this.totalCount = data.getTotalSize();
         } else {
             this.pageInfo = GraphQLRelayPageInfo.EMPTY;
@@ -61,7 +71,18 @@ public class GraphQLRelayConnection<T> implements Serializable {
      * @param list The paged list
      */
     public GraphQLRelayConnection(PagedList<T> list) {
-        this.pageInfo = new GraphQLRelayPageInfo(list);
+        this(list, new BinaryKeysetCursorCodec());
+    }
+
+    /**
+     * Creates a GraphQL page from the given paged list that encodes cursors with the given codec.
+     *
+     * @param list The paged list
+     * @param cursorCodec The cursor codec
+     * @since 1.6.0
+     */
+    public GraphQLRelayConnection(PagedList<T> list, KeysetCursorCodec cursorCodec) {
+        this.pageInfo = new GraphQLRelayPageInfo(list, cursorCodec);
         this.totalCount = list.getTotalSize();
         this.edges = createEdges(list, pageInfo);
     }
@@ -76,7 +97,7 @@ public class GraphQLRelayConnection<T> implements Serializable {
             edges = new ArrayList<>(list.size());
             for (int i = 0; i < list.size(); i++) {
                 X node = list.get(i);
-                edges.add(new GraphQLRelayEdge<>(Base64.getEncoder().encodeToString(pageInfo.serialize(offset, pageSize, keysets.get(i).getTuple())), node));
+                edges.add(new GraphQLRelayEdge<>(pageInfo.encodeCursor(offset, pageSize, keysets.get(i).getTuple()), node));
             }
         } else {
             edges = new ArrayList<>(list.size());
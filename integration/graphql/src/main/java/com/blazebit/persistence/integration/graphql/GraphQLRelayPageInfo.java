@@ -23,7 +23,6 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
-import java.util.Base64;
 
 /**
  * A GraphQL Relay page info.
@@ -35,16 +34,20 @@ public class GraphQLRelayPageInfo implements Serializable {
 
     public static final GraphQLRelayPageInfo EMPTY = new GraphQLRelayPageInfo();
 
+    private static final KeysetCursorCodec DEFAULT_CURSOR_CODEC = new BinaryKeysetCursorCodec();
+
     private final boolean hasNextPage;
     private final boolean hasPreviousPage;
     private final GraphQLCursor startCursor;
     private final GraphQLCursor endCursor;
+    private final KeysetCursorCodec cursorCodec;
 
     private GraphQLRelayPageInfo() {
         this.hasNextPage = true;
         this.hasPreviousPage = true;
         this.startCursor = null;
         this.endCursor = null;
+        this.cursorCodec = DEFAULT_CURSOR_CODEC;
     }
 
     /**
@@ -53,6 +56,18 @@ public class GraphQLRelayPageInfo implements Serializable {
      * @param data The paged list
      */
     public GraphQLRelayPageInfo(PagedList<?> data) {
+        this(data, DEFAULT_CURSOR_CODEC);
+    }
+
+    /**
+     * Creates a new page info object from the given paged list that encodes cursors with the given codec.
+     *
+     * @param data The paged list
+     * @param cursorCodec The cursor codec
+     * @since 1.6.0
+     */
+    public GraphQLRelayPageInfo(PagedList<?> data, KeysetCursorCodec cursorCodec) {
+        this.cursorCodec = cursorCodec;
         this.hasPreviousPage = data.getFirstResult() != 0;
         this.hasNextPage = data.getTotalSize() == -1 || data.getFirstResult() + data.getMaxResults() < data.getTotalSize();
         KeysetPage keysetPage = data.getKeysetPage();
@@ -87,7 +102,7 @@ public class GraphQLRelayPageInfo implements Serializable {
     }
 
     /**
-     * Returns the start cursor encoded as Base64 or <code>null</code>.
+     * Returns the encoded start cursor or <code>null</code>.
      *
      * @return the start cursor or <code>null</code>
      */
@@ -95,11 +110,11 @@ public class GraphQLRelayPageInfo implements Serializable {
         if (startCursor == null) {
             return null;
         }
-        return Base64.getEncoder().encodeToString(serialize(startCursor));
+        return cursorCodec.encode(startCursor);
     }
 
     /**
-     * Returns the end cursor encoded as Base64 or <code>null</code>.
+     * Returns the encoded end cursor or <code>null</code>.
      *
      * @return the end cursor or <code>null</code>
      */
@@ -107,7 +122,11 @@ public class GraphQLRelayPageInfo implements Serializable {
         if (endCursor == null) {
             return null;
         }
-        return Base64.getEncoder().encodeToString(serialize(endCursor));
+        return cursorCodec.encode(endCursor);
+    }
+
+    String encodeCursor(int offset, int pageSize, Serializable[] tuple) {
+        return cursorCodec.encode(new GraphQLCursor(offset, pageSize, tuple));
     }
 
     /**
@@ -115,7 +134,9 @@ public class GraphQLRelayPageInfo implements Serializable {
      *
      * @param cursor The cursor
      * @return the serialized form of the cursor
+     * @deprecated Cursors are encoded through a {@link KeysetCursorCodec}
      */
+    @Deprecated
     protected byte[] serialize(GraphQLCursor cursor) {
         return serializeCursor(cursor.getOffset(), cursor.getPageSize(), cursor.getTuple());
     }
@@ -127,7 +148,9 @@ public class GraphQLRelayPageInfo implements Serializable {
      * @param pageSize The page size
      * @param tuple The tuple
      * @return the serialized form of the cursor
+     * @deprecated Cursors are encoded through a {@link KeysetCursorCodec}
      */
+    @Deprecated
     protected byte[] serialize(int offset, int pageSize, Serializable[] tuple) {
         return serializeCursor(offset, pageSize, tuple);
     }
@@ -139,7 +162,9 @@ public class GraphQLRelayPageInfo implements Serializable {
      * @param pageSize The page size
      * @param tuple The tuple
      * @return the serialized form of the cursor
+     * @deprecated Cursors are encoded through a {@link KeysetCursorCodec}
      */
+    @Deprecated
     protected static byte[] serializeCursor(int offset, int pageSize, Serializable[] tuple) {
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.integration.graphql;
+
+/**
+ * A codec for the cursors of keyset paginated results.
+ *
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+public interface KeysetCursorCodec {
+
+    /**
+     * Encodes the given cursor to a string that is safe to use within URLs.
+     *
+     * @param cursor The cursor
+     * @return the encoded cursor
+     */
+    public String encode(GraphQLCursor cursor);
+
+    /**
+     * Decodes the given string to a cursor.
+     *
+     * @param cursor The encoded cursor
+     * @return the decoded cursor
+     */
+    public GraphQLCursor decode(String cursor);
+}
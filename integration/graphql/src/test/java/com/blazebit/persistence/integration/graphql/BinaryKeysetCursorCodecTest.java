@@ -0,0 +1,89 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.integration.graphql;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+public class BinaryKeysetCursorCodecTest {
+
+    @Test
+    public void testRoundTrip() {
+        Serializable[] tuple = new Serializable[]{ 1L, 2, "name", null, UUID.randomUUID(), true, new BigDecimal("-12.345"), Instant.ofEpochSecond(1600000000L, 123), LocalDateTime.of(2020, 1, 2, 3, 4, 5, 6), 1.5d };
+        BinaryKeysetCursorCodec codec = new BinaryKeysetCursorCodec();
+
+        String encoded = codec.encode(new GraphQLCursor(300, 100, tuple));
+        GraphQLCursor cursor = codec.decode(encoded);
+
+        Assert.assertEquals(300, cursor.getOffset());
+        Assert.assertEquals(100, cursor.getPageSize());
+        Assert.assertArrayEquals(tuple, cursor.getTuple());
+    }
+
+    @Test
+    public void testCompactness() {
+        Serializable[] tuple = new Serializable[]{ 1L };
+        String encoded = new BinaryKeysetCursorCodec().encode(new GraphQLCursor(0, 10, tuple));
+        String serialized = Base64.getEncoder().encodeToString(GraphQLRelayPageInfo.serializeCursor(0, 10, tuple));
+
+        Assert.assertTrue(encoded.length() < serialized.length() / 5);
+    }
+
+    @Test
+    public void testDecodeSerialized() {
+        Set<String> allowedTypes = new HashSet<>();
+        allowedTypes.add(Long.class.getName());
+        allowedTypes.add(Number.class.getName());
+        allowedTypes.add(Serializable[].class.getName());
+
+        Serializable[] tuple = new Serializable[]{ 1L };
+        String serialized = Base64.getEncoder().encodeToString(GraphQLRelayPageInfo.serializeCursor(0, 10, tuple));
+        GraphQLCursor cursor = new BinaryKeysetCursorCodec(allowedTypes).decode(serialized);
+
+        Assert.assertEquals(0, cursor.getOffset());
+        Assert.assertEquals(10, cursor.getPageSize());
+        Assert.assertArrayEquals(tuple, cursor.getTuple());
+    }
+
+    @Test
+    public void testDisallowedSerializedElement() {
+        Serializable[] tuple = new Serializable[]{ "test".toCharArray() };
+        BinaryKeysetCursorCodec codec = new BinaryKeysetCursorCodec(Collections.<String>emptySet());
+        String encoded = codec.encode(new GraphQLCursor(0, 10, tuple));
+
+        try {
+            codec.decode(encoded);
+            Assert.fail("Expected to fail deserializing of char[]");
+        } catch (IllegalArgumentException ex) {
+            Assert.assertEquals("Illegal attempt to deserialize disallowed type: [C", ex.getMessage());
+        }
+    }
+}
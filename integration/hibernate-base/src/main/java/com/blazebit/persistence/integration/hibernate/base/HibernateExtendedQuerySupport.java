@@ -25,6 +25,7 @@ import com.blazebit.persistence.spi.CteQueryWrapper;
 import com.blazebit.persistence.spi.DbmsDialect;
 import com.blazebit.persistence.spi.DbmsStatementType;
 import com.blazebit.persistence.spi.ExtendedQuerySupport;
+import com.blazebit.persistence.spi.QueryPlanCacheStatistics;
 import com.blazebit.reflection.ReflectionUtils;
 import org.hibernate.HibernateException;
 import org.hibernate.LockMode;
@@ -63,6 +64,7 @@ import org.hibernate.type.ManyToOneType;
 import org.hibernate.type.Type;
 
 import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 import javax.persistence.NoResultException;
 import javax.persistence.NonUniqueResultException;
 import javax.persistence.PersistenceException;
@@ -84,6 +86,7 @@ import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Logger;
 
 /**
@@ -96,7 +99,7 @@ public class HibernateExtendedQuerySupport implements ExtendedQuerySupport {
     private static final Logger LOG = Logger.getLogger(HibernateExtendedQuerySupport.class.getName());
     private static final String[] KNOWN_STATEMENTS = { "select ", "insert ", "update ", "delete " };
     
-    private final ConcurrentMap<SessionFactoryImplementor, BoundedConcurrentHashMap<QueryPlanCacheKey, QueryPlanCacheValue>> queryPlanCachesCache = new ConcurrentHashMap<>();
+    private final ConcurrentMap<SessionFactoryImplementor, BoundedQueryPlanCache> queryPlanCachesCache = new ConcurrentHashMap<>();
     private final ConcurrentMap<FieldKey, Field> fieldCache = new ConcurrentHashMap<>();
     private final HibernateAccess hibernateAccess;
     
@@ -113,6 +116,12 @@ public class HibernateExtendedQuerySupport implements ExtendedQuerySupport {
         return true;
     }
 
+    @Override
+    public QueryPlanCacheStatistics getQueryPlanCacheStatistics(com.blazebit.persistence.spi.ServiceProvider serviceProvider, EntityManagerFactory entityManagerFactory) {
+        // Create the cache if necessary so that the statistics report the configured maximum size
+        return getQueryPlanCache(serviceProvider, entityManagerFactory.unwrap(SessionFactoryImplementor.class)).getStatistics();
+    }
+
     @Override
     public String getSql(EntityManager em, Query query) {
         SessionImplementor session = em.unwrap(SessionImplementor.class);
@@ -372,15 +381,18 @@ public class HibernateExtendedQuerySupport implements ExtendedQuerySupport {
         QueryParamEntry queryParametersEntry = createQueryParameters(em, query, participatingQueries, queryStrings, querySpaces);
         QueryParameters queryParameters = queryParametersEntry.queryParameters;
 
+        BoundedQueryPlanCache queryPlanCache = getQueryPlanCache(serviceProvider, sfi);
+        long renderingStart = System.nanoTime();
         QueryPlanCacheKey cacheKey = queryPlanCacheEnabled ? createCacheKey(finalSql, participatingQueries, queryStrings) : null;
-        CacheEntry<QueryPlanCacheValue> queryPlanEntry = getQueryPlan(sfi, query, cacheKey);
+        CacheEntry<QueryPlanCacheValue> queryPlanEntry = getQueryPlan(queryPlanCache, sfi, query, cacheKey);
         QueryPlanCacheValue queryPlanCacheValue = queryPlanEntry.getValue();
         HQLQueryPlan queryPlan = queryPlanCacheValue.getQueryPlan();
         
         if (!queryPlanEntry.isFromCache()) {
             prepareQueryPlan(queryPlan, queryParametersEntry.specifications, finalSql, session, null, false, serviceProvider.getService(DbmsDialect.class));
+            queryPlanCache.recordSqlRendering(System.nanoTime() - renderingStart);
             if (queryPlanCacheEnabled) {
-                putQueryPlanIfAbsent(sfi, cacheKey, queryPlanCacheValue);
+                queryPlanCache.putIfAbsent(cacheKey, queryPlanCacheValue);
             }
         }
 
@@ -415,8 +427,10 @@ public class HibernateExtendedQuerySupport implements ExtendedQuerySupport {
         QueryParamEntry queryParametersEntry = createQueryParameters(em, baseQuery, participatingQueries, queryStrings, querySpaces);
         QueryParameters queryParameters = queryParametersEntry.queryParameters;
 
+        BoundedQueryPlanCache queryPlanCache = getQueryPlanCache(serviceProvider, sfi);
+        long renderingStart = System.nanoTime();
         QueryPlanCacheKey cacheKey = queryPlanCacheEnabled ? createCacheKey(finalSql, participatingQueries, queryStrings, firstResult, maxResults) : null;
-        CacheEntry<QueryPlanCacheValue> queryPlanEntry = getQueryPlan(sfi, query, cacheKey);
+        CacheEntry<QueryPlanCacheValue> queryPlanEntry = getQueryPlan(queryPlanCache, sfi, query, cacheKey);
         QueryPlanCacheValue queryPlanCacheValue = queryPlanEntry.getValue();
         HQLQueryPlan queryPlan = queryPlanCacheValue.getQueryPlan();
 
@@ -439,8 +453,9 @@ public class HibernateExtendedQuerySupport implements ExtendedQuerySupport {
 
         if (!queryPlanEntry.isFromCache()) {
             prepareQueryPlan(queryPlan, queryParametersEntry.specifications, finalSql, session, baseQuery, true, dbmsDialect);
+            queryPlanCache.recordSqlRendering(System.nanoTime() - renderingStart);
             if (queryPlanCacheEnabled) {
-                putQueryPlanIfAbsent(sfi, cacheKey, new QueryPlanCacheValue(queryPlan, returningColumns, returningColumnTypes));
+                queryPlanCache.putIfAbsent(cacheKey, new QueryPlanCacheValue(queryPlan, returningColumns, returningColumnTypes));
             }
         }
 
@@ -492,8 +507,10 @@ public class HibernateExtendedQuerySupport implements ExtendedQuerySupport {
         QueryParameters queryParameters = queryParametersEntry.queryParameters;
         
         // Create plan for example query
+        BoundedQueryPlanCache queryPlanCache = getQueryPlanCache(serviceProvider, sfi);
+        long renderingStart = System.nanoTime();
         QueryPlanCacheKey cacheKey = queryPlanCacheEnabled ? createCacheKey(sqlOverride, participatingQueries, queryStrings) : null;
-        CacheEntry<QueryPlanCacheValue> queryPlanEntry = getQueryPlan(sfi, exampleQuery, cacheKey);
+        CacheEntry<QueryPlanCacheValue> queryPlanEntry = getQueryPlan(queryPlanCache, sfi, exampleQuery, cacheKey);
         QueryPlanCacheValue queryPlanCacheValue = queryPlanEntry.getValue();
         HQLQueryPlan queryPlan = queryPlanCacheValue.getQueryPlan();
 
@@ -517,8 +534,9 @@ public class HibernateExtendedQuerySupport implements ExtendedQuerySupport {
             HibernateReturningResult<Object[]> returningResult = new HibernateReturningResult<Object[]>();
             if (!queryPlanEntry.isFromCache()) {
                 prepareQueryPlan(queryPlan, queryParametersEntry.specifications, finalSql, session, modificationBaseQuery, true, dbmsDialect);
+                queryPlanCache.recordSqlRendering(System.nanoTime() - renderingStart);
                 if (queryPlanCacheEnabled) {
-                    putQueryPlanIfAbsent(sfi, cacheKey, new QueryPlanCacheValue(queryPlan, returningColumns, returningColumnTypes));
+                    queryPlanCache.putIfAbsent(cacheKey, new QueryPlanCacheValue(queryPlan, returningColumns, returningColumnTypes));
                 }
             }
 
@@ -1011,14 +1029,13 @@ public class HibernateExtendedQuerySupport implements ExtendedQuerySupport {
         return i;
     }
 
-    private CacheEntry<QueryPlanCacheValue> getQueryPlan(SessionFactoryImplementor sfi, Query query, QueryPlanCacheKey cacheKey) {
+    private CacheEntry<QueryPlanCacheValue> getQueryPlan(BoundedQueryPlanCache queryPlanCache, SessionFactoryImplementor sfi, Query query, QueryPlanCacheKey cacheKey) {
         QueryPlanCacheValue queryPlan;
         boolean fromCache;
         if (cacheKey == null) {
             fromCache = false;
             queryPlan = createQueryPlan(sfi, query);
         } else {
-            BoundedConcurrentHashMap<QueryPlanCacheKey, QueryPlanCacheValue> queryPlanCache = getQueryPlanCache(sfi);
             queryPlan = queryPlanCache.get(cacheKey);
             if (queryPlan == null) {
                 fromCache = false;
@@ -1031,22 +1048,22 @@ public class HibernateExtendedQuerySupport implements ExtendedQuerySupport {
         return new CacheEntry<>(queryPlan, fromCache);
     }
     
-    private QueryPlanCacheValue putQueryPlanIfAbsent(SessionFactoryImplementor sfi, QueryPlanCacheKey cacheKey, QueryPlanCacheValue queryPlan) {
-        BoundedConcurrentHashMap<QueryPlanCacheKey, QueryPlanCacheValue> queryPlanCache = getQueryPlanCache(sfi);
-        return queryPlanCache.putIfAbsent(cacheKey, queryPlan);
-    }
-    
     private QueryPlanCacheValue createQueryPlan(SessionFactoryImplementor sfi, Query query) {
         org.hibernate.Query hibernateQuery = query.unwrap(org.hibernate.Query.class);
         String queryString = hibernateQuery.getQueryString();
         return new QueryPlanCacheValue(new HQLQueryPlan(queryString, false, Collections.EMPTY_MAP, sfi), null, null);
     }
     
-    private BoundedConcurrentHashMap<QueryPlanCacheKey, QueryPlanCacheValue> getQueryPlanCache(SessionFactoryImplementor sfi) {
-        BoundedConcurrentHashMap<QueryPlanCacheKey, QueryPlanCacheValue> queryPlanCache = queryPlanCachesCache.get(sfi);
+    private BoundedQueryPlanCache getQueryPlanCache(com.blazebit.persistence.spi.ServiceProvider serviceProvider, SessionFactoryImplementor sfi) {
+        BoundedQueryPlanCache queryPlanCache = queryPlanCachesCache.get(sfi);
         if (queryPlanCache == null) {
-            queryPlanCache = new BoundedConcurrentHashMap<QueryPlanCacheKey, QueryPlanCacheValue>(QueryPlanCache.DEFAULT_QUERY_PLAN_MAX_COUNT, 20, BoundedConcurrentHashMap.Eviction.LIRS);
-            BoundedConcurrentHashMap<QueryPlanCacheKey, QueryPlanCacheValue> oldQueryPlanCache = queryPlanCachesCache.putIfAbsent(sfi, queryPlanCache);
+            int maximumSize = QueryPlanCache.DEFAULT_QUERY_PLAN_MAX_COUNT;
+            String maximumSizeValue = serviceProvider.getService(ConfigurationSource.class).getProperty(ConfigurationProperties.QUERY_PLAN_CACHE_MAX_SIZE);
+            if (maximumSizeValue != null) {
+                maximumSize = Integer.parseInt(maximumSizeValue);
+            }
+            queryPlanCache = new BoundedQueryPlanCache(maximumSize);
+            BoundedQueryPlanCache oldQueryPlanCache = queryPlanCachesCache.putIfAbsent(sfi, queryPlanCache);
             if (oldQueryPlanCache != null) {
                 queryPlanCache = oldQueryPlanCache;
             }
@@ -1216,6 +1233,56 @@ public class HibernateExtendedQuerySupport implements ExtendedQuerySupport {
         }
     }
 
+    /**
+     * @author Christian Beikov
+     * @since 1.6.0
+     */
+    private static class BoundedQueryPlanCache {
+
+        private final int maximumSize;
+        private final BoundedConcurrentHashMap<QueryPlanCacheKey, QueryPlanCacheValue> queryPlans;
+        private final AtomicLong hitCount = new AtomicLong();
+        private final AtomicLong missCount = new AtomicLong();
+        private final AtomicLong putCount = new AtomicLong();
+        private final AtomicLong sqlRenderingCount = new AtomicLong();
+        private final AtomicLong sqlRenderingTimeNanos = new AtomicLong();
+
+        public BoundedQueryPlanCache(int maximumSize) {
+            this.maximumSize = maximumSize;
+            this.queryPlans = new BoundedConcurrentHashMap<>(maximumSize, 20, BoundedConcurrentHashMap.Eviction.LIRS);
+        }
+
+        public QueryPlanCacheValue get(QueryPlanCacheKey cacheKey) {
+            QueryPlanCacheValue queryPlan = queryPlans.get(cacheKey);
+            if (queryPlan == null) {
+                missCount.incrementAndGet();
+            } else {
+                hitCount.incrementAndGet();
+            }
+            return queryPlan;
+        }
+
+        public QueryPlanCacheValue putIfAbsent(QueryPlanCacheKey cacheKey, QueryPlanCacheValue queryPlan) {
+            QueryPlanCacheValue oldQueryPlan = queryPlans.putIfAbsent(cacheKey, queryPlan);
+            if (oldQueryPlan == null) {
+                putCount.incrementAndGet();
+            }
+            return oldQueryPlan;
+        }
+
+        public void recordSqlRendering(long nanos) {
+            sqlRenderingCount.incrementAndGet();
+            sqlRenderingTimeNanos.addAndGet(nanos);
+        }
+
+        public QueryPlanCacheStatistics getStatistics() {
+            int size = queryPlans.size();
+            // Entries are never removed explicitly, so every stored plan that is gone was evicted
+            long evictionCount = Math.max(0L, putCount.get() - size);
+            return new QueryPlanCacheStatistics(maximumSize, size, hitCount.get(), missCount.get(), evictionCount, sqlRenderingCount.get(), sqlRenderingTimeNanos.get());
+        }
+    }
+
     /**
      * @author Moritz Becker
      * @since 1.6.0
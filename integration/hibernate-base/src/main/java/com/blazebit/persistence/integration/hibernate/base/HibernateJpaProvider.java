@@ -24,10 +24,12 @@ import com.blazebit.persistence.spi.JpaProvider;
 import org.hibernate.MappingException;
 import org.hibernate.engine.spi.CascadingAction;
 import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.LoadQueryInfluencers;
 import org.hibernate.engine.spi.Mapping;
 import org.hibernate.engine.spi.PersistenceContext;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.internal.FilterImpl;
 import org.hibernate.mapping.Column;
 import org.hibernate.mapping.Table;
 import org.hibernate.persister.collection.CollectionPersister;
@@ -70,6 +72,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -1447,6 +1450,29 @@ public class HibernateJpaProvider implements JpaProvider {
         return pc.getEntity(entityKey) != null || pc.getProxy(entityKey) != null;
     }
 
+    @Override
+    public boolean hasSessionState(EntityManager em) {
+        SessionImplementor session = em.unwrap(SessionImplementor.class);
+        // Checking the session for unflushed changes is not enough, as changes flushed in a running transaction are invisible to other connections as well
+        return session.isTransactionInProgress() || session.getLoadQueryInfluencers().hasEnabledFilters() || session.getTenantIdentifier() != null;
+    }
+
+    @Override
+    public Object getSessionStateKey(EntityManager em) {
+        SessionImplementor session = em.unwrap(SessionImplementor.class);
+        LoadQueryInfluencers loadQueryInfluencers = session.getLoadQueryInfluencers();
+        String tenantIdentifier = session.getTenantIdentifier();
+        if (!loadQueryInfluencers.hasEnabledFilters()) {
+            return tenantIdentifier;
+        }
+        Map<String, Object> filterParameters = new HashMap<>();
+        for (Object filter : loadQueryInfluencers.getEnabledFilters().values()) {
+            FilterImpl filterImpl = (FilterImpl) filter;
+            filterParameters.put(filterImpl.getName(), new HashMap<String, Object>(filterImpl.getParameters()));
+        }
+        return Arrays.asList(tenantIdentifier, filterParameters);
+    }
+
     private Attribute<?, ?> getAttribute(EntityType<?> ownerType, String attributeName) {
         if (attributeName.indexOf('.') == -1) {
             return ownerType.getAttribute(attributeName);
@@ -61,6 +61,8 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -388,6 +390,14 @@ public class EntityViewMessageBodyReader implements MessageBodyReader<Object> {
             return entityViewManager.get().find(entityManager, entityViewSetting, entityId);
         }
 
+        public <T> List<T> findAll(EntityManager entityManager, Class<T> entityViewClass, Collection<?> entityIds) {
+            return entityViewManager.get().findAll(entityManager, entityViewClass, entityIds);
+        }
+
+        public <T> List<T> findAll(EntityManager entityManager, EntityViewSetting<T, CriteriaBuilder<T>> entityViewSetting, Collection<?> entityIds) {
+            return entityViewManager.get().findAll(entityManager, entityViewSetting, entityIds);
+        }
+
         public <T> T getReference(Class<T> entityViewClass, Object id) {
             return entityViewManager.get().getReference(entityViewClass, id);
         }
@@ -514,6 +524,14 @@ public class EntityViewMessageBodyReader implements MessageBodyReader<Object> {
             return entityViewManager.get().saveFullWithTo(entityManager, view, entity);
         }
 
+        public void saveAll(EntityManager entityManager, Iterable<?> views) {
+            entityViewManager.get().saveAll(entityManager, views);
+        }
+
+        public FlushOperationBuilder saveAllWith(EntityManager entityManager, Iterable<?> views) {
+            return entityViewManager.get().saveAllWith(entityManager, views);
+        }
+
         public void remove(EntityManager entityManager, Object view) {
             entityViewManager.get().remove(entityManager, view);
         }
@@ -538,6 +556,14 @@ public class EntityViewMessageBodyReader implements MessageBodyReader<Object> {
             return entityViewManager.get().applySetting(setting, criteriaBuilder, entityViewRoot);
         }
 
+        public <T, Q extends FullQueryBuilder<T, Q>> List<T> getResultList(EntityViewSetting<T, Q> setting, CriteriaBuilder<?> criteriaBuilder) {
+            return entityViewManager.get().getResultList(setting, criteriaBuilder);
+        }
+
+        public <T, Q extends FullQueryBuilder<T, Q>> List<T> getResultList(EntityViewSetting<T, Q> setting, CriteriaBuilder<?> criteriaBuilder, String entityViewRoot) {
+            return entityViewManager.get().getResultList(setting, criteriaBuilder, entityViewRoot);
+        }
+
         public <T> T getService(Class<T> serviceClass) {
             return entityViewManager.get().getService(serviceClass);
         }
@@ -303,6 +303,21 @@ public class OpenJPAJpaProvider implements JpaProvider {
         return false;
     }
 
+    @Override
+    public boolean hasSessionState(EntityManager em) {
+        try {
+            return em.getTransaction().isActive();
+        } catch (IllegalStateException ex) {
+            // JTA entity managers don't expose the transaction, so we have to assume it is active
+            return true;
+        }
+    }
+
+    @Override
+    public Object getSessionStateKey(EntityManager em) {
+        return null;
+    }
+
     @Override
     public boolean supportsSingleValuedAssociationIdExpressions() {
         return true;
@@ -56,6 +56,20 @@ import com.blazebit.persistence.WindowFrameBetweenBuilder;
 import com.blazebit.persistence.WindowFrameBuilder;
 import com.blazebit.persistence.WindowFrameExclusionBuilder;
 import com.blazebit.persistence.parser.EntityMetamodel;
+import com.blazebit.persistence.parser.expression.ExpressionTreeBuilder;
+import com.blazebit.persistence.parser.expression.JoinOnExpressionTreeBuilder;
+import com.blazebit.persistence.parser.expression.ParameterExpression;
+import com.blazebit.persistence.parser.expression.PathElementExpression;
+import com.blazebit.persistence.parser.expression.PathExpression;
+import com.blazebit.persistence.parser.expression.PropertyExpression;
+import com.blazebit.persistence.parser.predicate.CompoundPredicate;
+import com.blazebit.persistence.parser.predicate.EqPredicate;
+import com.blazebit.persistence.parser.predicate.GePredicate;
+import com.blazebit.persistence.parser.predicate.GtPredicate;
+import com.blazebit.persistence.parser.predicate.IsNullPredicate;
+import com.blazebit.persistence.parser.predicate.LePredicate;
+import com.blazebit.persistence.parser.predicate.LtPredicate;
+import com.blazebit.persistence.parser.predicate.Predicate;
 import com.blazebit.persistence.parser.util.JpaMetamodelUtils;
 import com.blazebit.persistence.spi.ExtendedAttribute;
 import com.blazebit.persistence.spi.ExtendedManagedType;
@@ -74,6 +88,8 @@ import com.querydsl.core.types.Order;
 import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.ParamExpression;
 import com.querydsl.core.types.Path;
+import com.querydsl.core.types.PathMetadata;
+import com.querydsl.core.types.PathType;
 import com.querydsl.core.types.SubQueryExpression;
 import com.querydsl.core.types.TemplateExpression;
 import com.querydsl.core.types.Visitor;
@@ -111,6 +127,7 @@ public class BlazeCriteriaBuilderRenderer<T> {
     private final EntityManager entityManager;
     private final JPQLNextSerializer serializer;
     private final Map<Object, String> constantToLabel = new IdentityHashMap<>();
+    private final Map<Object, String> pendingConstantToLabel = new IdentityHashMap<>();
     private Map<Expression<?>, String> subQueryToLabel = new IdentityHashMap<>();
     private final List<SubqueryInitiator<?>> subqueryInitiatorStack = new ArrayList<SubqueryInitiator<?>>();
     private List<Path<?>> cteAliases;
@@ -627,8 +644,28 @@ public class BlazeCriteriaBuilderRenderer<T> {
     }
 
     private void renderOrderSpecifier(OrderSpecifier<?> orderSpecifier, OrderByBuilder<?> criteriaBuilder) {
-        String orderExpression = renderExpression(orderSpecifier.getTarget());
         boolean ascending = orderSpecifier.isAscending();
+        if (criteriaBuilder instanceof ExpressionTreeBuilder<?>) {
+            com.blazebit.persistence.parser.expression.Expression expressionTree = createExpressionTree(orderSpecifier.getTarget());
+            if (expressionTree == null) {
+                pendingConstantToLabel.clear();
+            } else {
+                usePendingConstantLabels();
+                switch (orderSpecifier.getNullHandling()) {
+                    case Default:
+                    case NullsLast:
+                        ((ExpressionTreeBuilder<?>) criteriaBuilder).orderByExpressionTree(expressionTree, ascending, false);
+                        return;
+                    case NullsFirst:
+                        ((ExpressionTreeBuilder<?>) criteriaBuilder).orderByExpressionTree(expressionTree, ascending, true);
+                        return;
+                    default:
+                        throw new IllegalArgumentException("Null handling not implemented for " + orderSpecifier.getNullHandling());
+                }
+            }
+        }
+
+        String orderExpression = renderExpression(orderSpecifier.getTarget());
         switch (orderSpecifier.getNullHandling()) {
             case Default:
                 criteriaBuilder.orderBy(orderExpression, ascending);
@@ -664,6 +701,141 @@ public class BlazeCriteriaBuilderRenderer<T> {
         return serializer.takeBuffer();
     }
 
+    private String getConstantLabel(Object constant) {
+        String label = constantToLabel.get(constant);
+        if (label == null) {
+            label = "param_" + constantToLabel.size();
+            constantToLabel.put(constant, label);
+        }
+        return label;
+    }
+
+    private String getPendingConstantLabel(Object constant) {
+        String label = constantToLabel.get(constant);
+        if (label == null) {
+            label = pendingConstantToLabel.get(constant);
+            if (label == null) {
+                label = "param_" + (constantToLabel.size() + pendingConstantToLabel.size());
+                pendingConstantToLabel.put(constant, label);
+            }
+        }
+        return label;
+    }
+
+    private void usePendingConstantLabels() {
+        constantToLabel.putAll(pendingConstantToLabel);
+        pendingConstantToLabel.clear();
+    }
+
+    /**
+     * Creates the expression tree for simple expressions i.e. paths, parameters, constants and basic predicates
+     * so that these don't have to be serialized to a string that is parsed again by the criteria builder.
+     * Labels for constants are only registered as pending, so the caller must either use the pending labels
+     * via {@link #usePendingConstantLabels()} when using the tree, or clear them when falling back to the serializer.
+     *
+     * @param expression the expression to convert
+     * @return the expression tree or <code>null</code> if the expression has to be serialized
+     */
+    private com.blazebit.persistence.parser.expression.Expression createExpressionTree(Expression<?> expression) {
+        if (expression instanceof Path<?>) {
+            return createPathExpressionTree((Path<?>) expression);
+        } else if (expression instanceof ParamExpression<?>) {
+            return new ParameterExpression(((ParamExpression<?>) expression).getName());
+        } else if (expression instanceof Constant<?>) {
+            Object constant = ((Constant<?>) expression).getConstant();
+            // Collection constants are wrapped by the serializer, so leave these to it
+            if (constant instanceof Collection<?> || constant.getClass().isArray()) {
+                return null;
+            }
+            return new ParameterExpression(getPendingConstantLabel(constant));
+        } else if (expression instanceof Operation<?>) {
+            return createOperationExpressionTree((Operation<?>) expression);
+        }
+        return null;
+    }
+
+    private PathExpression createPathExpressionTree(Path<?> path) {
+        PathMetadata metadata = path.getMetadata();
+        if (metadata.getPathType() == PathType.VARIABLE) {
+            List<PathElementExpression> pathElements = new ArrayList<>();
+            pathElements.add(new PropertyExpression(metadata.getName()));
+            return new PathExpression(pathElements);
+        } else if (metadata.getPathType() == PathType.PROPERTY) {
+            PathExpression parent = createPathExpressionTree(metadata.getParent());
+            if (parent != null) {
+                parent.getExpressions().add(new PropertyExpression(metadata.getName()));
+            }
+            return parent;
+        }
+        return null;
+    }
+
+    private Predicate createOperationExpressionTree(Operation<?> operation) {
+        Operator operator = operation.getOperator();
+        if (operator == Ops.AND || operator == Ops.OR) {
+            CompoundPredicate.BooleanOperator booleanOperator = operator == Ops.AND ? CompoundPredicate.BooleanOperator.AND : CompoundPredicate.BooleanOperator.OR;
+            List<Predicate> children = new ArrayList<>(operation.getArgs().size());
+            for (Expression<?> arg : operation.getArgs()) {
+                com.blazebit.persistence.parser.expression.Expression child = createExpressionTree(arg);
+                if (!(child instanceof Predicate)) {
+                    return null;
+                }
+                if (child instanceof CompoundPredicate && ((CompoundPredicate) child).getOperator() == booleanOperator && !((Predicate) child).isNegated()) {
+                    children.addAll(((CompoundPredicate) child).getChildren());
+                } else {
+                    children.add((Predicate) child);
+                }
+            }
+            return new CompoundPredicate(booleanOperator, children);
+        } else if (operator == Ops.NOT) {
+            com.blazebit.persistence.parser.expression.Expression child = createExpressionTree(operation.getArg(0));
+            if (!(child instanceof Predicate)) {
+                return null;
+            }
+            Predicate predicate = (Predicate) child;
+            if (predicate.isNegated()) {
+                // wrap in this case to maintain negational structure
+                predicate = new CompoundPredicate(CompoundPredicate.BooleanOperator.AND, predicate);
+            }
+            predicate.negate();
+            return predicate;
+        } else if (operator == Ops.IS_NULL || operator == Ops.IS_NOT_NULL) {
+            com.blazebit.persistence.parser.expression.Expression expression = createExpressionTree(operation.getArg(0));
+            if (expression == null || expression instanceof Predicate) {
+                return null;
+            }
+            return new IsNullPredicate(expression, operator == Ops.IS_NOT_NULL);
+        } else if (operator == Ops.EQ || operator == Ops.NE || operator == Ops.LT || operator == Ops.LOE || operator == Ops.GT || operator == Ops.GOE) {
+            if (operator != Ops.EQ && operator != Ops.NE && (isNumberConstant(operation.getArg(0)) || isNumberConstant(operation.getArg(1)))) {
+                // The serializer normalizes numeric constants of relational operations to a common type
+                return null;
+            }
+            com.blazebit.persistence.parser.expression.Expression left = createExpressionTree(operation.getArg(0));
+            com.blazebit.persistence.parser.expression.Expression right = createExpressionTree(operation.getArg(1));
+            if (left == null || right == null || left instanceof Predicate || right instanceof Predicate) {
+                return null;
+            }
+            if (operator == Ops.EQ) {
+                return new EqPredicate(left, right);
+            } else if (operator == Ops.NE) {
+                return new EqPredicate(left, right, true);
+            } else if (operator == Ops.LT) {
+                return new LtPredicate(left, right);
+            } else if (operator == Ops.LOE) {
+                return new LePredicate(left, right);
+            } else if (operator == Ops.GT) {
+                return new GtPredicate(left, right);
+            } else {
+                return new GePredicate(left, right);
+            }
+        }
+        return null;
+    }
+
+    private static boolean isNumberConstant(Expression<?> expression) {
+        return expression instanceof Constant<?> && ((Constant<?>) expression).getConstant() instanceof Number;
+    }
+
     private void pushSubqueryInitiator(SubqueryInitiator<?> subqueryInitiator) {
         subqueryInitiatorStack.add(subqueryInitiator);
     }
@@ -731,13 +903,45 @@ public class BlazeCriteriaBuilderRenderer<T> {
 
     }
 
+    /**
+     * Helper class to pass expression trees to a certain type of builder.
+     * Expression setters that don't implement this interface always receive serialized expressions.
+     *
+     * @param <B> Builder type
+     * @param <X> Builder result type
+     * @author Christian Beikov
+     * @since 1.6.0
+     */
+    private interface ExpressionTreeSetter<B, X> extends ExpressionSetter<B, X> {
+
+        /**
+         * Whether the builder accepts the given expression tree.
+         *
+         * @param builder the builder
+         * @param expression the expression tree
+         * @return whether {@link #setExpressionTree(Object, com.blazebit.persistence.parser.expression.Expression, String)} can be used
+         */
+        boolean supportsExpressionTree(B builder, com.blazebit.persistence.parser.expression.Expression expression);
+
+        /**
+         * Set an expression tree.
+         *
+         * @param builder the builder
+         * @param expression the expression tree to set
+         * @param alias an optional alias to use
+         * @return the builder result
+         */
+        X setExpressionTree(B builder, com.blazebit.persistence.parser.expression.Expression expression, String alias);
+
+    }
+
     /**
      * Helper class to serialize expressions for SelectBuilder instances.
      *
      * @param <X> Builder result type
      * @author Jan-Willem Gmelig Meyling
      */
-    private static class SelectBuilderExpressionSetter<X> implements ExpressionSetter<SelectBuilder<X>, X> {
+    private static class SelectBuilderExpressionSetter<X> implements ExpressionTreeSetter<SelectBuilder<X>, X> {
 
         private static final SelectBuilderExpressionSetter INSTANCE = new SelectBuilderExpressionSetter();
 
@@ -751,6 +955,17 @@ public class BlazeCriteriaBuilderRenderer<T> {
             return alias != null ? builder.selectSubqueries(expression, alias) : builder.selectSubqueries(expression);
         }
 
+        @Override
+        public boolean supportsExpressionTree(SelectBuilder<X> builder, com.blazebit.persistence.parser.expression.Expression expression) {
+            return builder instanceof ExpressionTreeBuilder<?> && !(expression instanceof Predicate);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public X setExpressionTree(SelectBuilder<X> builder, com.blazebit.persistence.parser.expression.Expression expression, String alias) {
+            return ((ExpressionTreeBuilder<X>) builder).selectExpressionTree(expression, alias);
+        }
+
     }
 
     /**
@@ -759,7 +974,7 @@ public class BlazeCriteriaBuilderRenderer<T> {
      * @param <X> Builder result type
      * @author Jan-Willem Gmelig Meyling
      */
-    private static class JoinOnBuilderExpressionSetter<X> implements ExpressionSetter<JoinOnBuilder<X>, X> {
+    private static class JoinOnBuilderExpressionSetter<X> implements ExpressionTreeSetter<JoinOnBuilder<X>, X> {
 
         private static final JoinOnBuilderExpressionSetter INSTANCE = new JoinOnBuilderExpressionSetter();
 
@@ -773,6 +988,17 @@ public class BlazeCriteriaBuilderRenderer<T> {
             return builder.setOnExpressionSubqueries(expression);
         }
 
+        @Override
+        public boolean supportsExpressionTree(JoinOnBuilder<X> builder, com.blazebit.persistence.parser.expression.Expression expression) {
+            return builder instanceof JoinOnExpressionTreeBuilder<?> && expression instanceof Predicate;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public X setExpressionTree(JoinOnBuilder<X> builder, com.blazebit.persistence.parser.expression.Expression expression, String alias) {
+            return ((JoinOnExpressionTreeBuilder<X>) builder).setOnExpressionTree((Predicate) expression);
+        }
+
     }
 
     /**
@@ -803,7 +1029,7 @@ public class BlazeCriteriaBuilderRenderer<T> {
      * @param <X> Builder result type
      * @author Jan-Willem Gmelig Meyling
      */
-    private static class WhereBuilderExpressionSetter<X extends WhereBuilder<X>> implements ExpressionSetter<WhereBuilder<X>, X> {
+    private static class WhereBuilderExpressionSetter<X extends WhereBuilder<X>> implements ExpressionTreeSetter<WhereBuilder<X>, X> {
 
         private static final WhereBuilderExpressionSetter INSTANCE = new WhereBuilderExpressionSetter();
 
@@ -817,9 +1043,29 @@ public class BlazeCriteriaBuilderRenderer<T> {
             return builder.setWhereExpressionSubqueries(expression);
         }
 
+        @Override
+        public boolean supportsExpressionTree(WhereBuilder<X> builder, com.blazebit.persistence.parser.expression.Expression expression) {
+            return builder instanceof ExpressionTreeBuilder<?> && expression instanceof Predicate;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public X setExpressionTree(WhereBuilder<X> builder, com.blazebit.persistence.parser.expression.Expression expression, String alias) {
+            return ((ExpressionTreeBuilder<X>) builder).setWhereExpressionTree((Predicate) expression);
+        }
+
     }
 
     private <B, X> X setExpressionSubqueries(Expression<?> expression, String alias, B builder, ExpressionSetter<B, X> expressionSetter) {
+        if (expressionSetter instanceof ExpressionTreeSetter<?, ?>) {
+            ExpressionTreeSetter<B, X> expressionTreeSetter = (ExpressionTreeSetter<B, X>) expressionSetter;
+            com.blazebit.persistence.parser.expression.Expression expressionTree = createExpressionTree(expression);
+            if (expressionTree != null && expressionTreeSetter.supportsExpressionTree(builder, expressionTree)) {
+                usePendingConstantLabels();
+                return expressionTreeSetter.setExpressionTree(builder, expressionTree, alias);
+            }
+            pendingConstantToLabel.clear();
+        }
         String expressionString = renderExpression(expression);
         Map<Expression<?>, String> subQueryToLabel = takeSubQueryToLabelMap();
         if (subQueryToLabel.isEmpty()) {
@@ -1027,12 +1273,7 @@ public class BlazeCriteriaBuilderRenderer<T> {
                 append("(");
             }
             append(":");
-            String label = constantToLabel.get(constant);
-            if (label == null) {
-                label = "param_" + constantToLabel.size();
-                constantToLabel.put(constant, label);
-            }
-            append(label);
+            append(getConstantLabel(constant));
             if (wrap) {
                 append(")");
             }
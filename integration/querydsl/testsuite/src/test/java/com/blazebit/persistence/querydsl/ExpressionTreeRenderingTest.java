@@ -0,0 +1,133 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.querydsl;
+
+import com.blazebit.persistence.CriteriaBuilder;
+import com.blazebit.persistence.testsuite.AbstractCoreTest;
+import com.blazebit.persistence.testsuite.entity.Document;
+import com.blazebit.persistence.testsuite.entity.PolymorphicBase;
+import com.blazebit.persistence.testsuite.entity.PolymorphicBaseContainer;
+import com.blazebit.persistence.testsuite.entity.PolymorphicSub1;
+import com.blazebit.persistence.testsuite.entity.PolymorphicSub2;
+import com.blazebit.persistence.testsuite.entity.QPerson;
+import com.blazebit.persistence.testsuite.entity.QPolymorphicBase;
+import com.blazebit.persistence.testsuite.entity.QPolymorphicSub1;
+import com.querydsl.core.types.dsl.Param;
+import com.querydsl.jpa.JPAExpressions;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static com.blazebit.persistence.testsuite.entity.QDocument.document;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Asserts that expressions passed as expression trees render the same query as the string based route
+ * and that expressions which can't be passed as trees still render as before.
+ *
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+public class ExpressionTreeRenderingTest extends AbstractCoreTest {
+
+    @Override
+    protected Class<?>[] getEntityClasses() {
+        return concat(super.getEntityClasses(), new Class<?>[] {
+                PolymorphicBase.class,
+                PolymorphicSub1.class,
+                PolymorphicSub2.class,
+                PolymorphicBaseContainer.class
+        });
+    }
+
+    @Test
+    public void testPredicateTree() {
+        Param<String> name = new Param<>(String.class, "name");
+        BlazeJPAQuery<String> query = new BlazeJPAQuery<Document>(em, cbf).from(document)
+                .select(document.name)
+                .where(document.name.eq("bogus").and(document.owner.name.isNotNull().or(document.name.ne(name))))
+                .orderBy(document.id.asc(), document.owner.name.desc().nullsFirst())
+                .set(name, "other");
+
+        CriteriaBuilder<String> expected = cbf.create(em, String.class)
+                .from(Document.class, "document")
+                .select("document.name")
+                .whereExpression("document.name = :param_0 AND (document.owner.name IS NOT NULL OR document.name <> :name)")
+                .orderByAsc("document.id")
+                .orderByDesc("document.owner.name", true);
+        assertEquals(expected.getQueryString(), query.getQueryString());
+        query.fetch();
+    }
+
+    @Test
+    public void testJoinOnPredicateTree() {
+        QPerson owner = new QPerson("owner");
+        BlazeJPAQuery<Document> query = new BlazeJPAQuery<Document>(em, cbf).from(document)
+                .select(document)
+                .leftJoin(document.owner, owner).on(owner.name.eq("bogus"));
+
+        CriteriaBuilder<Document> expected = cbf.create(em, Document.class)
+                .from(Document.class, "document")
+                .select("document")
+                .leftJoinOn("document.owner", "owner").on("owner.name").eqExpression(":param_0").end();
+        assertEquals(expected.getQueryString(), query.getQueryString());
+        query.fetch();
+    }
+
+    @Test
+    public void testNumericRelationalConstantsFallBackToString() {
+        // The constants of the equality predicate are only labeled if the tree is used
+        BlazeJPAQuery<Document> query = new BlazeJPAQuery<Document>(em, cbf).from(document)
+                .select(document)
+                .where(document.name.eq("bogus").and(document.age.gt(1L)));
+
+        CriteriaBuilder<Document> expected = cbf.create(em, Document.class)
+                .from(Document.class, "document")
+                .select("document")
+                .whereExpression("document.name = :param_0 AND document.age > :param_1");
+        assertEquals(expected.getQueryString(), query.getQueryString());
+        query.fetch();
+    }
+
+    @Test
+    public void testCollectionConstantsFallBackToString() {
+        BlazeJPAQuery<Document> query = new BlazeJPAQuery<Document>(em, cbf).from(document)
+                .select(document)
+                .where(document.id.in(Arrays.asList(1L, 2L)).and(document.name.eq("bogus")));
+
+        CriteriaBuilder<Document> expected = cbf.create(em, Document.class)
+                .from(Document.class, "document")
+                .select("document")
+                .whereExpression("document.id IN (:param_0) AND document.name = :param_1");
+        assertEquals(expected.getQueryString(), query.getQueryString());
+        query.fetch();
+    }
+
+    @Test
+    public void testTreatFallsBackToString() {
+        QPolymorphicBase base = new QPolymorphicBase("base");
+        BlazeJPAQuery<Integer> query = new BlazeJPAQuery<PolymorphicBase>(em, cbf).from(base)
+                .select(JPAExpressions.treat(base, QPolymorphicSub1.class).sub1Value)
+                .orderBy(base.id.asc());
+
+        CriteriaBuilder<Integer> expected = cbf.create(em, Integer.class)
+                .from(PolymorphicBase.class, "base")
+                .select("TREAT(base AS PolymorphicSub1).sub1Value")
+                .orderByAsc("base.id");
+        assertEquals(expected.getQueryString(), query.getQueryString());
+    }
+}
@@ -41,9 +41,16 @@ import com.blazebit.persistence.criteria.impl.expression.AbstractSelection;
 import com.blazebit.persistence.criteria.impl.expression.SubqueryExpression;
 import com.blazebit.persistence.criteria.impl.path.AbstractFrom;
 import com.blazebit.persistence.criteria.impl.path.AbstractJoin;
+import com.blazebit.persistence.criteria.impl.path.AbstractPath;
 import com.blazebit.persistence.criteria.impl.path.EntityJoin;
+import com.blazebit.persistence.criteria.impl.path.PluralAttributePath;
 import com.blazebit.persistence.criteria.impl.path.RootImpl;
+import com.blazebit.persistence.criteria.impl.path.SingularAttributePath;
 import com.blazebit.persistence.criteria.impl.path.TreatedPath;
+import com.blazebit.persistence.parser.expression.ExpressionTreeBuilder;
+import com.blazebit.persistence.parser.expression.PathElementExpression;
+import com.blazebit.persistence.parser.expression.PathExpression;
+import com.blazebit.persistence.parser.expression.PropertyExpression;
 
 import javax.persistence.Tuple;
 import javax.persistence.criteria.Expression;
@@ -408,6 +415,15 @@ public class InternalQuery<T> implements Serializable {
             ((SubqueryExpression<?>) s).renderSubquery(context);
             context.popSubqueryInitiator();
         } else {
+            PathExpression pathExpression = cb instanceof ExpressionTreeBuilder<?> ? createPathExpression(context, s) : null;
+            if (pathExpression != null) {
+                if (s.getAlias() != null && !(s instanceof AbstractFrom<?, ?>)) {
+                    ((ExpressionTreeBuilder<?>) cb).selectExpressionTree(pathExpression, s.getAlias());
+                } else {
+                    ((ExpressionTreeBuilder<?>) cb).selectExpressionTree(pathExpression, null);
+                }
+                return;
+            }
             if (s instanceof TreatedPath<?>) {
                 TreatedPath<?> treatedPath = (TreatedPath<?>) s;
                 treatedSelections.add(treatedPath);
@@ -777,18 +793,19 @@ public class InternalQuery<T> implements Serializable {
 
         context.setClauseType(ClauseType.ORDER_BY);
         for (Order order : orderList) {
+            boolean nullsFirst = order instanceof BlazeOrder && ((BlazeOrder) order).isNullsFirst();
+            PathExpression pathExpression = ob instanceof ExpressionTreeBuilder<?> ? createPathExpression(context, order.getExpression()) : null;
+            if (pathExpression != null) {
+                ((ExpressionTreeBuilder<?>) ob).orderByExpressionTree(pathExpression, order.isAscending(), nullsFirst);
+                continue;
+            }
+
             context.getBuffer().setLength(0);
             ((AbstractSelection<?>) order.getExpression()).render(context);
             String expression = context.takeBuffer();
             Map<String, InternalQuery<?>> aliasToSubqueries = context.takeAliasToSubqueryMap();
 
             if (aliasToSubqueries.isEmpty()) {
-                boolean nullsFirst = false;
-
-                if (order instanceof BlazeOrder) {
-                    nullsFirst = ((BlazeOrder) order).isNullsFirst();
-                }
-
                 ob.orderBy(expression, order.isAscending(), nullsFirst);
             } else {
                 throw new IllegalArgumentException("Subqueries are not supported in the order by clause!");
@@ -805,4 +822,36 @@ public class InternalQuery<T> implements Serializable {
         }
     }
 
+    /**
+     * Creates the path expression tree for plain attribute paths and from elements, so that these don't have to be
+     * rendered to a string that is parsed again by the criteria builder.
+     *
+     * @param context The render context
+     * @param selection The selection for which to create the path expression
+     * @return The path expression or <code>null</code> if the selection has to be rendered
+     */
+    private static PathExpression createPathExpression(RenderContext context, Selection<?> selection) {
+        if (!(selection instanceof AbstractPath<?>)) {
+            return null;
+        }
+        AbstractPath<?> path = (AbstractPath<?>) selection;
+        List<String> attributeNames = new ArrayList<>();
+        // Subtypes like treated paths have a special rendering
+        while (path.getClass() == SingularAttributePath.class || path.getClass() == PluralAttributePath.class) {
+            attributeNames.add(path.getAttribute().getName());
+            path = path.getBasePath();
+        }
+        if (!(path instanceof AbstractFrom<?, ?>) || path instanceof TreatedPath<?>) {
+            return null;
+        }
+
+        AbstractFrom<?, ?> from = (AbstractFrom<?, ?>) path;
+        from.prepareAlias(context);
+        List<PathElementExpression> pathElements = new ArrayList<>(attributeNames.size() + 1);
+        pathElements.add(new PropertyExpression(from.getAlias()));
+        for (int i = attributeNames.size() - 1; i >= 0; i--) {
+            pathElements.add(new PropertyExpression(attributeNames.get(i)));
+        }
+        return new PathExpression(pathElements);
+    }
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2014 - 2020 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.criteria;
+
+import com.blazebit.persistence.CriteriaBuilder;
+import com.blazebit.persistence.JoinType;
+import com.blazebit.persistence.testsuite.AbstractCoreTest;
+import com.blazebit.persistence.testsuite.entity.Document;
+import com.blazebit.persistence.testsuite.entity.Document_;
+import com.blazebit.persistence.testsuite.entity.Person;
+import com.blazebit.persistence.testsuite.entity.Person_;
+import com.blazebit.persistence.testsuite.entity.PolymorphicBase;
+import com.blazebit.persistence.testsuite.entity.PolymorphicBaseContainer;
+import com.blazebit.persistence.testsuite.entity.PolymorphicSub1;
+import com.blazebit.persistence.testsuite.entity.PolymorphicSub1_;
+import com.blazebit.persistence.testsuite.entity.PolymorphicSub2;
+import org.junit.Test;
+
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.Root;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Asserts that selections and orderings passed as expression trees render the same query as the string based route.
+ *
+ * @author Christian Beikov
+ * @since 1.6.0
+ */
+public class ExpressionTreeTest extends AbstractCoreTest {
+
+    @Override
+    protected Class<?>[] getEntityClasses() {
+        return concat(super.getEntityClasses(), new Class<?>[] {
+                PolymorphicBase.class,
+                PolymorphicSub1.class,
+                PolymorphicSub2.class,
+                PolymorphicBaseContainer.class
+        });
+    }
+
+    @Test
+    public void selectAndOrderByPaths() {
+        BlazeCriteriaQuery<String> cq = BlazeCriteria.get(cbf, String.class);
+        BlazeCriteriaBuilder cb = cq.getCriteriaBuilder();
+        Root<Document> root = cq.from(Document.class, "document");
+        Join<Document, Person> owner = root.join(Document_.owner, "owner");
+        cq.select(root.get(Document_.name));
+        cq.orderBy(cb.asc(root.get(Document_.id)), cb.desc(owner.get(Person_.name), true));
+
+        CriteriaBuilder<String> expected = cbf.create(em, String.class)
+                .from(Document.class, "document")
+                .join("document.owner", "owner", JoinType.INNER)
+                .select("document.name")
+                .orderByAsc("document.id")
+                .orderByDesc("owner.name", true);
+        assertEquals(expected.getQueryString(), cq.createCriteriaBuilder(em).getQueryString());
+    }
+
+    @Test
+    public void selectFromElementWithImplicitJoinOrderBy() {
+        BlazeCriteriaQuery<Document> cq = BlazeCriteria.get(cbf, Document.class);
+        BlazeCriteriaBuilder cb = cq.getCriteriaBuilder();
+        Root<Document> root = cq.from(Document.class, "document");
+        cq.select(root);
+        cq.orderBy(cb.asc(root.get(Document_.owner).get(Person_.name)), cb.asc(root.get(Document_.id)));
+
+        CriteriaBuilder<Document> expected = cbf.create(em, Document.class)
+                .from(Document.class, "document")
+                .select("document")
+                .orderByAsc("document.owner.name")
+                .orderByAsc("document.id");
+        assertEquals(expected.getQueryString(), cq.createCriteriaBuilder(em).getQueryString());
+    }
+
+    @Test
+    public void selectTreatedPathFallsBackToString() {
+        BlazeCriteriaQuery<Integer> cq = BlazeCriteria.get(cbf, Integer.class);
+        BlazeCriteriaBuilder cb = cq.getCriteriaBuilder();
+        BlazeRoot<PolymorphicBase> root = cq.from(PolymorphicBase.class, "base");
+        cq.select(cb.treat(root, PolymorphicSub1.class).get(PolymorphicSub1_.sub1Value));
+        cq.orderBy(cb.asc(root.get("id")));
+
+        CriteriaBuilder<Integer> expected = cbf.create(em, Integer.class)
+                .from(PolymorphicBase.class, "base")
+                .select("TREAT(base AS PolymorphicSub1).sub1Value")
+                .orderByAsc("base.id");
+        assertEquals(expected.getQueryString(), cq.createCriteriaBuilder(em).getQueryString());
+    }
+}